@@ -60,6 +60,26 @@ sourceSets {
 			include("themes/**/*.puml")
 		}
 	}
+	create("jmh") {
+		java {
+			srcDirs("jmh")
+		}
+		resources {
+			srcDirs(".")
+			include("skin/**/*.skin")
+			include("themes/**/*.puml")
+		}
+		compileClasspath += sourceSets["main"].output
+		runtimeClasspath += sourceSets["main"].output
+	}
+}
+
+configurations["jmhImplementation"].extendsFrom(configurations.implementation.get())
+configurations["jmhRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
+
+dependencies {
+	"jmhImplementation"("org.openjdk.jmh:jmh-core:1.36")
+	"jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.36")
 }
 
 tasks.compileJava {
@@ -148,6 +168,19 @@ tasks.test {
 	testLogging.showStandardStreams = true
 }
 
+// Benchmarks are not part of the build, run them with:
+// gradle jmh
+// gradle jmh -PjmhArgs="DiagramBenchmark.exportSvg -p kind=sequence -p size=huge"
+val jmh by tasks.registering(JavaExec::class) {
+	group = "verification"
+	description = "Runs the JMH benchmarks, with the GC profiler for allocation rates."
+	classpath = sourceSets["jmh"].runtimeClasspath
+	mainClass.set("org.openjdk.jmh.Main")
+	val jmhArgs = (project.findProperty("jmhArgs") ?: "") as String
+	args = listOf("-prof", "gc", "-rf", "json", "-rff", "${buildDir}/jmh-result.json") +
+		jmhArgs.split(" ").filter { it.isNotEmpty() }
+}
+
 val pdfJar by tasks.registering(Jar::class) {
 	group = "build" // OR for example, "build"
 	description = "Assembles a jar containing dependencies to create PDFs."
@@ -0,0 +1,138 @@
+package net.sourceforge.plantuml.benchmark;
+
+/**
+ * Generated diagram sources used by the benchmarks, so that the size of each
+ * diagram can be chosen without storing large files in the repository.
+ */
+public class BenchmarkCorpus {
+
+	public enum Size {
+		SMALL(5), MEDIUM(50), HUGE(250);
+
+		private final int nb;
+
+		private Size(int nb) {
+			this.nb = nb;
+		}
+
+		public int getNb() {
+			return nb;
+		}
+	}
+
+	public static String get(String kind, Size size) {
+		final int nb = size.getNb();
+		switch (kind) {
+		case "sequence":
+			return sequence(nb);
+		case "class":
+			return classes(nb);
+		case "activity3":
+			return activity3(nb);
+		case "gantt":
+			return gantt(nb);
+		case "mindmap":
+			return mindmap(nb);
+		case "json":
+			return json(nb);
+		}
+		throw new IllegalArgumentException(kind);
+	}
+
+	private static String sequence(int nb) {
+		final StringBuilder sb = new StringBuilder("@startuml\n");
+		final int participants = Math.max(3, nb / 5);
+		for (int i = 0; i < participants; i++)
+			sb.append("participant \"Participant " + i + "\" as P" + i + "\n");
+		for (int i = 0; i < nb; i++) {
+			final int from = i % participants;
+			final int to = (i * 7 + 1) % participants;
+			if (i % 10 == 0)
+				sb.append("alt case " + i + "\n");
+			sb.append("P" + from + " -> P" + to + " : message " + i + "\n");
+			sb.append("activate P" + to + "\n");
+			if (i % 4 == 0)
+				sb.append("note right : note " + i + "\n");
+			sb.append("P" + to + " --> P" + from + " : reply " + i + "\n");
+			sb.append("deactivate P" + to + "\n");
+			if (i % 10 == 9 || i == nb - 1)
+				sb.append("end\n");
+		}
+		return sb.append("@enduml\n").toString();
+	}
+
+	private static String classes(int nb) {
+		// Smetana, so that the benchmarks do not depend on an installed dot
+		final StringBuilder sb = new StringBuilder("@startuml\n!pragma layout smetana\n");
+		for (int i = 0; i < nb; i++) {
+			if (i % 10 == 0)
+				sb.append("package p" + (i / 10) + " {\n");
+			sb.append("class C" + i + " {\n");
+			sb.append("  -int field" + i + "\n");
+			sb.append("  -String name\n");
+			sb.append("  +void method" + i + "(int a, String b)\n");
+			sb.append("}\n");
+			if (i % 10 == 9 || i == nb - 1)
+				sb.append("}\n");
+		}
+		for (int i = 1; i < nb; i++) {
+			if (i % 3 == 0)
+				sb.append("C" + (i / 2) + " <|-- C" + i + "\n");
+			else
+				sb.append("C" + (i - 1) + " --> \"0..*\" C" + i + " : link" + i + "\n");
+		}
+		return sb.append("@enduml\n").toString();
+	}
+
+	private static String activity3(int nb) {
+		final StringBuilder sb = new StringBuilder("@startuml\nstart\n");
+		for (int i = 0; i < nb; i++) {
+			switch (i % 4) {
+			case 0:
+				sb.append(":action " + i + ";\n");
+				break;
+			case 1:
+				sb.append("if (test " + i + "?) then (yes)\n  :yes " + i + ";\nelse (no)\n  :no " + i + ";\nendif\n");
+				break;
+			case 2:
+				sb.append("while (loop " + i + "?)\n  :body " + i + ";\nendwhile\n");
+				break;
+			default:
+				sb.append("fork\n  :left " + i + ";\nfork again\n  :right " + i + ";\nend fork\n");
+			}
+		}
+		return sb.append("stop\n@enduml\n").toString();
+	}
+
+	private static String gantt(int nb) {
+		final StringBuilder sb = new StringBuilder("@startgantt\nProject starts 2020-01-01\n");
+		for (int i = 0; i < nb; i++) {
+			sb.append("[Task " + i + "] lasts " + (1 + i % 7) + " days\n");
+			if (i > 0)
+				sb.append("[Task " + i + "] starts at [Task " + (i - 1) / 2 + "]'s end\n");
+		}
+		return sb.append("@endgantt\n").toString();
+	}
+
+	private static String mindmap(int nb) {
+		final StringBuilder sb = new StringBuilder("@startmindmap\n* root\n");
+		for (int i = 0; i < nb; i++) {
+			final int depth = 2 + i % 4;
+			for (int j = 0; j < depth; j++)
+				sb.append('*');
+			sb.append(" node " + i + "\n");
+		}
+		return sb.append("@endmindmap\n").toString();
+	}
+
+	private static String json(int nb) {
+		final StringBuilder sb = new StringBuilder("@startjson\n{\n");
+		for (int i = 0; i < nb; i++) {
+			sb.append("\"key" + i + "\": {\"id\": " + i + ", \"name\": \"value " + i
+					+ "\", \"tags\": [\"a\", \"b\", \"c\"], \"enabled\": " + (i % 2 == 0) + "}");
+			sb.append(i == nb - 1 ? "\n" : ",\n");
+		}
+		return sb.append("}\n@endjson\n").toString();
+	}
+
+}
@@ -0,0 +1,119 @@
+package net.sourceforge.plantuml.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.sourceforge.plantuml.BlockUml;
+import net.sourceforge.plantuml.FileFormat;
+import net.sourceforge.plantuml.FileFormatOption;
+import net.sourceforge.plantuml.PSystemBuilder;
+import net.sourceforge.plantuml.SourceStringReader;
+import net.sourceforge.plantuml.core.Diagram;
+import net.sourceforge.plantuml.core.ImageData;
+import net.sourceforge.plantuml.error.PSystemError;
+import net.sourceforge.plantuml.text.StringLocated;
+
+/**
+ * Measures each stage of the rendering of one diagram separately.
+ * <p>
+ * Layout is done lazily while a diagram is exported, so it is part of the
+ * export figures. Comparing svg and png export isolates the cost of the
+ * output format.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class DiagramBenchmark {
+
+	@Param({ "sequence", "class", "activity3", "gantt", "mindmap", "json" })
+	public String kind;
+
+	@Param({ "SMALL", "MEDIUM", "HUGE" })
+	public BenchmarkCorpus.Size size;
+
+	private String source;
+	private List<StringLocated> preprocessed;
+
+	// Exporting may change a diagram, so each export gets its own
+	private Diagram diagram;
+
+	@Setup(Level.Trial)
+	public void setupTrial() {
+		source = BenchmarkCorpus.get(kind, size);
+		final BlockUml block = new SourceStringReader(source).getBlocks().get(0);
+		preprocessed = block.getData();
+		final Diagram check = parse();
+		if (check instanceof PSystemError)
+			throw new IllegalStateException("Invalid benchmark source for " + kind);
+	}
+
+	@Setup(Level.Invocation)
+	public void setupInvocation() {
+		diagram = parse();
+	}
+
+	private Diagram parse() {
+		return new PSystemBuilder().createPSystem(preprocessed, preprocessed, Collections.<String, String>emptyMap());
+	}
+
+	@Benchmark
+	public List<BlockUml> preprocess() {
+		return new SourceStringReader(source).getBlocks();
+	}
+
+	@Benchmark
+	public Diagram parseDiagram() {
+		return parse();
+	}
+
+	@Benchmark
+	public ImageData exportSvg(Blackhole blackhole) throws IOException {
+		return diagram.exportDiagram(new BlackholeOutputStream(blackhole), 0, new FileFormatOption(FileFormat.SVG));
+	}
+
+	@Benchmark
+	public ImageData exportPng(Blackhole blackhole) throws IOException {
+		return diagram.exportDiagram(new BlackholeOutputStream(blackhole), 0, new FileFormatOption(FileFormat.PNG));
+	}
+
+	static class BlackholeOutputStream extends OutputStream {
+
+		private final Blackhole blackhole;
+
+		BlackholeOutputStream(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Override
+		public void write(int b) {
+			blackhole.consume(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			blackhole.consume(b);
+		}
+
+	}
+
+}
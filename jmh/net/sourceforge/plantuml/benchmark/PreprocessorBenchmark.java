@@ -0,0 +1,68 @@
+package net.sourceforge.plantuml.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.sourceforge.plantuml.BlockUml;
+import net.sourceforge.plantuml.SourceStringReader;
+
+/**
+ * Measures the preprocessing of a diagram calling functions and procedures
+ * while many others are defined, as with the large stdlib libraries.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class PreprocessorBenchmark {
+
+	@Param({ "10", "1000" })
+	public int functions;
+
+	@Param({ "500" })
+	public int calls;
+
+	private String source;
+
+	@Setup(Level.Trial)
+	public void setupTrial() {
+		final StringBuilder sb = new StringBuilder("@startuml\n");
+		for (int i = 0; i < functions; i++) {
+			sb.append("!procedure $box" + i + "($name, $label=\"\")\n");
+			sb.append("rectangle \"$label\" as $name\n");
+			sb.append("!endprocedure\n");
+			sb.append("!function $id" + i + "($x)\n");
+			sb.append("!return $x + \"" + i + "\"\n");
+			sb.append("!endfunction\n");
+			sb.append("!define OLD" + i + "(x) class x\n");
+		}
+		for (int i = 0; i < calls; i++) {
+			final int n = (i * 31) % functions;
+			sb.append("$box" + n + "(r" + i + ", $id" + n + "(\"r\"))\n");
+			sb.append("OLD" + n + "(C" + i + ")\n");
+			sb.append("r" + i + " --> C" + i + " : %strlen(\"call " + i + "\")\n");
+		}
+		source = sb.append("@enduml\n").toString();
+	}
+
+	@Benchmark
+	public List<BlockUml> preprocess() {
+		return new SourceStringReader(source).getBlocks();
+	}
+
+}
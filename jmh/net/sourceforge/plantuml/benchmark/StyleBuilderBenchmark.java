@@ -0,0 +1,78 @@
+package net.sourceforge.plantuml.benchmark;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.sourceforge.plantuml.style.PName;
+import net.sourceforge.plantuml.style.SName;
+import net.sourceforge.plantuml.style.Style;
+import net.sourceforge.plantuml.style.StyleBuilder;
+import net.sourceforge.plantuml.style.StyleSignatureBasic;
+import net.sourceforge.plantuml.style.Value;
+import net.sourceforge.plantuml.style.ValueImpl;
+
+/**
+ * Measures StyleBuilder lookups against a growing number of style rules.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class StyleBuilderBenchmark {
+
+	private static final SName[] ELEMENTS = { SName.classDiagram, SName.componentDiagram, SName.arrow, SName.note,
+			SName.header, SName.title, SName.legend, SName.stereotype };
+
+	@Param({ "10", "100", "1000" })
+	public int rules;
+
+	private StyleBuilder builder;
+
+	private List<StyleSignatureBasic> lookups;
+
+	@Setup(Level.Trial)
+	public void setupTrial() {
+		builder = new StyleBuilder(null);
+		for (int i = 0; i < rules; i++) {
+			StyleSignatureBasic signature = StyleSignatureBasic.of(SName.root);
+			if (i % 3 != 0)
+				signature = signature.add(ELEMENTS[i % ELEMENTS.length]);
+			if (i % 5 == 0)
+				signature = signature.add("s" + (i % 17));
+
+			final Map<PName, Value> map = new EnumMap<>(PName.class);
+			map.put(PName.LineColor, ValueImpl.regular("#" + i, i));
+			builder.loadInternal(signature, new Style(signature, map));
+		}
+		lookups = new ArrayList<>();
+		for (int i = 0; i < 1000; i++)
+			lookups.add(StyleSignatureBasic.of(SName.root, SName.element, ELEMENTS[i % ELEMENTS.length])
+					.add("s" + (i % 23)));
+	}
+
+	@Benchmark
+	public void getMergedStyle(Blackhole blackhole) {
+		for (StyleSignatureBasic signature : lookups)
+			blackhole.consume(builder.getMergedStyle(signature));
+	}
+
+}
@@ -68,6 +68,7 @@ import static gen.lib.dotgen.cluster__c.mark_lowclusters;
 import static h.ST_pointf.add_pointf;
 import static h.ST_pointf.pointfof;
 import static smetana.core.JUtils.LOG2;
+import static smetana.core.JUtils.mergesort;
 import static smetana.core.JUtils.qsort;
 import static smetana.core.Macro.BETWEEN;
 import static smetana.core.Macro.BOTTOM;
@@ -781,13 +782,10 @@ public static CFunction edgecmp = new CFunctionAbstract("edgecmp") {
 public static int edgecmp(CArrayOfStar<ST_Agedge_s> ptr0, CArrayOfStar<ST_Agedge_s> ptr1) {
 ENTERING("1nf1s6wkn35ptjn884ii56fh","edgecmp");
 try {
-    final ST_Agedgeinfo_t fwdedgeai = new ST_Agedgeinfo_t(), fwdedgebi = new ST_Agedgeinfo_t();
-    final ST_Agedgepair_s fwdedgea = new ST_Agedgepair_s(), fwdedgeb = new ST_Agedgepair_s();
+    // fwdedgea and fwdedgeb are only allocated for back edges
     ST_Agedge_s e0, e1, ea, eb, le0, le1;
     int et0, et1, v0, v1, rv;
     double t0, t1;
-    fwdedgea.out.base.data = fwdedgeai;
-    fwdedgeb.out.base.data = fwdedgebi;
     e0 = ptr0.get_(0);
     e1 = ptr1.get_(0);
     et0 = ED_tree_index(e0) & 15;
@@ -813,11 +811,15 @@ try {
 	return (le0.tag.seq - le1.tag.seq);
     ea = (ED_tail_port(e0).defined || ED_head_port(e0).defined) ? e0 : le0;
     if ((ED_tree_index(ea) & 32)!=0) {
+	final ST_Agedgepair_s fwdedgea = new ST_Agedgepair_s();
+	fwdedgea.out.base.data = new ST_Agedgeinfo_t();
 	MAKEFWDEDGE(fwdedgea.out, ea);
 	ea = (ST_Agedge_s) fwdedgea.out;
     }
     eb = (ED_tail_port(e1).defined || ED_head_port(e1).defined) ? e1 : le1;
     if ((ED_tree_index(eb) & 32)!=0) {
+	final ST_Agedgepair_s fwdedgeb = new ST_Agedgepair_s();
+	fwdedgeb.out.base.data = new ST_Agedgeinfo_t();
 	MAKEFWDEDGE(fwdedgeb.out, eb);
 	eb = (ST_Agedge_s) fwdedgeb.out;
     }
@@ -851,13 +853,14 @@ public static int edgelblcmpfn(CArrayOfStar<ST_Agedge_s> ptr0, CArrayOfStar<ST_A
 ENTERING("bmsa24i3avg14po4sp17yh89k","edgelblcmpfn");
 try {
     ST_Agedge_s e0, e1;
-    final ST_pointf sz0 = new ST_pointf(), sz1 = new ST_pointf();
+    ST_pointf sz0, sz1;
     e0 = ptr0.get_(0);
     e1 = ptr1.get_(0);
     if (ED_label(e0)!=null) {
 	if (ED_label(e1)!=null) {
-	    sz0.___(ED_label(e0).dimen);
-	    sz1.___(ED_label(e1).dimen);
+	    // read only, no need for a copy
+	    sz0 = ED_label(e0).dimen;
+	    sz1 = ED_label(e1).dimen;
 	    if (sz0.x > sz1.x) return -1;
 	    else if (sz0.x < sz1.x) return 1;
 	    else if (sz0.y > sz1.y) return -1;
@@ -909,7 +912,7 @@ try {
 	earray.set_(i, edges.get_(ind + i));
     }
     
-    qsort(zz, earray,
+    mergesort(zz, earray,
     cnt,
     dotsplines__c.edgelblcmpfn);
     tp.___(add_pointf(ND_coord(tn), ED_tail_port(e).p));
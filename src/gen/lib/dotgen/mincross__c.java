@@ -69,8 +69,7 @@ import static gen.lib.dotgen.fastgr__c.flat_edge;
 import static gen.lib.dotgen.fastgr__c.merge_oneway;
 import static gen.lib.dotgen.fastgr__c.new_virtual_edge;
 import static smetana.core.JUtils.atof;
-import static smetana.core.JUtils.qsort;
-import static smetana.core.JUtils.qsortInt;
+import static smetana.core.JUtils.mergesort;
 import static smetana.core.Macro.ALLOC_INT;
 import static smetana.core.Macro.CLUSTER;
 import static smetana.core.Macro.ED_edge_type;
@@ -123,6 +122,8 @@ import static smetana.core.Macro.flatindex;
 import static smetana.core.debug.SmetanaDebug.ENTERING;
 import static smetana.core.debug.SmetanaDebug.LEAVING;
 
+import java.util.Arrays;
+
 import gen.annotation.Difficult;
 import gen.annotation.Original;
 import gen.annotation.Reviewed;
@@ -664,7 +665,7 @@ try {
 	ND_order(n, (int)ND_coord(n).x);
     for (r = GD_minrank(g); r <= GD_maxrank(g); r++) {
 	GD_rank(zz.Root).get__(r).valid= 0;
-    qsort(zz, GD_rank(g).get__(r).v,
+    mergesort(zz, GD_rank(g).get__(r).v,
     	    GD_rank(g).get__(r).n,
     	    mincross__c.nodeposcmpf);
     }
@@ -1873,9 +1874,8 @@ try {
 	    ND_mval(n, (list[0] + list[1]) / 2);
 	    break;
 	default:
-	    qsortInt(zz, list,
-	    	    j,
-	    	    mincross__c.ordercmpf);
+	    // qsort(list, j, sizeof(int), (qsort_cmpf) ordercmpf) without boxing
+	    Arrays.sort(list, 0, j);
 	    if (j % 2!=0)
 		ND_mval(n, list[j / 2]);
 	    else {
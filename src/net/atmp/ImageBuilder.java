@@ -101,6 +101,8 @@ import net.sourceforge.plantuml.skin.LineParam;
 import net.sourceforge.plantuml.skin.Pragma;
 import net.sourceforge.plantuml.skin.SkinParam;
 import net.sourceforge.plantuml.skin.rose.Rose;
+import net.sourceforge.plantuml.stats.StageMetrics;
+import net.sourceforge.plantuml.stats.StageMetrics.Stage;
 import net.sourceforge.plantuml.style.ClockwiseTopRightBottomLeft;
 import net.sourceforge.plantuml.style.ISkinParam;
 import net.sourceforge.plantuml.style.PName;
@@ -275,6 +277,9 @@ public class ImageBuilder {
 		// private ImageData writeImageInternal(OutputStream os) throws IOException {
 		// ::done
 		XDimension2D dim = getFinalDimension();
+		// ::comment when __CORE__
+		StageMetrics.endOfStage(Stage.LAYOUT);
+		// ::done
 		double dx = 0;
 		double dy = 0;
 		// ::comment when __CORE__
@@ -305,8 +310,14 @@ public class ImageBuilder {
 		ug = handwritten(ug.apply(new UTranslate(margin.getLeft(), margin.getTop())));
 		udrawable.drawU(ug);
 		ug.flushUg();
+		// ::comment when __CORE__
+		StageMetrics.endOfStage(Stage.DRAW);
+		// ::done
 		ug.writeToStream(os, metadata, 96);
 		os.flush();
+		// ::comment when __CORE__
+		StageMetrics.endOfStage(Stage.ENCODE);
+		// ::done
 
 		if (ug instanceof UGraphicG2d) {
 			final Set<Url> urls = ((UGraphicG2d) ug).getAllUrlsEncountered();
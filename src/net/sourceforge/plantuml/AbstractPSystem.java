@@ -60,6 +60,7 @@ import net.sourceforge.plantuml.klimt.font.UFont;
 import net.sourceforge.plantuml.klimt.geom.HorizontalAlignment;
 import net.sourceforge.plantuml.klimt.geom.VerticalAlignment;
 import net.sourceforge.plantuml.klimt.shape.UText;
+import net.sourceforge.plantuml.stats.StageMetrics;
 import net.sourceforge.plantuml.stats.StatsUtilsIncrement;
 import net.sourceforge.plantuml.style.ClockwiseTopRightBottomLeft;
 import net.sourceforge.plantuml.text.BackSlash;
@@ -187,6 +188,9 @@ public abstract class AbstractPSystem implements Diagram {
 	final public ImageData exportDiagram(OutputStream os, int index, FileFormatOption fileFormatOption)
 			throws IOException {
 		final long now = System.currentTimeMillis();
+		// ::comment when __CORE__
+		final StageMetrics.Export export = StageMetrics.startExport(this);
+		// ::done
 		try {
 //			if (this instanceof TitledDiagram) {
 //				final TitledDiagram titledDiagram = (TitledDiagram) this;
@@ -198,6 +202,7 @@ public abstract class AbstractPSystem implements Diagram {
 			return exportDiagramNow(os, index, fileFormatOption);
 		} finally {
 			// ::comment when __CORE__
+			export.end();
 			if (OptionFlags.getInstance().isEnableStats())
 				StatsUtilsIncrement.onceMoreGenerate(System.currentTimeMillis() - now, getClass(),
 						fileFormatOption.getFileFormat());
@@ -60,6 +60,8 @@ import net.sourceforge.plantuml.preproc2.PreprocessorModeSet;
 import net.sourceforge.plantuml.regex.Matcher2;
 import net.sourceforge.plantuml.style.ISkinSimple;
 import net.sourceforge.plantuml.text.BackSlash;
+import net.sourceforge.plantuml.stats.StageMetrics;
+import net.sourceforge.plantuml.stats.StageMetrics.Stage;
 import net.sourceforge.plantuml.text.StringLocated;
 import net.sourceforge.plantuml.tim.TimLoader;
 import net.sourceforge.plantuml.utils.LineLocationImpl;
@@ -73,6 +75,7 @@ public class BlockUml {
 	private final List<StringLocated> data;
 	private List<StringLocated> debug;
 	private Diagram system;
+	private int nbFactoryAttempts;
 	private final Defines localDefines;
 	private final ISkinSimple skinParam;
 	private final Set<FileWithSuffix> included = new HashSet<>();
@@ -120,6 +123,7 @@ public class BlockUml {
 	}
 
 	private boolean preprocessorError;
+	private long preprocessNanos = -1;
 
 	/**
 	 * @deprecated being kept for backwards compatibility, perhaps other projects
@@ -142,9 +146,11 @@ public class BlockUml {
 		if (mode == null) {
 			this.data = new ArrayList<>(strings);
 		} else {
+			final long start = System.nanoTime();
 			final TimLoader timLoader = new TimLoader(mode.getImportedFiles(), defines, charset,
 					(DefinitionsContainer) mode);
 			this.included.addAll(timLoader.load(strings));
+			this.preprocessNanos = System.nanoTime() - start;
 			this.data = timLoader.getResultList();
 			this.debug = timLoader.getDebug();
 			this.preprocessorError = timLoader.isPreprocessorError();
@@ -182,15 +188,33 @@ public class BlockUml {
 
 	public Diagram getDiagram() {
 		if (system == null) {
+			final long start = System.nanoTime();
 			if (preprocessorError)
 				system = new PSystemErrorPreprocessor(data, debug);
-			else
-				system = new PSystemBuilder().createPSystem(data, rawSource,
+			else {
+				final PSystemBuilder builder = new PSystemBuilder();
+				system = builder.createPSystem(data, rawSource,
 						skinParam == null ? Collections.<String, String>emptyMap() : skinParam.values());
+				nbFactoryAttempts = builder.getNbAttempts();
+			}
+			// ::comment when __CORE__
+			// Only now are the type and the layout of the diagram known
+			if (preprocessNanos != -1)
+				StageMetrics.getInstance().record(Stage.PREPROCESS, system, preprocessNanos);
+			StageMetrics.getInstance().record(Stage.PARSE, system, System.nanoTime() - start);
+			// ::done
 		}
 		return system;
 	}
 
+	/**
+	 * Number of diagram factories that have parsed this block before one has
+	 * succeeded (or all have failed).
+	 */
+	public int getNbFactoryAttempts() {
+		return nbFactoryAttempts;
+	}
+
 	public final List<StringLocated> getData() {
 		return data;
 	}
@@ -48,6 +48,7 @@ import net.sourceforge.plantuml.braille.UGraphicBraille;
 import net.sourceforge.plantuml.klimt.drawing.debug.StringBounderDebug;
 import net.sourceforge.plantuml.klimt.drawing.svg.SvgGraphics;
 import net.sourceforge.plantuml.klimt.font.StringBounder;
+import net.sourceforge.plantuml.klimt.font.StringBounderCache;
 import net.sourceforge.plantuml.klimt.font.StringBounderRaw;
 import net.sourceforge.plantuml.klimt.font.UFont;
 import net.sourceforge.plantuml.klimt.font.UFontContext;
@@ -197,9 +198,11 @@ public enum FileFormat {
 
 	static private XDimension2D getJavaDimension(UFont font, String text) {
 		final Font javaFont = font.getUnderlayingFont(UFontContext.G2D);
-		final FontMetrics fm = gg.getFontMetrics(javaFont);
-		final Rectangle2D rect = fm.getStringBounds(text, gg);
-		return new XDimension2D(rect.getWidth(), rect.getHeight());
+		return StringBounderCache.getInstance().getDimension(javaFont, text, () -> {
+			final FontMetrics fm = gg.getFontMetrics(javaFont);
+			final Rectangle2D rect = fm.getStringBounds(text, gg);
+			return new XDimension2D(rect.getWidth(), rect.getHeight());
+		});
 	}
 
 	// ::comment when __CORE__
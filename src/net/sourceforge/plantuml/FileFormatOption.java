@@ -155,6 +155,35 @@ public final class FileFormatOption implements Serializable {
 		return fileFormat.toString();
 	}
 
+	/**
+	 * Every option that changes the exported bytes, to be used as part of a cache
+	 * key. Returns <code>null</code> when the options cannot be described this
+	 * way.
+	 */
+	public String getCacheSignature() {
+		final String mapper = getColorMapperName();
+		if (mapper == null)
+			return null;
+
+		return fileFormat + "|" + withMetadata + "|" + useRedForError + "|" + svgLinkTarget + "|" + debugsvek + "|"
+				+ hoverColor + "|" + tikzFontDistortion + "|" + scale + "|" + preserveAspectRatio + "|" + watermark
+				+ "|" + mapper;
+	}
+
+	private String getColorMapperName() {
+		if (colorMapper == ColorMapper.IDENTITY)
+			return "IDENTITY";
+		if (colorMapper == ColorMapper.DARK_MODE)
+			return "DARK_MODE";
+		if (colorMapper == ColorMapper.LIGTHNESS_INVERSE)
+			return "LIGTHNESS_INVERSE";
+		if (colorMapper == ColorMapper.MONOCHROME)
+			return "MONOCHROME";
+		if (colorMapper == ColorMapper.MONOCHROME_REVERSE)
+			return "MONOCHROME_REVERSE";
+		return null;
+	}
+
 	public final FileFormat getFileFormat() {
 		return fileFormat;
 	}
@@ -50,16 +50,28 @@ public class GeneratedImageImpl implements GeneratedImage {
 	private final String description;
 	private final BlockUml blockUml;
 	private final int status;
+	private final int lineErrorRaw;
+
+	private static final int NOT_COMPUTED = -2;
 
 	public final int getStatus() {
 		return status;
 	}
 
 	public GeneratedImageImpl(SFile pngFile, String description, BlockUml blockUml, int status) {
+		this(pngFile, description, blockUml, status, NOT_COMPUTED);
+	}
+
+	/**
+	 * Used when the error line is already known, so that the diagram does not
+	 * have to be created.
+	 */
+	GeneratedImageImpl(SFile pngFile, String description, BlockUml blockUml, int status, int lineErrorRaw) {
 		this.blockUml = blockUml;
 		this.pngFile = pngFile;
 		this.description = description;
 		this.status = status;
+		this.lineErrorRaw = lineErrorRaw;
 	}
 
 	public File getPngFile() {
@@ -71,6 +83,9 @@ public class GeneratedImageImpl implements GeneratedImage {
 	}
 
 	public int lineErrorRaw() {
+		if (lineErrorRaw != NOT_COMPUTED)
+			return lineErrorRaw;
+
 		final Diagram system = blockUml.getDiagram();
 		if (system instanceof PSystemError) {
 			return ((PSystemError) system).getLineLocation().getPosition();
@@ -76,6 +76,7 @@ public class Option {
 	private boolean pipeNoStdErr = false;
 	private boolean syntax = false;
 	private boolean checkOnly = false;
+	private boolean watch = false;
 	// ::done
 
 	private OptionPreprocOutputMode preprocessorOutput = null;
@@ -97,6 +98,9 @@ public class Option {
 	private int stdrpt = 0;
 	private boolean hideMetadata = false;
 	private boolean checkMetadata = false;
+	private File cacheDir;
+	private long cacheMaxSize = 512L * 1024 * 1024;
+	private File metricsFile;
 	private String filename;
 	// ::done
 	private int imageIndex = 0;
@@ -249,6 +253,8 @@ public class Option {
 				this.noerror = true;
 			} else if (s.equalsIgnoreCase("-checkonly")) {
 				this.checkOnly = true;
+			} else if (s.equalsIgnoreCase("-watch")) {
+				this.watch = true;
 			} else if (s.equalsIgnoreCase("-theme")) {
 				i++;
 				if (i == arg.length)
@@ -376,6 +382,25 @@ public class Option {
 				preprocessorOutput = OptionPreprocOutputMode.CYPHER;
 			} else if (s.equalsIgnoreCase("-checkmetadata")) {
 				checkMetadata = true;
+			} else if (s.equalsIgnoreCase("-cache")) {
+				i++;
+				if (i == arg.length)
+					continue;
+
+				cacheDir = new File(StringUtils.eventuallyRemoveStartingAndEndingDoubleQuote(arg[i]));
+			} else if (s.equalsIgnoreCase("-cachesize")) {
+				i++;
+				if (i == arg.length)
+					continue;
+
+				if (arg[i].matches("\\d+"))
+					cacheMaxSize = Long.parseLong(arg[i]) * 1024 * 1024;
+			} else if (s.equalsIgnoreCase("-metrics")) {
+				i++;
+				if (i == arg.length)
+					continue;
+
+				metricsFile = new File(StringUtils.eventuallyRemoveStartingAndEndingDoubleQuote(arg[i]));
 			} else if (s.equalsIgnoreCase("-stdrpt:1")) {
 				stdrpt = 1;
 			} else if (s.equalsIgnoreCase("-stdrpt:2")) {
@@ -640,6 +665,10 @@ public class Option {
 	public final void setCheckOnly(boolean checkOnly) {
 		this.checkOnly = checkOnly;
 	}
+
+	public final boolean isWatch() {
+		return watch;
+	}
 	// ::done
 
 	public final boolean isFailfastOrFailfast2() {
@@ -703,6 +732,18 @@ public class Option {
 		return checkMetadata;
 	}
 
+	public final File getCacheDir() {
+		return cacheDir;
+	}
+
+	public final long getCacheMaxSize() {
+		return cacheMaxSize;
+	}
+
+	public final File getMetricsFile() {
+		return metricsFile;
+	}
+
 	public final void setFilename(String filename) {
 		this.filename = filename;
 	}
@@ -118,6 +118,9 @@ public class OptionPrint {
 		System.out.println("    -metadata\t\tTo retrieve PlantUML sources from PNG images");
 		System.out.println("    -nometadata\t\tTo NOT export metadata in PNG/SVG generated files");
 		System.out.println("    -checkmetadata\t\tSkip PNG files that don't need to be regenerated");
+		System.out.println("    -cache \"dir\"\t\tTo reuse images of unchanged diagrams from a cache directory");
+		System.out.println("    -cachesize N\t\tMaximum size of the cache directory in (N) MB (default 512)");
+		System.out.println("    -metrics \"file\"\tTo write the duration of each rendering stage as JSON");
 		System.out.println("    -version\t\tTo display information about PlantUML and Java versions");
 		System.out.println("    -v[erbose]\t\tTo have log information");
 		System.out.println("    -quiet\t\tTo NOT print error message into the console");
@@ -135,11 +138,12 @@ public class OptionPrint {
 		// System.out.println(" -nosuggestengine\tTo disable the suggest engine when
 		// errors in diagrams");
 		System.out.println("    -checkonly\t\tTo check the syntax of files without generating images");
+		System.out.println("    -watch\t\tTo keep running and generate images again when files or their includes change");
 		System.out.println("    -failfast\t\tTo stop processing as soon as a syntax error in diagram occurs");
 		System.out.println("    -failfast2\t\tTo do a first syntax check before processing files, to fail even faster");
 		System.out.println("    -noerror\t\tTo skip images when error in diagrams");
 		System.out.println("    -duration\t\tTo print the duration of complete diagrams processing");
-		System.out.println("    -nbthread N\t\tTo use (N) threads for processing");
+		System.out.println("    -nbthread N\t\tTo use (N) threads for processing (also with -pipe)");
 		System.out.println("    -nbthread auto\tTo use " + Option.defaultNbThreads() + " threads for processing");
 		System.out
 				.println("    -timeout N\t\tProcessing timeout in (N) seconds. Defaults to 15 minutes (900 seconds).");
@@ -37,6 +37,7 @@ package net.sourceforge.plantuml;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -49,6 +50,7 @@ import net.sourceforge.plantuml.api.PSystemFactory;
 import net.sourceforge.plantuml.board.BoardDiagramFactory;
 import net.sourceforge.plantuml.bpm.BpmDiagramFactory;
 import net.sourceforge.plantuml.classdiagram.ClassDiagramFactory;
+import net.sourceforge.plantuml.command.PSystemCommandFactory;
 import net.sourceforge.plantuml.core.Diagram;
 import net.sourceforge.plantuml.core.DiagramType;
 import net.sourceforge.plantuml.core.UmlSource;
@@ -112,6 +114,25 @@ public class PSystemBuilder {
 
 	public static final long startTime = System.currentTimeMillis();
 
+	// Number of lines checked by the syntax pre-check of command based factories
+	private static final int PRECHECK_STEPS = 10;
+
+	private final List<PSystemFactory> candidates;
+
+	private int nbAttempts;
+	private int nbSkipped;
+
+	public PSystemBuilder() {
+		this(factories);
+	}
+
+	/**
+	 * Builder trying other factories than the default ones, for tests.
+	 */
+	PSystemBuilder(List<PSystemFactory> candidates) {
+		this.candidates = candidates;
+	}
+
 	final public Diagram createPSystem(List<StringLocated> source, List<StringLocated> rawSource,
 			Map<String, String> skinParam) {
 
@@ -136,21 +157,46 @@ public class PSystemBuilder {
 			}
 
 			final DiagramType diagramType = umlSource.getDiagramType();
-			final List<PSystemError> errors = new ArrayList<>();
-			for (PSystemFactory systemFactory : factories) {
+			// Factories are tried in order, so errors are kept in the same order
+			final Map<PSystemFactory, PSystemError> errors = new LinkedHashMap<>();
+			final List<PSystemFactory> skipped = new ArrayList<>();
+			for (PSystemFactory systemFactory : candidates) {
 				if (diagramType != systemFactory.getDiagramType())
 					continue;
 
+				errors.put(systemFactory, null);
+				if (systemFactory instanceof PSystemCommandFactory
+						&& ((PSystemCommandFactory) systemFactory).isSyntaxPossible(umlSource, PRECHECK_STEPS) == false) {
+					// This factory would fail anyway: it is only run if no other one succeeds
+					skipped.add(systemFactory);
+					nbSkipped++;
+					continue;
+				}
+
 				// WasmLog.log("...trying " + systemFactory.getClass().getName() + " ...");
+				nbAttempts++;
 				final Diagram sys = systemFactory.createSystem(umlSource, skinParam);
 				if (isOk(sys)) {
 					result = sys;
 					return sys;
 				}
-				errors.add((PSystemError) sys);
+				errors.put(systemFactory, (PSystemError) sys);
 			}
 
-			result = PSystemErrorUtils.merge(errors);
+			// Full cascade, so that the reported error is the same as before
+			for (PSystemFactory systemFactory : skipped) {
+				nbSkipped--;
+				nbAttempts++;
+				final Diagram sys = systemFactory.createSystem(umlSource, skinParam);
+				if (isOk(sys)) {
+					Log.error("Syntax pre-check was wrong for " + systemFactory.getClass().getName());
+					result = sys;
+					return sys;
+				}
+				errors.put(systemFactory, (PSystemError) sys);
+			}
+
+			result = PSystemErrorUtils.merge(errors.values());
 			return result;
 		} finally {
 			WasmLog.log("...parsing ok...");
@@ -159,6 +205,7 @@ public class PSystemBuilder {
 				StatsUtilsIncrement.onceMoreParse(System.currentTimeMillis() - now, result.getClass());
 			}
 			Log.info("Compilation duration " + (System.currentTimeMillis() - now));
+			Log.info("Factory attempts " + nbAttempts + " (" + nbSkipped + " skipped by pre-check)");
 			RegexConcat.printCacheInfo();
 			// ::done
 		}
@@ -261,6 +308,25 @@ public class PSystemBuilder {
 		factories.add(new PSystemRegexFactory());
 	}
 
+	static List<PSystemFactory> getDefaultFactories() {
+		return Collections.unmodifiableList(factories);
+	}
+
+	/**
+	 * Number of factories which have really parsed the source during the last
+	 * call to {@link #createPSystem(List, List, Map)}.
+	 */
+	public final int getNbAttempts() {
+		return nbAttempts;
+	}
+
+	/**
+	 * Number of factories which have not been run thanks to the syntax pre-check.
+	 */
+	public final int getNbSkipped() {
+		return nbSkipped;
+	}
+
 	private boolean isOk(Diagram ps) {
 		if (ps == null || ps instanceof PSystemError)
 			return false;
@@ -101,27 +101,41 @@ public class PSystemUtils {
 		final List<FileImageData> result = new ArrayList<>();
 		final int nbImages = system.getNbImages();
 		for (int i = 0; i < nbImages; i++) {
-
-			final SFile f = suggestedFile.getFile(i);
-			if (canFileBeWritten(f) == false)
+			final FileImageData page = exportNewpagedPage(system, suggestedFile, i, fileFormat);
+			if (page == null)
 				return result;
 
-			final OutputStream fos = f.createBufferedOutputStream();
-			ImageData cmap = null;
-			try {
-				system.exportDiagram(fos, i, fileFormat);
-			} finally {
-				fos.close();
-			}
-			// if (system.hasUrl() && cmap != null && cmap.containsCMapData()) {
-			// system.exportCmap(suggestedFile, cmap);
-			// }
-			Log.info("File size : " + f.length());
-			result.add(new FileImageData(f, cmap));
+			result.add(page);
 		}
 		return result;
 	}
 
+	/**
+	 * Export one page of a {@link NewpagedDiagram}. Pages are independent
+	 * diagrams, so they can be exported concurrently.
+	 *
+	 * @return <code>null</code> if the file cannot be written
+	 */
+	static FileImageData exportNewpagedPage(NewpagedDiagram system, SuggestedFile suggestedFile, int i,
+			FileFormatOption fileFormat) throws IOException {
+		final SFile f = suggestedFile.getFile(i);
+		if (canFileBeWritten(f) == false)
+			return null;
+
+		final OutputStream fos = f.createBufferedOutputStream();
+		ImageData cmap = null;
+		try {
+			system.exportDiagram(fos, i, fileFormat);
+		} finally {
+			fos.close();
+		}
+		// if (system.hasUrl() && cmap != null && cmap.containsCMapData()) {
+		// system.exportCmap(suggestedFile, cmap);
+		// }
+		Log.info("File size : " + f.length());
+		return new FileImageData(f, cmap);
+	}
+
 	public static boolean canFileBeWritten(final SFile f) {
 		Log.info("Creating file: " + f.getAbsolutePath());
 		if (f.exists() && f.canWrite() == false) {
@@ -139,8 +153,16 @@ public class PSystemUtils {
 
 	private static List<FileImageData> exportDiagramsSequence(SequenceDiagram system, SuggestedFile suggestedFile,
 			FileFormatOption fileFormat) throws IOException {
+		return exportDiagramsSequence(system, suggestedFile, fileFormat, system.getNbImages());
+	}
+
+	/**
+	 * Same as {@link #exportDiagrams} for a sequence diagram whose number of pages
+	 * is already known, so that it is not laid out one more time to count them.
+	 */
+	static List<FileImageData> exportDiagramsSequence(SequenceDiagram system, SuggestedFile suggestedFile,
+			FileFormatOption fileFormat, int nbImages) throws IOException {
 		final List<FileImageData> result = new ArrayList<>();
-		final int nbImages = system.getNbImages();
 		for (int i = 0; i < nbImages; i++) {
 
 			final SFile f = suggestedFile.getFile(i);
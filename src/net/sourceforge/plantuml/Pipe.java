@@ -47,6 +47,12 @@ import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import net.sourceforge.plantuml.core.Diagram;
 import net.sourceforge.plantuml.core.DiagramDescription;
@@ -76,34 +82,169 @@ public class Pipe {
 	}
 
 	public void managePipe(ErrorStatus error) throws IOException {
-		final boolean noStdErr = option.isPipeNoStdErr();
-
+		if (option.getNbThreads() > 1) {
+			managePipeConcurrently(error, option.getNbThreads());
+			return;
+		}
 		for (String source = readFirstDiagram(); source != null; source = readSubsequentDiagram()) {
-			final Defines defines = option.getDefaultDefines();
-			final SFile newCurrentDir = option.getFileDir() == null ? null : new SFile(option.getFileDir());
-			final SourceStringReader sourceStringReader = new SourceStringReader(defines, source, UTF_8,
-					option.getConfig(), newCurrentDir);
-
-			if (option.isComputeurl())
-				computeUrlForDiagram(sourceStringReader);
-			else if (option.isSyntax())
-				syntaxCheckDiagram(sourceStringReader, error);
-			else if (option.isPipeMap())
-				createPipeMapForDiagram(sourceStringReader, error);
-			else
-				generateDiagram(sourceStringReader, error, noStdErr);
-
+			manageDiagram(source, option.getFileFormatOption(), ps, System.err, error);
 			ps.flush();
 		}
 	}
 
-	private void generateDiagram(SourceStringReader sourceStringReader, ErrorStatus error, boolean noStdErr)
-			throws IOException {
+	/**
+	 * Renders up to nbThreads diagrams at once while reading the next ones. Each
+	 * diagram is rendered in memory and written by a single writer thread, in
+	 * input order, as soon as it and all previous ones are done. At most 2 *
+	 * nbThreads diagrams are pending, reading stops when this limit is reached.
+	 */
+	private void managePipeConcurrently(final ErrorStatus error, int nbThreads) throws IOException {
+		final ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+		final BlockingQueue<Future<Rendered>> pending = new ArrayBlockingQueue<>(2 * nbThreads);
+		final PipeWriter writer = new PipeWriter(pending);
+		writer.start();
+		try {
+			for (String source = readFirstDiagram(); source != null
+					&& writer.failure == null; source = readSubsequentDiagram()) {
+				// The format may be changed by the next @@@format line
+				final String diagram = source;
+				final FileFormatOption fileFormatOption = option.getFileFormatOption();
+				pending.put(executor.submit(() -> render(diagram, fileFormatOption, error)));
+			}
+			pending.put(executor.submit(() -> END));
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		} finally {
+			executor.shutdownNow();
+			// Reading may have failed before END was queued
+			stopWriter(writer);
+		}
+		if (writer.failure instanceof IOException)
+			throw (IOException) writer.failure;
+		if (writer.failure instanceof RuntimeException)
+			throw (RuntimeException) writer.failure;
+		if (writer.failure instanceof Error)
+			throw (Error) writer.failure;
+		if (writer.failure != null)
+			throw new IOException(writer.failure);
+	}
+
+	private void stopWriter(PipeWriter writer) {
+		if (writer.isAlive() == false)
+			return;
+		writer.interrupt();
+		boolean interrupted = false;
+		while (writer.isAlive())
+			try {
+				writer.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
+	private Rendered render(String source, FileFormatOption fileFormatOption, ErrorStatus error) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final ByteArrayOutputStream err = new ByteArrayOutputStream();
+		try (PrintStream outPs = new PrintStream(out); PrintStream errPs = new PrintStream(err)) {
+			manageDiagram(source, fileFormatOption, outPs, errPs, error);
+		}
+		return new Rendered(out.toByteArray(), err.toByteArray());
+	}
+
+	private static final Rendered END = new Rendered(null, null);
+
+	private static class Rendered {
+		private final byte[] out;
+		private final byte[] err;
+
+		Rendered(byte[] out, byte[] err) {
+			this.out = out;
+			this.err = err;
+		}
+	}
+
+	private class PipeWriter extends Thread {
+
+		private final BlockingQueue<Future<Rendered>> pending;
+		private volatile Throwable failure;
+
+		PipeWriter(BlockingQueue<Future<Rendered>> pending) {
+			super("pipe-writer");
+			this.pending = pending;
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			try {
+				while (true) {
+					final Rendered rendered = get(pending.take());
+					if (rendered == END)
+						return;
+
+					if (failure == null)
+						write(rendered);
+
+				}
+			} catch (InterruptedException e) {
+				failure = e;
+			}
+		}
+
+		private void write(Rendered rendered) {
+			try {
+				System.err.write(rendered.err);
+				System.err.flush();
+				ps.write(rendered.out);
+				// PrintStream swallows IO errors, a closed stdout must stop the reader
+				if (ps.checkError())
+					failure = new IOException("Cannot write to output");
+			} catch (IOException e) {
+				failure = e;
+			}
+		}
+
+		private Rendered get(Future<Rendered> future) throws InterruptedException {
+			try {
+				return future.get();
+			} catch (ExecutionException e) {
+				// Keep on consuming so that the reader is never blocked
+				if (failure == null)
+					failure = e.getCause();
+				return null;
+			}
+		}
+	}
+
+	private void manageDiagram(String source, FileFormatOption fileFormatOption, PrintStream ps, PrintStream err,
+			ErrorStatus error) throws IOException {
+		final Defines defines = option.getDefaultDefines();
+		final SFile newCurrentDir = option.getFileDir() == null ? null : new SFile(option.getFileDir());
+		final SourceStringReader sourceStringReader = new SourceStringReader(defines, source, UTF_8,
+				option.getConfig(), newCurrentDir);
+
+		if (option.isComputeurl())
+			computeUrlForDiagram(sourceStringReader, ps);
+		else if (option.isSyntax())
+			syntaxCheckDiagram(sourceStringReader, ps, error);
+		else if (option.isPipeMap())
+			createPipeMapForDiagram(sourceStringReader, fileFormatOption, ps, error);
+		else
+			generateDiagram(sourceStringReader, fileFormatOption, ps, err, error);
+
+	}
+
+	private void generateDiagram(SourceStringReader sourceStringReader, FileFormatOption fileFormatOption,
+			PrintStream ps, PrintStream err, ErrorStatus error) throws IOException {
+		final boolean noStdErr = option.isPipeNoStdErr();
 		final OutputStream os = noStdErr ? new ByteArrayOutputStream() : ps;
-		final DiagramDescription result = sourceStringReader.outputImage(os, option.getImageIndex(),
-				option.getFileFormatOption());
+		final DiagramDescription result = sourceStringReader.outputImage(os, option.getImageIndex(), fileFormatOption);
 
-		printInfo(noStdErr ? ps : System.err, sourceStringReader);
+		printInfo(noStdErr ? ps : err, sourceStringReader);
 		if (result != null && "(error)".equalsIgnoreCase(result.getDescription())) {
 			error.goWithError();
 		} else {
@@ -119,8 +260,9 @@ public class Pipe {
 
 	}
 
-	private void createPipeMapForDiagram(SourceStringReader sourceStringReader, ErrorStatus error) throws IOException {
-		final String result = sourceStringReader.getCMapData(option.getImageIndex(), option.getFileFormatOption());
+	private void createPipeMapForDiagram(SourceStringReader sourceStringReader, FileFormatOption fileFormatOption,
+			PrintStream ps, ErrorStatus error) throws IOException {
+		final String result = sourceStringReader.getCMapData(option.getImageIndex(), fileFormatOption);
 		// https://forum.plantuml.net/10049/2019-pipemap-diagrams-containing-links-give-zero-exit-code
 		// We don't check errors
 		error.goOk();
@@ -131,13 +273,13 @@ public class Pipe {
 
 	}
 
-	private void computeUrlForDiagram(SourceStringReader sourceStringReader) throws IOException {
+	private void computeUrlForDiagram(SourceStringReader sourceStringReader, PrintStream ps) throws IOException {
 		for (BlockUml s : sourceStringReader.getBlocks())
 			ps.println(s.getEncodedUrl());
 
 	}
 
-	private void syntaxCheckDiagram(SourceStringReader sourceStringReader, ErrorStatus error) {
+	private void syntaxCheckDiagram(SourceStringReader sourceStringReader, PrintStream ps, ErrorStatus error) {
 		final Diagram system = sourceStringReader.getBlocks().get(0).getDiagram();
 		if (system instanceof UmlDiagram) {
 			error.goOk();
@@ -0,0 +1,333 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import net.sourceforge.plantuml.dot.GraphvizUtils;
+import net.sourceforge.plantuml.file.SuggestedFile;
+import net.sourceforge.plantuml.log.Logme;
+import net.sourceforge.plantuml.preproc.FileWithSuffix;
+import net.sourceforge.plantuml.security.SFile;
+import net.sourceforge.plantuml.text.StringLocated;
+import net.sourceforge.plantuml.utils.Log;
+import net.sourceforge.plantuml.version.Version;
+
+/**
+ * Content-addressed cache of exported diagrams, used by the command line with
+ * <code>-cache</code>.
+ * <p>
+ * The key of a block is a hash of the PlantUML and Graphviz versions, of the
+ * export options and of the preprocessed source. Included files are already
+ * expanded in the preprocessed source, so a change in an included file changes
+ * the key. Files only read at render time (images, sprites and style files) are
+ * part of the key through their path, size and modification time. Diagrams
+ * using remote images are not cached. Each entry is a directory holding one
+ * file per exported image and a small index file. When the cache grows over its
+ * maximum size, the least recently used entries are deleted.
+ */
+public class RenderCache {
+	// ::remove file when __CORE__
+	// ::remove file when __HAXE__
+
+	private static final String INDEX = "index.txt";
+
+	// Files read when the diagram is parsed or exported, not by the preprocessor
+	private static final Pattern IMG = Pattern.compile("(?i)<img[\\s:]+([^>{}\"'=]+?)\\s*(?=[{>])");
+	private static final Pattern IMG_SRC = Pattern.compile("(?i)<img\\s[^>]*?src\\s*=\\s*[\"']?([^\\s\"'>]+)");
+	private static final Pattern SPRITE_FILE = Pattern.compile("^\\s*sprite\\s+\\$?[-\\w]+\\s+([^<>\"#\\[{]+?)\\s*$");
+	private static final Pattern STYLE_FILE = Pattern.compile("(?i)^\\s*<style\\s*\\w+\\s*=\\s*[\"']?([^\"'>]*)");
+
+	private final SFile dir;
+	private final long maxSize;
+
+	private long size = -1;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public RenderCache(SFile dir, long maxSize) {
+		this.dir = dir;
+		this.maxSize = maxSize;
+		dir.mkdirs();
+	}
+
+	/**
+	 * @return <code>null</code> if this block cannot be cached with these options
+	 */
+	public static String getKey(BlockUml blockUml, FileFormatOption fileFormatOption) {
+		try {
+			return getKey(blockUml, fileFormatOption, GraphvizUtils.dotVersion());
+		} catch (IOException | InterruptedException e) {
+			Logme.error(e);
+			return null;
+		}
+	}
+
+	static String getKey(BlockUml blockUml, FileFormatOption fileFormatOption, String dotVersion) {
+		final String signature = fileFormatOption.getCacheSignature();
+		if (signature == null)
+			return null;
+
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update((Version.etag() + "\n" + dotVersion + "\n" + signature + "\n").getBytes(UTF_8));
+			final Collection<String> included = new TreeSet<>();
+			for (FileWithSuffix file : blockUml.getIncluded())
+				included.add(file.getDescription());
+			for (String s : included)
+				digest.update((s + "\n").getBytes(UTF_8));
+			for (StringLocated s : blockUml.getData())
+				digest.update((s.getString() + "\n").getBytes(UTF_8));
+			for (StringLocated s : blockUml.getData())
+				if (updateResources(digest, s.getString()) == false)
+					return null;
+
+			final StringBuilder sb = new StringBuilder();
+			for (byte b : digest.digest())
+				sb.append(String.format("%02x", b & 0xFF));
+			return sb.toString();
+		} catch (NoSuchAlgorithmException e) {
+			Logme.error(e);
+			return null;
+		}
+	}
+
+	/**
+	 * @return <code>false</code> if the line uses a resource that cannot be
+	 *         checked, like a remote image
+	 */
+	private static boolean updateResources(MessageDigest digest, String line) {
+		for (Pattern pattern : new Pattern[] { IMG, IMG_SRC, SPRITE_FILE, STYLE_FILE }) {
+			final Matcher m = pattern.matcher(line);
+			while (m.find()) {
+				String path = m.group(1);
+				if (path.startsWith("http:") || path.startsWith("https:"))
+					return false;
+				if (path.startsWith("jar:"))
+					continue;
+				if (pattern == SPRITE_FILE && path.contains("~"))
+					path = path.substring(0, path.lastIndexOf('~'));
+
+				digest.update((path + "\n").getBytes(UTF_8));
+				try {
+					final SFile f = FileSystem.getInstance().getFile(path);
+					if (f != null && f.exists())
+						digest.update((f.lastModified() + " " + f.length() + "\n").getBytes(UTF_8));
+				} catch (IOException e) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	public boolean contains(String key) {
+		return dir.file(key).file(INDEX).exists();
+	}
+
+	/**
+	 * Copy the images of a cached entry to their destination.
+	 *
+	 * @return the generated images, or <code>null</code> if the entry is not in
+	 *         the cache
+	 */
+	public List<GeneratedImage> restore(String key, String descriptionPrefix, BlockUml blockUml,
+			SuggestedFile suggested) throws IOException {
+		final SFile entry = dir.file(key);
+		final SFile index = entry.file(INDEX);
+		if (index.exists() == false) {
+			misses.incrementAndGet();
+			return null;
+		}
+		final List<String> lines = new ArrayList<>();
+		try (BufferedReader br = index.openBufferedReader()) {
+			if (br == null) {
+				misses.incrementAndGet();
+				return null;
+			}
+			String s;
+			while ((s = br.readLine()) != null)
+				lines.add(s);
+		}
+		if (lines.size() < 2) {
+			misses.incrementAndGet();
+			return null;
+		}
+		final String description = descriptionPrefix + lines.get(0);
+		final List<GeneratedImage> result = new ArrayList<>();
+		for (int i = 1; i < lines.size(); i++) {
+			final SFile f = suggested.getFile(i - 1);
+			if (PSystemUtils.canFileBeWritten(f) == false)
+				break;
+			FileUtils.copyToFile(entry.file("" + (i - 1)), f);
+			result.add(new GeneratedImageImpl(f, description, blockUml, Integer.parseInt(lines.get(i)), -1));
+		}
+		// Used as the last access time for eviction
+		index.conv().setLastModified(System.currentTimeMillis());
+		hits.incrementAndGet();
+		Log.info("Diagram restored from cache " + key);
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Store the exported images of a block. Nothing is stored unless the files are
+	 * exactly the ones suggested for the block, in order.
+	 */
+	public void store(String key, String description, SuggestedFile suggested, List<FileImageData> files) {
+		if (files.size() == 0)
+			return;
+
+		for (int i = 0; i < files.size(); i++) {
+			final FileImageData data = files.get(i);
+			if (data.getFile() == null || data.getFile().equals(suggested.getFile(i)) == false)
+				return;
+
+			if (data.getImageData() != null && data.getImageData().containsCMapData())
+				return;
+		}
+		final SFile entry = dir.file(key);
+		final SFile tmp = dir.file(key + ".tmp" + Thread.currentThread().getId());
+		try {
+			tmp.mkdirs();
+			long entrySize = 0;
+			for (int i = 0; i < files.size(); i++) {
+				final SFile target = tmp.file("" + i);
+				FileUtils.copyToFile(files.get(i).getFile(), target);
+				entrySize += target.length();
+			}
+			try (PrintWriter pw = tmp.file(INDEX).createPrintWriter("UTF-8")) {
+				pw.println(description.replace('\n', ' '));
+				for (FileImageData data : files)
+					pw.println(data.getStatus());
+			}
+			entrySize += tmp.file(INDEX).length();
+			// Another thread may have stored the same entry
+			if (entry.exists() || tmp.renameTo(entry) == false) {
+				delete(tmp);
+				return;
+			}
+			addSize(entrySize);
+		} catch (IOException e) {
+			Logme.error(e);
+			delete(tmp);
+		}
+	}
+
+	private synchronized void addSize(long entrySize) {
+		if (size == -1)
+			size = computeSize();
+		else
+			size += entrySize;
+
+		if (size > maxSize)
+			evict();
+	}
+
+	private long computeSize() {
+		long result = 0;
+		for (SFile entry : dir.listFiles())
+			result += sizeOf(entry);
+
+		return result;
+	}
+
+	private void evict() {
+		final List<SFile> entries = new ArrayList<>(dir.listFiles());
+		Collections.sort(entries, new Comparator<SFile>() {
+			public int compare(SFile e1, SFile e2) {
+				return Long.compare(e1.file(INDEX).lastModified(), e2.file(INDEX).lastModified());
+			}
+		});
+		// Remove a bit more than needed, so that we do not evict on every store
+		final long target = maxSize * 9 / 10;
+		for (SFile entry : entries) {
+			if (size <= target)
+				break;
+			if (entry.getName().contains(".tmp"))
+				continue;
+
+			final long entrySize = sizeOf(entry);
+			delete(entry);
+			size -= entrySize;
+			Log.info("Removed from cache " + entry.getName());
+		}
+	}
+
+	private static long sizeOf(SFile entry) {
+		long result = 0;
+		for (SFile f : entry.listFiles())
+			result += f.length();
+
+		return result;
+	}
+
+	private static void delete(SFile entry) {
+		for (SFile f : entry.listFiles())
+			f.delete();
+
+		entry.delete();
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	@Override
+	public String toString() {
+		return "RenderCache " + dir.getAbsolutePath() + " hits=" + getHits() + " misses=" + getMisses();
+	}
+
+}
@@ -0,0 +1,107 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Time spent on each diagram during a batch run, printed as a summary at the
+ * end of the run.
+ */
+public class RenderTimings {
+	// ::remove file when __CORE__
+	// ::remove file when __HAXE__
+
+	private final List<Entry> entries = Collections.synchronizedList(new ArrayList<Entry>());
+
+	public void add(File file, int index, String description, long parseNanos, long exportNanos) {
+		entries.add(new Entry(file, index, description, parseNanos, exportNanos));
+	}
+
+	public void print(PrintStream ps) {
+		final List<Entry> sorted;
+		synchronized (entries) {
+			sorted = new ArrayList<>(entries);
+		}
+		Collections.sort(sorted, new Comparator<Entry>() {
+			public int compare(Entry e1, Entry e2) {
+				final int cmp = e1.file.getPath().compareTo(e2.file.getPath());
+				if (cmp != 0)
+					return cmp;
+				return Integer.compare(e1.index, e2.index);
+			}
+		});
+		long totalParse = 0;
+		long totalExport = 0;
+		for (Entry entry : sorted) {
+			ps.println(entry);
+			totalParse += entry.parseNanos;
+			totalExport += entry.exportNanos;
+		}
+		ps.println(String.format("%d diagram(s): parse %d ms, export %d ms", sorted.size(), totalParse / 1000000,
+				totalExport / 1000000));
+	}
+
+	static class Entry {
+
+		private final File file;
+		private final int index;
+		private final String description;
+		private final long parseNanos;
+		private final long exportNanos;
+
+		Entry(File file, int index, String description, long parseNanos, long exportNanos) {
+			this.file = file;
+			this.index = index;
+			this.description = description;
+			this.parseNanos = parseNanos;
+			this.exportNanos = exportNanos;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s#%d %s: parse %d ms, export %d ms", file.getPath(), index, description,
+					parseNanos / 1000000, exportNanos / 1000000);
+		}
+
+	}
+
+}
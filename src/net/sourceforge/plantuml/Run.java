@@ -47,9 +47,16 @@ import java.io.InputStream;
 import java.io.PrintWriter;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.TimeUnit;
 
 import javax.swing.UIManager;
@@ -57,18 +64,24 @@ import javax.swing.UIManager;
 import net.sourceforge.plantuml.code.NoPlantumlCompressionException;
 import net.sourceforge.plantuml.code.Transcoder;
 import net.sourceforge.plantuml.code.TranscoderUtil;
+import net.sourceforge.plantuml.file.DependencyWatcher;
 import net.sourceforge.plantuml.file.FileGroup;
 import net.sourceforge.plantuml.file.SuggestedFile;
 import net.sourceforge.plantuml.ftp.FtpServer;
+import net.sourceforge.plantuml.json.WriterConfig;
+import net.sourceforge.plantuml.klimt.font.StringBounderCache;
 import net.sourceforge.plantuml.klimt.sprite.SpriteGrayLevel;
 import net.sourceforge.plantuml.klimt.sprite.SpriteUtils;
 import net.sourceforge.plantuml.log.Logme;
 import net.sourceforge.plantuml.picoweb.PicoWebServer;
 import net.sourceforge.plantuml.png.MetadataTag;
+import net.sourceforge.plantuml.preproc.FileWithSuffix;
 import net.sourceforge.plantuml.preproc.Stdlib;
+import net.sourceforge.plantuml.preproc.StdlibCache;
 import net.sourceforge.plantuml.security.SFile;
 import net.sourceforge.plantuml.security.SImageIO;
 import net.sourceforge.plantuml.security.SecurityUtils;
+import net.sourceforge.plantuml.stats.StageMetrics;
 import net.sourceforge.plantuml.stats.StatsUtils;
 import net.sourceforge.plantuml.swing.ClipboardLoop;
 import net.sourceforge.plantuml.swing.MainWindow;
@@ -186,6 +199,9 @@ public class Run {
 		} else if (option.isPipe() || option.isPipeMap() || option.isSyntax()) {
 			managePipe(option, error);
 			forceQuit = true;
+		} else if (option.isWatch()) {
+			watch(option, error);
+			forceQuit = true;
 		} else if (option.isFailfast2()) {
 			if (option.isSplash()) {
 				Splash.createSplash();
@@ -214,6 +230,12 @@ public class Run {
 			final double duration = (System.currentTimeMillis() - start) / 1000.0;
 			Log.error("Duration = " + duration + " seconds");
 		}
+		Log.info(StringBounderCache.getInstance().toString());
+		Log.info(StdlibCache.getInstance().toString());
+		if (renderCache != null)
+			Log.info(renderCache.toString());
+		if (option.getMetricsFile() != null)
+			writeMetrics(option.getMetricsFile());
 
 		if (OptionFlags.getInstance().isGui() == false) {
 			if (error.hasError() || error.isNoData()) {
@@ -418,7 +440,10 @@ public class Run {
 
 	private static void multithread(final Option option, final ErrorStatus error) throws InterruptedException {
 		Log.info("Using several threads: " + option.getNbThreads());
-		final ExecutorService executor = Executors.newFixedThreadPool(option.getNbThreads());
+		// Files are split into diagram blocks and pages, which are forked in the same
+		// pool so that idle threads can steal them
+		final ForkJoinPool pool = new ForkJoinPool(option.getNbThreads());
+		final RenderTimings timings = new RenderTimings();
 
 		int nb = 0;
 		for (String s : option.getResult()) {
@@ -426,13 +451,13 @@ public class Run {
 			for (final File f : group.getFiles()) {
 				incTotal(1);
 				nb++;
-				executor.submit(new Runnable() {
+				pool.submit(new Runnable() {
 					public void run() {
 						if (error.hasError() && option.isFailfastOrFailfast2()) {
 							return;
 						}
 						try {
-							manageFileInternal(f, option, error);
+							manageFileInternal(f, option, error, pool, timings);
 						} catch (IOException e) {
 							Logme.error(e);
 						} catch (InterruptedException e) {
@@ -444,8 +469,142 @@ public class Run {
 			}
 		}
 		foundNbFiles(nb);
-		executor.shutdown();
-		executor.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+		pool.shutdown();
+		pool.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+		if (option.isDuration())
+			timings.print(System.err);
+	}
+
+	/**
+	 * Render all files, then keep running and render again the files whose source
+	 * or included files change. Inside a file, only the blocks whose preprocessed
+	 * source changed are exported again.
+	 */
+	static void watch(Option option, ErrorStatus error) throws IOException, InterruptedException {
+		final ForkJoinPool pool = option.getNbThreads() > 1 ? new ForkJoinPool(option.getNbThreads()) : null;
+		final String outputSuffix = option.getFileFormatOption().getFileFormat().getFileSuffix();
+		final Map<File, Map<String, List<GeneratedImage>>> images = new ConcurrentHashMap<>();
+		final Set<File> withErrors = Collections.newSetFromMap(new ConcurrentHashMap<File, Boolean>());
+		try (DependencyWatcher watcher = new DependencyWatcher(getWatchDebounce())) {
+			Collection<File> toRender = scanFiles(option, watcher);
+			while (true) {
+				renderAndWatch(toRender, option, error, pool, watcher, images, withErrors);
+				if (option.getMetricsFile() != null)
+					writeMetrics(option.getMetricsFile());
+				Log.info("Watching " + images.size() + " files");
+
+				final Set<File> changed = watcher.waitForChanges();
+				final Set<File> next = new TreeSet<>();
+				boolean rescan = false;
+				for (File f : changed) {
+					// Our own images
+					if (f.getName().endsWith(outputSuffix))
+						continue;
+
+					final Set<File> dependents = watcher.getDependents(f);
+					if (dependents.size() == 0)
+						rescan = true;
+					next.addAll(dependents);
+				}
+				// Maybe a new diagram, a new directory, or a missing included file
+				if (rescan) {
+					for (File f : scanFiles(option, watcher))
+						if (watcher.isDiagram(f) == false)
+							next.add(f);
+					next.addAll(withErrors);
+				}
+
+				Log.info("Changed " + changed + ", rendering " + next);
+				toRender = next;
+			}
+		} finally {
+			if (pool != null)
+				pool.shutdown();
+		}
+	}
+
+	private static Set<File> scanFiles(Option option, DependencyWatcher watcher) throws IOException {
+		final Set<File> result = new TreeSet<>();
+		for (String s : option.getResult()) {
+			final FileGroup group = new FileGroup(s, option.getExcludes(), option);
+			for (File dir : group.getDirectories())
+				watcher.watchDirectory(dir);
+			for (File f : group.getFiles())
+				result.add(DependencyWatcher.normalize(f));
+		}
+		return result;
+	}
+
+	private static void renderAndWatch(Collection<File> files, final Option option, final ErrorStatus error,
+			final ForkJoinPool pool, final DependencyWatcher watcher,
+			final Map<File, Map<String, List<GeneratedImage>>> images, final Set<File> withErrors) {
+		if (pool == null) {
+			for (File f : files)
+				renderAndWatch(f, option, error, pool, watcher, images, withErrors);
+			return;
+		}
+		final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+		for (final File f : files)
+			tasks.add(pool.submit(new Runnable() {
+				public void run() {
+					renderAndWatch(f, option, error, pool, watcher, images, withErrors);
+				}
+			}));
+		for (ForkJoinTask<?> task : tasks)
+			task.join();
+	}
+
+	private static void renderAndWatch(File f, Option option, ErrorStatus error, ForkJoinPool pool,
+			DependencyWatcher watcher, Map<File, Map<String, List<GeneratedImage>>> images, Set<File> withErrors) {
+		try {
+			withErrors.remove(f);
+			if (f.exists() == false) {
+				watcher.remove(f);
+				images.remove(f);
+				return;
+			}
+			Map<String, List<GeneratedImage>> previous = images.get(f);
+			if (previous == null)
+				previous = Collections.emptyMap();
+
+			final SourceFileReaderAbstract sourceFileReader = (SourceFileReaderAbstract) manageFileInternal(f, option,
+					error, pool, null, previous);
+			if (sourceFileReader == null) {
+				watcher.setDependencies(f, Collections.<File>emptySet());
+				return;
+			}
+			watcher.setDependencies(f, FileWithSuffix.convert(sourceFileReader.getIncludedFiles()));
+			images.put(f, new HashMap<>(sourceFileReader.getExportedImages()));
+			if (sourceFileReader.hasError())
+				withErrors.add(f);
+		} catch (IOException e) {
+			Logme.error(e);
+		} catch (InterruptedException e) {
+			Logme.error(e);
+		}
+	}
+
+	private static void writeMetrics(File file) throws IOException {
+		try (PrintWriter pw = SFile.fromFile(file).createPrintWriter("UTF-8")) {
+			pw.println(StageMetrics.getInstance().toJson().toString(WriterConfig.PRETTY_PRINT));
+		}
+	}
+
+	private static long getWatchDebounce() {
+		final String value = SecurityUtils.getenv("PLANTUML_WATCH_DEBOUNCE_MS");
+		if (StringUtils.isNotEmpty(value) && value.matches("\\d+"))
+			return Long.parseLong(value);
+
+		return 300;
+	}
+
+	private static RenderCache renderCache;
+
+	private static synchronized RenderCache getRenderCache(Option option) {
+		if (renderCache == null)
+			renderCache = new RenderCache(SFile.fromFile(option.getCacheDir()), option.getCacheMaxSize());
+
+		return renderCache;
 	}
 
 	private static void foundNbFiles(int nb) {
@@ -464,6 +623,17 @@ public class Run {
 
 	private static void manageFileInternal(File f, Option option, ErrorStatus error)
 			throws IOException, InterruptedException {
+		manageFileInternal(f, option, error, null, null);
+	}
+
+	private static void manageFileInternal(File f, Option option, ErrorStatus error, ForkJoinPool pool,
+			RenderTimings timings) throws IOException, InterruptedException {
+		manageFileInternal(f, option, error, pool, timings, null);
+	}
+
+	private static ISourceFileReader manageFileInternal(File f, Option option, ErrorStatus error, ForkJoinPool pool,
+			RenderTimings timings, Map<String, List<GeneratedImage>> previousImages)
+			throws IOException, InterruptedException {
 		Log.info("Working on " + f.getPath());
 		if (OptionFlags.getInstance().isExtractFromMetadata()) {
 			System.out.println("------------------------");
@@ -479,7 +649,7 @@ public class Run {
 
 			System.out.println(data);
 			System.out.println("------------------------");
-			return;
+			return null;
 		}
 		final ISourceFileReader sourceFileReader;
 		if (option.getOutputFile() == null) {
@@ -498,14 +668,18 @@ public class Run {
 					option.getConfig(), option.getCharset(), option.getFileFormatOption());
 		}
 		sourceFileReader.setCheckMetadata(option.isCheckMetadata());
+		if (option.getCacheDir() != null)
+			((SourceFileReaderAbstract) sourceFileReader).setRenderCache(getRenderCache(option));
 		((SourceFileReaderAbstract) sourceFileReader).setNoerror(option.isNoerror());
+		if (previousImages != null)
+			((SourceFileReaderAbstract) sourceFileReader).setPreviousImages(previousImages);
 
 		if (option.isComputeurl()) {
 			error.goOk();
 			for (BlockUml s : sourceFileReader.getBlocks()) {
 				System.out.println(s.getEncodedUrl());
 			}
-			return;
+			return sourceFileReader;
 		}
 		if (option.isCheckOnly()) {
 			error.goOk();
@@ -515,26 +689,29 @@ public class Run {
 			}
 			// final List<GeneratedImage> result = sourceFileReader.getGeneratedImages();
 			// hasErrors(f, result, error);
-			return;
+			return sourceFileReader;
 		}
 		if (option.getPreprocessorOutputMode() != null) {
 			extractPreproc(option, sourceFileReader);
 			error.goOk();
-			return;
+			return sourceFileReader;
 		}
-		final List<GeneratedImage> result = sourceFileReader.getGeneratedImages();
+		final List<GeneratedImage> result = pool == null ? sourceFileReader.getGeneratedImages()
+				: ((SourceFileReaderAbstract) sourceFileReader).getGeneratedImages(pool, timings);
 		final Stdrpt rpt = option.getStdrpt();
 		if (result.size() == 0) {
 			Log.error("Warning: no image in " + f.getPath());
 			rpt.printInfo(System.err, null);
 			// error.goNoData();
-			return;
-		}
-		for (BlockUml s : sourceFileReader.getBlocks()) {
-			rpt.printInfo(System.err, s.getDiagram());
+			return sourceFileReader;
 		}
+		// StdrptNull prints nothing: do not create diagrams restored from the cache
+		if (rpt instanceof StdrptNull == false)
+			for (BlockUml s : sourceFileReader.getBlocks())
+				rpt.printInfo(System.err, s.getDiagram());
 
 		hasErrors(f, result, error, rpt);
+		return sourceFileReader;
 	}
 
 	private static void extractPreproc(Option option, final ISourceFileReader sourceFileReader) throws IOException {
@@ -50,8 +50,14 @@ import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 import net.sourceforge.plantuml.api.ImageDataSimple;
 import net.sourceforge.plantuml.core.Diagram;
@@ -63,6 +69,7 @@ import net.sourceforge.plantuml.preproc.Defines;
 import net.sourceforge.plantuml.preproc.FileWithSuffix;
 import net.sourceforge.plantuml.security.SFile;
 import net.sourceforge.plantuml.security.SecurityUtils;
+import net.sourceforge.plantuml.sequencediagram.SequenceDiagram;
 import net.sourceforge.plantuml.utils.Log;
 
 public abstract class SourceFileReaderAbstract implements ISourceFileReader {
@@ -80,6 +87,11 @@ public abstract class SourceFileReaderAbstract implements ISourceFileReader {
 	private final BlockUmlBuilder builder;
 	private int cpt;
 
+	private RenderCache renderCache;
+
+	private Map<String, List<GeneratedImage>> previousImages;
+	private final Map<String, List<GeneratedImage>> exportedImages = new HashMap<>();
+
 	protected final SuggestedFile getSuggestedFile(File outputDirectory, String newName) {
 		final File outFile = new File(outputDirectory, newName);
 		return SuggestedFile.fromOutputFile(outFile, getFileFormatOption().getFileFormat(), cpt++);
@@ -106,6 +118,27 @@ public abstract class SourceFileReaderAbstract implements ISourceFileReader {
 		this.checkMetadata = checkMetadata;
 	}
 
+	public void setRenderCache(RenderCache renderCache) {
+		this.renderCache = renderCache;
+	}
+
+	/**
+	 * Images exported by a previous reader of the same file, as returned by
+	 * {@link #getExportedImages()}. A block whose preprocessed source did not
+	 * change, and whose images are still there, is not exported again.
+	 */
+	public void setPreviousImages(Map<String, List<GeneratedImage>> previousImages) {
+		this.previousImages = previousImages;
+	}
+
+	/**
+	 * Images exported or kept by the last call to {@link #getGeneratedImages()},
+	 * by block. Only available after {@link #setPreviousImages(Map)}.
+	 */
+	public Map<String, List<GeneratedImage>> getExportedImages() {
+		return Collections.unmodifiableMap(exportedImages);
+	}
+
 	public boolean hasError() {
 		for (final BlockUml b : builder.getBlockUmls())
 			if (b.getDiagram() instanceof PSystemError)
@@ -161,11 +194,23 @@ public abstract class SourceFileReaderAbstract implements ISourceFileReader {
 		Log.info("Reading file: " + file);
 
 		cpt = 0;
+		exportedImages.clear();
 		final List<GeneratedImage> result = new ArrayList<>();
 
 		for (BlockUml blockUml : builder.getBlockUmls()) {
 			final SuggestedFile suggested = getSuggestedFile(blockUml);
 
+			final String cacheKey = getCacheKey(blockUml);
+			final List<GeneratedImage> cached = restoreFromCache(cacheKey, blockUml, suggested);
+			if (cached != null) {
+				if (cached.size() > 1)
+					cpt += cached.size() - 1;
+
+				result.addAll(cached);
+				keepExportedImages(cacheKey, null, cached);
+				continue;
+			}
+
 			final Diagram system;
 			try {
 				system = blockUml.getDiagram();
@@ -186,19 +231,24 @@ public abstract class SourceFileReaderAbstract implements ISourceFileReader {
 				exportDiagrams = new ArrayList<FileImageData>();
 				exportDiagrams
 						.add(new FileImageData(null, new ImageDataSimple(new XDimension2D(0, 0), FileImageData.ERROR)));
-			} else
+			} else {
 				exportDiagrams = PSystemUtils.exportDiagrams(system, suggested, fileFormatOption, checkMetadata);
+				storeInCache(cacheKey, system, suggested, exportDiagrams);
+			}
 
 			if (exportDiagrams.size() > 1)
 				cpt += exportDiagrams.size() - 1;
 
+			final List<GeneratedImage> images = new ArrayList<>();
 			for (FileImageData fdata : exportDiagrams) {
 				final String desc = "[" + file.getName() + "] " + system.getDescription();
 				final SFile f = fdata.getFile();
 				exportWarnOrErrIfWord(f, system);
 				final GeneratedImage generatedImage = new GeneratedImageImpl(f, desc, blockUml, fdata.getStatus());
-				result.add(generatedImage);
+				images.add(generatedImage);
 			}
+			result.addAll(images);
+			keepExportedImages(cacheKey, system, images);
 
 		}
 
@@ -207,6 +257,379 @@ public abstract class SourceFileReaderAbstract implements ISourceFileReader {
 		return Collections.unmodifiableList(result);
 	}
 
+	/**
+	 * Same result as {@link #getGeneratedImages()}, but each block, and each page
+	 * of a <code>newpage</code> diagram, is parsed and exported as a separate task
+	 * of the pool.
+	 * <p>
+	 * File names depend on the number of images of the previous blocks. They are
+	 * computed in block order once a block is parsed, so they do not change. A
+	 * diagram whose number of files is only known after export (png split, html)
+	 * is exported before the names of the next blocks are computed.
+	 */
+	final public List<GeneratedImage> getGeneratedImages(ForkJoinPool pool, RenderTimings timings)
+			throws IOException {
+		if (checkMetadata)
+			return getGeneratedImages();
+
+		Log.info("Reading file: " + file);
+
+		cpt = 0;
+		exportedImages.clear();
+		final List<BlockUml> blocks = builder.getBlockUmls();
+		final List<String> cacheKeys = new ArrayList<>();
+		final List<ForkJoinTask<Parsed>> parsings = new ArrayList<>();
+		for (final BlockUml blockUml : blocks) {
+			final String cacheKey = getCacheKey(blockUml);
+			cacheKeys.add(cacheKey);
+			if (isProbablyRestored(cacheKey)) {
+				// Most likely restored from the cache: no need to parse it
+				parsings.add(null);
+				continue;
+			}
+			parsings.add(fork(pool, new Callable<Parsed>() {
+				public Parsed call() {
+					return parse(blockUml);
+				}
+			}));
+		}
+
+		final List<ScheduledBlock> scheduled = new ArrayList<>();
+		for (int i = 0; i < blocks.size(); i++) {
+			final BlockUml blockUml = blocks.get(i);
+			final SuggestedFile suggested = getSuggestedFile(blockUml);
+
+			final String cacheKey = cacheKeys.get(i);
+			final List<GeneratedImage> cached = restoreFromCache(cacheKey, blockUml, suggested);
+			if (cached != null) {
+				if (cached.size() > 1)
+					cpt += cached.size() - 1;
+
+				scheduled.add(new ScheduledBlock(i, blockUml, cached));
+				continue;
+			}
+
+			final Diagram system;
+			final Parsed parsed;
+			try {
+				if (parsings.get(i) == null)
+					// Expected in the cache but not restored: parse it here
+					parsed = parse(blockUml);
+				else
+					parsed = parsings.get(i).join();
+
+				system = blockUml.getDiagram();
+			} catch (Throwable t) {
+				Logme.error(t);
+				if (OptionFlags.getInstance().isSilentlyCompletelyIgnoreErrors() || noerror)
+					continue;
+
+				// Same as the sequential version, but let running exports finish first
+				for (ScheduledBlock done : scheduled)
+					done.quietlyJoin();
+				return getCrashedImage(blockUml, t, suggested.getFile(0));
+			}
+
+			if (OptionFlags.getInstance().isSilentlyCompletelyIgnoreErrors() && system instanceof PSystemError)
+				continue;
+
+			OptionFlags.getInstance().logData(SFile.fromFile(file), system);
+			final ScheduledBlock block = new ScheduledBlock(i, blockUml, system, parsed.parseNanos);
+			block.cacheKey = cacheKey;
+			block.suggested = suggested;
+			scheduled.add(block);
+			if (noerror && system instanceof PSystemError) {
+				block.files.add(
+						new FileImageData(null, new ImageDataSimple(new XDimension2D(0, 0), FileImageData.ERROR)));
+				continue;
+			}
+
+			block.exportNanos.addAndGet(parsed.countNanos);
+			final int nbFiles = parsed.nbImages == -1 ? getPredictableNbFiles(system) : parsed.nbImages;
+			if (nbFiles == -1) {
+				final long start = System.nanoTime();
+				block.files.addAll(PSystemUtils.exportDiagrams(system, suggested, fileFormatOption, false));
+				block.exportNanos.addAndGet(System.nanoTime() - start);
+			} else if (system instanceof NewpagedDiagram) {
+				final NewpagedDiagram newpaged = (NewpagedDiagram) system;
+				for (int page = 0; page < nbFiles; page++) {
+					final int num = page;
+					block.pages.add(fork(pool, block.timed(new Callable<FileImageData>() {
+						public FileImageData call() throws IOException {
+							return PSystemUtils.exportNewpagedPage(newpaged, suggested, num, fileFormatOption);
+						}
+					})));
+				}
+			} else if (system instanceof SequenceDiagram) {
+				final SequenceDiagram sequence = (SequenceDiagram) system;
+				block.whole = fork(pool, block.timed(new Callable<List<FileImageData>>() {
+					public List<FileImageData> call() throws IOException {
+						return PSystemUtils.exportDiagramsSequence(sequence, suggested, fileFormatOption, nbFiles);
+					}
+				}));
+			} else {
+				block.whole = fork(pool, block.timed(new Callable<List<FileImageData>>() {
+					public List<FileImageData> call() throws IOException {
+						return PSystemUtils.exportDiagrams(system, suggested, fileFormatOption, false);
+					}
+				}));
+			}
+			if (nbFiles > 1)
+				cpt += nbFiles - 1;
+			else if (nbFiles == -1 && block.files.size() > 1)
+				cpt += block.files.size() - 1;
+
+		}
+
+		final List<GeneratedImage> result = new ArrayList<>();
+		for (ScheduledBlock block : scheduled) {
+			if (block.cached != null) {
+				result.addAll(block.cached);
+				keepExportedImages(cacheKeys.get(block.index), null, block.cached);
+				continue;
+			}
+			block.join();
+			final Diagram system = block.system;
+			storeInCache(block.cacheKey, system, block.suggested, block.files);
+			final List<GeneratedImage> images = new ArrayList<>();
+			for (FileImageData fdata : block.files) {
+				final String desc = "[" + file.getName() + "] " + system.getDescription();
+				final SFile f = fdata.getFile();
+				exportWarnOrErrIfWord(f, system);
+				final GeneratedImage generatedImage = new GeneratedImageImpl(f, desc, block.blockUml,
+						fdata.getStatus());
+				images.add(generatedImage);
+			}
+			result.addAll(images);
+			keepExportedImages(block.cacheKey, system, images);
+			if (timings != null)
+				timings.add(file, block.index, system.getDescription().getDescription(), block.parseNanos,
+						block.exportNanos.get());
+		}
+
+		Log.info("Number of image(s): " + result.size());
+
+		return Collections.unmodifiableList(result);
+	}
+
+	private String getCacheKey(BlockUml blockUml) {
+		if (renderCache == null && previousImages == null)
+			return null;
+
+		if (checkMetadata || OptionFlags.getInstance().isWord())
+			return null;
+
+		return RenderCache.getKey(blockUml, fileFormatOption);
+	}
+
+	private boolean isProbablyRestored(String cacheKey) {
+		if (cacheKey == null)
+			return false;
+
+		if (previousImages != null && previousImages.containsKey(cacheKey))
+			return true;
+
+		return renderCache != null && renderCache.contains(cacheKey);
+	}
+
+	private List<GeneratedImage> restoreFromCache(String cacheKey, BlockUml blockUml, SuggestedFile suggested) {
+		if (cacheKey == null)
+			return null;
+
+		final List<GeneratedImage> previous = restorePrevious(cacheKey, blockUml, suggested);
+		if (previous != null)
+			return previous;
+
+		if (renderCache == null)
+			return null;
+
+		try {
+			return renderCache.restore(cacheKey, "[" + file.getName() + "] ", blockUml, suggested);
+		} catch (IOException e) {
+			Logme.error(e);
+			return null;
+		}
+	}
+
+	private List<GeneratedImage> restorePrevious(String cacheKey, BlockUml blockUml, SuggestedFile suggested) {
+		if (previousImages == null)
+			return null;
+
+		final List<GeneratedImage> images = previousImages.get(cacheKey);
+		if (images == null)
+			return null;
+
+		final List<GeneratedImage> result = new ArrayList<>();
+		for (int i = 0; i < images.size(); i++) {
+			final GeneratedImage image = images.get(i);
+			final SFile f = suggested.getFile(i);
+			if (f.conv().equals(image.getPngFile()) == false || f.exists() == false)
+				return null;
+
+			result.add(new GeneratedImageImpl(f, image.getDescription(), blockUml, image.getStatus(), -1));
+		}
+		Log.info("Diagram not changed " + result.get(0).getPngFile());
+		return Collections.unmodifiableList(result);
+	}
+
+	private void keepExportedImages(String cacheKey, Diagram system, List<GeneratedImage> images) {
+		// Errors are always exported again, so that they are reported
+		if (previousImages == null || cacheKey == null || images.size() == 0 || system instanceof PSystemError)
+			return;
+
+		final List<GeneratedImage> kept = new ArrayList<>();
+		for (GeneratedImage image : images) {
+			// Do not keep the diagram in memory
+			kept.add(new GeneratedImageImpl(SFile.fromFile(image.getPngFile()), image.getDescription(), null,
+					image.getStatus(), -1));
+		}
+		exportedImages.put(cacheKey, Collections.unmodifiableList(kept));
+	}
+
+	private void storeInCache(String cacheKey, Diagram system, SuggestedFile suggested, List<FileImageData> files) {
+		// Error diagrams are always rendered again, so that errors are reported
+		if (renderCache != null && cacheKey != null && system instanceof PSystemError == false)
+			renderCache.store(cacheKey, system.getDescription().toString(), suggested, files);
+	}
+
+	/**
+	 * Parses the block. The number of pages of sequence and newpaged diagrams
+	 * needs a layout, so it is computed here too, by the task parsing the block.
+	 */
+	private static Parsed parse(BlockUml blockUml) {
+		final long start = System.nanoTime();
+		final Diagram system = blockUml.getDiagram();
+		final long parseNanos = System.nanoTime() - start;
+		if (system instanceof NewpagedDiagram || system instanceof SequenceDiagram) {
+			final int nbImages = system.getNbImages();
+			return new Parsed(parseNanos, nbImages, System.nanoTime() - start - parseNanos);
+		}
+		return new Parsed(parseNanos, -1, 0);
+	}
+
+	private static class Parsed {
+
+		private final long parseNanos;
+		private final int nbImages;
+		private final long countNanos;
+
+		Parsed(long parseNanos, int nbImages, long countNanos) {
+			this.parseNanos = parseNanos;
+			this.nbImages = nbImages;
+			this.countNanos = countNanos;
+		}
+
+	}
+
+	/**
+	 * Number of files that {@link PSystemUtils#exportDiagrams} will create, or -1
+	 * if it is only known after the export. Paged diagrams are counted by
+	 * {@link #parse(BlockUml)}.
+	 */
+	private int getPredictableNbFiles(Diagram system) {
+		final FileFormat fileFormat = fileFormatOption.getFileFormat();
+		if (fileFormat == FileFormat.HTML)
+			return -1;
+
+		if (fileFormat == FileFormat.PNG && system instanceof AbstractPSystem) {
+			final AbstractPSystem psystem = (AbstractPSystem) system;
+			if (psystem.getSplitPagesHorizontal() > 1 || psystem.getSplitPagesVertical() > 1)
+				return -1;
+		}
+		return 1;
+	}
+
+	private static <T> ForkJoinTask<T> fork(ForkJoinPool pool, Callable<T> callable) {
+		final ForkJoinTask<T> task = ForkJoinTask.adapt(callable);
+		// Inside the pool, the task goes to the local queue where idle workers can
+		// steal it
+		if (ForkJoinTask.getPool() == pool)
+			return task.fork();
+
+		return pool.submit(task);
+	}
+
+	static class ScheduledBlock {
+
+		private final int index;
+		private final BlockUml blockUml;
+		private final Diagram system;
+		private final long parseNanos;
+		private final AtomicLong exportNanos = new AtomicLong();
+		private final List<FileImageData> files = new ArrayList<>();
+		private final List<ForkJoinTask<FileImageData>> pages = new ArrayList<>();
+		private ForkJoinTask<List<FileImageData>> whole;
+		private final List<GeneratedImage> cached;
+		private String cacheKey;
+		private SuggestedFile suggested;
+
+		ScheduledBlock(int index, BlockUml blockUml, Diagram system, long parseNanos) {
+			this.index = index;
+			this.blockUml = blockUml;
+			this.system = system;
+			this.parseNanos = parseNanos;
+			this.cached = null;
+		}
+
+		ScheduledBlock(int index, BlockUml blockUml, List<GeneratedImage> cached) {
+			this.index = index;
+			this.blockUml = blockUml;
+			this.system = null;
+			this.parseNanos = 0;
+			this.cached = cached;
+		}
+
+		<T> Callable<T> timed(final Callable<T> callable) {
+			return new Callable<T>() {
+				public T call() throws Exception {
+					final long start = System.nanoTime();
+					try {
+						return callable.call();
+					} finally {
+						exportNanos.addAndGet(System.nanoTime() - start);
+					}
+				}
+			};
+		}
+
+		void quietlyJoin() {
+			for (ForkJoinTask<FileImageData> page : pages)
+				page.quietlyJoin();
+
+			if (whole != null)
+				whole.quietlyJoin();
+		}
+
+		void join() throws IOException {
+			// Like the sequential version, stop at the first page that cannot be written
+			for (ForkJoinTask<FileImageData> page : pages) {
+				final FileImageData data = getResult(page);
+				if (data == null)
+					break;
+				files.add(data);
+			}
+			if (whole != null)
+				files.addAll(getResult(whole));
+		}
+
+		private static <T> T getResult(ForkJoinTask<T> task) throws IOException {
+			try {
+				return task.join();
+			} catch (RuntimeException e) {
+				// The pool may wrap the exception more than once
+				Throwable cause = e.getCause();
+				while (cause instanceof RuntimeException && cause.getCause() != null)
+					cause = cause.getCause();
+
+				if (cause instanceof IOException)
+					throw (IOException) cause;
+
+				throw e;
+			}
+		}
+
+	}
+
 	abstract protected SuggestedFile getSuggestedFile(BlockUml blockUml) throws FileNotFoundException;
 
 	protected final void setNoerror(boolean noerror) {
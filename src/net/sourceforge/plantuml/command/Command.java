@@ -35,6 +35,8 @@
  */
 package net.sourceforge.plantuml.command;
 
+import java.util.Set;
+
 import net.sourceforge.plantuml.core.Diagram;
 import net.sourceforge.plantuml.klimt.color.NoSuchColorException;
 import net.sourceforge.plantuml.utils.BlocLines;
@@ -47,4 +49,14 @@ public interface Command<D extends Diagram> {
 
 	String[] getDescription();
 
+	/**
+	 * Characters a line accepted by this command can start with, once trimmed
+	 * and case folded. Used to dispatch lines to commands.
+	 *
+	 * @return <code>null</code> if any line may be accepted
+	 */
+	default Set<Character> getLeadingChars() {
+		return null;
+	}
+
 }
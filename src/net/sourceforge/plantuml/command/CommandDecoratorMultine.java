@@ -35,6 +35,8 @@
  */
 package net.sourceforge.plantuml.command;
 
+import java.util.Set;
+
 import net.sourceforge.plantuml.core.Diagram;
 import net.sourceforge.plantuml.utils.BlocLines;
 
@@ -88,4 +90,8 @@ public class CommandDecoratorMultine<D extends Diagram> implements Command<D> {
 		return nbMaxLines;
 	}
 
+	public Set<Character> getLeadingChars() {
+		return cmd.getLeadingChars();
+	}
+
 }
@@ -0,0 +1,112 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.command;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.sourceforge.plantuml.regex.RegexLeadingChars;
+import net.sourceforge.plantuml.text.StringLocated;
+
+/**
+ * Precomputed lists of the commands that may accept a line, indexed by the
+ * first character of the trimmed line.
+ * <p>
+ * Each list keeps the order of the original command list, so that the first
+ * command accepting a line is the same as with a full scan.
+ */
+final class CommandDispatch {
+
+	private final List<Command<?>> all;
+	private final List<Command<?>> anyChar;
+	private final Map<Character, List<Command<?>>> byChar = new HashMap<>();
+
+	/**
+	 * @param cmds the raw list filled by
+	 *             {@link PSystemCommandFactory#initCommandsList(List)}
+	 */
+	CommandDispatch(List<?> cmds) {
+		final List<Command<?>> copy = new ArrayList<>();
+		for (Object cmd : cmds)
+			copy.add((Command<?>) cmd);
+		this.all = Collections.unmodifiableList(copy);
+		final List<Set<Character>> leadings = new ArrayList<>();
+		final Set<Character> known = new HashSet<>();
+		for (Command<?> cmd : all) {
+			final Set<Character> leading = cmd.getLeadingChars();
+			leadings.add(leading);
+			if (leading != null)
+				known.addAll(leading);
+		}
+
+		final List<Command<?>> tmp = new ArrayList<>();
+		for (int i = 0; i < all.size(); i++)
+			if (leadings.get(i) == null)
+				tmp.add(all.get(i));
+		this.anyChar = Collections.unmodifiableList(tmp);
+
+		for (Character c : known) {
+			final List<Command<?>> list = new ArrayList<>();
+			for (int i = 0; i < all.size(); i++)
+				if (leadings.get(i) == null || leadings.get(i).contains(c))
+					list.add(all.get(i));
+
+			byChar.put(c, Collections.unmodifiableList(list));
+		}
+	}
+
+	public List<Command<?>> getCandidates(StringLocated line) {
+		final String s = line.getTrimmed().getString();
+		if (s.length() == 0)
+			return all;
+
+		final List<Command<?>> result = byChar.get(RegexLeadingChars.fold(s.charAt(0)));
+		if (result == null)
+			return anyChar;
+
+		return result;
+	}
+
+	public int size() {
+		return all.size();
+	}
+
+}
@@ -35,10 +35,13 @@
  */
 package net.sourceforge.plantuml.command;
 
+import java.util.Set;
+
 import net.sourceforge.plantuml.core.Diagram;
 import net.sourceforge.plantuml.regex.Matcher2;
 import net.sourceforge.plantuml.regex.MyPattern;
 import net.sourceforge.plantuml.regex.Pattern2;
+import net.sourceforge.plantuml.regex.RegexLeadingChars;
 import net.sourceforge.plantuml.utils.BlocLines;
 
 public abstract class CommandMultilines<S extends Diagram> implements Command<S> {
@@ -88,4 +91,8 @@ public abstract class CommandMultilines<S extends Diagram> implements Command<S>
 		return starting;
 	}
 
+	final public Set<Character> getLeadingChars() {
+		return RegexLeadingChars.of(starting);
+	}
+
 }
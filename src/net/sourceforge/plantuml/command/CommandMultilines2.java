@@ -35,11 +35,14 @@
  */
 package net.sourceforge.plantuml.command;
 
+import java.util.Set;
+
 import net.sourceforge.plantuml.core.Diagram;
 import net.sourceforge.plantuml.klimt.color.NoSuchColorException;
 import net.sourceforge.plantuml.regex.IRegex;
 import net.sourceforge.plantuml.regex.Matcher2;
 import net.sourceforge.plantuml.regex.MyPattern;
+import net.sourceforge.plantuml.regex.RegexLeadingChars;
 import net.sourceforge.plantuml.text.StringLocated;
 import net.sourceforge.plantuml.utils.BlocLines;
 
@@ -129,4 +132,8 @@ public abstract class CommandMultilines2<S extends Diagram> implements Command<S
 		return starting;
 	}
 
+	final public Set<Character> getLeadingChars() {
+		return RegexLeadingChars.of(starting);
+	}
+
 }
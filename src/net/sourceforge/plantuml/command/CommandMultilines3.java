@@ -35,10 +35,13 @@
  */
 package net.sourceforge.plantuml.command;
 
+import java.util.Set;
+
 import net.sourceforge.plantuml.core.Diagram;
 import net.sourceforge.plantuml.klimt.color.NoSuchColorException;
 import net.sourceforge.plantuml.regex.IRegex;
 import net.sourceforge.plantuml.regex.RegexConcat;
+import net.sourceforge.plantuml.regex.RegexLeadingChars;
 import net.sourceforge.plantuml.text.StringLocated;
 import net.sourceforge.plantuml.utils.BlocLines;
 
@@ -115,4 +118,8 @@ public abstract class CommandMultilines3<S extends Diagram> implements Command<S
 		return starting;
 	}
 
+	final public Set<Character> getLeadingChars() {
+		return RegexLeadingChars.of(starting);
+	}
+
 }
@@ -35,10 +35,13 @@
  */
 package net.sourceforge.plantuml.command;
 
+import java.util.Set;
+
 import net.sourceforge.plantuml.core.Diagram;
 import net.sourceforge.plantuml.regex.Matcher2;
 import net.sourceforge.plantuml.regex.MyPattern;
 import net.sourceforge.plantuml.regex.Pattern2;
+import net.sourceforge.plantuml.regex.RegexLeadingChars;
 import net.sourceforge.plantuml.text.StringLocated;
 import net.sourceforge.plantuml.utils.BlocLines;
 
@@ -69,6 +72,10 @@ public abstract class CommandMultilinesBracket<S extends Diagram> implements Com
 		return starting;
 	}
 
+	final public Set<Character> getLeadingChars() {
+		return RegexLeadingChars.of(starting);
+	}
+
 	final public CommandControl isValid(BlocLines lines) {
 		if (isCommandForbidden())
 			return CommandControl.NOT_OK;
@@ -57,6 +57,7 @@ import net.sourceforge.plantuml.version.IteratorCounter2;
 public abstract class PSystemCommandFactory extends PSystemAbstractFactory {
 
 	private final List<Command> cmds = new ArrayList<>();
+	private CommandDispatch dispatch;
 
 	protected abstract void initCommandsList(List<Command> cmds);
 
@@ -114,6 +115,28 @@ public abstract class PSystemCommandFactory extends PSystemAbstractFactory {
 
 	}
 
+	/**
+	 * Cheap syntax check of the first lines of the source: lines are only matched
+	 * against the commands, nothing is executed. Returns <code>false</code> only
+	 * if {@link #createSystem(UmlSource, Map)} would certainly end with a syntax
+	 * error.
+	 */
+	public boolean isSyntaxPossible(UmlSource source, int maxSteps) {
+		final IteratorCounter2 it = source.iterator2();
+		final StringLocated startLine = it.next();
+		if (StartUtils.isArobaseStartDiagram(startLine.getString()) == false || source.isEmpty())
+			return true;
+
+		for (int i = 0; i < maxSteps && it.hasNext(); i++) {
+			if (StartUtils.isArobaseEndDiagram(it.peek().getString()))
+				return true;
+
+			if (getCandidate(it) == null)
+				return false;
+		}
+		return true;
+	}
+
 	private AbstractPSystem executeFewLines(AbstractPSystem sys, UmlSource source, final IteratorCounter2 it) {
 		final Step step = getCandidate(it);
 		if (step == null) {
@@ -149,12 +172,16 @@ public abstract class PSystemCommandFactory extends PSystemAbstractFactory {
 
 	private Step getCandidate(final IteratorCounter2 it) {
 		final BlocLines single = BlocLines.single(it.peek());
+		final CommandDispatch dispatch;
 		synchronized (cmds) {
 			if (cmds.size() == 0)
 				initCommandsList(cmds);
+			if (this.dispatch == null)
+				this.dispatch = new CommandDispatch(cmds);
+			dispatch = this.dispatch;
 		}
 
-		for (Command cmd : cmds) {
+		for (Command cmd : dispatch.getCandidates(it.peek())) {
 			final CommandControl result = cmd.isValid(single);
 			if (result == CommandControl.OK) {
 				it.next();
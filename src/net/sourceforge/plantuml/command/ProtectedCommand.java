@@ -36,6 +36,7 @@
 package net.sourceforge.plantuml.command;
 
 import java.util.Objects;
+import java.util.Set;
 
 import net.sourceforge.plantuml.core.Diagram;
 import net.sourceforge.plantuml.log.Logme;
@@ -79,4 +80,8 @@ public class ProtectedCommand<S extends Diagram> implements Command<S> {
 		return cmd.getDescription();
 	}
 
+	public Set<Character> getLeadingChars() {
+		return cmd.getLeadingChars();
+	}
+
 }
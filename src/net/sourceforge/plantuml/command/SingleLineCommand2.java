@@ -36,11 +36,13 @@
 package net.sourceforge.plantuml.command;
 
 import java.util.Objects;
+import java.util.Set;
 
 import net.sourceforge.plantuml.core.Diagram;
 import net.sourceforge.plantuml.error.PSystemError;
 import net.sourceforge.plantuml.klimt.color.NoSuchColorException;
 import net.sourceforge.plantuml.regex.IRegex;
+import net.sourceforge.plantuml.regex.RegexLeadingChars;
 import net.sourceforge.plantuml.regex.RegexResult;
 import net.sourceforge.plantuml.text.StringLocated;
 import net.sourceforge.plantuml.utils.BlocLines;
@@ -68,6 +70,13 @@ public abstract class SingleLineCommand2<S extends Diagram> implements Command<S
 		return new String[] { pattern.getClass().getName() };
 	}
 
+	final public Set<Character> getLeadingChars() {
+		if (doTrim == false)
+			return null;
+
+		return RegexLeadingChars.of(pattern);
+	}
+
 	private String myTrim(StringLocated s) {
 		if (doTrim)
 			return s.getTrimmed().getString();
@@ -36,6 +36,7 @@
 package net.sourceforge.plantuml.dot;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.List;
@@ -106,6 +107,12 @@ abstract class AbstractGraphviz implements Graphviz {
 			throw new IllegalStateException();
 		}
 		final String cmd[] = getCommandLine();
+		final DotProcessPool pool = DotProcessPool.getInstance();
+		if (pool.accepts(getType())) {
+			final DotProcessPool.DotResult result = pool.run(cmd, dotString.getBytes());
+			if (result != null)
+				return writePooledResult(result, os);
+		}
 		ProcessRunner p = null;
 		ProcessState state = null;
 		try {
@@ -142,6 +149,20 @@ abstract class AbstractGraphviz implements Graphviz {
 		return state;
 	}
 
+	private ProcessState writePooledResult(DotProcessPool.DotResult result, OutputStream os) {
+		if (OptionFlags.getInstance().isCheckDotError() && result.getError().length() > 0) {
+			Log.error("GraphViz error stream : " + result.getError());
+			throw new IllegalStateException("Dot error " + result.getError());
+		}
+		try {
+			result.writeTo(os);
+		} catch (IOException e) {
+			Logme.error(e);
+			return ProcessState.IO_EXCEPTION2(e);
+		}
+		return ProcessState.TERMINATED_OK();
+	}
+
 	final public ExeState getExeState() {
 		return ExeState.checkFile(dotExe);
 	}
@@ -0,0 +1,451 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.dot;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sourceforge.plantuml.OptionFlags;
+import net.sourceforge.plantuml.StringUtils;
+import net.sourceforge.plantuml.log.Logme;
+import net.sourceforge.plantuml.security.SecurityUtils;
+import net.sourceforge.plantuml.utils.Log;
+
+/**
+ * Keeps long-lived <code>dot -Tsvg</code> processes and feeds them one graph
+ * after another on their standard input, so that we do not pay a process
+ * creation for every diagram.
+ * <p>
+ * The pool is disabled unless <code>PLANTUML_DOT_POOL_SIZE</code> is set. Any
+ * failure (crash, timeout, unexpected output) discards the process and returns
+ * <code>null</code>, so that the caller can fall back to a regular
+ * {@link ProcessRunner}.
+ */
+public class DotProcessPool {
+	// ::remove file when __CORE__
+
+	private static final byte[] SVG_END = "</svg>\n".getBytes(StandardCharsets.US_ASCII);
+
+	private static final String SENTINEL_ARROW = "plantumlsentinel";
+
+	private static final String HEALTH_CHECK_GRAPH = "digraph healthcheck { }\n";
+
+	private static final long HEALTH_CHECK_TIMEOUT_MS = 10000;
+
+	private static final DotProcessPool singleton = new DotProcessPool(getSetting("PLANTUML_DOT_POOL_SIZE", 0),
+			getSetting("PLANTUML_DOT_POOL_MAX_JOBS", 500));
+
+	private final int poolSize;
+
+	private final int maxJobsPerProcess;
+
+	private final Map<List<String>, Slots> slots = new HashMap<>();
+
+	private final ScheduledExecutorService watchdog;
+
+	private final AtomicLong nbJobs = new AtomicLong();
+	private final AtomicLong nbStarted = new AtomicLong();
+	private final AtomicLong nbFailures = new AtomicLong();
+
+	public static DotProcessPool getInstance() {
+		return singleton;
+	}
+
+	private static int getSetting(String name, int defaultValue) {
+		final String value = SecurityUtils.getenv(name);
+		if (StringUtils.isNotEmpty(value) && value.matches("\\d+"))
+			return Integer.parseInt(value);
+
+		return defaultValue;
+	}
+
+	DotProcessPool(int poolSize, int maxJobsPerProcess) {
+		this.poolSize = poolSize;
+		this.maxJobsPerProcess = Math.max(1, maxJobsPerProcess);
+		if (poolSize > 0) {
+			this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				final Thread thread = new Thread(runnable, "dot-pool-watchdog");
+				thread.setDaemon(true);
+				return thread;
+			});
+			Runtime.getRuntime().addShutdownHook(new Thread() {
+				@Override
+				public void run() {
+					shutdown();
+				}
+			});
+		} else {
+			this.watchdog = null;
+		}
+	}
+
+	public boolean isEnabled() {
+		return poolSize > 0;
+	}
+
+	/**
+	 * Only SVG output can be split reliably between successive graphs.
+	 */
+	public boolean accepts(List<String> types) {
+		return isEnabled() && types.size() == 1 && types.get(0).equals("svg");
+	}
+
+	/**
+	 * Renders one graph using a pooled process.
+	 *
+	 * @return the result, or <code>null</code> if the pool could not render the
+	 *         graph and the caller should spawn its own process
+	 */
+	public DotResult run(String[] cmd, byte[] in) {
+		final Slots slot = getSlots(cmd);
+		if (slot.broken)
+			return null;
+
+		final DotProcess process;
+		try {
+			process = slot.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		if (process == null)
+			return null;
+
+		boolean reusable = false;
+		try {
+			final DotResult result = process.render(in, OptionFlags.getInstance().getTimeoutMs());
+			if (result != null) {
+				nbJobs.incrementAndGet();
+				reusable = process.nbJobs < maxJobsPerProcess;
+			} else {
+				nbFailures.incrementAndGet();
+				Log.info("Pooled dot process failed, falling back to a new process");
+			}
+			return result;
+		} finally {
+			slot.release(process, reusable);
+		}
+	}
+
+	private synchronized Slots getSlots(String[] cmd) {
+		final List<String> key = Arrays.asList(cmd);
+		Slots result = slots.get(key);
+		if (result == null) {
+			result = new Slots(cmd);
+			slots.put(key, result);
+		}
+		return result;
+	}
+
+	public synchronized void shutdown() {
+		for (Slots slot : slots.values())
+			slot.shutdown();
+
+		slots.clear();
+	}
+
+	public String getStatistics() {
+		return "dot pool: size=" + poolSize + " started=" + nbStarted + " jobs=" + nbJobs + " failures="
+				+ nbFailures;
+	}
+
+	public static class DotResult {
+
+		private final byte[] out;
+		private final String error;
+
+		DotResult(byte[] out, String error) {
+			this.out = out;
+			this.error = error;
+		}
+
+		public void writeTo(OutputStream os) throws IOException {
+			os.write(out);
+		}
+
+		public String getError() {
+			return error;
+		}
+
+	}
+
+	class Slots {
+
+		private final String[] cmd;
+		private final BlockingQueue<DotProcess> idle = new LinkedBlockingQueue<>();
+		private final AtomicInteger alive = new AtomicInteger();
+		private volatile boolean broken;
+
+		Slots(String[] cmd) {
+			this.cmd = cmd;
+		}
+
+		DotProcess acquire() throws InterruptedException {
+			while (true) {
+				final DotProcess ready = idle.poll();
+				if (ready != null) {
+					if (ready.isAlive())
+						return ready;
+
+					Log.info("Discarding dead dot process");
+					discard(ready);
+					continue;
+				}
+				if (alive.incrementAndGet() <= poolSize)
+					return start();
+
+				alive.decrementAndGet();
+				if (broken)
+					return null;
+
+				// Every process is busy: wait for one to be released
+				final DotProcess waited = idle.poll(1, TimeUnit.SECONDS);
+				if (waited != null) {
+					if (waited.isAlive())
+						return waited;
+
+					discard(waited);
+				}
+			}
+		}
+
+		private DotProcess start() {
+			try {
+				final DotProcess result = new DotProcess(cmd);
+				nbStarted.incrementAndGet();
+				if (result.render(HEALTH_CHECK_GRAPH.getBytes(), HEALTH_CHECK_TIMEOUT_MS) == null) {
+					// This dot does not render graphs one after another, or does not warn about
+					// the sentinel graph: do not try again
+					Log.error("Dot does not support multiple graphs on its input, disabling the dot pool");
+					broken = true;
+					discard(result);
+					return null;
+				}
+				return result;
+			} catch (IOException e) {
+				Logme.error(e);
+				alive.decrementAndGet();
+				return null;
+			}
+		}
+
+		void release(DotProcess process, boolean reusable) {
+			if (reusable && process.isAlive())
+				idle.offer(process);
+			else
+				discard(process);
+		}
+
+		private void discard(DotProcess process) {
+			process.destroy();
+			alive.decrementAndGet();
+		}
+
+		void shutdown() {
+			DotProcess process;
+			while ((process = idle.poll()) != null)
+				process.destroy();
+		}
+
+	}
+
+	class DotProcess {
+
+		private final Process process;
+		private final OutputStream stdin;
+		private final InputStream stdout;
+		private final ErrorReader stderr;
+		private int nbJobs;
+
+		DotProcess(String[] cmd) throws IOException {
+			Log.info("Starting pooled Graphviz process " + Arrays.asList(cmd));
+			this.process = Runtime.getRuntime().exec(cmd);
+			this.stdin = process.getOutputStream();
+			this.stdout = new BufferedInputStream(process.getInputStream());
+			this.stderr = new ErrorReader(process.getErrorStream());
+			this.stderr.start();
+		}
+
+		boolean isAlive() {
+			return process.isAlive();
+		}
+
+		void destroy() {
+			process.destroy();
+		}
+
+		/**
+		 * Each graph is followed by a sentinel graph with an unknown arrow type. Dot
+		 * warns about it on stderr once everything about the graph has been written,
+		 * so the error stream is cut there.
+		 *
+		 * @return <code>null</code> on crash or timeout, in which case the process
+		 *         is not usable anymore
+		 */
+		DotResult render(byte[] in, long timeoutMs) {
+			nbJobs++;
+			final String marker = SENTINEL_ARROW + nbJobs;
+			final long deadline = System.currentTimeMillis() + timeoutMs;
+			final ScheduledFuture<?> timeout = watchdog.schedule(this::destroy, timeoutMs, TimeUnit.MILLISECONDS);
+			try {
+				stdin.write(in);
+				stdin.write('\n');
+				stdin.write(("digraph sentinel { a -> b [arrowhead=" + marker + "] }\n")
+						.getBytes(StandardCharsets.US_ASCII));
+				stdin.flush();
+				final byte[] out = readSvg();
+				if (out == null || readSvg() == null)
+					return null;
+
+				final String error = stderr.readUntil(marker, deadline);
+				if (error == null)
+					return null;
+
+				return new DotResult(out, error);
+			} catch (IOException e) {
+				Log.info("Pooled dot process error: " + e);
+				return null;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			} finally {
+				timeout.cancel(false);
+			}
+		}
+
+		private byte[] readSvg() throws IOException {
+			final ByteArrayOutputStream out = new ByteArrayOutputStream();
+			int matched = 0;
+			int read;
+			while ((read = stdout.read()) != -1) {
+				out.write(read);
+				if (read == SVG_END[matched])
+					matched++;
+				else
+					matched = read == SVG_END[0] ? 1 : 0;
+
+				if (matched == SVG_END.length)
+					return out.toByteArray();
+			}
+			return null;
+		}
+
+	}
+
+	static class ErrorReader extends Thread {
+
+		private final InputStream is;
+		private final StringBuilder buffer = new StringBuilder();
+		private boolean closed;
+
+		ErrorReader(InputStream is) {
+			super("dot-pool-stderr");
+			this.is = is;
+			setDaemon(true);
+		}
+
+		@Override
+		public void run() {
+			final byte[] bytes = new byte[1024];
+			try {
+				int nb;
+				while ((nb = is.read(bytes)) != -1)
+					synchronized (this) {
+						for (int i = 0; i < nb; i++)
+							buffer.append((char) (bytes[i] & 0xFF));
+						notifyAll();
+					}
+			} catch (IOException e) {
+				// The process has been destroyed
+			} finally {
+				synchronized (this) {
+					closed = true;
+					notifyAll();
+				}
+			}
+		}
+
+		/**
+		 * Waits for the line holding the marker and returns what was written before
+		 * it, without the warnings about previous sentinels.
+		 *
+		 * @return <code>null</code> if the marker did not come before the deadline
+		 */
+		synchronized String readUntil(String marker, long deadline) throws InterruptedException {
+			while (true) {
+				final int index = buffer.indexOf(marker);
+				final int endOfLine = index == -1 ? -1 : buffer.indexOf("\n", index);
+				if (endOfLine != -1) {
+					final String before = buffer.substring(0, buffer.lastIndexOf("\n", index) + 1);
+					buffer.delete(0, endOfLine + 1);
+					return withoutSentinels(before);
+				}
+				final long delay = deadline - System.currentTimeMillis();
+				if (closed || delay <= 0)
+					return null;
+
+				wait(delay);
+			}
+		}
+
+		private static String withoutSentinels(String text) {
+			final StringBuilder sb = new StringBuilder();
+			for (String line : text.split("\n"))
+				if (line.length() > 0 && line.contains(SENTINEL_ARROW) == false)
+					sb.append(line).append('\n');
+
+			return sb.toString();
+		}
+
+	}
+
+}
@@ -0,0 +1,242 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.file;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import net.sourceforge.plantuml.Option;
+import net.sourceforge.plantuml.utils.Log;
+
+/**
+ * Watches the diagrams of the command line and the files they depend on.
+ * <p>
+ * Each diagram is linked to the files it reads (itself, included files, sub
+ * files and themes). The parent directories of all those files are registered
+ * to a {@link WatchService}, so that nothing is polled, and the reverse links
+ * give the diagrams to render again when a file changes.
+ */
+public class DependencyWatcher implements Closeable {
+	// ::remove file when __CORE__
+
+	private final WatchService service;
+	private final long debounceMillis;
+
+	private final Set<Path> directories = new HashSet<>();
+	private final Map<File, Set<File>> dependencies = new HashMap<>();
+	private final Map<File, Set<File>> dependents = new HashMap<>();
+
+	public DependencyWatcher(long debounceMillis) throws IOException {
+		this.service = FileSystems.getDefault().newWatchService();
+		this.debounceMillis = debounceMillis;
+	}
+
+	public static File normalize(File file) {
+		return file.getAbsoluteFile().toPath().normalize().toFile();
+	}
+
+	public synchronized void watchDirectory(File dir) throws IOException {
+		final Path path = normalize(dir).toPath();
+		if (directories.contains(path) || dir.isDirectory() == false)
+			return;
+
+		path.register(service, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+		directories.add(path);
+		Log.info("Watching directory " + path);
+	}
+
+	/**
+	 * Replace the files read by a diagram. The diagram itself is always one of
+	 * them.
+	 */
+	public synchronized void setDependencies(File diagram, Collection<File> files) throws IOException {
+		diagram = normalize(diagram);
+		remove(diagram);
+		final Set<File> all = new HashSet<>();
+		all.add(diagram);
+		for (File f : files)
+			all.add(normalize(f));
+
+		dependencies.put(diagram, all);
+		for (File f : all) {
+			Set<File> set = dependents.get(f);
+			if (set == null) {
+				set = new HashSet<>();
+				dependents.put(f, set);
+			}
+			set.add(diagram);
+			if (f.getParentFile() != null)
+				watchDirectory(f.getParentFile());
+		}
+	}
+
+	public synchronized void remove(File diagram) {
+		diagram = normalize(diagram);
+		final Set<File> old = dependencies.remove(diagram);
+		if (old == null)
+			return;
+
+		for (File f : old) {
+			final Set<File> set = dependents.get(f);
+			set.remove(diagram);
+			if (set.size() == 0)
+				dependents.remove(f);
+		}
+	}
+
+	public synchronized boolean isDiagram(File file) {
+		return dependencies.containsKey(normalize(file));
+	}
+
+	/**
+	 * @return the diagrams reading this file, empty if the file is unknown
+	 */
+	public synchronized Set<File> getDependents(File file) {
+		final Set<File> result = dependents.get(normalize(file));
+		if (result == null)
+			return Collections.emptySet();
+
+		return Collections.unmodifiableSet(new HashSet<>(result));
+	}
+
+	public synchronized Set<File> getDependencies(File diagram) {
+		final Set<File> result = dependencies.get(normalize(diagram));
+		if (result == null)
+			return Collections.emptySet();
+
+		return Collections.unmodifiableSet(new HashSet<>(result));
+	}
+
+	/**
+	 * Wait for some relevant files to change, then for no more event during the
+	 * debounce delay, so that an editor saving several files triggers a single
+	 * update.
+	 *
+	 * @return the relevant files created, modified or deleted in the watched
+	 *         directories. If some events were lost, every known file is
+	 *         returned.
+	 */
+	public Set<File> waitForChanges() throws InterruptedException {
+		final Set<File> result = new TreeSet<>();
+		while (result.isEmpty()) {
+			WatchKey key = service.take();
+			while (key != null) {
+				final Path dir = (Path) key.watchable();
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.kind() == OVERFLOW) {
+						Log.info("Some file events were lost");
+						synchronized (this) {
+							result.addAll(dependents.keySet());
+						}
+						continue;
+					}
+					final File file = dir.resolve((Path) event.context()).toFile();
+					if (isRelevant(file))
+						result.add(file);
+				}
+				if (key.reset() == false)
+					synchronized (this) {
+						directories.remove(dir);
+					}
+
+				key = service.poll(debounceMillis, TimeUnit.MILLISECONDS);
+			}
+		}
+		return Collections.unmodifiableSet(result);
+	}
+
+	/**
+	 * Editors write swap, backup, lock and temporary files next to the sources.
+	 * Only the known files, the files sharing an extension with them (a new
+	 * diagram or a missing included file) and the default diagram names are
+	 * relevant.
+	 */
+	synchronized boolean isRelevant(File file) {
+		file = normalize(file);
+		if (dependents.containsKey(file))
+			return true;
+
+		// Like the lock files of Emacs
+		if (file.getName().startsWith(".") || file.getName().startsWith("#"))
+			return false;
+
+		final String extension = getExtension(file);
+		if (extension == null)
+			return false;
+
+		if (file.getName().matches(Option.getPattern()))
+			return true;
+
+		for (File known : dependents.keySet())
+			if (extension.equalsIgnoreCase(getExtension(known)))
+				return true;
+
+		return false;
+	}
+
+	private static String getExtension(File file) {
+		final String name = file.getName();
+		final int idx = name.lastIndexOf('.');
+		if (idx <= 0 || idx == name.length() - 1)
+			return null;
+
+		return name.substring(idx + 1);
+	}
+
+	public void close() throws IOException {
+		service.close();
+	}
+
+}
@@ -50,6 +50,7 @@ public class FileGroup {
 	// ::remove file when __CORE__
 
 	private final List<File> result = new ArrayList<>();
+	private final List<File> directories = new ArrayList<>();
 	private final String pattern;
 	private final List<String> excluded;
 	private final Option option;
@@ -88,10 +89,12 @@ public class FileGroup {
 
 	private void initNoStar() {
 		final File f = new File(pattern);
-		if (f.isDirectory())
+		if (f.isDirectory()) {
 			addSimpleDirectory(f);
-		else if (f.isFile())
+		} else if (f.isFile()) {
+			directories.add(f.getAbsoluteFile().getParentFile());
 			addResultFile(f);
+		}
 
 	}
 
@@ -116,6 +119,7 @@ public class FileGroup {
 		if (dir.isDirectory() == false)
 			throw new IllegalArgumentException("dir=" + dir);
 
+		directories.add(dir);
 		if (dir.listFiles() != null)
 			for (File f : dir.listFiles())
 				if (f.getName().matches(pattern))
@@ -148,6 +152,7 @@ public class FileGroup {
 	}
 
 	private void initWithDoubleStar(File currentDir) {
+		directories.add(currentDir);
 		if (currentDir.listFiles() != null)
 			for (File f : currentDir.listFiles()) {
 				if (f.isDirectory()) {
@@ -165,6 +170,13 @@ public class FileGroup {
 		return Collections.unmodifiableList(result);
 	}
 
+	/**
+	 * @return the directories that were read to find the files
+	 */
+	public List<File> getDirectories() {
+		return Collections.unmodifiableList(directories);
+	}
+
 	public static String toRegexp(String pattern) {
 		pattern = pattern.replace("\\", "/");
 		pattern = pattern.replace(".", "\\.");
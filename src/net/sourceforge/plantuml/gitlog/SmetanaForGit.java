@@ -163,7 +163,7 @@ public class SmetanaForGit {
 			yMirror = new Mirror(max);
 
 		} finally {
-			Globals.close();
+			zz.close();
 		}
 
 	}
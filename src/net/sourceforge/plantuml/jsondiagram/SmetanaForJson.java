@@ -188,7 +188,7 @@ public class SmetanaForJson {
 			final ST_GVC_s gvc = gvContext(zz);
 			gvLayoutJobs(zz, gvc, g);
 		} finally {
-			Globals.close();
+			zz.close();
 			NUM++;
 		}
 		if (exitAfterFirst) {
@@ -223,7 +223,7 @@ public class SmetanaForJson {
 		agsafeset(zz, edge, new CString("tailport"), new CString("P" + num), new CString(""));
 
 		StringBuilder sb = new StringBuilder();
-		sb.append("N" + a0.UID + " -> N" + a1.UID + " [tailport=\"P" + num + "\", arrowsize=.75]");
+		sb.append(a0.NAME + " -> " + a1.NAME + " [tailport=\"P" + num + "\", arrowsize=.75]");
 		if (NUM == 0 && printFirst)
 			System.err.println(sb);
 
@@ -249,7 +249,7 @@ public class SmetanaForJson {
 			agsafeset(zz, node, new CString("label"), new CString(dotLabel), new CString(""));
 
 		StringBuilder sb = new StringBuilder();
-		sb.append("N" + node.UID + " [");
+		sb.append(node.NAME + " [");
 		sb.append("shape=record, height=" + width + ", width=" + height + ", label=\"" + dotLabel.replace('x', '.')
 				+ "\"]");
 		if (NUM == 0 && printFirst)
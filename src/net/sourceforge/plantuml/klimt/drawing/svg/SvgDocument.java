@@ -0,0 +1,94 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.klimt.drawing.svg;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.TransformerException;
+
+import net.sourceforge.plantuml.security.SecurityUtils;
+
+/**
+ * Receives the elements of a SVG file as {@link SvgGraphics} creates them.
+ * <p>
+ * By default they are serialized as soon as they are added. Setting
+ * <code>PLANTUML_SVG_DOM=true</code> builds a DOM document written by a JAXP
+ * Transformer instead.
+ */
+abstract class SvgDocument {
+	// ::remove file when __HAXE__
+
+	static SvgDocument create() throws ParserConfigurationException {
+		if ("true".equalsIgnoreCase(SecurityUtils.getenv("PLANTUML_SVG_DOM")))
+			return new SvgDocumentDom();
+
+		return new SvgDocumentStream();
+	}
+
+	abstract void addDefs(SvgElement elt);
+
+	/**
+	 * Adds an element to the innermost open group, or to the main group.
+	 */
+	abstract void add(SvgElement elt);
+
+	abstract void addInlinedSvg(String key, String svg);
+
+	/**
+	 * Adds an element after the main group.
+	 */
+	abstract void addRoot(SvgElement elt);
+
+	abstract void openGroup(SvgElement group);
+
+	/**
+	 * Closes the innermost group, which is dropped when nothing was added to it.
+	 */
+	abstract void closeGroup();
+
+	abstract boolean hasOpenGroup();
+
+	/**
+	 * Writes the whole file. The attributes of <code>root</code> are set on the
+	 * svg element, and <code>background</code> (if any) is the first element of
+	 * the main group.
+	 */
+	abstract void write(OutputStream os, SvgElement root, SvgElement background)
+			throws TransformerException, IOException;
+
+}
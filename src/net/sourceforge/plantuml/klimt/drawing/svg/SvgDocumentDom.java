@@ -0,0 +1,207 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.klimt.drawing.svg;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import net.sourceforge.plantuml.utils.Log;
+import net.sourceforge.plantuml.xml.XmlFactories;
+
+final class SvgDocumentDom extends SvgDocument {
+	// ::remove file when __HAXE__
+
+	private final Document document;
+	private final Element root;
+	private final Element defs;
+	private final Element gRoot;
+
+	private final List<Element> pendingAction = new ArrayList<>();
+	private final Map<String, String> images = new HashMap<String, String>();
+
+	SvgDocumentDom() throws ParserConfigurationException {
+		final DocumentBuilder builder = XmlFactories.newDocumentBuilder();
+		this.document = builder.newDocument();
+		this.document.setXmlStandalone(true);
+
+		this.root = document.createElement("svg");
+		document.appendChild(root);
+		this.defs = document.createElement("defs");
+		root.appendChild(defs);
+		this.gRoot = document.createElement("g");
+		root.appendChild(gRoot);
+	}
+
+	private Node toDom(SvgElement elt) {
+		if (elt.isComment())
+			return document.createComment(elt.getComment());
+
+		final Element result = document.createElement(elt.getName());
+		for (Map.Entry<String, String> ent : elt.getAttributes().entrySet())
+			result.setAttribute(ent.getKey(), ent.getValue());
+
+		if (elt.getText() != null)
+			result.setTextContent(elt.getText());
+
+		if (elt.getCData() != null)
+			result.appendChild(document.createCDATASection(elt.getCData()));
+
+		for (SvgElement child : elt.getChildren())
+			result.appendChild(toDom(child));
+
+		return result;
+	}
+
+	private Element getG() {
+		if (pendingAction.size() == 0)
+			return gRoot;
+
+		return pendingAction.get(0);
+	}
+
+	@Override
+	void addDefs(SvgElement elt) {
+		defs.appendChild(toDom(elt));
+	}
+
+	@Override
+	void add(SvgElement elt) {
+		getG().appendChild(toDom(elt));
+	}
+
+	@Override
+	void addInlinedSvg(String key, String svg) {
+		getG().appendChild(document.createElement(key));
+		images.put(key, svg);
+	}
+
+	@Override
+	void addRoot(SvgElement elt) {
+		root.appendChild(toDom(elt));
+	}
+
+	@Override
+	void openGroup(SvgElement group) {
+		pendingAction.add(0, (Element) toDom(group));
+	}
+
+	@Override
+	void closeGroup() {
+		final Element element = pendingAction.get(0);
+		pendingAction.remove(0);
+		if (element.getFirstChild() != null) {
+			// Empty link
+			getG().appendChild(element);
+		}
+	}
+
+	@Override
+	boolean hasOpenGroup() {
+		return pendingAction.size() > 0;
+	}
+
+	private Transformer getTransformer() throws TransformerException {
+		final Transformer transformer = XmlFactories.newTransformer();
+		Log.info("Transformer=" + transformer.getClass());
+
+		// // Sets the standalone property in the first line of
+		// // the output file.
+		transformer.setOutputProperty(OutputKeys.STANDALONE, "no");
+		transformer.setOutputProperty(OutputKeys.ENCODING, "us-ascii");
+		// transformer.setOutputProperty(OutputKeys.DOCTYPE_PUBLIC, "SVG 1.1");
+		// transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
+
+		return transformer;
+	}
+
+	@Override
+	void write(OutputStream os, SvgElement svg, SvgElement background) throws TransformerException, IOException {
+		for (Map.Entry<String, String> ent : svg.getAttributes().entrySet())
+			root.setAttribute(ent.getKey(), ent.getValue());
+
+		if (background != null)
+			gRoot.insertBefore(toDom(background), gRoot.getFirstChild());
+
+		if (images.size() == 0) {
+			createXmlInternal(os);
+			return;
+		}
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		createXmlInternal(baos);
+		String s = new String(baos.toByteArray());
+		for (Map.Entry<String, String> ent : images.entrySet()) {
+			final String k = "<" + ent.getKey() + "/>";
+			s = s.replace(k, ent.getValue());
+		}
+		s = removeXmlHeader(s);
+		os.write(s.getBytes());
+	}
+
+	private String removeXmlHeader(String s) {
+		s = s.replaceFirst("^<\\?xml [^<>]+?\\>", "");
+		return s;
+	}
+
+	private void createXmlInternal(OutputStream os) throws TransformerException {
+		// Get a DOMSource object that represents the
+		// Document object
+		final DOMSource source = new DOMSource(document);
+
+		// Get a StreamResult object that points to the
+		// screen. Then transform the DOM sending XML to
+		// the screen.
+		final StreamResult scrResult = new StreamResult(os);
+		getTransformer().transform(source, scrResult);
+	}
+
+}
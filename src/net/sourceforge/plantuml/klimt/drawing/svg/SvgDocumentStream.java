@@ -0,0 +1,308 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.klimt.drawing.svg;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializes each element as soon as it is added, without any DOM.
+ * <p>
+ * The size of the diagram, and so the attributes of the svg element, are only
+ * known at the end: the main group is kept as text and written after the
+ * header. The output is the same as the one of the JAXP Transformer used by
+ * {@link SvgDocumentDom}, including its escaping rules for the us-ascii
+ * encoding.
+ */
+final class SvgDocumentStream extends SvgDocument {
+	// ::remove file when __HAXE__
+
+	private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"us-ascii\" standalone=\"no\"?>";
+	private static final String LINE_SEPARATOR = System.getProperty("line.separator", "\n");
+
+	private final List<SvgElement> defs = new ArrayList<>();
+	private final List<SvgElement> rootElements = new ArrayList<>();
+	private final StringBuilder body = new StringBuilder();
+
+	private final List<SvgElement> openGroups = new ArrayList<>();
+	private final List<StringBuilder> openGroupContents = new ArrayList<>();
+
+	private boolean inlinedSvg;
+
+	private StringBuilder current() {
+		if (openGroupContents.size() == 0)
+			return body;
+
+		return openGroupContents.get(openGroupContents.size() - 1);
+	}
+
+	@Override
+	void addDefs(SvgElement elt) {
+		defs.add(elt);
+	}
+
+	@Override
+	void add(SvgElement elt) {
+		append(current(), elt);
+	}
+
+	@Override
+	void addInlinedSvg(String key, String svg) {
+		current().append(svg);
+		inlinedSvg = true;
+	}
+
+	@Override
+	void addRoot(SvgElement elt) {
+		rootElements.add(elt);
+	}
+
+	@Override
+	void openGroup(SvgElement group) {
+		openGroups.add(group);
+		openGroupContents.add(new StringBuilder());
+	}
+
+	@Override
+	void closeGroup() {
+		final SvgElement group = openGroups.remove(openGroups.size() - 1);
+		final StringBuilder content = openGroupContents.remove(openGroupContents.size() - 1);
+		if (content.length() == 0)
+			return;
+
+		final StringBuilder parent = current();
+		appendStartTag(parent, group);
+		parent.append('>');
+		parent.append(content);
+		appendEndTag(parent, group);
+	}
+
+	@Override
+	boolean hasOpenGroup() {
+		return openGroups.size() > 0;
+	}
+
+	@Override
+	void write(OutputStream os, SvgElement svg, SvgElement background) throws IOException {
+		// Inlined SVG images are copied as they are, like SvgDocumentDom does
+		final Charset charset = inlinedSvg ? Charset.defaultCharset() : US_ASCII;
+		final Writer writer = new BufferedWriter(new OutputStreamWriter(os, charset));
+		final StringBuilder sb = new StringBuilder();
+		if (inlinedSvg == false)
+			sb.append(XML_HEADER);
+
+		appendStartTag(sb, svg);
+		sb.append('>');
+		appendContainer(sb, "defs", defs);
+		writer.append(sb);
+		sb.setLength(0);
+
+		if (background == null && body.length() == 0) {
+			writer.write("<g/>");
+		} else {
+			writer.write("<g>");
+			if (background != null) {
+				append(sb, background);
+				writer.append(sb);
+				sb.setLength(0);
+			}
+			writer.append(body);
+			writer.write("</g>");
+		}
+
+		for (SvgElement elt : rootElements)
+			append(sb, elt);
+
+		appendEndTag(sb, svg);
+		writer.append(sb);
+		writer.flush();
+	}
+
+	private static void appendContainer(StringBuilder sb, String name, List<SvgElement> children) {
+		if (children.size() == 0) {
+			sb.append('<').append(name).append("/>");
+			return;
+		}
+		sb.append('<').append(name).append('>');
+		for (SvgElement child : children)
+			append(sb, child);
+
+		sb.append("</").append(name).append('>');
+	}
+
+	static void append(StringBuilder sb, SvgElement elt) {
+		if (elt.isComment()) {
+			appendComment(sb, elt.getComment());
+			return;
+		}
+		appendStartTag(sb, elt);
+		final int start = sb.length();
+		sb.append('>');
+		if (elt.getText() != null)
+			appendText(sb, elt.getText());
+
+		if (elt.getCData() != null)
+			appendCData(sb, elt.getCData());
+
+		for (SvgElement child : elt.getChildren())
+			append(sb, child);
+
+		if (sb.length() == start + 1) {
+			// Nothing inside
+			sb.setLength(start);
+			sb.append("/>");
+		} else {
+			appendEndTag(sb, elt);
+		}
+	}
+
+	private static void appendStartTag(StringBuilder sb, SvgElement elt) {
+		sb.append('<').append(elt.getName());
+		for (Map.Entry<String, String> ent : elt.getAttributes().entrySet()) {
+			sb.append(' ').append(ent.getKey()).append("=\"");
+			appendAttributeValue(sb, ent.getValue());
+			sb.append('"');
+		}
+	}
+
+	private static void appendEndTag(StringBuilder sb, SvgElement elt) {
+		sb.append("</").append(elt.getName()).append('>');
+	}
+
+	private static void appendCharacterReference(StringBuilder sb, int codePoint) {
+		sb.append("&#").append(codePoint).append(';');
+	}
+
+	private static void appendAttributeValue(StringBuilder sb, String value) {
+		for (int i = 0; i < value.length(); i += Character.charCount(value.codePointAt(i))) {
+			final int c = value.codePointAt(i);
+			if (c == '&')
+				sb.append("&amp;");
+			else if (c == '<')
+				sb.append("&lt;");
+			else if (c == '>')
+				sb.append("&gt;");
+			else if (c == '"')
+				sb.append("&quot;");
+			else if (c < 0x20 || c >= 0x80)
+				appendCharacterReference(sb, c);
+			else
+				sb.append((char) c);
+		}
+	}
+
+	private static void appendText(StringBuilder sb, String text) {
+		for (int i = 0; i < text.length(); i += Character.charCount(text.codePointAt(i))) {
+			final int c = text.codePointAt(i);
+			if (c == '&')
+				sb.append("&amp;");
+			else if (c == '<')
+				sb.append("&lt;");
+			else if (c == '>')
+				sb.append("&gt;");
+			else if (c == '\n')
+				sb.append(LINE_SEPARATOR);
+			else if (c == '\t')
+				sb.append('\t');
+			else if (c < 0x20 || c >= 0x7F)
+				appendCharacterReference(sb, c);
+			else
+				sb.append((char) c);
+		}
+	}
+
+	private static void appendComment(StringBuilder sb, String comment) {
+		sb.append("<!--");
+		for (int i = 0; i < comment.length(); i += Character.charCount(comment.codePointAt(i))) {
+			final int c = comment.codePointAt(i);
+			if (c >= 0x80)
+				sb.append('?');
+			else
+				sb.append((char) c);
+
+			// "--" is not allowed in a comment, neither is a final "-"
+			if (c == '-' && (i + 1 == comment.length() || comment.charAt(i + 1) == '-'))
+				sb.append(' ');
+		}
+		sb.append("-->");
+	}
+
+	private static boolean isEscapedInCData(int c) {
+		return c >= 0x80 || (c < 0x20 && c != '\t' && c != '\n' && c != '\r');
+	}
+
+	private static void appendCData(StringBuilder sb, String cdata) {
+		if (cdata.length() == 0)
+			return;
+
+		boolean open = isEscapedInCData(cdata.codePointAt(0)) == false;
+		if (open)
+			sb.append("<![CDATA[");
+
+		for (int i = 0; i < cdata.length(); i += Character.charCount(cdata.codePointAt(i))) {
+			final int c = cdata.codePointAt(i);
+			if (c == '\n') {
+				// The serializer writes line separators without opening a new section
+				sb.append(LINE_SEPARATOR);
+			} else if (isEscapedInCData(c)) {
+				if (open)
+					sb.append("]]>");
+				open = false;
+				appendCharacterReference(sb, c);
+			} else if (cdata.startsWith("]]>", i)) {
+				sb.append("]]]]><![CDATA[>");
+				i += 2;
+			} else {
+				if (open == false)
+					sb.append("<![CDATA[");
+				open = true;
+				sb.append((char) c);
+			}
+		}
+		if (open)
+			sb.append("]]>");
+	}
+
+}
@@ -0,0 +1,133 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.klimt.drawing.svg;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Lightweight SVG node built by {@link SvgGraphics} and handed to a
+ * {@link SvgDocument}, which either streams it or converts it to DOM.
+ */
+final class SvgElement {
+	// ::remove file when __HAXE__
+
+	// Same attribute order as the JAXP serializer: namespace declarations first
+	private static final Comparator<String> ATTRIBUTE_ORDER = new Comparator<String>() {
+		public int compare(String name1, String name2) {
+			final boolean xmlns1 = isXmlns(name1);
+			final boolean xmlns2 = isXmlns(name2);
+			if (xmlns1 != xmlns2)
+				return xmlns1 ? -1 : 1;
+
+			return name1.compareTo(name2);
+		}
+	};
+
+	private final String name;
+	private final Map<String, String> attributes = new TreeMap<>(ATTRIBUTE_ORDER);
+	private final List<SvgElement> children = new ArrayList<>();
+	private String text;
+	private String cdata;
+	private final String comment;
+
+	SvgElement(String name) {
+		this.name = name;
+		this.comment = null;
+	}
+
+	private SvgElement(String name, String comment) {
+		this.name = name;
+		this.comment = comment;
+	}
+
+	static SvgElement comment(String comment) {
+		return new SvgElement(null, comment);
+	}
+
+	static boolean isXmlns(String attribute) {
+		return attribute.equals("xmlns") || attribute.startsWith("xmlns:");
+	}
+
+	void setAttribute(String attribute, String value) {
+		attributes.put(attribute, value);
+	}
+
+	void setTextContent(String text) {
+		this.text = text;
+	}
+
+	void setCData(String cdata) {
+		this.cdata = cdata;
+	}
+
+	void appendChild(SvgElement child) {
+		children.add(child);
+	}
+
+	String getName() {
+		return name;
+	}
+
+	Map<String, String> getAttributes() {
+		return Collections.unmodifiableMap(attributes);
+	}
+
+	List<SvgElement> getChildren() {
+		return Collections.unmodifiableList(children);
+	}
+
+	String getText() {
+		return text;
+	}
+
+	String getCData() {
+		return cdata;
+	}
+
+	boolean isComment() {
+		return name == null;
+	}
+
+	String getComment() {
+		return comment;
+	}
+
+}
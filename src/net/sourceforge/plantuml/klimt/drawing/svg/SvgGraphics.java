@@ -42,7 +42,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -52,18 +51,8 @@ import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-
-import org.w3c.dom.CDATASection;
-import org.w3c.dom.Comment;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 import net.sourceforge.plantuml.FileUtils;
 import net.sourceforge.plantuml.code.TranscoderUtil;
@@ -81,7 +70,6 @@ import net.sourceforge.plantuml.security.SecurityProfile;
 import net.sourceforge.plantuml.security.SecurityUtils;
 import net.sourceforge.plantuml.utils.Base64Coder;
 import net.sourceforge.plantuml.utils.Log;
-import net.sourceforge.plantuml.xml.XmlFactories;
 
 public class SvgGraphics {
     // ::remove file when __HAXE__
@@ -104,10 +92,7 @@ public class SvgGraphics {
 	private static final String XLINK_HREF1 = "href";
 	private static final String XLINK_HREF2 = "xlink:href";
 
-	final private Document document;
-	final private Element root;
-	final private Element defs;
-	final private Element gRoot;
+	final private SvgDocument document;
 
 	private String fill = "black";
 	private String stroke = "black";
@@ -125,7 +110,7 @@ public class SvgGraphics {
 
 	private final SvgOption option;
 
-	private Element pendingBackground;
+	private SvgElement pendingBackground;
 	private boolean robotoAdded = false;
 
 	final protected void ensureVisible(double x, double y) {
@@ -139,33 +124,27 @@ public class SvgGraphics {
 
 	public SvgGraphics(long seed, SvgOption option) {
 		try {
-			this.document = getDocument();
+			this.document = SvgDocument.create();
 
 			this.option = option;
 			final XDimension2D minDim = option.getMinDim();
 			ensureVisible(minDim.getWidth(), minDim.getHeight());
 
-			this.root = getRootNode();
-
-			// Create a node named defs, which will be the parent
-			// for a pair of linear gradient definitions.
-			defs = simpleElement("defs");
-			gRoot = simpleElement("g");
 			strokeWidth = "" + option.getScale();
 			this.filterUid = "b" + getSeed(seed);
 			this.shadowId = "f" + getSeed(seed);
 			this.gradientId = "g" + getSeed(seed);
 			if (option.getHover() != null)
-				defs.appendChild(getPathHover(option.getHover()));
+				document.addDefs(getPathHover(option.getHover()));
 
 			if (option.isInteractive()) {
-				final Element styles = getStylesForInteractiveMode();
+				final SvgElement styles = getStylesForInteractiveMode();
 				if (styles != null)
-					defs.appendChild(styles);
+					document.addDefs(styles);
 
-				final Element script = getScriptForInteractiveMode();
+				final SvgElement script = getScriptForInteractiveMode();
 				if (script != null)
-					defs.appendChild(script);
+					document.addDefs(script);
 			}
 
 			final HColor backcolor = option.getBackcolor();
@@ -196,30 +175,29 @@ public class SvgGraphics {
 		if (robotoAdded)
 			return;
 		// https://stackoverflow.com/questions/36253961/using-google-fonts-with-svg-object
-		final Element style = document.createElement("style");
+		final SvgElement style = new SvgElement("style");
 		style.setAttribute("type", "text/css");
 		style.setTextContent(
 				"@import url('https://fonts.googleapis.com/css?family=Roboto:400,100,100italic,300,300italic,400italic,500,500italic,700,700italic,900,900italic');");
-		defs.appendChild(style);
+		document.addDefs(style);
 		robotoAdded = true;
 	}
 
 	private void paintBackcolor(String back) {
 		setFillColor(back);
 		setStrokeColor(null);
+		// Written first in the main group, once the final size is known
 		pendingBackground = createRectangleInternal(0, 0, 0, 0);
-		getG().appendChild(pendingBackground);
 	}
 
-	private Element getStylesForInteractiveMode() {
-		final Element style = simpleElement("style");
+	private SvgElement getStylesForInteractiveMode() {
+		final SvgElement style = new SvgElement("style");
 		final String text = getData("default.css");
 		if (text == null)
 			return null;
 
-		final CDATASection cdata = document.createCDATASection(text);
 		style.setAttribute("type", "text/css");
-		style.appendChild(cdata);
+		style.setCData(text);
 		return style;
 	}
 
@@ -251,8 +229,8 @@ public class SvgGraphics {
 //		return style;
 //	}
 
-	private Element getScriptForInteractiveMode() {
-		final Element script = document.createElement("script");
+	private SvgElement getScriptForInteractiveMode() {
+		final SvgElement script = new SvgElement("script");
 		final String text = getData("default.js");
 		if (text == null)
 			return null;
@@ -274,11 +252,10 @@ public class SvgGraphics {
 		return null;
 	}
 
-	private Element getPathHover(String hover) {
-		final Element style = simpleElement("style");
-		final CDATASection cdata = document.createCDATASection("path:hover { stroke: " + hover + " !important;}");
+	private SvgElement getPathHover(String hover) {
+		final SvgElement style = new SvgElement("style");
 		style.setAttribute("type", "text/css");
-		style.appendChild(cdata);
+		style.setCData("path:hover { stroke: " + hover + " !important;}");
 		return style;
 	}
 
@@ -286,45 +263,10 @@ public class SvgGraphics {
 		return Long.toString(Math.abs(seed), 36);
 	}
 
-	// This method returns a reference to a simple XML
-	// element node that has no attributes.
-	private Element simpleElement(String type) {
-		final Element theElement = (Element) document.createElement(type);
-		root.appendChild(theElement);
-		return theElement;
-	}
-
-	private Document getDocument() throws ParserConfigurationException {
-		final DocumentBuilder builder = XmlFactories.newDocumentBuilder();
-		final Document document = builder.newDocument();
-		document.setXmlStandalone(true);
-		return document;
-	}
-
-	// This method returns a reference to a root node that
-	// has already been appended to the document.
-	private Element getRootNode() {
-		// Create the root node named svg and append it to
-		// the document.
-		final Element svg = (Element) document.createElement("svg");
-		document.appendChild(svg);
-
-		// Set some attributes on the root node that are
-		// required for proper rendering. Note that the
-		// approach used here is somewhat different from the
-		// approach used in the earlier program named Svg01,
-		// particularly with regard to the style.
-		svg.setAttribute("xmlns", "http://www.w3.org/2000/svg");
-		svg.setAttribute("xmlns:xlink", "http://www.w3.org/1999/xlink");
-		svg.setAttribute("version", "1.1");
-
-		return svg;
-	}
-
 	public void svgEllipse(double x, double y, double xRadius, double yRadius, double deltaShadow) {
 		manageShadow(deltaShadow);
 		if (hidden == false) {
-			final Element elt = (Element) document.createElement("ellipse");
+			final SvgElement elt = new SvgElement("ellipse");
 			elt.setAttribute("cx", format(x));
 			elt.setAttribute("cy", format(y));
 			elt.setAttribute("rx", format(xRadius));
@@ -332,7 +274,7 @@ public class SvgGraphics {
 			fillMe(elt);
 			elt.setAttribute("style", getStyle());
 			addFilterShadowId(elt, deltaShadow);
-			getG().appendChild(elt);
+			document.add(elt);
 		}
 		ensureVisible(x + xRadius + deltaShadow * 2, y + yRadius + deltaShadow * 2);
 	}
@@ -341,11 +283,11 @@ public class SvgGraphics {
 		if (hidden == false) {
 			final String path = "M" + format(x1) + "," + format(y1) + " A" + format(rx) + "," + format(ry) + " 0 0 0 "
 					+ format(x2) + " " + format(y2);
-			final Element elt = (Element) document.createElement("path");
+			final SvgElement elt = new SvgElement("path");
 			elt.setAttribute("d", path);
 			fillMe(elt);
 			elt.setAttribute("style", getStyle());
-			getG().appendChild(elt);
+			document.add(elt);
 		}
 		ensureVisible(x1, y1);
 		ensureVisible(x2, y2);
@@ -357,7 +299,7 @@ public class SvgGraphics {
 		final List<Object> key = Arrays.asList((Object) color1, color2, policy);
 		String id = gradients.get(key);
 		if (id == null) {
-			final Element elt = (Element) document.createElement("linearGradient");
+			final SvgElement elt = new SvgElement("linearGradient");
 			if (policy == '|') {
 				elt.setAttribute("x1", "0%");
 				elt.setAttribute("y1", "50%");
@@ -383,16 +325,16 @@ public class SvgGraphics {
 			gradients.put(key, id);
 			elt.setAttribute("id", id);
 
-			final Element stop1 = (Element) document.createElement("stop");
+			final SvgElement stop1 = new SvgElement("stop");
 			stop1.setAttribute("stop-color", color1);
 			stop1.setAttribute("offset", "0%");
-			final Element stop2 = (Element) document.createElement("stop");
+			final SvgElement stop2 = new SvgElement("stop");
 			stop2.setAttribute("stop-color", color2);
 			stop2.setAttribute("offset", "100%");
 
 			elt.appendChild(stop1);
 			elt.appendChild(stop2);
-			defs.appendChild(elt);
+			document.addDefs(elt);
 		}
 		return id;
 	}
@@ -414,15 +356,6 @@ public class SvgGraphics {
 		this.strokeDasharray = strokeDasharray;
 	}
 
-	private final List<Element> pendingAction = new ArrayList<>();
-
-	public final Element getG() {
-		if (pendingAction.size() == 0)
-			return gRoot;
-
-		return pendingAction.get(0);
-	}
-
 	public void svgRectangle(double x, double y, double width, double height, double rx, double ry, double deltaShadow,
 			String id, String codeLine) {
 		if (height <= 0 || width <= 0) {
@@ -432,7 +365,7 @@ public class SvgGraphics {
 		}
 		manageShadow(deltaShadow);
 		if (hidden == false) {
-			final Element elt = createRectangleInternal(x, y, width, height);
+			final SvgElement elt = createRectangleInternal(x, y, width, height);
 			addFilterShadowId(elt, deltaShadow);
 			if (rx > 0 && ry > 0) {
 				elt.setAttribute("rx", format(rx));
@@ -444,13 +377,13 @@ public class SvgGraphics {
 			if (codeLine != null)
 				elt.setAttribute("codeLine", codeLine);
 
-			getG().appendChild(elt);
+			document.add(elt);
 		}
 		ensureVisible(x + width + 2 * deltaShadow, y + height + 2 * deltaShadow);
 	}
 
-	private Element createRectangleInternal(double x, double y, double width, double height) {
-		final Element elt = (Element) document.createElement("rect");
+	private SvgElement createRectangleInternal(double x, double y, double width, double height) {
+		final SvgElement elt = new SvgElement("rect");
 		elt.setAttribute("x", format(x));
 		elt.setAttribute("y", format(y));
 		elt.setAttribute("width", format(width));
@@ -463,14 +396,14 @@ public class SvgGraphics {
 	public void svgLine(double x1, double y1, double x2, double y2, double deltaShadow) {
 		manageShadow(deltaShadow);
 		if (hidden == false) {
-			final Element elt = (Element) document.createElement("line");
+			final SvgElement elt = new SvgElement("line");
 			elt.setAttribute("x1", format(x1));
 			elt.setAttribute("y1", format(y1));
 			elt.setAttribute("x2", format(x2));
 			elt.setAttribute("y2", format(y2));
 			elt.setAttribute("style", getStyle());
 			addFilterShadowId(elt, deltaShadow);
-			getG().appendChild(elt);
+			document.add(elt);
 		}
 		ensureVisible(x1 + 2 * deltaShadow, y1 + 2 * deltaShadow);
 		ensureVisible(x2 + 2 * deltaShadow, y2 + 2 * deltaShadow);
@@ -509,7 +442,7 @@ public class SvgGraphics {
 		assert points.length % 2 == 0;
 		manageShadow(deltaShadow);
 		if (hidden == false) {
-			final Element elt = (Element) document.createElement("polygon");
+			final SvgElement elt = new SvgElement("polygon");
 			final StringBuilder sb = new StringBuilder();
 			for (double coord : points) {
 				if (sb.length() > 0)
@@ -521,7 +454,7 @@ public class SvgGraphics {
 			fillMe(elt);
 			elt.setAttribute("style", getStyleSpecial());
 			addFilterShadowId(elt, deltaShadow);
-			getG().appendChild(elt);
+			document.add(elt);
 		}
 
 		for (int i = 0; i < points.length; i += 2) {
@@ -534,7 +467,7 @@ public class SvgGraphics {
 			String fontStyle, String textDecoration, double textLength, Map<String, String> attributes,
 			String textBackColor) {
 		if (hidden == false) {
-			final Element elt = (Element) document.createElement("text");
+			final SvgElement elt = new SvgElement("text");
 			// required for web-kit based browsers
 			// elt.setAttribute("text-rendering", "geometricPrecision");
 			elt.setAttribute("x", format(x));
@@ -586,7 +519,7 @@ public class SvgGraphics {
 
 			elt.setTextContent(text);
 			// elt.appendChild(document.createCDATASection(text));
-			getG().appendChild(elt);
+			document.add(elt);
 
 			// http://forum.plantuml.net/9158/hyperlink-without-underline
 			// if (textDecoration != null && textDecoration.contains("underline")) {
@@ -622,7 +555,7 @@ public class SvgGraphics {
 			return id;
 
 		id = getIdFilterBackColor(color);
-		final Element filter = (Element) document.createElement("filter");
+		final SvgElement filter = new SvgElement("filter");
 		filter.setAttribute("id", id);
 		filter.setAttribute("x", "0");
 		filter.setAttribute("y", "0");
@@ -630,49 +563,15 @@ public class SvgGraphics {
 		filter.setAttribute("height", "1");
 		addFilter(filter, "feFlood", "flood-color", color, "result", "flood");
 		addFilter(filter, "feComposite", "in", "SourceGraphic", "in2", "flood", "operator", "over");
-		defs.appendChild(filter);
+		document.addDefs(filter);
 		return id;
 	}
 
-	private Transformer getTransformer() throws TransformerException {
-		final Transformer transformer = XmlFactories.newTransformer();
-		Log.info("Transformer=" + transformer.getClass());
-
-		// // Sets the standalone property in the first line of
-		// // the output file.
-		transformer.setOutputProperty(OutputKeys.STANDALONE, "no");
-		transformer.setOutputProperty(OutputKeys.ENCODING, "us-ascii");
-		// transformer.setOutputProperty(OutputKeys.DOCTYPE_PUBLIC, "SVG 1.1");
-		// transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
-
-		return transformer;
-	}
-
 	public void createXml(OutputStream os) throws TransformerException, IOException {
-		if (images.size() == 0) {
-			createXmlInternal(os);
-			return;
-		}
-		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		createXmlInternal(baos);
-		String s = new String(baos.toByteArray());
-		for (Map.Entry<String, String> ent : images.entrySet()) {
-			final String k = "<" + ent.getKey() + "/>";
-			s = s.replace(k, ent.getValue());
-		}
-		s = removeXmlHeader(s);
-		os.write(s.getBytes());
-	}
-
-	private String removeXmlHeader(String s) {
-		s = s.replaceFirst("^<\\?xml [^<>]+?\\>", "");
-		return s;
-	}
-
-	private void createXmlInternal(OutputStream os) throws TransformerException {
-		// Get a DOMSource object that represents the
-		// Document object
-		final DOMSource source = new DOMSource(document);
+		final SvgElement root = new SvgElement("svg");
+		root.setAttribute("xmlns", "http://www.w3.org/2000/svg");
+		root.setAttribute("xmlns:xlink", "http://www.w3.org/1999/xlink");
+		root.setAttribute("version", "1.1");
 
 		final int maxXscaled = (int) (maxX * option.getScale());
 		final int maxYscaled = (int) (maxY * option.getScale());
@@ -697,11 +596,7 @@ public class SvgGraphics {
 			pendingBackground.setAttribute("height", format(maxY));
 		}
 
-		// Get a StreamResult object that points to the
-		// screen. Then transform the DOM sending XML to
-		// the screen.
-		final StreamResult scrResult = new StreamResult(os);
-		getTransformer().transform(source, scrResult);
+		document.write(os, root, pendingBackground);
 	}
 
 	public void svgPath(double x, double y, UPath path, double deltaShadow) {
@@ -742,7 +637,7 @@ public class SvgGraphics {
 
 		}
 		if (hidden == false) {
-			final Element elt = (Element) document.createElement("path");
+			final SvgElement elt = new SvgElement("path");
 			elt.setAttribute("d", sb.toString());
 			elt.setAttribute("style", getStyle());
 			fillMe(elt);
@@ -755,11 +650,11 @@ public class SvgGraphics {
 				elt.setAttribute("codeLine", codeLine);
 
 			addFilterShadowId(elt, deltaShadow);
-			getG().appendChild(elt);
+			document.add(elt);
 		}
 	}
 
-	private void fillMe(Element elt) {
+	private void fillMe(SvgElement elt) {
 		if (fill.equals("#00000000"))
 			return;
 
@@ -772,7 +667,7 @@ public class SvgGraphics {
 		}
 	}
 
-	private void addFilterShadowId(final Element elt, double deltaShadow) {
+	private void addFilterShadowId(final SvgElement elt, double deltaShadow) {
 		if (deltaShadow > 0)
 			elt.setAttribute("filter", "url(#" + shadowId + ")");
 
@@ -834,11 +729,11 @@ public class SvgGraphics {
 
 	public void fill(int windingRule) {
 		if (hidden == false) {
-			final Element elt = (Element) document.createElement("path");
+			final SvgElement elt = new SvgElement("path");
 			elt.setAttribute("d", currentPath.toString());
 			fillMe(elt);
 			// elt elt.setAttribute("style", getStyle());
-			getG().appendChild(elt);
+			document.add(elt);
 		}
 		currentPath = null;
 
@@ -872,30 +767,28 @@ public class SvgGraphics {
 
 	public void svgImage(BufferedImage image, double x, double y) throws IOException {
 		if (hidden == false) {
-			final Element elt = (Element) document.createElement("image");
+			final SvgElement elt = new SvgElement("image");
 			elt.setAttribute("width", format(image.getWidth()));
 			elt.setAttribute("height", format(image.getHeight()));
 			elt.setAttribute("x", format(x));
 			elt.setAttribute("y", format(y));
 			final String s = toBase64(image);
 			elt.setAttribute("xlink:href", "data:image/png;base64," + s);
-			getG().appendChild(elt);
+			document.add(elt);
 		}
 		ensureVisible(x, y);
 		ensureVisible(x + image.getWidth(), y + image.getHeight());
 	}
 
-	private final Map<String, String> images = new HashMap<String, String>();
+	private int inlinedImages;
 
 	private void svgImageUnsecure(UImageSvg image, double x, double y) {
 		if (hidden == false) {
 			String svg = manageScale(image);
 			final String pos = "<svg x=\"" + format(x) + "\" y=\"" + format(y) + "\">";
 			svg = pos + svg.substring(5);
-			final String key = "imagesvginlined" + image.getMD5Hex() + images.size();
-			final Element elt = (Element) document.createElement(key);
-			getG().appendChild(elt);
-			images.put(key, svg);
+			final String key = "imagesvginlined" + image.getMD5Hex() + inlinedImages++;
+			document.addInlinedSvg(key, svg);
 		}
 		ensureVisible(x, y);
 		ensureVisible(x + image.getData("width"), y + image.getData("height"));
@@ -909,7 +802,7 @@ public class SvgGraphics {
 
 		// https://developer.mozilla.org/fr/docs/Web/SVG/Element/image
 		if (hidden == false) {
-			final Element elt = (Element) document.createElement("image");
+			final SvgElement elt = new SvgElement("image");
 			elt.setAttribute("width", format(image.getWidth()));
 			elt.setAttribute("height", format(image.getHeight()));
 			elt.setAttribute("x", format(x));
@@ -931,7 +824,7 @@ public class SvgGraphics {
 			final String s = toBase64(svg);
 			elt.setAttribute("xlink:href", "data:image/svg+xml;base64," + s);
 
-			getG().appendChild(elt);
+			document.add(elt);
 		}
 		ensureVisible(x, y);
 		ensureVisible(x + image.getData("width"), y + image.getData("height"));
@@ -975,7 +868,7 @@ public class SvgGraphics {
 		if (deltaShadow != 0) {
 			if (withShadow == false) {
 				// <filter id="f1" x="0" y="0" width="120%" height="120%">
-				final Element filter = (Element) document.createElement("filter");
+				final SvgElement filter = new SvgElement("filter");
 				filter.setAttribute("id", shadowId);
 				filter.setAttribute("x", "-1");
 				filter.setAttribute("y", "-1");
@@ -987,16 +880,16 @@ public class SvgGraphics {
 				addFilter(filter, "feOffset", "result", "blurOut3", "in", "blurOut2", "dx",
 						"" + (4 * option.getScale()), "dy", "" + (4 * option.getScale()));
 				addFilter(filter, "feBlend", "in", "SourceGraphic", "in2", "blurOut3", "mode", "normal");
-				defs.appendChild(filter);
+				document.addDefs(filter);
 
 			}
 			withShadow = true;
 		}
 	}
 
-	private void addFilter(Element filter, String name, String... data) {
+	private void addFilter(SvgElement filter, String name, String... data) {
 		assert data.length % 2 == 0;
-		final Element elt = (Element) document.createElement(name);
+		final SvgElement elt = new SvgElement(name);
 		for (int i = 0; i < data.length; i += 2)
 			elt.setAttribute(data[i], data[i + 1]);
 
@@ -1026,39 +919,35 @@ public class SvgGraphics {
 		// ::comment when __CORE__
 		final String signature = getMetadataHex(metadata);
 		final String comment = "SRC=[" + signature + "]";
-		final Comment commentElement = document.createComment(comment);
-		getG().appendChild(commentElement);
+		document.add(SvgElement.comment(comment));
 		// ::done
 	}
 
 	public void addComment(String comment) {
-		final Comment commentElement = document.createComment(comment);
-		getG().appendChild(commentElement);
+		document.add(SvgElement.comment(comment));
 	}
 
 	public void addScriptTag(String url) {
-		final Element script = document.createElement("script");
+		final SvgElement script = new SvgElement("script");
 		script.setAttribute("type", "text/javascript");
 		script.setAttribute("xlink:href", url);
-		root.appendChild(script);
+		document.addRoot(script);
 	}
 
 	public void addScript(String scriptTextPath) {
-		final Element script = document.createElement("script");
+		final SvgElement script = new SvgElement("script");
 		final String scriptText = getData(scriptTextPath);
-		final CDATASection cDATAScript = document.createCDATASection(scriptText);
-		script.appendChild(cDATAScript);
-		root.appendChild(script);
+		script.setCData(scriptText);
+		document.addRoot(script);
 	}
 
 	public void addStyle(String cssStylePath) {
-		final Element style = simpleElement("style");
+		final SvgElement style = new SvgElement("style");
 		final String text = getData(cssStylePath);
 
-		final CDATASection cdata = document.createCDATASection(text);
 		style.setAttribute("type", "text/css");
-		style.appendChild(cdata);
-		root.appendChild(style);
+		style.setCData(text);
+		document.addRoot(style);
 	}
 
 	public void openLink(String url, String title, String target) {
@@ -1071,21 +960,22 @@ public class SvgGraphics {
 //		if (pendingAction.size() > 0)
 //			closeLink();
 
-		pendingAction.add(0, (Element) document.createElement("a"));
-		pendingAction.get(0).setAttribute("target", target);
-		pendingAction.get(0).setAttribute(XLINK_HREF1, url);
-		pendingAction.get(0).setAttribute(XLINK_HREF2, url);
-		pendingAction.get(0).setAttribute("xlink:type", "simple");
-		pendingAction.get(0).setAttribute("xlink:actuate", "onRequest");
-		pendingAction.get(0).setAttribute("xlink:show", "new");
+		final SvgElement link = new SvgElement("a");
+		link.setAttribute("target", target);
+		link.setAttribute(XLINK_HREF1, url);
+		link.setAttribute(XLINK_HREF2, url);
+		link.setAttribute("xlink:type", "simple");
+		link.setAttribute("xlink:actuate", "onRequest");
+		link.setAttribute("xlink:show", "new");
 		if (title == null) {
-			pendingAction.get(0).setAttribute(XLINK_TITLE1, url);
-			pendingAction.get(0).setAttribute(XLINK_TITLE2, url);
+			link.setAttribute(XLINK_TITLE1, url);
+			link.setAttribute(XLINK_TITLE2, url);
 		} else {
 			title = formatTitle(title);
-			pendingAction.get(0).setAttribute(XLINK_TITLE1, title);
-			pendingAction.get(0).setAttribute(XLINK_TITLE2, title);
+			link.setAttribute(XLINK_TITLE1, title);
+			link.setAttribute(XLINK_TITLE2, title);
 		}
+		document.openGroup(link);
 	}
 
 	private String formatTitle(String title) {
@@ -1104,28 +994,23 @@ public class SvgGraphics {
 	}
 
 	public void closeLink() {
-		if (pendingAction.size() > 0) {
-			final Element element = pendingAction.get(0);
-			pendingAction.remove(0);
-			if (element.getFirstChild() != null) {
-				// Empty link
-				getG().appendChild(element);
-			}
-		}
+		if (document.hasOpenGroup())
+			document.closeGroup();
 	}
 
 	public void startGroup(Map<UGroupType, String> typeIdents) {
 		if (typeIdents.isEmpty())
 			throw new IllegalArgumentException();
 
-		pendingAction.add(0, (Element) document.createElement("g"));
+		final SvgElement group = new SvgElement("g");
 
 		for (Map.Entry<UGroupType, String> typeIdent : typeIdents.entrySet()) {
 			if (typeIdent.getKey() == UGroupType.ID)
-				pendingAction.get(0).setAttribute("id", typeIdent.getValue());
+				group.setAttribute("id", typeIdent.getValue());
 			if (option.isInteractive() && typeIdent.getKey() == UGroupType.CLASS)
-				pendingAction.get(0).setAttribute("class", typeIdent.getValue());
+				group.setAttribute("class", typeIdent.getValue());
 		}
+		document.openGroup(group);
 	}
 
 	public void closeGroup() {
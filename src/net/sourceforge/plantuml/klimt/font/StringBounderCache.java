@@ -0,0 +1,202 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.klimt.font;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import net.sourceforge.plantuml.StringUtils;
+import net.sourceforge.plantuml.klimt.geom.XDimension2D;
+import net.sourceforge.plantuml.security.SecurityUtils;
+
+/**
+ * JVM wide cache of text measurements done through AWT.
+ * <p>
+ * It is shared by every diagram, and bounded by
+ * <code>PLANTUML_STRING_BOUNDER_CACHE</code> entries (0 disables it). Eviction
+ * is done by generations: when the young generation is full, it replaces the
+ * old one. Entries found in the old generation are moved back to the young
+ * one, so that frequently used labels stay in the cache.
+ */
+public class StringBounderCache {
+	// ::remove file when __HAXE__
+
+	public enum Kind {
+		DIMENSION, DESCENT
+	}
+
+	private static final StringBounderCache singleton = new StringBounderCache(getMaxSize());
+
+	private final int generationSize;
+
+	private volatile Map<Key, Object> young = new ConcurrentHashMap<>();
+	private volatile Map<Key, Object> old = new ConcurrentHashMap<>();
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public static StringBounderCache getInstance() {
+		return singleton;
+	}
+
+	private static int getMaxSize() {
+		final String value = SecurityUtils.getenv("PLANTUML_STRING_BOUNDER_CACHE");
+		if (StringUtils.isNotEmpty(value) && value.matches("\\d+"))
+			return Integer.parseInt(value);
+
+		return 50000;
+	}
+
+	StringBounderCache(int maxSize) {
+		this.generationSize = maxSize / 2;
+	}
+
+	public XDimension2D getDimension(Font font, String text, Supplier<XDimension2D> measure) {
+		return (XDimension2D) get(new Key(Kind.DIMENSION, font, null, text), measure);
+	}
+
+	public double getDescent(Font font, FontRenderContext frc, String text, Supplier<Double> measure) {
+		return (Double) get(new Key(Kind.DESCENT, font, frc, text), measure);
+	}
+
+	private Object get(Key key, Supplier<?> measure) {
+		if (generationSize == 0)
+			return measure.get();
+
+		final Map<Key, Object> currentYoung = young;
+		Object result = currentYoung.get(key);
+		if (result == null) {
+			result = old.get(key);
+			if (result == null) {
+				misses.incrementAndGet();
+				result = measure.get();
+			} else {
+				hits.incrementAndGet();
+			}
+			currentYoung.put(key, result);
+			if (currentYoung.size() > generationSize)
+				newGeneration(currentYoung);
+
+		} else {
+			hits.incrementAndGet();
+		}
+		return result;
+	}
+
+	private synchronized void newGeneration(Map<Key, Object> full) {
+		// Another thread may already have done it
+		if (young != full)
+			return;
+
+		old = full;
+		young = new ConcurrentHashMap<>();
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	public double getHitRate() {
+		final long total = getHits() + getMisses();
+		if (total == 0)
+			return 0;
+
+		return 1.0 * getHits() / total;
+	}
+
+	public int size() {
+		return young.size() + old.size();
+	}
+
+	public void clear() {
+		young = new ConcurrentHashMap<>();
+		old = new ConcurrentHashMap<>();
+		hits.set(0);
+		misses.set(0);
+	}
+
+	@Override
+	public String toString() {
+		return "StringBounderCache size=" + size() + " hits=" + getHits() + " misses=" + getMisses()
+				+ String.format(" hitRate=%.1f%%", 100 * getHitRate());
+	}
+
+	static final class Key {
+
+		private final Kind kind;
+		private final Font font;
+		private final FontRenderContext frc;
+		private final String text;
+		private final int hash;
+
+		Key(Kind kind, Font font, FontRenderContext frc, String text) {
+			this.kind = kind;
+			this.font = font;
+			this.frc = frc;
+			this.text = text;
+			this.hash = 31 * (31 * kind.hashCode() + font.hashCode()) + text.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+
+			if (obj instanceof Key == false)
+				return false;
+
+			final Key other = (Key) obj;
+			return hash == other.hash && kind == other.kind && text.equals(other.text) && font.equals(other.font)
+					&& Objects.equals(frc, other.frc);
+		}
+
+	}
+
+}
@@ -35,6 +35,7 @@
  */
 package net.sourceforge.plantuml.klimt.font;
 
+import java.awt.Font;
 import java.awt.font.FontRenderContext;
 import java.awt.font.LineMetrics;
 
@@ -69,9 +70,11 @@ public abstract class StringBounderRaw implements StringBounder {
 	protected abstract XDimension2D calculateDimensionInternal(UFont font, String text);
 
 	public double getDescent(UFont font, String text) {
-		final LineMetrics lineMetrics = font.getUnderlayingFont(UFontContext.G2D).getLineMetrics(text, frc);
-		final double descent = lineMetrics.getDescent();
-		return descent;
+		final Font javaFont = font.getUnderlayingFont(UFontContext.G2D);
+		return StringBounderCache.getInstance().getDescent(javaFont, frc, text, () -> {
+			final LineMetrics lineMetrics = javaFont.getLineMetrics(text, frc);
+			return (double) lineMetrics.getDescent();
+		});
 	}
 
 }
@@ -48,10 +48,17 @@ import java.io.PrintWriter;
 import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.net.URLEncoder;
+import java.net.SocketTimeoutException;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.sourceforge.plantuml.BlockUml;
 import net.sourceforge.plantuml.ErrorUml;
@@ -72,18 +79,47 @@ import net.sourceforge.plantuml.json.JsonArray;
 import net.sourceforge.plantuml.json.JsonObject;
 import net.sourceforge.plantuml.log.Logme;
 import net.sourceforge.plantuml.security.SFile;
+import net.sourceforge.plantuml.security.SecurityUtils;
+import net.sourceforge.plantuml.stats.StageMetrics;
 import net.sourceforge.plantuml.text.StringLocated;
 import net.sourceforge.plantuml.utils.LineLocationImpl;
+import net.sourceforge.plantuml.utils.Log;
 import net.sourceforge.plantuml.version.Version;
 
 public class PicoWebServer implements Runnable {
 	// ::remove folder when __CORE__
 
 	private final Socket connect;
+	private final ThreadPoolExecutor executor;
 	private static boolean enableStop;
 
+	// Those settings can be changed using system properties or environment
+	// variables
+	private static final int NB_THREADS = getSetting("PLANTUML_PICOWEB_THREADS",
+			Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+	private static final int QUEUE_SIZE = getSetting("PLANTUML_PICOWEB_QUEUE", 100);
+	private static final int BACKLOG = getSetting("PLANTUML_PICOWEB_BACKLOG", 50);
+	private static final int KEEPALIVE_TIMEOUT = getSetting("PLANTUML_PICOWEB_KEEPALIVE_TIMEOUT", 5000);
+	private static final int KEEPALIVE_MAX_REQUESTS = getSetting("PLANTUML_PICOWEB_KEEPALIVE_MAX", 100);
+	private static final boolean VIRTUAL_THREADS = "true"
+			.equalsIgnoreCase(SecurityUtils.getenv("PLANTUML_PICOWEB_VIRTUAL_THREADS"));
+
+	// How often an idle persistent connection checks for waiting connections
+	private static final int KEEPALIVE_POLL = 100;
+
+	private static final RenderedDiagramCache cache = new RenderedDiagramCache(
+			getSetting("PLANTUML_PICOWEB_CACHE_ENTRIES", 1000),
+			1024L * 1024L * getSetting("PLANTUML_PICOWEB_CACHE_SIZE_MB", 64));
+
+	private boolean closeAfterResponse;
+
 	public PicoWebServer(Socket c) {
+		this(c, null);
+	}
+
+	private PicoWebServer(Socket c, ThreadPoolExecutor executor) {
 		this.connect = c;
+		this.executor = executor;
 	}
 
 	public static void main(String[] args) throws IOException {
@@ -94,16 +130,83 @@ public class PicoWebServer implements Runnable {
 			throws IOException {
 		PicoWebServer.enableStop = argEnableStop;
 		final InetAddress bindAddress1 = bindAddress == null ? null : InetAddress.getByName(bindAddress);
-		final ServerSocket serverConnect = new ServerSocket(port, 50, bindAddress1);
+		final ServerSocket serverConnect = new ServerSocket(port, BACKLOG, bindAddress1);
 		System.err.println("webPort=" + serverConnect.getLocalPort());
 		serverLoop(serverConnect);
 	}
 
 	public static void serverLoop(final ServerSocket serverConnect) throws IOException {
+		final ThreadPoolExecutor executor = createExecutor();
+		Log.info("PicoWebServer uses " + NB_THREADS + (VIRTUAL_THREADS ? " virtual" : "")
+				+ " threads and a queue of " + QUEUE_SIZE);
 		while (true) {
-			final PicoWebServer myServer = new PicoWebServer(serverConnect.accept());
-			final Thread thread = new Thread(myServer);
-			thread.start();
+			final Socket socket = serverConnect.accept();
+			try {
+				executor.execute(new PicoWebServer(socket, executor));
+			} catch (RejectedExecutionException e) {
+				sendServiceUnavailable(socket);
+			}
+		}
+	}
+
+	private static ThreadPoolExecutor createExecutor() {
+		final ThreadPoolExecutor result = new ThreadPoolExecutor(NB_THREADS, NB_THREADS, 60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(QUEUE_SIZE), createThreadFactory());
+		result.allowCoreThreadTimeOut(true);
+		return result;
+	}
+
+	private static ThreadFactory createThreadFactory() {
+		if (VIRTUAL_THREADS)
+			try {
+				// Java 21+ only: Thread.ofVirtual().factory()
+				final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+				return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory")
+						.invoke(builder);
+			} catch (Exception e) {
+				Log.info("No virtual threads available, using platform threads");
+			}
+
+		final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+		final AtomicInteger counter = new AtomicInteger();
+		return new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				final Thread thread = defaultFactory.newThread(r);
+				thread.setName("PicoWebServer-" + counter.incrementAndGet());
+				return thread;
+			}
+		};
+	}
+
+	private static int getSetting(String name, int defaultValue) {
+		final String value = SecurityUtils.getenv(name);
+		if (value != null && value.matches("\\d{1,9}"))
+			return Math.max(1, Integer.parseInt(value));
+
+		return defaultValue;
+	}
+
+	private static void sendServiceUnavailable(Socket socket) {
+		try {
+			final OutputStream out = socket.getOutputStream();
+			final byte[] message = "Server busy".getBytes(UTF_8);
+			write(out, "HTTP/1.1 503 Service Unavailable");
+			write(out, "Retry-After: 1");
+			write(out, "Connection: close");
+			write(out, "Content-type: text/plain");
+			write(out, "Content-length: " + message.length);
+			write(out, "");
+			out.write(message);
+			out.flush();
+		} catch (IOException e) {
+			Logme.error(e);
+		} finally {
+			try {
+				socket.close();
+			} catch (IOException e) {
+				Logme.error(e);
+			}
 		}
 	}
 
@@ -115,40 +218,17 @@ public class PicoWebServer implements Runnable {
 			in = new BufferedInputStream(connect.getInputStream());
 			out = new BufferedOutputStream(connect.getOutputStream());
 
-			final ReceivedHTTPRequest request = ReceivedHTTPRequest.fromStream(in);
-			if (request.getMethod().equals("GET")) {
-				if (request.getPath().startsWith("/png/") && handleGET(request, out, FileFormat.PNG))
-					return;
-				if (request.getPath().startsWith("/plantuml/png/") && handleGET(request, out, FileFormat.PNG))
-					return;
-				if (request.getPath().startsWith("/svg/") && handleGET(request, out, FileFormat.SVG))
-					return;
-				if (request.getPath().startsWith("/plantuml/svg/") && handleGET(request, out, FileFormat.SVG))
-					return;
-				if (request.getPath().startsWith("/txt/") && handleGET(request, out, FileFormat.ATXT))
-					return;
-				if (request.getPath().startsWith("/plantuml/txt/") && handleGET(request, out, FileFormat.ATXT))
-					return;
-				if (request.getPath().startsWith("/utxt/") && handleGET(request, out, FileFormat.UTXT))
-					return;
-				if (request.getPath().startsWith("/plantuml/utxt/") && handleGET(request, out, FileFormat.UTXT))
-					return;
-				if (request.getPath().startsWith("/serverinfo") && handleInfo(out))
-					return;
-				if (request.getPath().startsWith("/plantuml/serverinfo") && handleInfo(out))
-					return;
-				if (enableStop && (request.getPath().startsWith("/stopserver")
-						|| request.getPath().startsWith("/plantuml/stopserver")) && handleStop(out))
+			int nbRequests = 0;
+			do {
+				if (nbRequests > 0 && waitNextRequest(in) == false)
 					return;
 
-			} else if (request.getMethod().equals("POST") && request.getPath().equals("/render")) {
-				handleRenderRequest(request, out);
-				return;
-			}
-			write(out, "HTTP/1.1 302 Found");
-			write(out, "Location: /plantuml/png/oqbDJyrBuGh8ISmh2VNrKGZ8JCuFJqqAJYqgIotY0aefG5G00000");
-			write(out, "");
-			out.flush();
+				final ReceivedHTTPRequest request = ReceivedHTTPRequest.fromStream(in);
+				nbRequests++;
+				closeAfterResponse = request.isKeepAlive() == false || nbRequests >= KEEPALIVE_MAX_REQUESTS
+						|| isBusy();
+				serve(request, out);
+			} while (closeAfterResponse == false);
 
 		} catch (Throwable e) {
 			try {
@@ -167,11 +247,87 @@ public class PicoWebServer implements Runnable {
 		}
 	}
 
+	private boolean isBusy() {
+		return executor != null && executor.getQueue().size() > 0;
+	}
+
+	// An idle persistent connection holds its worker while it waits, so it is
+	// closed as soon as a new connection is queued
+	private boolean waitNextRequest(BufferedInputStream in) throws IOException {
+		final long deadline = System.currentTimeMillis() + KEEPALIVE_TIMEOUT;
+		connect.setSoTimeout(KEEPALIVE_POLL);
+		try {
+			in.mark(1);
+			while (true)
+				try {
+					if (in.read() == -1)
+						return false;
+
+					in.reset();
+					return true;
+				} catch (SocketTimeoutException e) {
+					if (isBusy() || System.currentTimeMillis() >= deadline)
+						return false;
+				}
+		} finally {
+			connect.setSoTimeout(0);
+		}
+	}
+
+	private void serve(ReceivedHTTPRequest request, BufferedOutputStream out) throws Exception {
+		if (request.getMethod().equals("GET")) {
+			if (request.getPath().startsWith("/png/") && handleGET(request, out, FileFormat.PNG))
+				return;
+			if (request.getPath().startsWith("/plantuml/png/") && handleGET(request, out, FileFormat.PNG))
+				return;
+			if (request.getPath().startsWith("/svg/") && handleGET(request, out, FileFormat.SVG))
+				return;
+			if (request.getPath().startsWith("/plantuml/svg/") && handleGET(request, out, FileFormat.SVG))
+				return;
+			if (request.getPath().startsWith("/txt/") && handleGET(request, out, FileFormat.ATXT))
+				return;
+			if (request.getPath().startsWith("/plantuml/txt/") && handleGET(request, out, FileFormat.ATXT))
+				return;
+			if (request.getPath().startsWith("/utxt/") && handleGET(request, out, FileFormat.UTXT))
+				return;
+			if (request.getPath().startsWith("/plantuml/utxt/") && handleGET(request, out, FileFormat.UTXT))
+				return;
+			if (request.getPath().startsWith("/serverinfo") && handleInfo(out))
+				return;
+			if (request.getPath().startsWith("/plantuml/serverinfo") && handleInfo(out))
+				return;
+			if (request.getPath().startsWith("/metrics") && handleMetrics(out))
+				return;
+			if (request.getPath().startsWith("/plantuml/metrics") && handleMetrics(out))
+				return;
+			if (enableStop && (request.getPath().startsWith("/stopserver")
+					|| request.getPath().startsWith("/plantuml/stopserver")) && handleStop(out))
+				return;
+
+		} else if (request.getMethod().equals("POST") && request.getPath().equals("/render")) {
+			handleRenderRequest(request, out);
+			return;
+		}
+		write(out, "HTTP/1.1 302 Found");
+		write(out, "Location: /plantuml/png/oqbDJyrBuGh8ISmh2VNrKGZ8JCuFJqqAJYqgIotY0aefG5G00000");
+		write(out, "Content-length: 0");
+		writeConnection(out);
+		write(out, "");
+		out.flush();
+	}
+
+	private void writeConnection(OutputStream out) throws IOException {
+		if (closeAfterResponse)
+			write(out, "Connection: close");
+	}
+
 	private boolean handleStop(BufferedOutputStream out) throws IOException {
+		closeAfterResponse = true;
 		write(out, "HTTP/1.1 " + "200");
 		write(out, "Cache-Control: no-cache");
 		write(out, "Server: PlantUML PicoWebServer " + Version.versionString());
 		write(out, "Date: " + new Date());
+		writeConnection(out);
 		write(out, "");
 
 		write(out, "<html>Stoping...</html>");
@@ -194,13 +350,6 @@ public class PicoWebServer implements Runnable {
 	}
 
 	private boolean handleInfo(BufferedOutputStream out) throws IOException {
-		write(out, "HTTP/1.1 " + "200");
-		write(out, "Cache-Control: no-cache");
-		write(out, "Server: PlantUML PicoWebServer " + Version.versionString());
-		write(out, "Date: " + new Date());
-		write(out, "Content-Type: application/json");
-		write(out, "");
-
 		final JsonArray formats = new JsonArray();
 		formats.add("png");
 		formats.add("svg");
@@ -208,8 +357,37 @@ public class PicoWebServer implements Runnable {
 		final JsonObject json = Json.object() //
 				.add("version", Version.versionString()) //
 				.add("PicoWebServer", true) //
-				.add("formats", formats); //
-		write(out, json.toString());
+				.add("formats", formats) //
+				.add("cache", cache.getStats()); //
+		final byte[] body = (json.toString() + "\r\n").getBytes(UTF_8);
+
+		write(out, "HTTP/1.1 " + "200");
+		write(out, "Cache-Control: no-cache");
+		write(out, "Server: PlantUML PicoWebServer " + Version.versionString());
+		write(out, "Date: " + new Date());
+		write(out, "Content-Type: application/json");
+		write(out, "Content-length: " + body.length);
+		writeConnection(out);
+		write(out, "");
+		out.write(body);
+
+		out.flush();
+
+		return true;
+	}
+
+	private boolean handleMetrics(BufferedOutputStream out) throws IOException {
+		final byte[] body = StageMetrics.getInstance().toText().getBytes(UTF_8);
+
+		write(out, "HTTP/1.1 " + "200");
+		write(out, "Cache-Control: no-cache");
+		write(out, "Server: PlantUML PicoWebServer " + Version.versionString());
+		write(out, "Date: " + new Date());
+		write(out, "Content-Type: text/plain; version=0.0.4; charset=utf-8");
+		write(out, "Content-length: " + body.length);
+		writeConnection(out);
+		write(out, "");
+		out.write(body);
 
 		out.flush();
 
@@ -227,12 +405,25 @@ public class PicoWebServer implements Runnable {
 		final FileFormatOption fileFormatOption = new FileFormatOption(format);
 		final List<BlockUml> blocks = ssr.getBlocks();
 		if (blocks.size() > 0) {
-			final Diagram system = blocks.get(0).getDiagram();
-			final ByteArrayOutputStream os = new ByteArrayOutputStream();
-			final ImageData imageData = system.exportDiagram(os, 0, fileFormatOption);
-			os.close();
-			sendDiagram(out, system, fileFormatOption, httpReturnCode(imageData.getStatus()), imageData,
-					os.toByteArray());
+			// The etag is computed from the preprocessed source, so that included
+			// files are taken into account
+			final String etag = "\"" + blocks.get(0).etag() + "-" + format.name() + "\"";
+			if (etag.equals(request.getIfNoneMatch())) {
+				cache.incNotModified();
+				sendNotModified(out, etag);
+				return true;
+			}
+			RenderedDiagram rendered = cache.get(etag);
+			if (rendered == null) {
+				final Diagram system = blocks.get(0).getDiagram();
+				final ByteArrayOutputStream os = new ByteArrayOutputStream();
+				final ImageData imageData = system.exportDiagram(os, 0, fileFormatOption);
+				os.close();
+				rendered = RenderedDiagram.create(system, fileFormatOption, httpReturnCode(imageData.getStatus()),
+						imageData, os.toByteArray());
+				cache.put(etag, rendered);
+			}
+			sendDiagram(out, rendered, etag);
 			return true;
 		}
 		return false;
@@ -283,36 +474,43 @@ public class PicoWebServer implements Runnable {
 	private void sendDiagram(final BufferedOutputStream out, final Diagram system,
 			final FileFormatOption fileFormatOption, final String returnCode, final ImageData imageData,
 			final byte[] fileData) throws IOException {
+		sendDiagram(out, RenderedDiagram.create(system, fileFormatOption, returnCode, imageData, fileData), null);
+	}
+
+	private void sendDiagram(final BufferedOutputStream out, final RenderedDiagram rendered, final String etag)
+			throws IOException {
 
-		write(out, "HTTP/1.1 " + returnCode);
+		write(out, "HTTP/1.1 " + rendered.getReturnCode());
 		write(out, "Cache-Control: no-cache");
+		if (etag != null)
+			write(out, "ETag: " + etag);
 		write(out, "Server: PlantUML PicoWebServer " + Version.versionString());
 		write(out, "Date: " + new Date());
 		write(out, "Access-Control-Allow-Origin: *");
-		write(out, "Content-type: " + fileFormatOption.getFileFormat().getMimeType());
-		write(out, "Content-length: " + fileData.length);
-		write(out, "X-PlantUML-Diagram-Width: " + imageData.getWidth());
-		write(out, "X-PlantUML-Diagram-Height: " + imageData.getHeight());
-		write(out, "X-PlantUML-Diagram-Description: " + system.getDescription().getDescription());
-		if (system instanceof PSystemError) {
-			final PSystemError error = (PSystemError) system;
-			for (ErrorUml err : error.getErrorsUml()) {
-				write(out, "X-PlantUML-Diagram-Error: " + err.getError());
-				write(out, "X-PlantUML-Diagram-Error-Line: " + (1 + err.getLineLocation().getPosition()));
-			}
-		}
-		if (system.getTitleDisplay() != null && system.getTitleDisplay().size() == 1) {
-			final String encode = URLEncoder.encode(system.getTitleDisplay().asList().get(0).toString(), "UTF-8");
-			if (encode.length() < 256)
-				write(out, "X-PlantUML-Diagram-Title: " + encode);
-		}
+		write(out, "Content-type: " + rendered.getMimeType());
+		write(out, "Content-length: " + rendered.getData().length);
+		for (String header : rendered.getDiagramHeaders())
+			write(out, header);
 
 		write(out, "X-Patreon: Support us on https://plantuml.com/patreon");
 		write(out, "X-Donate: https://plantuml.com/paypal");
 		write(out, "X-Quote: " + StringUtils.rot(QuoteUtils.getSomeQuote()));
+		writeConnection(out);
 		write(out, "");
 		out.flush();
-		out.write(fileData);
+		out.write(rendered.getData());
+		out.flush();
+	}
+
+	private void sendNotModified(final BufferedOutputStream out, final String etag) throws IOException {
+		write(out, "HTTP/1.1 304 Not Modified");
+		write(out, "Cache-Control: no-cache");
+		write(out, "ETag: " + etag);
+		write(out, "Server: PlantUML PicoWebServer " + Version.versionString());
+		write(out, "Date: " + new Date());
+		write(out, "Access-Control-Allow-Origin: *");
+		writeConnection(out);
+		write(out, "");
 		out.flush();
 	}
 
@@ -342,7 +540,7 @@ public class PicoWebServer implements Runnable {
 		return "" + status + " ERROR";
 	}
 
-	private void write(OutputStream os, String s) throws IOException {
+	private static void write(OutputStream os, String s) throws IOException {
 		s = s + "\r\n";
 		os.write(s.getBytes(UTF_8));
 	}
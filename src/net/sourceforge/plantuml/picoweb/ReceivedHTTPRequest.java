@@ -8,12 +8,20 @@ public class ReceivedHTTPRequest {
 
 	private static final String CONTENT_LENGTH_HEADER = "content-length: ";
 
+	private static final String CONNECTION_HEADER = "connection: ";
+
+	private static final String IF_NONE_MATCH_HEADER = "if-none-match: ";
+
 	private String method;
 
 	private String path;
 
 	private byte[] body;
 
+	private boolean keepAlive;
+
+	private String ifNoneMatch;
+
 	public String getMethod() {
 		return method;
 	}
@@ -26,6 +34,17 @@ public class ReceivedHTTPRequest {
 		return body;
 	}
 
+	public String getIfNoneMatch() {
+		return ifNoneMatch;
+	}
+
+	/**
+	 * HTTP/1.1 connections are persistent unless the client asks to close them.
+	 */
+	public boolean isKeepAlive() {
+		return keepAlive;
+	}
+
 	public static ReceivedHTTPRequest fromStream(InputStream in) throws IOException {
 		final ReceivedHTTPRequest request = new ReceivedHTTPRequest();
 
@@ -38,6 +57,7 @@ public class ReceivedHTTPRequest {
 
 		request.method = tokenizer.nextToken().toUpperCase();
 		request.path = tokenizer.nextToken();
+		request.keepAlive = tokenizer.nextToken().equalsIgnoreCase("HTTP/1.1");
 
 		// Headers
 		int contentLength = 0;
@@ -48,6 +68,11 @@ public class ReceivedHTTPRequest {
 				break;
 			} else if (line.toLowerCase().startsWith(CONTENT_LENGTH_HEADER)) {
 				contentLength = parseContentLengthHeader(line);
+			} else if (line.toLowerCase().startsWith(CONNECTION_HEADER)
+					&& line.substring(CONNECTION_HEADER.length()).trim().equalsIgnoreCase("close")) {
+				request.keepAlive = false;
+			} else if (line.toLowerCase().startsWith(IF_NONE_MATCH_HEADER)) {
+				request.ifNoneMatch = line.substring(IF_NONE_MATCH_HEADER.length()).trim();
 			}
 		}
 
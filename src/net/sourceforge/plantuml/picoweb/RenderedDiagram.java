@@ -0,0 +1,84 @@
+package net.sourceforge.plantuml.picoweb;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.sourceforge.plantuml.ErrorUml;
+import net.sourceforge.plantuml.FileFormatOption;
+import net.sourceforge.plantuml.core.Diagram;
+import net.sourceforge.plantuml.core.ImageData;
+import net.sourceforge.plantuml.error.PSystemError;
+
+/**
+ * Everything needed to send a rendered diagram again, without the diagram
+ * itself.
+ */
+public class RenderedDiagram {
+
+	private final String returnCode;
+
+	private final String mimeType;
+
+	private final List<String> diagramHeaders;
+
+	private final byte[] data;
+
+	private RenderedDiagram(String returnCode, String mimeType, List<String> diagramHeaders, byte[] data) {
+		this.returnCode = returnCode;
+		this.mimeType = mimeType;
+		this.diagramHeaders = Collections.unmodifiableList(diagramHeaders);
+		this.data = data;
+	}
+
+	public static RenderedDiagram create(Diagram system, FileFormatOption fileFormatOption, String returnCode,
+			ImageData imageData, byte[] data) throws UnsupportedEncodingException {
+		final List<String> headers = new ArrayList<>();
+		headers.add("X-PlantUML-Diagram-Width: " + imageData.getWidth());
+		headers.add("X-PlantUML-Diagram-Height: " + imageData.getHeight());
+		headers.add("X-PlantUML-Diagram-Description: " + system.getDescription().getDescription());
+		if (system instanceof PSystemError) {
+			final PSystemError error = (PSystemError) system;
+			for (ErrorUml err : error.getErrorsUml()) {
+				headers.add("X-PlantUML-Diagram-Error: " + err.getError());
+				headers.add("X-PlantUML-Diagram-Error-Line: " + (1 + err.getLineLocation().getPosition()));
+			}
+		}
+		if (system.getTitleDisplay() != null && system.getTitleDisplay().size() == 1) {
+			final String encode = URLEncoder.encode(system.getTitleDisplay().asList().get(0).toString(), "UTF-8");
+			if (encode.length() < 256)
+				headers.add("X-PlantUML-Diagram-Title: " + encode);
+		}
+		return new RenderedDiagram(returnCode, fileFormatOption.getFileFormat().getMimeType(), headers, data);
+	}
+
+	public String getReturnCode() {
+		return returnCode;
+	}
+
+	public String getMimeType() {
+		return mimeType;
+	}
+
+	public List<String> getDiagramHeaders() {
+		return diagramHeaders;
+	}
+
+	public byte[] getData() {
+		return data;
+	}
+
+	/**
+	 * Approximate memory used by this object, in bytes.
+	 */
+	public long getWeight() {
+		long result = data.length + 64;
+		for (String s : diagramHeaders)
+			result += 40 + 2 * s.length();
+
+		return result;
+	}
+
+}
@@ -0,0 +1,82 @@
+package net.sourceforge.plantuml.picoweb;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.sourceforge.plantuml.json.Json;
+import net.sourceforge.plantuml.json.JsonObject;
+
+/**
+ * LRU cache of the diagrams rendered by {@link PicoWebServer}, bounded by a
+ * number of entries and by a total size in bytes.
+ */
+public class RenderedDiagramCache {
+
+	private final int maxEntries;
+
+	private final long maxWeight;
+
+	// Access ordered, so the first entry is the least recently used
+	private final LinkedHashMap<String, RenderedDiagram> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long weight;
+
+	private long hits;
+
+	private long misses;
+
+	private long notModified;
+
+	private long evictions;
+
+	public RenderedDiagramCache(int maxEntries, long maxWeight) {
+		this.maxEntries = maxEntries;
+		this.maxWeight = maxWeight;
+	}
+
+	public synchronized RenderedDiagram get(String key) {
+		final RenderedDiagram result = cache.get(key);
+		if (result == null)
+			misses++;
+		else
+			hits++;
+
+		return result;
+	}
+
+	public synchronized void put(String key, RenderedDiagram value) {
+		if (value.getWeight() > maxWeight)
+			return;
+
+		final RenderedDiagram previous = cache.put(key, value);
+		if (previous != null)
+			weight -= previous.getWeight();
+
+		weight += value.getWeight();
+		final Iterator<Map.Entry<String, RenderedDiagram>> it = cache.entrySet().iterator();
+		while ((cache.size() > maxEntries || weight > maxWeight) && it.hasNext()) {
+			final RenderedDiagram eldest = it.next().getValue();
+			it.remove();
+			weight -= eldest.getWeight();
+			evictions++;
+		}
+	}
+
+	public synchronized void incNotModified() {
+		notModified++;
+	}
+
+	public synchronized JsonObject getStats() {
+		return Json.object() //
+				.add("entries", cache.size()) //
+				.add("maxEntries", maxEntries) //
+				.add("size", weight) //
+				.add("maxSize", maxWeight) //
+				.add("hits", hits) //
+				.add("misses", misses) //
+				.add("notModified", notModified) //
+				.add("evictions", evictions);
+	}
+
+}
@@ -0,0 +1,607 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.png;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import net.sourceforge.plantuml.StringUtils;
+import net.sourceforge.plantuml.security.SecurityUtils;
+import net.sourceforge.plantuml.zopfli.Options;
+import net.sourceforge.plantuml.zopfli.Options.BlockSplitting;
+import net.sourceforge.plantuml.zopfli.Options.OutputFormat;
+import net.sourceforge.plantuml.zopfli.Zopfli;
+
+/**
+ * PNG writer used instead of ImageIO.
+ * <p>
+ * Rows are filtered and deflated by bands on the common fork-join pool. Each
+ * band is deflated with the tail of the previous band as preset dictionary and
+ * ends on a sync flush, so the bands can simply be concatenated into one zlib
+ * stream.
+ * <p>
+ * Images having 256 colors or less are written with an exact palette.
+ */
+public class PngEncoder {
+	// ::remove file when __CORE__
+
+	public enum Profile {
+		/** Deflate level 1, SUB filter */
+		FAST,
+		/** Deflate level 6, adaptive filter */
+		DEFAULT,
+		/** Zopfli, adaptive filter */
+		MAX,
+		/** Legacy ImageIO writer */
+		IMAGEIO;
+
+		static Profile fromString(String value) {
+			if (StringUtils.isNotEmpty(value))
+				for (Profile profile : values())
+					if (profile.name().equalsIgnoreCase(value.trim()))
+						return profile;
+
+			return DEFAULT;
+		}
+	}
+
+	private static final String copyleft = "Generated by https://plantuml.com";
+
+	private static final byte[] SIGNATURE = { (byte) 137, 80, 78, 71, 13, 10, 26, 10 };
+
+	private static final int FILTER_NONE = 0;
+	private static final int FILTER_SUB = 1;
+	private static final int FILTER_UP = 2;
+	private static final int FILTER_AVERAGE = 3;
+	private static final int FILTER_PAETH = 4;
+	private static final int FILTER_ADAPTIVE = -1;
+
+	private static final int BAND_SIZE = 256 * 1024;
+	private static final int WINDOW_SIZE = 32 * 1024;
+	private static final int IDAT_SIZE = 256 * 1024;
+	private static final int ZOPFLI_BLOCK_SIZE = 1024 * 1024;
+	private static final int ZOPFLI_ITERATIONS = 15;
+
+	private static final Profile defaultProfile = Profile.fromString(SecurityUtils.getenv("PLANTUML_PNG_PROFILE"));
+
+	private final Profile encoderProfile;
+
+	private int width;
+	private int height;
+	private int[] pixels;
+	private boolean alpha;
+	private ColorIndex palette;
+	private int colorType;
+	private int bitDepth;
+	private int bpp;
+	private int rowBytes;
+
+	public PngEncoder(Profile encoderProfile) {
+		this.encoderProfile = encoderProfile;
+	}
+
+	public static Profile getProfile() {
+		return defaultProfile;
+	}
+
+	public void write(BufferedImage image, OutputStream os, String metadata, int dpi, String debugData)
+			throws IOException {
+		this.width = image.getWidth();
+		this.height = image.getHeight();
+		this.pixels = getPixels(image);
+		this.alpha = image.getColorModel().hasAlpha();
+		this.palette = ColorIndex.build(pixels, alpha);
+
+		if (palette != null) {
+			final int size = palette.size();
+			this.colorType = 3;
+			this.bitDepth = size <= 2 ? 1 : size <= 4 ? 2 : size <= 16 ? 4 : 8;
+			this.bpp = 1;
+		} else {
+			this.colorType = alpha ? 6 : 2;
+			this.bitDepth = 8;
+			this.bpp = alpha ? 4 : 3;
+		}
+		this.rowBytes = palette == null ? width * bpp : (width * bitDepth + 7) / 8;
+
+		final DataOutputStream dos = new DataOutputStream(os);
+		dos.write(SIGNATURE);
+		writeHeader(dos);
+		if (dpi != 96)
+			writePhysical(dos, dpi);
+
+		if (palette != null)
+			writePalette(dos);
+
+		if (metadata != null) {
+			if (debugData != null)
+				writeText(dos, "debug", debugData);
+			writeText(dos, "copyleft", copyleft);
+			writeInternationalText(dos, "plantuml", metadata);
+		}
+		writeData(dos, compress(filter()));
+		writeChunk(dos, "IEND", new byte[0], 0, 0);
+		dos.flush();
+	}
+
+	private static int[] getPixels(BufferedImage image) {
+		final int type = image.getType();
+		final WritableRaster raster = image.getRaster();
+		if ((type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_ARGB)
+				&& raster.getDataBuffer() instanceof DataBufferInt
+				&& raster.getSampleModel() instanceof SinglePixelPackedSampleModel) {
+			final DataBufferInt buffer = (DataBufferInt) raster.getDataBuffer();
+			final SinglePixelPackedSampleModel model = (SinglePixelPackedSampleModel) raster.getSampleModel();
+			if (buffer.getNumBanks() == 1 && buffer.getOffset() == 0 && model.getScanlineStride() == image.getWidth()
+					&& raster.getSampleModelTranslateX() == 0 && raster.getSampleModelTranslateY() == 0
+					&& buffer.getSize() >= image.getWidth() * image.getHeight())
+				return buffer.getData();
+		}
+		return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+	}
+
+	private int getFilter() {
+		if (palette != null)
+			return FILTER_NONE;
+		if (encoderProfile == Profile.FAST)
+			return FILTER_SUB;
+		return FILTER_ADAPTIVE;
+	}
+
+	private int getLevel() {
+		if (encoderProfile == Profile.FAST)
+			return 1;
+		return 6;
+	}
+
+	private int getRowsPerBand() {
+		return Math.max(1, BAND_SIZE / (rowBytes + 1));
+	}
+
+	private static void forEach(int count, IntConsumer action) {
+		if (count == 1)
+			action.accept(0);
+		else
+			IntStream.range(0, count).parallel().forEach(action);
+	}
+
+	private byte[][] filter() {
+		final int rowsPerBand = getRowsPerBand();
+		final byte[][] bands = new byte[(height + rowsPerBand - 1) / rowsPerBand][];
+		final int filter = getFilter();
+		forEach(bands.length, i -> {
+			final int start = i * rowsPerBand;
+			final int end = Math.min(height, start + rowsPerBand);
+			final byte[] band = new byte[(end - start) * (rowBytes + 1)];
+			byte[] previous = new byte[rowBytes];
+			byte[] current = new byte[rowBytes];
+			if (start > 0)
+				getRow(start - 1, previous);
+
+			for (int y = start; y < end; y++) {
+				getRow(y, current);
+				final int type = filter == FILTER_ADAPTIVE ? chooseFilter(current, previous, bpp) : filter;
+				applyFilter(type, current, previous, bpp, band, (y - start) * (rowBytes + 1));
+				final byte[] tmp = previous;
+				previous = current;
+				current = tmp;
+			}
+			bands[i] = band;
+		});
+		return bands;
+	}
+
+	private void getRow(int y, byte[] row) {
+		final int offset = y * width;
+		if (palette != null) {
+			int pos = 0;
+			int acc = 0;
+			int bits = 0;
+			for (int x = 0; x < width; x++) {
+				acc = (acc << bitDepth) | palette.indexOf(normalize(pixels[offset + x], alpha));
+				bits += bitDepth;
+				if (bits == 8) {
+					row[pos++] = (byte) acc;
+					acc = 0;
+					bits = 0;
+				}
+			}
+			if (bits > 0)
+				row[pos] = (byte) (acc << (8 - bits));
+
+		} else if (alpha) {
+			for (int x = 0, pos = 0; x < width; x++) {
+				final int argb = pixels[offset + x];
+				row[pos++] = (byte) (argb >> 16);
+				row[pos++] = (byte) (argb >> 8);
+				row[pos++] = (byte) argb;
+				row[pos++] = (byte) (argb >>> 24);
+			}
+		} else {
+			for (int x = 0, pos = 0; x < width; x++) {
+				final int rgb = pixels[offset + x];
+				row[pos++] = (byte) (rgb >> 16);
+				row[pos++] = (byte) (rgb >> 8);
+				row[pos++] = (byte) rgb;
+			}
+		}
+	}
+
+	private static int normalize(int argb, boolean alpha) {
+		return alpha ? argb : argb | 0xFF000000;
+	}
+
+	private static int paeth(int a, int b, int c) {
+		final int pa = Math.abs(b - c);
+		final int pb = Math.abs(a - c);
+		final int pc = Math.abs(a + b - c - c);
+		if (pa <= pb && pa <= pc)
+			return a;
+		if (pb <= pc)
+			return b;
+		return c;
+	}
+
+	static void applyFilter(int type, byte[] row, byte[] previous, int bpp, byte[] out, int pos) {
+		out[pos++] = (byte) type;
+		final int length = row.length;
+		switch (type) {
+		case FILTER_NONE:
+			System.arraycopy(row, 0, out, pos, length);
+			break;
+		case FILTER_SUB:
+			for (int i = 0; i < length; i++)
+				out[pos + i] = (byte) (row[i] - (i >= bpp ? row[i - bpp] : 0));
+			break;
+		case FILTER_UP:
+			for (int i = 0; i < length; i++)
+				out[pos + i] = (byte) (row[i] - previous[i]);
+			break;
+		case FILTER_AVERAGE:
+			for (int i = 0; i < length; i++) {
+				final int a = i >= bpp ? row[i - bpp] & 0xFF : 0;
+				out[pos + i] = (byte) (row[i] - ((a + (previous[i] & 0xFF)) >> 1));
+			}
+			break;
+		case FILTER_PAETH:
+			for (int i = 0; i < length; i++) {
+				final int a = i >= bpp ? row[i - bpp] & 0xFF : 0;
+				final int c = i >= bpp ? previous[i - bpp] & 0xFF : 0;
+				out[pos + i] = (byte) (row[i] - paeth(a, previous[i] & 0xFF, c));
+			}
+			break;
+		default:
+			throw new IllegalArgumentException();
+		}
+	}
+
+	/**
+	 * Minimum sum of absolute differences, the heuristic recommended by the PNG
+	 * specification. Rows repeating the previous one, frequent in diagrams, go
+	 * straight to UP.
+	 */
+	static int chooseFilter(byte[] row, byte[] previous, int bpp) {
+		if (Arrays.equals(row, previous))
+			return FILTER_UP;
+
+		int none = 0;
+		int sub = 0;
+		int up = 0;
+		int average = 0;
+		int paeth = 0;
+		for (int i = 0; i < row.length; i++) {
+			final int x = row[i] & 0xFF;
+			final int a = i >= bpp ? row[i - bpp] & 0xFF : 0;
+			final int b = previous[i] & 0xFF;
+			final int c = i >= bpp ? previous[i - bpp] & 0xFF : 0;
+			none += Math.abs((byte) x);
+			sub += Math.abs((byte) (x - a));
+			up += Math.abs((byte) (x - b));
+			average += Math.abs((byte) (x - ((a + b) >> 1)));
+			paeth += Math.abs((byte) (x - paeth(a, b, c)));
+		}
+		int result = FILTER_NONE;
+		int best = none;
+		if (sub < best) {
+			result = FILTER_SUB;
+			best = sub;
+		}
+		if (up < best) {
+			result = FILTER_UP;
+			best = up;
+		}
+		if (average < best) {
+			result = FILTER_AVERAGE;
+			best = average;
+		}
+		if (paeth < best)
+			result = FILTER_PAETH;
+
+		return result;
+	}
+
+	private byte[] compress(byte[][] bands) throws IOException {
+		final ByteArrayOutputStream result = new ByteArrayOutputStream();
+		// zlib header: deflate with a 32K window, no preset dictionary
+		result.write(0x78);
+		result.write(encoderProfile == Profile.FAST ? 0x01 : encoderProfile == Profile.MAX ? 0xDA : 0x9C);
+
+		final Adler32 adler = new Adler32();
+		for (byte[] band : bands)
+			adler.update(band);
+
+		if (encoderProfile == Profile.MAX) {
+			final byte[] data = concat(bands);
+			final Zopfli zopfli = new Zopfli(Math.min(data.length, ZOPFLI_BLOCK_SIZE));
+			result.write(zopfli.compress(new Options(OutputFormat.DEFLATE, BlockSplitting.FIRST, ZOPFLI_ITERATIONS),
+					data).getResult());
+		} else {
+			final byte[][] deflated = new byte[bands.length][];
+			forEach(bands.length, i -> deflated[i] = deflate(bands, i));
+			for (byte[] data : deflated)
+				result.write(data);
+		}
+
+		final int checksum = (int) adler.getValue();
+		result.write(checksum >>> 24);
+		result.write(checksum >>> 16);
+		result.write(checksum >>> 8);
+		result.write(checksum);
+		return result.toByteArray();
+	}
+
+	private byte[] deflate(byte[][] bands, int i) {
+		final boolean last = i == bands.length - 1;
+		final Deflater deflater = new Deflater(getLevel(), true);
+		try {
+			if (i > 0) {
+				final byte[] previous = bands[i - 1];
+				final int length = Math.min(WINDOW_SIZE, previous.length);
+				deflater.setDictionary(previous, previous.length - length, length);
+			}
+			deflater.setInput(bands[i]);
+			final ByteArrayOutputStream result = new ByteArrayOutputStream(bands[i].length / 4 + 64);
+			final byte[] buffer = new byte[16 * 1024];
+			if (last) {
+				deflater.finish();
+				while (deflater.finished() == false) {
+					final int len = deflater.deflate(buffer);
+					result.write(buffer, 0, len);
+				}
+			} else {
+				int len;
+				do {
+					len = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+					result.write(buffer, 0, len);
+				} while (len == buffer.length);
+			}
+			return result.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private static byte[] concat(byte[][] bands) {
+		int size = 0;
+		for (byte[] band : bands)
+			size += band.length;
+		final byte[] result = new byte[size];
+		int pos = 0;
+		for (byte[] band : bands) {
+			System.arraycopy(band, 0, result, pos, band.length);
+			pos += band.length;
+		}
+		return result;
+	}
+
+	private void writeHeader(DataOutputStream dos) throws IOException {
+		final ByteArrayOutputStream data = new ByteArrayOutputStream();
+		final DataOutputStream header = new DataOutputStream(data);
+		header.writeInt(width);
+		header.writeInt(height);
+		header.writeByte(bitDepth);
+		header.writeByte(colorType);
+		header.writeByte(0); // compression
+		header.writeByte(0); // filter
+		header.writeByte(0); // interlace
+		writeChunk(dos, "IHDR", data.toByteArray());
+	}
+
+	private void writePhysical(DataOutputStream dos, int dpi) throws IOException {
+		final int pixelsPerMeter = (int) Math.round(dpi / 0.0254);
+		final ByteArrayOutputStream data = new ByteArrayOutputStream();
+		final DataOutputStream physical = new DataOutputStream(data);
+		physical.writeInt(pixelsPerMeter);
+		physical.writeInt(pixelsPerMeter);
+		physical.writeByte(1); // meter
+		writeChunk(dos, "pHYs", data.toByteArray());
+	}
+
+	private void writePalette(DataOutputStream dos) throws IOException {
+		final int[] colors = palette.getColors();
+		final byte[] plte = new byte[colors.length * 3];
+		int transparent = 0;
+		for (int i = 0; i < colors.length; i++) {
+			plte[3 * i] = (byte) (colors[i] >> 16);
+			plte[3 * i + 1] = (byte) (colors[i] >> 8);
+			plte[3 * i + 2] = (byte) colors[i];
+			if (colors[i] >>> 24 != 0xFF)
+				transparent = i + 1;
+		}
+		writeChunk(dos, "PLTE", plte);
+		if (transparent > 0) {
+			final byte[] trns = new byte[transparent];
+			for (int i = 0; i < transparent; i++)
+				trns[i] = (byte) (colors[i] >>> 24);
+			writeChunk(dos, "tRNS", trns);
+		}
+	}
+
+	private void writeText(DataOutputStream dos, String key, String value) throws IOException {
+		final ByteArrayOutputStream data = new ByteArrayOutputStream();
+		data.write(key.getBytes(StandardCharsets.ISO_8859_1));
+		data.write(0);
+		data.write(value.getBytes(StandardCharsets.ISO_8859_1));
+		writeChunk(dos, "tEXt", data.toByteArray());
+	}
+
+	private void writeInternationalText(DataOutputStream dos, String key, String value) throws IOException {
+		final ByteArrayOutputStream data = new ByteArrayOutputStream();
+		data.write(key.getBytes(StandardCharsets.ISO_8859_1));
+		data.write(0);
+		data.write(1); // compressed
+		data.write(0); // deflate
+		data.write(0); // no language tag
+		data.write(0); // no translated keyword
+		try (DeflaterOutputStream deflater = new DeflaterOutputStream(data)) {
+			deflater.write(value.getBytes(StandardCharsets.UTF_8));
+		}
+		writeChunk(dos, "iTXt", data.toByteArray());
+	}
+
+	private void writeData(DataOutputStream dos, byte[] data) throws IOException {
+		for (int pos = 0; pos < data.length; pos += IDAT_SIZE)
+			writeChunk(dos, "IDAT", data, pos, Math.min(IDAT_SIZE, data.length - pos));
+	}
+
+	private static void writeChunk(DataOutputStream dos, String type, byte[] data) throws IOException {
+		writeChunk(dos, type, data, 0, data.length);
+	}
+
+	private static void writeChunk(DataOutputStream dos, String type, byte[] data, int offset, int length)
+			throws IOException {
+		final byte[] name = type.getBytes(StandardCharsets.US_ASCII);
+		final CRC32 crc = new CRC32();
+		crc.update(name);
+		crc.update(data, offset, length);
+		dos.writeInt(length);
+		dos.write(name);
+		dos.write(data, offset, length);
+		dos.writeInt((int) crc.getValue());
+	}
+
+	/**
+	 * Open addressing map from ARGB colors to palette indexes.
+	 */
+	static class ColorIndex {
+
+		private static final int MAX_COLORS = 256;
+		private static final int CAPACITY = 1024;
+
+		private final int[] keys = new int[CAPACITY];
+		private final int[] values = new int[CAPACITY];
+		private final boolean[] used = new boolean[CAPACITY];
+		private final int[] colors = new int[MAX_COLORS];
+		private int size;
+
+		/**
+		 * Returns the palette of the image, translucent colors first so that tRNS
+		 * stays short, or null if the image has more than 256 colors.
+		 */
+		static ColorIndex build(int[] pixels, boolean alpha) {
+			final ColorIndex all = new ColorIndex();
+			int last = 0;
+			for (int i = 0; i < pixels.length; i++) {
+				final int argb = normalize(pixels[i], alpha);
+				if (i > 0 && argb == last)
+					continue;
+				last = argb;
+				if (all.indexOf(argb) == -1 && all.add(argb) == false)
+					return null;
+			}
+			final ColorIndex result = new ColorIndex();
+			for (int i = 0; i < all.size; i++)
+				if (all.colors[i] >>> 24 != 0xFF)
+					result.add(all.colors[i]);
+			for (int i = 0; i < all.size; i++)
+				if (all.colors[i] >>> 24 == 0xFF)
+					result.add(all.colors[i]);
+			return result;
+		}
+
+		private static int slot(int argb) {
+			final int h = argb * 0x9E3779B9;
+			return (h ^ (h >>> 16)) & (CAPACITY - 1);
+		}
+
+		int indexOf(int argb) {
+			for (int i = slot(argb);; i = (i + 1) & (CAPACITY - 1)) {
+				if (used[i] == false)
+					return -1;
+				if (keys[i] == argb)
+					return values[i];
+			}
+		}
+
+		private boolean add(int argb) {
+			if (size == MAX_COLORS)
+				return false;
+			int i = slot(argb);
+			while (used[i])
+				i = (i + 1) & (CAPACITY - 1);
+			used[i] = true;
+			keys[i] = argb;
+			values[i] = size;
+			colors[size++] = argb;
+			return true;
+		}
+
+		int size() {
+			return size;
+		}
+
+		int[] getColors() {
+			final int[] result = new int[size];
+			System.arraycopy(colors, 0, result, 0, size);
+			return result;
+		}
+	}
+
+}
@@ -44,6 +44,7 @@ import net.sourceforge.plantuml.klimt.color.ColorMapper;
 import net.sourceforge.plantuml.quantization.Quantizer;
 import net.sourceforge.plantuml.security.SFile;
 import net.sourceforge.plantuml.security.SImageIO;
+import net.sourceforge.plantuml.security.SecurityUtils;
 import net.sourceforge.plantuml.utils.Log;
 
 public class PngIO {
@@ -51,7 +52,7 @@ public class PngIO {
 
 	// ::comment when __CORE__
 	private static final String copyleft = "Generated by https://plantuml.com";
-	public static boolean USE_QUANTIZATION = false;
+	public static boolean USE_QUANTIZATION = "true".equalsIgnoreCase(SecurityUtils.getenv("PLANTUML_PNG_QUANTIZE"));
 
 	public static void write(RenderedImage image, ColorMapper mapper, SFile file, String metadata, int dpi)
 			throws IOException {
@@ -79,6 +80,11 @@ public class PngIO {
 		if (USE_QUANTIZATION)
 			image = Quantizer.quantizeNow(mapper, (BufferedImage) image);
 
+		if (PngEncoder.getProfile() != PngEncoder.Profile.IMAGEIO && image instanceof BufferedImage) {
+			new PngEncoder(PngEncoder.getProfile()).write((BufferedImage) image, os, metadata, dpi, debugData);
+			return;
+		}
+
 		if (metadata == null)
 			// ::done
 			SImageIO.write(image, "png", os);
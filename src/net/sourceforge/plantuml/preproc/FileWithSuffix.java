@@ -170,6 +170,29 @@ public class FileWithSuffix {
 		return description;
 	}
 
+	/**
+	 * @return the file on disk holding this content (the archive for a zip
+	 *         entry), or <code>null</code>
+	 */
+	public SFile getUnderlyingFile() {
+		if (file == null)
+			return null;
+
+		return file.getUnderlyingFile();
+	}
+
+	/**
+	 * @return a key identifying this content across diagrams, or
+	 *         <code>null</code> if it cannot be identified
+	 */
+	public String getCacheKey() throws IOException {
+		final SFile underlying = getUnderlyingFile();
+		if (underlying == null)
+			return null;
+
+		return underlying.getCanonicalFile().getAbsolutePath() + "~" + entry + "!" + suffix;
+	}
+
 	public final String getSuffix() {
 		return suffix;
 	}
@@ -7,11 +7,12 @@ import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.PrintWriter;
-import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -23,6 +24,8 @@ import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
 
 import javax.imageio.ImageIO;
 
@@ -62,7 +65,8 @@ public class Stdlib {
 	private static final String SEPARATOR = "\uF8FF";
 	private static final Pattern sizePattern = Pattern.compile("\\[(\\d+)x(\\d+)/16\\]");
 
-	private final Map<String, SoftReference<String>> cache = new ConcurrentHashMap<String, SoftReference<String>>();
+	private final List<Integer> colors = new ArrayList<>();
+	private volatile Map<String, byte[]> chunks;
 
 	private final String name;
 	private final Map<String, String> info = new HashMap<String, String>();
@@ -142,95 +146,169 @@ public class Stdlib {
 	}
 
 	private String loadResource(String file) throws IOException {
-		final SoftReference<String> cached = cache.get(file.toLowerCase());
-		if (cached != null) {
-			final String cachedResult = cached.get();
-			if (cachedResult != null) {
-				// Log.info("Using cache for " + file);
-				return cachedResult;
-			}
+		final String key = name + "/" + file.toLowerCase();
+		final StdlibCache cache = StdlibCache.getInstance();
+		final String cached = cache.get(key);
+		if (cached != null)
+			return cached;
+
+		final byte[] chunk = getChunks().get(file.toLowerCase());
+		if (chunk == null) {
+			Log.info("Not found " + file);
+			return null;
 		}
-		Log.info("No cache for " + file);
+		final String result = readChunk(chunk);
+		cache.put(key, result);
+		return result;
+	}
+
+	private Map<String, byte[]> getChunks() throws IOException {
+		Map<String, byte[]> result = chunks;
+		if (result == null)
+			synchronized (this) {
+				result = chunks;
+				if (result == null) {
+					result = buildChunks();
+					chunks = result;
+				}
+			}
+
+		return result;
+	}
+
+	// The brotli streams can only be read sequentially: they are read once, and
+	// each file is stored as its own deflated chunk, holding its lines followed by
+	// the raw bytes of its images and sprites, in the order readChunk() needs them
+	private Map<String, byte[]> buildChunks() throws IOException {
+		final long start = System.currentTimeMillis();
+		final Map<String, byte[]> result = new HashMap<String, byte[]>();
 		final DataInputStream dataStream = getDataStream();
 		if (dataStream == null)
-			return null;
+			return result;
 
 		dataStream.readUTF();
 		final InputStream spriteStream = getSpriteStream();
 		if (spriteStream == null) {
 			dataStream.close();
-			return null;
+			return result;
 		}
 		InputStream dataImagePngBase64Stream = null;
-		final List<Integer> colors = new ArrayList<>();
+		final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
 		try {
-			StringBuilder found = null;
 			while (true) {
 				final String filename = dataStream.readUTF();
-				if (filename.equals(SEPARATOR)) {
-					Log.info("Not found " + filename);
-					return null;
-				}
-				if (filename.equalsIgnoreCase(file))
-					found = new StringBuilder();
-
-				while (true) {
-					String s = dataStream.readUTF();
-					if (s.equals(SEPARATOR)) {
-						if (found != null) {
-							final String result = found.toString();
-							cache.put(file.toLowerCase(), new SoftReference<>(result));
-							return result;
-						}
-						break;
-					}
-
-					if (s.contains(AtomImg.DATA_IMAGE_PNG_BASE64)) {
-						if (dataImagePngBase64Stream == null) {
-							dataImagePngBase64Stream = getDataImagePngBase64();
-							final int size = read2bytes(dataImagePngBase64Stream);
-							for (int i = 0; i < size; i++) {
-								final int alpha = read1byte(dataImagePngBase64Stream);
-								final int red = read1byte(dataImagePngBase64Stream);
-								final int green = read1byte(dataImagePngBase64Stream);
-								final int blue = read1byte(dataImagePngBase64Stream);
-								final int rgb = (alpha << 24) + (red << 16) + (green << 8) + blue;
-								colors.add(rgb);
+				if (filename.equals(SEPARATOR))
+					break;
+
+				final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+				try (DataOutputStream chunk = new DataOutputStream(baos)) {
+					while (true) {
+						final String s = dataStream.readUTF();
+						chunk.writeUTF(s);
+						if (s.equals(SEPARATOR))
+							break;
+
+						if (s.contains(AtomImg.DATA_IMAGE_PNG_BASE64)) {
+							if (dataImagePngBase64Stream == null) {
+								dataImagePngBase64Stream = getDataImagePngBase64();
+								final int size = read2bytes(dataImagePngBase64Stream);
+								for (int i = 0; i < size; i++) {
+									final int alpha = read1byte(dataImagePngBase64Stream);
+									final int red = read1byte(dataImagePngBase64Stream);
+									final int green = read1byte(dataImagePngBase64Stream);
+									final int blue = read1byte(dataImagePngBase64Stream);
+									final int rgb = (alpha << 24) + (red << 16) + (green << 8) + blue;
+									colors.add(rgb);
+								}
 							}
+							final int width = dataImagePngBase64Stream.read();
+							final int height = dataImagePngBase64Stream.read();
+							chunk.write(width);
+							chunk.write(height);
+							copy(dataImagePngBase64Stream, chunk, 2 * width * height);
 						}
-						final String base64 = readOneImage(dataImagePngBase64Stream, colors);
-						s = s.replaceFirst(AtomImg.DATA_IMAGE_PNG_BASE64, AtomImg.DATA_IMAGE_PNG_BASE64 + base64);
-					}
 
-					if (found != null) {
-						found.append(s);
-						found.append("\n");
-					}
-					if (isSpriteLine(s)) {
-						final Matcher m = sizePattern.matcher(s);
-						final boolean ok = m.find();
-						if (ok == false)
-							throw new IOException(s);
+						if (isSpriteLine(s)) {
+							final Matcher m = sizePattern.matcher(s);
+							final boolean ok = m.find();
+							if (ok == false)
+								throw new IOException(s);
 
-						final int width = Integer.parseInt(m.group(1));
-						final int height = Integer.parseInt(m.group(2));
-						if (found == null) {
-							skipSprite(width, height, spriteStream);
-						} else {
-							final String sprite = readSprite(width, height, spriteStream);
-							found.append(sprite);
-							found.append("}\n");
+							final int width = Integer.parseInt(m.group(1));
+							final int height = Integer.parseInt(m.group(2));
+							copy(spriteStream, chunk, (height + 1) / 2 * width);
 						}
 					}
 				}
+				final String lower = filename.toLowerCase();
+				if (result.containsKey(lower) == false)
+					result.put(lower, deflate(deflater, baos.toByteArray()));
 			}
 		} finally {
+			deflater.end();
 			dataStream.close();
 			spriteStream.close();
 			if (dataImagePngBase64Stream != null)
 				dataImagePngBase64Stream.close();
 		}
+		Log.info("Stdlib " + name + " indexed " + result.size() + " files in " + (System.currentTimeMillis() - start)
+				+ " ms");
+		return result;
+	}
+
+	private static byte[] deflate(Deflater deflater, byte[] data) {
+		deflater.reset();
+		deflater.setInput(data);
+		deflater.finish();
+		final ByteArrayOutputStream result = new ByteArrayOutputStream(data.length / 4 + 16);
+		final byte[] buffer = new byte[8192];
+		while (deflater.finished() == false)
+			result.write(buffer, 0, deflater.deflate(buffer));
+
+		return result.toByteArray();
+	}
+
+	private static void copy(InputStream is, OutputStream os, int length) throws IOException {
+		final byte[] buffer = new byte[Math.min(Math.max(length, 1), 8192)];
+		while (length > 0) {
+			final int read = is.read(buffer, 0, Math.min(length, buffer.length));
+			if (read == -1)
+				return;
+
+			os.write(buffer, 0, read);
+			length -= read;
+		}
+	}
+
+	private String readChunk(byte[] chunk) throws IOException {
+		try (DataInputStream is = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(chunk)))) {
+			final StringBuilder found = new StringBuilder();
+			while (true) {
+				String s = is.readUTF();
+				if (s.equals(SEPARATOR))
+					return found.toString();
+
+				if (s.contains(AtomImg.DATA_IMAGE_PNG_BASE64)) {
+					final String base64 = readOneImage(is, colors);
+					s = s.replaceFirst(AtomImg.DATA_IMAGE_PNG_BASE64, AtomImg.DATA_IMAGE_PNG_BASE64 + base64);
+				}
 
+				found.append(s);
+				found.append("\n");
+				if (isSpriteLine(s)) {
+					final Matcher m = sizePattern.matcher(s);
+					final boolean ok = m.find();
+					if (ok == false)
+						throw new IOException(s);
+
+					final int width = Integer.parseInt(m.group(1));
+					final int height = Integer.parseInt(m.group(2));
+					final String sprite = readSprite(width, height, is);
+					found.append(sprite);
+					found.append("}\n");
+				}
+			}
+		}
 	}
 
 	private String readOneImage(InputStream is, List<Integer> colors) throws IOException {
@@ -252,11 +330,6 @@ public class Stdlib {
 
 	}
 
-	private void skipSprite(int width, int height, InputStream inputStream) throws IOException {
-		final int nbLines = (height + 1) / 2;
-		inputStream.skip(nbLines * width);
-	}
-
 	private String readSprite(int width, int height, InputStream inputStream) throws IOException {
 		final int nbLines = (height + 1) / 2;
 		final StringBuilder result = new StringBuilder();
@@ -0,0 +1,136 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.preproc;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.sourceforge.plantuml.StringUtils;
+import net.sourceforge.plantuml.security.SecurityUtils;
+
+/**
+ * Bounded cache of decoded stdlib files, shared by every library.
+ * <p>
+ * Unlike a <code>SoftReference</code> cache, entries are not dropped under
+ * memory pressure: the least recently used files are evicted once the total
+ * size exceeds <code>PLANTUML_STDLIB_CACHE_SIZE_MB</code> (0 disables it).
+ */
+public class StdlibCache {
+	// ::remove file when __CORE__
+
+	private static final StdlibCache singleton = new StdlibCache(getMaxSize());
+
+	private final long maxChars;
+	private final Map<String, String> files = new LinkedHashMap<>(16, 0.75f, true);
+	private long chars;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	public static StdlibCache getInstance() {
+		return singleton;
+	}
+
+	private static long getMaxSize() {
+		final String value = SecurityUtils.getenv("PLANTUML_STDLIB_CACHE_SIZE_MB");
+		if (StringUtils.isNotEmpty(value) && value.matches("\\d+"))
+			return Long.parseLong(value) * 1024L * 1024L / 2;
+
+		return 16L * 1024 * 1024 / 2;
+	}
+
+	StdlibCache(long maxChars) {
+		this.maxChars = maxChars;
+	}
+
+	public synchronized String get(String key) {
+		final String result = files.get(key);
+		if (result == null)
+			misses++;
+		else
+			hits++;
+		return result;
+	}
+
+	public synchronized void put(String key, String data) {
+		if (data.length() > maxChars)
+			return;
+
+		final String previous = files.put(key, data);
+		if (previous != null)
+			chars -= previous.length();
+		chars += data.length();
+
+		for (Iterator<String> it = files.values().iterator(); chars > maxChars && it.hasNext();) {
+			chars -= it.next().length();
+			it.remove();
+			evictions++;
+		}
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	public synchronized int size() {
+		return files.size();
+	}
+
+	public synchronized void clear() {
+		files.clear();
+		chars = 0;
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "StdlibCache size=" + files.size() + " chars=" + chars + " hits=" + hits + " misses=" + misses
+				+ " evictions=" + evictions;
+	}
+
+}
@@ -57,4 +57,8 @@ public class ConstantPlan implements LoadPlanable {
 		return loadPerInstant;
 
 	}
+
+	public Day getNextChange(Day instant, int direction) {
+		return null;
+	}
 }
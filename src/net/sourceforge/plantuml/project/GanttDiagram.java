@@ -709,14 +709,14 @@ public class GanttDiagram extends TitledDiagram implements ToTaskDraw, WithSprit
 		return resource;
 	}
 
-	public int getLoadForResource(Resource res, Day i) {
-		int result = 0;
+	public int[] getLoadsForResource(Resource res, Day min, Day max) {
+		final int[] result = new int[Math.max(0, max.getAbsoluteDayNum() - min.getAbsoluteDayNum() + 1)];
 		for (Task task : tasks.values()) {
 			if (task instanceof TaskSeparator)
 				continue;
 
 			final TaskImpl task2 = (TaskImpl) task;
-			result += task2.loadForResource(res, i);
+			task2.addLoadForResource(res, min, result);
 		}
 		return result;
 	}
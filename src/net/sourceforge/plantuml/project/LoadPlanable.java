@@ -40,4 +40,12 @@ import net.sourceforge.plantuml.project.time.Day;
 public interface LoadPlanable {
 
 	public int getLoadAt(Day instant);
+
+	/**
+	 * Returns the first day after instant (before instant when direction is -1)
+	 * where the load may differ from the load at instant, or null if the load
+	 * never changes in that direction. Returning a day that is too close is
+	 * allowed, it only costs one more step to the caller.
+	 */
+	public Day getNextChange(Day instant, int direction);
 }
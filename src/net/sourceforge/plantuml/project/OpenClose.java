@@ -37,7 +37,8 @@ package net.sourceforge.plantuml.project;
 
 import java.util.Collection;
 import java.util.EnumSet;
-import java.util.HashSet;
+import java.util.NavigableSet;
+import java.util.TreeSet;
 
 import net.sourceforge.plantuml.project.core3.Histogram;
 import net.sourceforge.plantuml.project.core3.TimeLine;
@@ -48,44 +49,14 @@ public class OpenClose implements Histogram, LoadPlanable {
 
 	private final Collection<DayOfWeek> closedDayOfWeek = EnumSet.noneOf(DayOfWeek.class);
 	private final Collection<DayOfWeek> openedDayOfWeek = EnumSet.noneOf(DayOfWeek.class);
-	private final Collection<Day> closedDays = new HashSet<>();
-	private final Collection<Day> openedDays = new HashSet<>();
+	private final NavigableSet<Day> closedDays = new TreeSet<>();
+	private final NavigableSet<Day> openedDays = new TreeSet<>();
 	private Day startingDay;
 
 	public int daysInWeek() {
 		return 7 - closedDayOfWeek.size();
 	}
 
-	private boolean isThereSomeChangeAfter(Day day) {
-		if (closedDayOfWeek.size() > 0)
-			return true;
-
-		for (Day tmp : closedDays)
-			if (tmp.compareTo(day) >= 0)
-				return true;
-
-		for (Day tmp : openedDays)
-			if (tmp.compareTo(day) >= 0)
-				return true;
-
-		return false;
-	}
-
-	private boolean isThereSomeChangeBefore(Day day) {
-		if (closedDayOfWeek.size() > 0)
-			return true;
-
-		for (Day tmp : closedDays)
-			if (tmp.compareTo(day) <= 0)
-				return true;
-
-		for (Day tmp : openedDays)
-			if (tmp.compareTo(day) <= 0)
-				return true;
-
-		return false;
-	}
-
 	public boolean isClosed(Day day) {
 		if (openedDays.contains(day))
 			return false;
@@ -120,37 +91,29 @@ public class OpenClose implements Histogram, LoadPlanable {
 	}
 
 	public long getNext(long moment) {
-		Day day = Day.create(moment);
-		if (isThereSomeChangeAfter(day) == false)
-			return TimeLine.MAX_TIME;
+		final Day day = Day.create(moment);
+		final int current = getLoatAtInternal(day);
+		Day next = getNextClosedChange(day, 1);
+		while (next != null && getLoatAtInternal(next) == current)
+			next = getNextClosedChange(next, 1);
 
-		final long current = getLoatAtInternal(day);
-		System.err.println("getNext:day=" + day + " current=" + current);
-		while (true) {
-			day = day.increment();
-			final int tmp = getLoatAtInternal(day);
-			System.err.println("..day=" + day + " " + tmp);
-			if (tmp != current)
-				return day.getMillis();
+		if (next == null)
+			return TimeLine.MAX_TIME;
 
-		}
+		return next.getMillis();
 	}
 
 	public long getPrevious(long moment) {
-		Day day = Day.create(moment);
-		if (isThereSomeChangeBefore(day) == false)
-			return -TimeLine.MAX_TIME;
+		final Day day = Day.create(moment);
+		final int current = getLoatAtInternal(day);
+		Day previous = getNextClosedChange(day, -1);
+		while (previous != null && getLoatAtInternal(previous) == current)
+			previous = getNextClosedChange(previous, -1);
 
-		final long current = getLoatAtInternal(day);
-		System.err.println("getPrevious=" + day + " current=" + current);
-		while (true) {
-			day = day.decrement();
-			final int tmp = getLoatAtInternal(day);
-			System.err.println("..day=" + day + " " + tmp);
-			if (tmp != current)
-				return day.getMillis();
+		if (previous == null)
+			return -TimeLine.MAX_TIME;
 
-		}
+		return previous.getMillis();
 	}
 
 	public long getValueAt(long moment) {
@@ -168,6 +131,27 @@ public class OpenClose implements Histogram, LoadPlanable {
 		return getLoatAtInternal(day);
 	}
 
+	public Day getNextChange(Day instant, int direction) {
+		if (getStartingDay() == null)
+			return null;
+
+		return getNextClosedChange(instant, direction);
+	}
+
+	/**
+	 * Like {@link #getNextChange(Day, int)} but for {@link #isClosed(Day)}, so it
+	 * ignores the starting day.
+	 */
+	public Day getNextClosedChange(Day instant, int direction) {
+		return PlanUtils.nearest(getNextDayChange(instant, direction),
+				PlanUtils.nextChange(closedDayOfWeek, instant, direction), direction);
+	}
+
+	private Day getNextDayChange(Day instant, int direction) {
+		return PlanUtils.nearest(PlanUtils.nextChange(closedDays, instant, direction),
+				PlanUtils.nextChange(openedDays, instant, direction), direction);
+	}
+
 	private int getLoatAtInternal(Day day) {
 		if (isClosed(day))
 			return 0;
@@ -188,6 +172,14 @@ public class OpenClose implements Histogram, LoadPlanable {
 						return 100;
 					return OpenClose.this.getLoadAt(instant);
 				}
+
+				@Override
+				public Day getNextChange(Day instant, int direction) {
+					final Day result = PlanUtils.nearest(OpenClose.this.getNextChange(instant, direction),
+							except.getNextDayChange(instant, direction), direction);
+					return PlanUtils.nearest(result, PlanUtils.nextChange(except.openedDayOfWeek, instant, direction),
+							direction);
+				}
 			};
 		return this;
 	}
@@ -35,7 +35,11 @@
  */
 package net.sourceforge.plantuml.project;
 
+import java.util.Collection;
+import java.util.NavigableSet;
+
 import net.sourceforge.plantuml.project.time.Day;
+import net.sourceforge.plantuml.project.time.DayOfWeek;
 
 public class PlanUtils {
 
@@ -48,6 +52,10 @@ public class PlanUtils {
 			public int getLoadAt(Day instant) {
 				return Math.min(p1.getLoadAt(instant), p2.getLoadAt(instant));
 			}
+
+			public Day getNextChange(Day instant, int direction) {
+				return nearest(p1.getNextChange(instant, direction), p2.getNextChange(instant, direction), direction);
+			}
 		};
 	}
 
@@ -56,7 +64,59 @@ public class PlanUtils {
 			public int getLoadAt(Day instant) {
 				return p1.getLoadAt(instant) * p2.getLoadAt(instant) / 100;
 			}
+
+			public Day getNextChange(Day instant, int direction) {
+				return nearest(p1.getNextChange(instant, direction), p2.getNextChange(instant, direction), direction);
+			}
 		};
 	}
 
+	/**
+	 * Returns the closest of two changes in the given direction, null meaning
+	 * "no change".
+	 */
+	public static Day nearest(Day day1, Day day2, int direction) {
+		if (day1 == null)
+			return day2;
+
+		if (day2 == null)
+			return day1;
+
+		if (direction > 0)
+			return Day.min(day1, day2);
+
+		return Day.max(day1, day2);
+	}
+
+	/**
+	 * Returns the first day after (or before) instant that belongs to days, or
+	 * instant itself plus one step when instant belongs to days.
+	 */
+	public static Day nextChange(NavigableSet<Day> days, Day instant, int direction) {
+		if (days.contains(instant))
+			return instant.addDays(direction);
+
+		if (direction > 0)
+			return days.higher(instant);
+
+		return days.lower(instant);
+	}
+
+	/**
+	 * Returns the first day after (or before) instant whose day of week is in
+	 * daysOfWeek if instant's is not, or conversely.
+	 */
+	public static Day nextChange(Collection<DayOfWeek> daysOfWeek, Day instant, int direction) {
+		if (daysOfWeek.size() == 0 || daysOfWeek.size() == 7)
+			return null;
+
+		final boolean current = daysOfWeek.contains(instant.getDayOfWeek());
+		Day day = instant;
+		while (true) {
+			day = day.addDays(direction);
+			if (daysOfWeek.contains(day.getDayOfWeek()) != current)
+				return day;
+		}
+	}
+
 }
@@ -83,6 +83,10 @@ public class Resource {
 		return openClose.isClosed(day);
 	}
 
+	public Day getNextChange(Day day, int direction) {
+		return openClose.getNextClosedChange(day, direction);
+	}
+
 	public void addCloseDay(Day day) {
 		openClose.close(day);
 	}
@@ -41,6 +41,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -59,7 +60,7 @@ import net.sourceforge.plantuml.url.Url;
 
 public class TaskImpl extends AbstractTask implements Task, LoadPlanable {
 
-	private final SortedSet<Day> pausedDay = new TreeSet<>();
+	private final NavigableSet<Day> pausedDay = new TreeSet<>();
 	private final Set<DayOfWeek> pausedDayOfWeek = new HashSet<>();
 	private final Solver solver;
 	private final Map<Resource, Integer> resources = new LinkedHashMap<Resource, Integer>();
@@ -99,6 +100,20 @@ public class TaskImpl extends AbstractTask implements Task, LoadPlanable {
 		return result.getLoadAt(instant);
 	}
 
+	public Day getNextChange(Day instant, int direction) {
+		Day result = PlanUtils.nearest(getNextPauseChange(instant, direction),
+				defaultPlan.getNextChange(instant, direction), direction);
+		if (resources.size() > 0)
+			result = PlanUtils.nearest(result, getResourcePlan().getNextChange(instant, direction), direction);
+
+		return result;
+	}
+
+	private Day getNextPauseChange(Day instant, int direction) {
+		return PlanUtils.nearest(PlanUtils.nextChange(pausedDay, instant, direction),
+				PlanUtils.nextChange(pausedDayOfWeek, instant, direction), direction);
+	}
+
 	private boolean isPaused(Day instant) {
 		if (pausedDay.contains(instant))
 			return true;
@@ -117,18 +132,35 @@ public class TaskImpl extends AbstractTask implements Task, LoadPlanable {
 		return false;
 	}
 
-	public int loadForResource(Resource res, Day instant) {
-		if (resources.keySet().contains(res) && instant.compareTo(getStart()) >= 0
-				&& instant.compareTo(getEnd()) <= 0) {
-			if (isPaused(instant))
-				return 0;
+	/**
+	 * Adds the load of this task for the resource to loads, where loads[0] is the
+	 * load of day min. Constant runs of the calendars are handled at once.
+	 */
+	public void addLoadForResource(Resource res, Day min, int[] loads) {
+		final Integer percentage = resources.get(res);
+		if (percentage == null)
+			return;
 
-			if (res.isClosedAt(instant))
-				return 0;
-
-			return resources.get(res);
+		final Day end = getEnd();
+		final int last = Math.min(end.getAbsoluteDayNum() - min.getAbsoluteDayNum(), loads.length - 1);
+		Day day = Day.max(getStart(), min);
+		while (true) {
+			final int first = day.getAbsoluteDayNum() - min.getAbsoluteDayNum();
+			if (first > last)
+				return;
+
+			final Day next = PlanUtils.nearest(getNextPauseChange(day, 1), res.getNextChange(day, 1), 1);
+			final int runEnd = next == null ? last
+					: Math.min(last, next.getAbsoluteDayNum() - min.getAbsoluteDayNum() - 1);
+			if (isPaused(day) == false && res.isClosedAt(day) == false)
+				for (int i = first; i <= runEnd; i++)
+					loads[i] += percentage;
+
+			if (next == null)
+				return;
+
+			day = next;
 		}
-		return 0;
 	}
 
 	public void addPause(Day pause) {
@@ -156,6 +188,14 @@ public class TaskImpl extends AbstractTask implements Task, LoadPlanable {
 				}
 				return result;
 			}
+
+			public Day getNextChange(Day instant, int direction) {
+				Day result = null;
+				for (Resource res : resources.keySet())
+					result = PlanUtils.nearest(result, res.getNextChange(instant, direction), direction);
+
+				return result;
+			}
 		};
 	}
 
@@ -193,8 +233,10 @@ public class TaskImpl extends AbstractTask implements Task, LoadPlanable {
 	public Day getStart() {
 		Day result = (Day) solver.getData(TaskAttribute.START);
 		if (diamond == false)
-			while (getLoadAt(result) == 0)
-				result = result.increment();
+			while (getLoadAt(result) == 0) {
+				final Day next = getNextChange(result, 1);
+				result = next == null ? result.increment() : next;
+			}
 
 		return result;
 	}
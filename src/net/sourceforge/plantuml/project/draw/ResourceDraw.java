@@ -81,9 +81,11 @@ public class ResourceDraw implements UDrawable {
 		double startingPosition = -1;
 		int totalLoad = 0;
 		int totalLimit = 0;
+		final int[] loads = gantt.getLoadsForResource(res, min, max);
+		int index = 0;
 		for (Day i = min; i.compareTo(max) <= 0; i = i.increment()) {
 			final boolean isBreaking = timeScale.isBreaking(i);
-			totalLoad += gantt.getLoadForResource(res, i);
+			totalLoad += loads[index++];
 			totalLimit += 100;
 			if (isBreaking) {
 				if (totalLoad > 0) {
@@ -55,6 +55,7 @@ import net.sourceforge.plantuml.klimt.shape.TextBlock;
 import net.sourceforge.plantuml.klimt.sprite.SpriteContainerEmpty;
 import net.sourceforge.plantuml.project.GanttConstraint;
 import net.sourceforge.plantuml.project.LabelStrategy;
+import net.sourceforge.plantuml.project.LoadPlanable;
 import net.sourceforge.plantuml.project.ToTaskDraw;
 import net.sourceforge.plantuml.project.core.Task;
 import net.sourceforge.plantuml.project.core.TaskAttribute;
@@ -92,11 +93,19 @@ public class TaskDrawRegular extends AbstractTaskDraw {
 		this.oddStart = oddStart;
 		this.oddEnd = oddEnd;
 		this.paused = new TreeSet<>(((TaskImpl) task).getAllPaused());
-		for (Day tmp = start; tmp.compareTo(end) <= 0; tmp = tmp.increment()) {
-			final int load = ((TaskImpl) task).getDefaultPlan().getLoadAt(tmp);
-			if (load == 0)
-				this.paused.add(tmp);
-
+		final LoadPlanable plan = ((TaskImpl) task).getDefaultPlan();
+		Day tmp = start;
+		while (tmp.compareTo(end) <= 0) {
+			final Day next = plan.getNextChange(tmp, 1);
+			if (plan.getLoadAt(tmp) == 0)
+				for (Day day = tmp; day.compareTo(end) <= 0
+						&& (next == null || day.compareTo(next) < 0); day = day.increment())
+					this.paused.add(day);
+
+			if (next == null)
+				break;
+
+			tmp = next;
 		}
 	}
 
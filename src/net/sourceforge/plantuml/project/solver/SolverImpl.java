@@ -49,39 +49,74 @@ public class SolverImpl extends AbstractSolver implements Solver {
 		this.loadPlanable = loadPlanable;
 	}
 
+	// The load is constant between two changes of loadPlanable, so a whole run of
+	// days is consumed at once instead of stepping one day at a time.
 	@Override
 	protected Day computeEnd() {
 		Day current = (Day) values.get(TaskAttribute.START);
-		int fullLoad = ((Load) values.get(TaskAttribute.LOAD)).getFullLoad();
+		long fullLoad = ((Load) values.get(TaskAttribute.LOAD)).getFullLoad();
+		if (fullLoad <= 0)
+			return current.decrement();
+
 		int cpt = 0;
-		while (fullLoad > 0) {
-			fullLoad -= loadPlanable.getLoadAt(current);
-			current = current.increment();
+		while (true) {
+			final int load = loadPlanable.getLoadAt(current);
+			final Day next = loadPlanable.getNextChange(current, 1);
+			final long length = next == null ? Long.MAX_VALUE
+					: next.getAbsoluteDayNum() - current.getAbsoluteDayNum();
+			if (load > 0) {
+				final long needed = (fullLoad + load - 1) / load;
+				if (needed <= length)
+					return current.addDays((int) needed - 1);
+
+				fullLoad -= load * length;
+			}
+			if (next == null)
+				throw new IllegalStateException();
+
+			current = next;
 			cpt++;
 			if (cpt > 100000)
 				throw new IllegalStateException();
 
 		}
-		return current.decrement();
 	}
 
 	@Override
 	protected Day computeStart() {
 		Day current = (Day) values.get(TaskAttribute.END);
-		int fullLoad = ((Load) values.get(TaskAttribute.LOAD)).getFullLoad();
+		long fullLoad = ((Load) values.get(TaskAttribute.LOAD)).getFullLoad();
+		if (fullLoad <= 0)
+			return current.increment();
+
 		int cpt = 0;
-		while (fullLoad > 0) {
-			fullLoad -= loadPlanable.getLoadAt(current);
-			current = current.decrement();
-			if (current.getMillis() <= 0)
-				return current;
+		while (true) {
+			final int load = loadPlanable.getLoadAt(current);
+			final Day previous = loadPlanable.getNextChange(current, -1);
+			final long length = previous == null ? Long.MAX_VALUE
+					: current.getAbsoluteDayNum() - previous.getAbsoluteDayNum();
+			long consumed = length;
+			if (load > 0)
+				consumed = Math.min(length, (fullLoad + load - 1) / load);
+
+			// We never go before the epoch
+			final int dayNum = current.getAbsoluteDayNum();
+			if (dayNum - consumed <= 0)
+				return current.addDays(Math.min(0, dayNum - 1) - dayNum);
+
+			if (consumed < length)
+				return current.addDays(1 - (int) consumed);
+
+			fullLoad -= load * length;
+			if (fullLoad <= 0)
+				return previous.increment();
 
+			current = previous;
 			cpt++;
 			if (cpt > 100000)
 				throw new IllegalStateException();
 
 		}
-		return current.increment();
 	}
 
 }
@@ -35,9 +35,13 @@
  */
 package net.sourceforge.plantuml.real;
 
+import java.util.Set;
+
 abstract class AbstractReal implements Real {
 
 	private final RealLine line;
+	private long cachedVersion = -1;
+	private double cachedValue;
 
 	AbstractReal(RealLine line) {
 		this.line = line;
@@ -50,10 +54,27 @@ abstract class AbstractReal implements Real {
 
 	abstract double getCurrentValueInternal();
 
+	/**
+	 * Adds the {@link RealImpl} this value is computed from.
+	 */
+	abstract void addLeaves(Set<RealImpl> leaves);
+
+	static void addLeaves(Real real, Set<RealImpl> leaves) {
+		// Absolute min and max do not change while the line is compiled
+		if (real instanceof AbstractReal)
+			((AbstractReal) real).addLeaves(leaves);
+	}
+
 	final public double getCurrentValue() {
-		final double result = getCurrentValueInternal();
-		line.register(result);
-		return result;
+		// Values only change when the line changes, so shared sub-expressions
+		// (long chains of RealDelta for instance) are computed once per version
+		final long version = line.getVersion();
+		if (cachedVersion != version) {
+			cachedValue = getCurrentValueInternal();
+			cachedVersion = version;
+		}
+		line.register(cachedValue);
+		return cachedValue;
 	}
 
 	public Real getMaxAbsolute() {
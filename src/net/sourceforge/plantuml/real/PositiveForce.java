@@ -56,6 +56,14 @@ class PositiveForce {
 		this.creationPoint.fillInStackTrace();
 	}
 
+	Real getFixedPoint() {
+		return fixedPoint;
+	}
+
+	RealMoveable getMovingPoint() {
+		return movingPoint;
+	}
+
 	@Override
 	public String toString() {
 		return "PositiveForce fixed=" + fixedPoint + " moving=" + movingPoint + " min=" + minimunDistance;
@@ -35,6 +35,8 @@
  */
 package net.sourceforge.plantuml.real;
 
+import java.util.Set;
+
 class RealDelta extends RealMoveable {
 
 	private final Real delegated;
@@ -51,6 +53,11 @@ class RealDelta extends RealMoveable {
 		return delegated.getCurrentValue() + diff;
 	}
 
+	@Override
+	void addLeaves(Set<RealImpl> leaves) {
+		addLeaves(delegated, leaves);
+	}
+
 	public Real addAtLeast(double delta) {
 		return new RealDelta(delegated.addAtLeast(delta), diff);
 	}
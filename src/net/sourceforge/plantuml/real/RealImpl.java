@@ -35,6 +35,8 @@
  */
 package net.sourceforge.plantuml.real;
 
+import java.util.Set;
+
 class RealImpl extends RealMoveable implements RealOrigin {
 
 	private double currentValue;
@@ -46,6 +48,7 @@ class RealImpl extends RealMoveable implements RealOrigin {
 
 	void move(double delta) {
 		this.currentValue += delta;
+		getLine().changed();
 	}
 
 	@Override
@@ -53,6 +56,11 @@ class RealImpl extends RealMoveable implements RealOrigin {
 		return currentValue;
 	}
 
+	@Override
+	void addLeaves(Set<RealImpl> leaves) {
+		leaves.add(this);
+	}
+
 	public Real addAtLeast(double delta) {
 		final RealImpl result = new RealImpl(getName() + ".addAtLeast" + delta, getLine(), this.currentValue + delta);
 		getLine().addForce(new PositiveForce(this, result, delta));
@@ -36,15 +36,29 @@
 package net.sourceforge.plantuml.real;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import net.sourceforge.plantuml.utils.Log;
+
 class RealLine {
 
 	private final List<PositiveForce> forces = new ArrayList<>();
+	// For each RealImpl, the indexes of the forces reading it
+	private final Map<RealImpl, List<Integer>> readers = new HashMap<>();
+	// For each force, the RealImpl it moves when applied
+	private final List<RealImpl[]> moved = new ArrayList<>();
+
+	private long version;
+
+	private int passes;
+	private int evaluations;
+	private int moves;
 
 	private double min;
 	private double max;
@@ -60,6 +74,23 @@ class RealLine {
 		all.add(abstractReal);
 	}
 
+	long getVersion() {
+		return version;
+	}
+
+	void changed() {
+		version++;
+	}
+
+	private void setMinMax(double newMin, double newMax) {
+		if (min != newMin || max != newMax) {
+			min = newMin;
+			max = newMax;
+			// Some values may depend on the absolute min or max
+			changed();
+		}
+	}
+
 	public double getAbsoluteMin() {
 		return min;
 	}
@@ -74,37 +105,52 @@ class RealLine {
 
 	static private int CPT;
 
+	// Passes over the forces until none of them moves anything. A force is only
+	// evaluated again when one of the RealImpl it reads has moved since its last
+	// evaluation: the forces that do move are applied in the same order as with
+	// full sweeps, so the positions are exactly the same.
 	public void compile() {
-		int cpt = 0;
+		index();
 		final Map<PositiveForce, Integer> counter = new HashMap<PositiveForce, Integer>();
-		do {
-			boolean done = true;
-			for (PositiveForce f : forces) {
-				// System.err.println("force=" + f);
-				final boolean change = f.apply();
-				if (change) {
+		BitSet current = new BitSet(forces.size());
+		current.set(0, forces.size());
+		BitSet next = new BitSet(forces.size());
+		int cpt = 0;
+		int evaluated = 0;
+		int applied = 0;
+		while (true) {
+			for (int i = current.nextSetBit(0); i >= 0; i = current.nextSetBit(i + 1)) {
+				final PositiveForce f = forces.get(i);
+				evaluated++;
+				if (f.apply()) {
 					incCounter(counter, f);
-					// System.err.println("changed! " + f);
-					done = false;
+					applied++;
+					for (RealImpl real : moved.get(i))
+						for (int reader : readers.get(real))
+							if (reader > i)
+								current.set(reader);
+							else
+								next.set(reader);
+
 				}
 			}
-			if (done) {
-				// System.err.println("cpt=" + cpt + " size=" + forces.size());
+			if (next.isEmpty()) {
 				CPT += cpt;
-				// System.err.println("CPT=" + CPT);
-				min = 0;
-				max = 0;
+				passes += cpt + 1;
+				evaluations += evaluated;
+				moves += applied;
+				Log.info("RealLine: " + forces.size() + " forces, " + (cpt + 1) + " passes, " + evaluated
+						+ " evaluations, " + applied + " moves");
+				setMinMax(0, 0);
 				for (AbstractReal real : all) {
 					final double v = real.getCurrentValue();
-					// System.err.println("RealLine::compile v=" + v);
 					if (v > max)
-						max = v;
+						setMinMax(min, v);
 
 					if (v < min)
-						min = v;
+						setMinMax(v, max);
 
 				}
-				// System.err.println("RealLine::compile min=" + min + " max=" + max);
 				return;
 			}
 			cpt++;
@@ -112,8 +158,43 @@ class RealLine {
 				printCounter(counter);
 				throw new IllegalStateException("Inifinite Loop?");
 			}
-		} while (true);
+			final BitSet tmp = current;
+			current = next;
+			next = tmp;
+			next.clear();
+		}
+
+	}
+
+	private void index() {
+		for (int i = moved.size(); i < forces.size(); i++) {
+			final PositiveForce force = forces.get(i);
+			final Set<RealImpl> movedByForce = new LinkedHashSet<>();
+			force.getMovingPoint().addLeaves(movedByForce);
+			final Set<RealImpl> read = new LinkedHashSet<>(movedByForce);
+			AbstractReal.addLeaves(force.getFixedPoint(), read);
+			for (RealImpl real : read) {
+				List<Integer> list = readers.get(real);
+				if (list == null) {
+					list = new ArrayList<>();
+					readers.put(real, list);
+				}
+				list.add(i);
+			}
+			moved.add(movedByForce.toArray(new RealImpl[movedByForce.size()]));
+		}
+	}
+
+	int getPasses() {
+		return passes;
+	}
+
+	int getEvaluations() {
+		return evaluations;
+	}
 
+	int getMoves() {
+		return moves;
 	}
 
 	private void printCounter(Map<PositiveForce, Integer> counter) {
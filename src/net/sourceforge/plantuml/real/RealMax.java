@@ -38,6 +38,7 @@ package net.sourceforge.plantuml.real;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 import net.sourceforge.plantuml.log.Logme;
 
@@ -82,6 +83,12 @@ class RealMax extends AbstractReal implements Real {
 		return result;
 	}
 
+	@Override
+	void addLeaves(Set<RealImpl> leaves) {
+		for (Real real : all)
+			addLeaves(real, leaves);
+	}
+
 	public Real addFixed(double delta) {
 		return new RealDelta(this, delta);
 	}
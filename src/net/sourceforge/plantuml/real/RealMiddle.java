@@ -35,6 +35,8 @@
  */
 package net.sourceforge.plantuml.real;
 
+import java.util.Set;
+
 class RealMiddle extends AbstractReal implements Real {
     // ::remove folder when __HAXE__
 
@@ -58,6 +60,12 @@ class RealMiddle extends AbstractReal implements Real {
 		return (p1.getCurrentValue() + p2.getCurrentValue()) / 2 + delta;
 	}
 
+	@Override
+	void addLeaves(Set<RealImpl> leaves) {
+		p1.addLeaves(leaves);
+		p2.addLeaves(leaves);
+	}
+
 	public Real addFixed(double diff) {
 		return new RealMiddle(p1, p2, delta + diff);
 	}
@@ -86,7 +86,7 @@ public abstract class MyPattern {
 		return result;
 	}
 
-	private static String transform(String p) {
+	static String transform(String p) {
 		// Replace ReadLineReader.java
 		p = p.replace("%pLN", "\\p{L}0-9"); // Unicode Letter, digit
 		p = p.replace("%s", "\\s\u00A0"); // space
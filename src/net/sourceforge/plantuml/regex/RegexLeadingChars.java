@@ -0,0 +1,316 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.regex;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Computes the characters a line must start with to be matched by an anchored
+ * regex. This is a conservative analysis: <code>null</code> is returned as soon
+ * as the leading part of the regex is not a plain literal or a group of plain
+ * literals.
+ * <p>
+ * All regex are compiled with <code>CASE_INSENSITIVE</code> (see
+ * {@link MyPattern}), so letters are returned in lower case and lines must be
+ * checked with {@link #fold(char)}.
+ */
+public final class RegexLeadingChars {
+
+	private RegexLeadingChars() {
+	}
+
+	public static Set<Character> of(IRegex regex) {
+		if (regex instanceof RegexComposed)
+			return of(MyPattern.transform(((RegexComposed) regex).getFullSlow()));
+
+		return null;
+	}
+
+	public static Set<Character> of(Pattern2 pattern) {
+		return of(pattern.pattern());
+	}
+
+	static Set<Character> of(String pattern) {
+		if (pattern.startsWith("^") == false)
+			return null;
+
+		// A top level alternative would not be anchored
+		if (findTopLevelAlternative(pattern, 1, pattern.length()) != -1)
+			return null;
+
+		final Set<Character> result = firstOfSequence(pattern, 1, pattern.length());
+		if (result == null)
+			return null;
+
+		return Collections.unmodifiableSet(result);
+	}
+
+	public static char fold(char c) {
+		if (c >= 'A' && c <= 'Z')
+			return (char) (c + ('a' - 'A'));
+
+		return c;
+	}
+
+	private static Set<Character> firstOfAlternatives(String p, int from, int to) {
+		final Set<Character> result = new HashSet<>();
+		int start = from;
+		while (true) {
+			final int bar = findTopLevelAlternative(p, start, to);
+			final int end = bar == -1 ? to : bar;
+			final Set<Character> tmp = firstOfSequence(p, start, end);
+			if (tmp == null)
+				return null;
+
+			result.addAll(tmp);
+			if (bar == -1)
+				return result;
+
+			start = bar + 1;
+		}
+	}
+
+	private static Set<Character> firstOfSequence(String p, int i, int end) {
+		if (i >= end)
+			return null;
+
+		final int[] next = new int[1];
+		final Set<Character> result = firstOfElement(p, i, end, next);
+		if (result == null)
+			return null;
+
+		if (canBeSkipped(p, next[0], end) == false)
+			return result;
+
+		// The element is optional: the line may also start with what follows
+		final Set<Character> rest = firstOfSequence(p, skipQuantifier(p, next[0], end), end);
+		if (rest == null)
+			return null;
+
+		result.addAll(rest);
+		return result;
+	}
+
+	private static Set<Character> firstOfElement(String p, int i, int end, int[] next) {
+		final char c = p.charAt(i);
+		if (c == '\\') {
+			if (i + 1 >= end)
+				return null;
+
+			next[0] = i + 2;
+			final char escaped = p.charAt(i + 1);
+			if (escaped == 's')
+				return whitespaces();
+
+			// \d \w \p{...} \Q and friends are not literals
+			if (Character.isLetterOrDigit(escaped))
+				return null;
+
+			return single(escaped);
+		}
+
+		if (c == '(') {
+			final int close = findClosingParenthesis(p, i, end);
+			if (close == -1)
+				return null;
+
+			next[0] = close + 1;
+			if (p.startsWith("(?:", i))
+				return firstOfAlternatives(p, i + 3, close);
+
+			if (p.startsWith("(?<", i) && i + 3 < end && p.charAt(i + 3) != '=' && p.charAt(i + 3) != '!')
+				return firstOfAlternatives(p, p.indexOf('>', i) + 1, close);
+
+			if (i + 1 < end && p.charAt(i + 1) == '?')
+				// Lookaround or inline flags
+				return null;
+
+			return firstOfAlternatives(p, i + 1, close);
+		}
+
+		if (c == '[') {
+			final int close = skipCharacterClass(p, i, end);
+			if (close >= end)
+				return null;
+
+			next[0] = close + 1;
+			return firstOfCharacterClass(p, i + 1, close);
+		}
+
+		if ("^$.|?*+{}])".indexOf(c) != -1)
+			return null;
+
+		next[0] = i + 1;
+		return single(c);
+	}
+
+	// Only simple classes made of literals and \s are supported
+	private static Set<Character> firstOfCharacterClass(String p, int from, int to) {
+		if (from < to && p.charAt(from) == '^')
+			return null;
+
+		final Set<Character> result = new HashSet<>();
+		for (int i = from; i < to; i++) {
+			final char c = p.charAt(i);
+			if (c == '\\') {
+				if (i + 1 >= to)
+					return null;
+
+				final char escaped = p.charAt(++i);
+				if (escaped == 's')
+					result.addAll(whitespaces());
+				else if (Character.isLetterOrDigit(escaped))
+					return null;
+				else
+					result.add(escaped);
+
+			} else if (c == '[' || c == '&' || (c == '-' && i > from && i < to - 1)) {
+				// Nested classes, intersections and ranges
+				return null;
+			} else {
+				result.add(fold(c));
+			}
+		}
+		return result;
+	}
+
+	private static Set<Character> single(char c) {
+		final Set<Character> result = new HashSet<>();
+		result.add(fold(c));
+		return result;
+	}
+
+	private static Set<Character> whitespaces() {
+		final Set<Character> result = new HashSet<>();
+		for (char c : " \t\n\u000B\f\r\u00A0".toCharArray())
+			result.add(c);
+
+		return result;
+	}
+
+	private static boolean canBeSkipped(String p, int next, int end) {
+		if (next >= end)
+			return false;
+
+		final char quantifier = p.charAt(next);
+		if (quantifier == '?' || quantifier == '*')
+			return true;
+
+		if (quantifier == '{')
+			return next + 1 < end && (p.charAt(next + 1) == '0' || p.charAt(next + 1) == ',');
+
+		return false;
+	}
+
+	private static int skipQuantifier(String p, int next, int end) {
+		int i = next;
+		if (i < end && p.charAt(i) == '{') {
+			while (i < end && p.charAt(i) != '}')
+				i++;
+			i++;
+		} else {
+			i++;
+		}
+		// Lazy or possessive
+		if (i < end && (p.charAt(i) == '?' || p.charAt(i) == '+'))
+			i++;
+
+		return i;
+	}
+
+	private static int findTopLevelAlternative(String p, int from, int to) {
+		int level = 0;
+		for (int i = from; i < to; i++) {
+			final char c = p.charAt(i);
+			if (c == '\\')
+				i++;
+			else if (c == '[')
+				i = skipCharacterClass(p, i, to);
+			else if (c == '(')
+				level++;
+			else if (c == ')')
+				level--;
+			else if (c == '|' && level == 0)
+				return i;
+		}
+		return -1;
+	}
+
+	private static int findClosingParenthesis(String p, int open, int end) {
+		int level = 0;
+		for (int i = open; i < end; i++) {
+			final char c = p.charAt(i);
+			if (c == '\\')
+				i++;
+			else if (c == '[')
+				i = skipCharacterClass(p, i, end);
+			else if (c == '(')
+				level++;
+			else if (c == ')') {
+				level--;
+				if (level == 0)
+					return i;
+			}
+		}
+		return -1;
+	}
+
+	private static int skipCharacterClass(String p, int open, int end) {
+		int i = open + 1;
+		if (i < end && p.charAt(i) == '^')
+			i++;
+		// A leading ] is a literal
+		if (i < end && p.charAt(i) == ']')
+			i++;
+		int level = 1;
+		for (; i < end; i++) {
+			final char c = p.charAt(i);
+			if (c == '\\')
+				i++;
+			else if (c == '[')
+				level++;
+			else if (c == ']') {
+				level--;
+				if (level == 0)
+					return i;
+			}
+		}
+		return end;
+	}
+
+}
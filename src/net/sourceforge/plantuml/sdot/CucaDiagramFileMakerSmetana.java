@@ -362,7 +362,7 @@ public class CucaDiagramFileMakerSmetana implements CucaDiagramFileMaker {
 		} catch (Throwable e) {
 			SmetanaDebug.printMe();
 		} finally {
-			Globals.close();
+			zz.close();
 		}
 	}
 
@@ -382,7 +382,7 @@ public class CucaDiagramFileMakerSmetana implements CucaDiagramFileMaker {
 					diagram.getFlashData(), getFailureText3(e));
 			return ImageDataSimple.error();
 		} finally {
-			Globals.close();
+			zz.close();
 		}
 	}
 
@@ -0,0 +1,482 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.security;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sourceforge.plantuml.StringUtils;
+import net.sourceforge.plantuml.log.Logme;
+import net.sourceforge.plantuml.utils.Log;
+
+/**
+ * Cache of the resources downloaded by {@link SURL#getBytes()}: remote
+ * includes, themes and images.
+ * <p>
+ * A response is served from the cache for <code>PLANTUML_HTTP_CACHE_TTL</code>
+ * seconds (300 by default). After that, it is revalidated with
+ * <code>If-None-Match</code> and <code>If-Modified-Since</code>, so an
+ * unchanged resource is not downloaded again. Entries are kept in memory and,
+ * when <code>PLANTUML_HTTP_CACHE_DIR</code> is set, on disk so that they
+ * survive between runs. Each level evicts its least recently used entries once
+ * it exceeds <code>PLANTUML_HTTP_CACHE_SIZE_MB</code> (0 disables the cache).
+ * <p>
+ * With <code>PLANTUML_HTTP_CACHE_OFFLINE=true</code>, expired entries are still
+ * served when the server cannot be reached or answers with an error.
+ * <p>
+ * Only anonymous requests are cached, and only after the
+ * {@link SecurityProfile} has allowed the URL.
+ * <p>
+ * The monitor of the cache only guards the memory level. Files are read and
+ * written outside of it, so that a slow disk never delays a memory hit.
+ */
+public class HttpCache {
+	// ::remove file when __CORE__
+
+	private static final String DATA = ".data";
+	private static final String META = ".meta";
+
+	private static final HttpCache singleton = new HttpCache(getDir(), getTtl(), getMaxSize(), isOfflineEnv());
+
+	private final SFile dir;
+	private final long ttl;
+	private final long maxSize;
+	private final boolean offline;
+
+	private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long memorySize;
+
+	// Serialize the accesses to the files of a same entry, not to the others
+	private final Object[] diskLocks = new Object[32];
+	private final AtomicLong diskSize = new AtomicLong(-1);
+	private final AtomicBoolean evicting = new AtomicBoolean();
+
+	private long hits;
+	private long revalidations;
+	private long misses;
+	private long evictions;
+
+	public static HttpCache getInstance() {
+		return singleton;
+	}
+
+	private static SFile getDir() {
+		final String value = SecurityUtils.getenv("PLANTUML_HTTP_CACHE_DIR");
+		if (StringUtils.isNotEmpty(value))
+			return new SFile(value);
+
+		return null;
+	}
+
+	private static long getTtl() {
+		final String value = SecurityUtils.getenv("PLANTUML_HTTP_CACHE_TTL");
+		if (StringUtils.isNotEmpty(value) && value.matches("\\d+"))
+			return Long.parseLong(value) * 1000L;
+
+		return 300L * 1000;
+	}
+
+	private static long getMaxSize() {
+		final String value = SecurityUtils.getenv("PLANTUML_HTTP_CACHE_SIZE_MB");
+		if (StringUtils.isNotEmpty(value) && value.matches("\\d+"))
+			return Long.parseLong(value) * 1024L * 1024L;
+
+		return 32L * 1024 * 1024;
+	}
+
+	private static boolean isOfflineEnv() {
+		return "true".equalsIgnoreCase(SecurityUtils.getenv("PLANTUML_HTTP_CACHE_OFFLINE"));
+	}
+
+	/**
+	 * @param dir     directory of the disk cache, or <code>null</code> to keep
+	 *                entries in memory only
+	 * @param ttl     time in milliseconds during which an entry is used without
+	 *                asking the server
+	 * @param maxSize maximum size in bytes of each level of the cache
+	 * @param offline if <code>true</code>, expired entries are served when the
+	 *                server cannot be reached
+	 */
+	HttpCache(SFile dir, long ttl, long maxSize, boolean offline) {
+		this.dir = dir;
+		this.ttl = ttl;
+		this.maxSize = maxSize;
+		this.offline = offline;
+		for (int i = 0; i < diskLocks.length; i++)
+			diskLocks[i] = new Object();
+		if (dir != null && maxSize > 0)
+			dir.mkdirs();
+	}
+
+	public boolean isEnabled() {
+		return maxSize > 0;
+	}
+
+	public boolean isOffline() {
+		return offline;
+	}
+
+	/**
+	 * @return the cached response for this URL, fresh or not, or
+	 *         <code>null</code>
+	 */
+	Entry get(String url) {
+		if (isEnabled() == false)
+			return null;
+
+		synchronized (this) {
+			final Entry result = entries.get(url);
+			if (result != null || dir == null)
+				return result;
+		}
+		final Entry loaded = load(url);
+		if (loaded == null)
+			return null;
+
+		synchronized (this) {
+			// Another thread may have put a newer response meanwhile
+			final Entry current = entries.get(url);
+			if (current != null)
+				return current;
+
+			putInMemory(url, loaded);
+		}
+		return loaded;
+	}
+
+	boolean isFresh(Entry entry) {
+		return System.currentTimeMillis() - entry.fetched < ttl;
+	}
+
+	void put(String url, Entry entry) {
+		if (isEnabled() == false)
+			return;
+
+		synchronized (this) {
+			putInMemory(url, entry);
+		}
+		if (dir != null)
+			store(url, entry);
+	}
+
+	synchronized void countHit() {
+		hits++;
+	}
+
+	synchronized void countRevalidation() {
+		revalidations++;
+	}
+
+	synchronized void countMiss() {
+		misses++;
+	}
+
+	private synchronized void countEviction() {
+		evictions++;
+	}
+
+	private Object getDiskLock(String name) {
+		return diskLocks[(name.hashCode() & Integer.MAX_VALUE) % diskLocks.length];
+	}
+
+	private void putInMemory(String url, Entry entry) {
+		if (entry.data.length > maxSize)
+			return;
+
+		final Entry previous = entries.put(url, entry);
+		if (previous != null)
+			memorySize -= previous.data.length;
+		memorySize += entry.data.length;
+
+		for (Iterator<Entry> it = entries.values().iterator(); memorySize > maxSize && it.hasNext();) {
+			memorySize -= it.next().data.length;
+			it.remove();
+			evictions++;
+		}
+	}
+
+	private Entry load(String url) {
+		final String name = getName(url);
+		final SFile meta = dir.file(name + META);
+		final SFile data = dir.file(name + DATA);
+		synchronized (getDiskLock(name)) {
+			if (meta.exists() == false || data.exists() == false)
+				return null;
+
+			return load(url, meta, data);
+		}
+	}
+
+	private Entry load(String url, SFile meta, SFile data) {
+		try (BufferedReader br = meta.openBufferedReader()) {
+			if (br == null)
+				return null;
+
+			// Several URLs could share the same name
+			if (url.equals(br.readLine()) == false)
+				return null;
+
+			final long fetched = Long.parseLong(br.readLine());
+			final String etag = emptyToNull(br.readLine());
+			final String lastModified = emptyToNull(br.readLine());
+			try (InputStream is = data.openFile()) {
+				if (is == null)
+					return null;
+
+				final Entry result = new Entry(readAll(is), etag, lastModified, fetched);
+				// Used as the last access time for eviction
+				meta.conv().setLastModified(System.currentTimeMillis());
+				return result;
+			}
+		} catch (IOException | RuntimeException e) {
+			Logme.error(e);
+			return null;
+		}
+	}
+
+	private void store(String url, Entry entry) {
+		final String name = getName(url);
+		final long delta;
+		synchronized (getDiskLock(name)) {
+			delta = store(url, entry, name);
+		}
+		if (delta != 0)
+			addDiskSize(delta);
+	}
+
+	/**
+	 * @return the change of the size of the disk cache
+	 */
+	private long store(String url, Entry entry, String name) {
+		final SFile data = dir.file(name + DATA);
+		final SFile meta = dir.file(name + META);
+		final SFile tmp = dir.file(name + ".tmp" + Thread.currentThread().getId());
+		try {
+			final long previous = (data.exists() ? data.length() : 0) + (meta.exists() ? meta.length() : 0);
+			try (OutputStream os = tmp.createBufferedOutputStream()) {
+				os.write(entry.data);
+			}
+			data.delete();
+			if (tmp.renameTo(data) == false) {
+				tmp.delete();
+				return 0;
+			}
+			try (PrintWriter pw = meta.createPrintWriter(UTF_8.name())) {
+				pw.println(url);
+				pw.println(entry.fetched);
+				pw.println(entry.etag == null ? "" : entry.etag);
+				pw.println(entry.lastModified == null ? "" : entry.lastModified);
+			}
+			return data.length() + meta.length() - previous;
+		} catch (IOException e) {
+			Logme.error(e);
+			tmp.delete();
+			return 0;
+		}
+	}
+
+	private void addDiskSize(long delta) {
+		if (diskSize.get() == -1)
+			diskSize.compareAndSet(-1, computeDiskSize());
+		else
+			diskSize.addAndGet(delta);
+
+		// A single thread evicts, the others go on
+		if (diskSize.get() <= maxSize || evicting.compareAndSet(false, true) == false)
+			return;
+
+		try {
+			evictDisk();
+		} finally {
+			evicting.set(false);
+		}
+	}
+
+	private long computeDiskSize() {
+		long result = 0;
+		for (SFile f : dir.listFiles())
+			result += f.length();
+
+		return result;
+	}
+
+	private void evictDisk() {
+		// Dates are read once, as other threads touch the files during the sort
+		final Map<SFile, Long> dates = new HashMap<>();
+		for (SFile f : dir.listFiles())
+			if (f.getName().endsWith(META))
+				dates.put(f, f.lastModified());
+
+		final List<SFile> metas = new ArrayList<>(dates.keySet());
+		Collections.sort(metas, new Comparator<SFile>() {
+			public int compare(SFile f1, SFile f2) {
+				return Long.compare(dates.get(f1), dates.get(f2));
+			}
+		});
+		// Remove a bit more than needed, so that we do not evict on every store
+		final long target = maxSize * 9 / 10;
+		for (SFile meta : metas) {
+			if (diskSize.get() <= target)
+				break;
+
+			final String name = meta.getName();
+			final String base = name.substring(0, name.length() - META.length());
+			final SFile data = dir.file(base + DATA);
+			synchronized (getDiskLock(base)) {
+				diskSize.addAndGet(-(meta.length() + data.length()));
+				meta.delete();
+				data.delete();
+			}
+			countEviction();
+			Log.info("Removed from HTTP cache " + name);
+		}
+	}
+
+	private static String getName(String url) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			final StringBuilder sb = new StringBuilder();
+			for (byte b : digest.digest(url.getBytes(UTF_8)))
+				sb.append(String.format("%02x", b & 0xFF));
+			return sb.toString();
+		} catch (NoSuchAlgorithmException e) {
+			Logme.error(e);
+			return Integer.toHexString(url.hashCode());
+		}
+	}
+
+	private static String emptyToNull(String s) {
+		if (StringUtils.isEmpty(s))
+			return null;
+
+		return s;
+	}
+
+	private static byte[] readAll(InputStream is) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[8192];
+		int read;
+		while ((read = is.read(buffer)) > 0)
+			out.write(buffer, 0, read);
+
+		return out.toByteArray();
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getRevalidations() {
+		return revalidations;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "HttpCache size=" + entries.size() + " bytes=" + memorySize + " hits=" + hits + " revalidations="
+				+ revalidations + " misses=" + misses + " evictions=" + evictions;
+	}
+
+	/**
+	 * A downloaded resource, with the validators sent by the server.
+	 */
+	static final class Entry {
+
+		private final byte[] data;
+		private final String etag;
+		private final String lastModified;
+		private final long fetched;
+
+		Entry(byte[] data, String etag, String lastModified, long fetched) {
+			this.data = data;
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.fetched = fetched;
+		}
+
+		byte[] getData() {
+			return data.clone();
+		}
+
+		String getEtag() {
+			return etag;
+		}
+
+		String getLastModified() {
+			return lastModified;
+		}
+
+		/**
+		 * @return the same content, after the server has answered that it has not
+		 *         changed
+		 */
+		Entry revalidated(String newEtag, String newLastModified) {
+			return new Entry(data, newEtag == null ? etag : newEtag,
+					newLastModified == null ? lastModified : newLastModified, System.currentTimeMillis());
+		}
+
+	}
+
+}
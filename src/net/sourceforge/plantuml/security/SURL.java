@@ -72,6 +72,7 @@ import net.sourceforge.plantuml.log.Logme;
 import net.sourceforge.plantuml.security.authentication.SecurityAccessInterceptor;
 import net.sourceforge.plantuml.security.authentication.SecurityAuthentication;
 import net.sourceforge.plantuml.security.authentication.SecurityCredentials;
+import net.sourceforge.plantuml.utils.Log;
 //::uncomment when __CORE__
 //import net.sourceforge.plantuml.FileUtils;
 //::done
@@ -345,6 +346,10 @@ public class SURL {
 	 * @return data loaded data from endpoint
 	 */
 	public byte[] getBytes() {
+		return getBytes(HttpCache.getInstance());
+	}
+
+	byte[] getBytes(HttpCache httpCache) {
 		if (isUrlOk() == false)
 			return null;
 
@@ -352,27 +357,46 @@ public class SURL {
 		final SecurityAuthentication authentication = SecurityUtils.getAuthenticationManager(credentials)
 				.create(credentials);
 		try {
+			// Responses to authenticated requests are never cached
+			final HttpCache cache = httpCache.isEnabled() && authentication.isPublic() ? httpCache : null;
+			final String key = internal.toString();
+			final HttpCache.Entry cached = cache == null ? null : cache.get(key);
+			if (cached != null && cache.isFresh(cached)) {
+				cache.countHit();
+				return cached.getData();
+			}
+
 			final String host = internal.getHost();
 			final Long bad = BAD_HOSTS.get(host);
 			if (bad != null) {
 				if ((System.currentTimeMillis() - bad) < 1000L * 60)
-					return null;
+					return getStale(cache, cached);
 				BAD_HOSTS.remove(host);
 			}
 
 			try {
-				final Future<byte[]> result = EXE
-						.submit(requestWithGetAndResponse(internal, credentials.getProxy(), authentication, null));
-				final byte[] data = result.get(SecurityUtils.getSecurityProfile().getTimeout(), TimeUnit.MILLISECONDS);
-				if (data != null)
-					return data;
+				if (cache != null) {
+					final Future<HttpCache.Entry> result = EXE.submit(
+							requestWithCache(internal, credentials.getProxy(), authentication, cache, key, cached));
+					final HttpCache.Entry entry = result.get(SecurityUtils.getSecurityProfile().getTimeout(),
+							TimeUnit.MILLISECONDS);
+					if (entry != null)
+						return entry.getData();
+				} else {
+					final Future<byte[]> result = EXE
+							.submit(requestWithGetAndResponse(internal, credentials.getProxy(), authentication, null));
+					final byte[] data = result.get(SecurityUtils.getSecurityProfile().getTimeout(),
+							TimeUnit.MILLISECONDS);
+					if (data != null)
+						return data;
+				}
 
 			} catch (Exception e) {
 				System.err.println("issue " + host + " " + e);
 			}
 
 			BAD_HOSTS.put(host, System.currentTimeMillis());
-			return null;
+			return getStale(cache, cached);
 		} finally {
 			// clean up. We don't cache tokens, no expire handling. All time a re-request.
 			credentials.eraseCredentials();
@@ -380,6 +404,18 @@ public class SURL {
 		}
 	}
 
+	/**
+	 * @return the cached content, if the cache is allowed to serve it when the
+	 *         server cannot be reached
+	 */
+	private static byte[] getStale(HttpCache cache, HttpCache.Entry cached) {
+		if (cache == null || cached == null || cache.isOffline() == false)
+			return null;
+
+		Log.info("Server unreachable, using cached copy");
+		return cached.getData();
+	}
+
 	/**
 	 * Reads from an endpoint with a given authentication and proxy the response as
 	 * blob.
@@ -490,6 +526,69 @@ public class SURL {
 		};
 	}
 
+	/**
+	 * Creates a GET request and response handler that revalidates and updates a
+	 * cached response.
+	 * 
+	 * @param url            URL to request
+	 * @param proxy          proxy to apply
+	 * @param authentication the authentication to use
+	 * @param cache          the cache to update
+	 * @param key            the key of the response in the cache
+	 * @param previous       the expired response in the cache, if any
+	 * @return the callable handler.
+	 */
+	private static Callable<HttpCache.Entry> requestWithCache(final URL url, final Proxy proxy,
+			final SecurityAuthentication authentication, final HttpCache cache, final String key,
+			final HttpCache.Entry previous) {
+		return new Callable<HttpCache.Entry>() {
+
+			private HttpURLConnection openConnection(final URL url) throws IOException {
+				final URLConnection connection = proxy == null ? url.openConnection() : url.openConnection(proxy);
+				if (connection == null)
+					return null;
+
+				final HttpURLConnection http = (HttpURLConnection) connection;
+
+				applyEndpointAccessAuthentication(http, authentication);
+				if (previous != null && previous.getEtag() != null)
+					http.setRequestProperty("If-None-Match", previous.getEtag());
+				if (previous != null && previous.getLastModified() != null)
+					http.setRequestProperty("If-Modified-Since", previous.getLastModified());
+				return http;
+			}
+
+			public HttpCache.Entry call() throws IOException {
+				HttpURLConnection http = openConnection(url);
+				int responseCode = http.getResponseCode();
+
+				if (responseCode == HttpURLConnection.HTTP_MOVED_TEMP
+						|| responseCode == HttpURLConnection.HTTP_MOVED_PERM) {
+					final String newUrl = http.getHeaderField("Location");
+					http = openConnection(new URL(newUrl));
+					responseCode = http.getResponseCode();
+				}
+
+				final String etag = http.getHeaderField("ETag");
+				final String lastModified = http.getHeaderField("Last-Modified");
+				final HttpCache.Entry result;
+				if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && previous != null) {
+					cache.countRevalidation();
+					result = previous.revalidated(etag, lastModified);
+				} else {
+					cache.countMiss();
+					result = new HttpCache.Entry(retrieveResponseAsBytes(http), etag, lastModified,
+							System.currentTimeMillis());
+				}
+				final String cacheControl = http.getHeaderField("Cache-Control");
+				if (cacheControl == null || cacheControl.toLowerCase(Locale.US).contains("no-store") == false)
+					cache.put(key, result);
+
+				return result;
+			}
+		};
+	}
+
 	/**
 	 * Creates a POST request and response handler with a simple String content. The
 	 * content will be identified as form or JSON data. The charset encoding can be
@@ -269,7 +269,7 @@ public class SequenceDiagram extends UmlDiagram {
 		return new SequenceDiagramFileMakerPuma2(this, skin2, fileFormatOption);
 	}
 
-	private boolean modeTeoz() {
+	public boolean modeTeoz() {
 		return OptionFlags.FORCE_TEOZ || getPragma().useTeozLayout();
 	}
 
@@ -0,0 +1,145 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations, in microseconds.
+ * <p>
+ * Buckets are log-linear, like HdrHistogram: values under 32 have their own
+ * bucket, then each power of two is split into 16 buckets. So a recorded
+ * value is known with a relative error under 1/16.
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BITS = 4;
+	private static final int SUB_COUNT = 1 << SUB_BITS;
+	private static final int LINEAR = 2 * SUB_COUNT;
+	// Up to 2^45 microseconds, about one year, then a last bucket for the rest
+	private static final int MAX_EXPONENT = 45;
+	static final int NB_BUCKETS = LINEAR + (MAX_EXPONENT - SUB_BITS - 1) * SUB_COUNT + 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(NB_BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	public void recordNanos(long nanos) {
+		record(Math.max(0, nanos / 1000));
+	}
+
+	public void record(long micros) {
+		counts.incrementAndGet(getBucket(micros));
+		count.incrementAndGet();
+		sum.addAndGet(micros);
+		long current = max.get();
+		while (micros > current && max.compareAndSet(current, micros) == false)
+			current = max.get();
+	}
+
+	static int getBucket(long value) {
+		if (value < LINEAR)
+			return (int) value;
+
+		final int exponent = 63 - Long.numberOfLeadingZeros(value);
+		if (exponent >= MAX_EXPONENT)
+			return NB_BUCKETS - 1;
+
+		final int sub = (int) (value >> (exponent - SUB_BITS)) - SUB_COUNT;
+		return LINEAR + (exponent - SUB_BITS - 1) * SUB_COUNT + sub;
+	}
+
+	/**
+	 * @return the greatest value recorded in this bucket
+	 */
+	static long getBucketMax(int bucket) {
+		if (bucket < LINEAR)
+			return bucket;
+
+		if (bucket == NB_BUCKETS - 1)
+			return Long.MAX_VALUE;
+
+		final int exponent = (bucket - LINEAR) / SUB_COUNT + SUB_BITS + 1;
+		final int sub = (bucket - LINEAR) % SUB_COUNT;
+		final long width = 1L << (exponent - SUB_BITS);
+		return (SUB_COUNT + sub) * width + width - 1;
+	}
+
+	public long getCount() {
+		return count.get();
+	}
+
+	public long getSum() {
+		return sum.get();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @return the number of values lower or equal to this one, rounded to the
+	 *         buckets
+	 */
+	public long getCountBelow(long micros) {
+		long result = 0;
+		for (int i = 0; i < NB_BUCKETS && getBucketMax(i) <= micros; i++)
+			result += counts.get(i);
+		return result;
+	}
+
+	/**
+	 * @param percentile between 0 and 100
+	 * @return the upper bound of the bucket holding this percentile
+	 */
+	public long getPercentile(double percentile) {
+		final long total = count.get();
+		if (total == 0)
+			return 0;
+
+		final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+		long seen = 0;
+		for (int i = 0; i < NB_BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank)
+				return Math.min(getBucketMax(i), max.get());
+		}
+		return max.get();
+	}
+
+}
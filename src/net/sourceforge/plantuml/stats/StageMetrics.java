@@ -0,0 +1,250 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.stats;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import net.atmp.CucaDiagram;
+import net.sourceforge.plantuml.core.Diagram;
+import net.sourceforge.plantuml.json.Json;
+import net.sourceforge.plantuml.json.JsonArray;
+import net.sourceforge.plantuml.json.JsonObject;
+import net.sourceforge.plantuml.sequencediagram.SequenceDiagram;
+
+/**
+ * Durations of each stage of the rendering of diagrams, by diagram type and
+ * layout engine, since the start of the JVM.
+ * <p>
+ * Export stages are timed on the current thread between
+ * {@link #startExport(Diagram)} and {@link Export#end()}: each call to
+ * {@link #endOfStage(Stage)} records the time since the previous one.
+ */
+public class StageMetrics {
+
+	public enum Stage {
+		PREPROCESS, PARSE, LAYOUT, DRAW, ENCODE, EXPORT;
+
+		public String getLabel() {
+			return name().toLowerCase();
+		}
+	}
+
+	// Upper bounds of the buckets of the text format, in microseconds
+	private static final long[] BOUNDS = { 1000, 2500, 5000, 10000, 25000, 50000, 100000, 250000, 500000, 1000000,
+			2500000, 5000000, 10000000 };
+
+	private static final String NAME = "plantuml_stage_duration_seconds";
+
+	private static final StageMetrics singleton = new StageMetrics();
+
+	private static final ThreadLocal<Export> current = new ThreadLocal<>();
+
+	private final ConcurrentMap<Labels, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+	public static StageMetrics getInstance() {
+		return singleton;
+	}
+
+	public void record(Stage stage, Diagram diagram, long nanos) {
+		record(stage, getDiagramName(diagram), getLayoutName(diagram), nanos);
+	}
+
+	public void record(Stage stage, String diagram, String layout, long nanos) {
+		final Labels labels = new Labels(stage, diagram, layout);
+		LatencyHistogram histogram = histograms.get(labels);
+		if (histogram == null) {
+			histograms.putIfAbsent(labels, new LatencyHistogram());
+			histogram = histograms.get(labels);
+		}
+		histogram.recordNanos(nanos);
+	}
+
+	public static Export startExport(Diagram diagram) {
+		final Export export = new Export(getDiagramName(diagram), getLayoutName(diagram), current.get());
+		current.set(export);
+		return export;
+	}
+
+	public static void endOfStage(Stage stage) {
+		final Export export = current.get();
+		if (export != null)
+			export.endOfStage(stage);
+	}
+
+	public static String getDiagramName(Diagram diagram) {
+		return StatsUtilsIncrement.name(diagram.getClass());
+	}
+
+	public static String getLayoutName(Diagram diagram) {
+		if (diagram instanceof SequenceDiagram)
+			return ((SequenceDiagram) diagram).modeTeoz() ? "teoz" : "puma";
+
+		if (diagram instanceof CucaDiagram) {
+			final CucaDiagram cuca = (CucaDiagram) diagram;
+			if (cuca.isUseElk())
+				return "elk";
+			if (cuca.isUseSmetana())
+				return "smetana";
+			return "dot";
+		}
+		return "builtin";
+	}
+
+	private Map<Labels, LatencyHistogram> sorted() {
+		return new TreeMap<>(histograms);
+	}
+
+	/**
+	 * Prometheus text format
+	 */
+	public String toText() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("# HELP " + NAME + " Time spent in each stage of the rendering of diagrams\n");
+		sb.append("# TYPE " + NAME + " histogram\n");
+		for (Map.Entry<Labels, LatencyHistogram> ent : sorted().entrySet()) {
+			final String labels = ent.getKey().toText();
+			final LatencyHistogram histogram = ent.getValue();
+			final long count = histogram.getCount();
+			for (long bound : BOUNDS)
+				sb.append(NAME + "_bucket{" + labels + ",le=\"" + seconds(bound) + "\"} "
+						+ histogram.getCountBelow(bound) + "\n");
+			sb.append(NAME + "_bucket{" + labels + ",le=\"+Inf\"} " + count + "\n");
+			sb.append(NAME + "_sum{" + labels + "} " + seconds(histogram.getSum()) + "\n");
+			sb.append(NAME + "_count{" + labels + "} " + count + "\n");
+		}
+		return sb.toString();
+	}
+
+	public JsonArray toJson() {
+		final JsonArray result = new JsonArray();
+		for (Map.Entry<Labels, LatencyHistogram> ent : sorted().entrySet()) {
+			final Labels labels = ent.getKey();
+			final LatencyHistogram histogram = ent.getValue();
+			result.add(Json.object() //
+					.add("stage", labels.stage.getLabel()) //
+					.add("diagram", labels.diagram) //
+					.add("layout", labels.layout) //
+					.add("count", histogram.getCount()) //
+					.add("sum_ms", millis(histogram.getSum())) //
+					.add("p50_ms", millis(histogram.getPercentile(50))) //
+					.add("p90_ms", millis(histogram.getPercentile(90))) //
+					.add("p99_ms", millis(histogram.getPercentile(99))) //
+					.add("max_ms", millis(histogram.getMax())));
+		}
+		return result;
+	}
+
+	private static String seconds(long micros) {
+		return Double.toString(micros / 1000000.0);
+	}
+
+	private static double millis(long micros) {
+		return micros / 1000.0;
+	}
+
+	public static class Export {
+
+		private final String diagram;
+		private final String layout;
+		private final Export previous;
+		private final long start = System.nanoTime();
+		private long last = start;
+
+		private Export(String diagram, String layout, Export previous) {
+			this.diagram = diagram;
+			this.layout = layout;
+			this.previous = previous;
+		}
+
+		private void endOfStage(Stage stage) {
+			final long now = System.nanoTime();
+			singleton.record(stage, diagram, layout, now - last);
+			last = now;
+		}
+
+		public void end() {
+			singleton.record(Stage.EXPORT, diagram, layout, System.nanoTime() - start);
+			if (previous == null)
+				current.remove();
+			else
+				current.set(previous);
+		}
+	}
+
+	static class Labels implements Comparable<Labels> {
+
+		private final Stage stage;
+		private final String diagram;
+		private final String layout;
+
+		Labels(Stage stage, String diagram, String layout) {
+			this.stage = stage;
+			this.diagram = diagram;
+			this.layout = layout;
+		}
+
+		String toText() {
+			return "stage=\"" + stage.getLabel() + "\",diagram=\"" + diagram + "\",layout=\"" + layout + "\"";
+		}
+
+		@Override
+		public int hashCode() {
+			return stage.hashCode() * 31 * 31 + diagram.hashCode() * 31 + layout.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj instanceof Labels == false)
+				return false;
+
+			final Labels other = (Labels) obj;
+			return stage == other.stage && diagram.equals(other.diagram) && layout.equals(other.layout);
+		}
+
+		public int compareTo(Labels other) {
+			int cmp = diagram.compareTo(other.diagram);
+			if (cmp == 0)
+				cmp = layout.compareTo(other.layout);
+			if (cmp == 0)
+				cmp = stage.compareTo(other.stage);
+			return cmp;
+		}
+	}
+
+}
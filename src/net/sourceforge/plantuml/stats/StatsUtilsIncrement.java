@@ -119,7 +119,7 @@ public class StatsUtilsIncrement {
 		return n;
 	}
 
-	private static String name(Class<? extends Diagram> type) {
+	static String name(Class<? extends Diagram> type) {
 		if (PSystemErrorUtils.isDiagramError(type)) {
 			return "Error";
 		}
@@ -35,9 +35,12 @@
  */
 package net.sourceforge.plantuml.style;
 
+import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -53,6 +56,15 @@ public class StyleBuilder implements AutomaticCounter {
 	private final SkinParam skinParam;
 	private int counter;
 
+	// Index of the keys of stylesMap by one of their mandatory token, so that
+	// a lookup only tests the keys which can possibly match.
+	// Both index and memo are lazily rebuilt when stylesMap changes.
+	private Map<String, List<StyleSignatureBasic>> index;
+	private List<StyleSignatureBasic> alwaysCandidates;
+	private Map<StyleSignatureBasic, Integer> ranks;
+	private final Map<StyleSignatureBasic, Style> memo = new HashMap<>();
+	private final Map<StyleSignatureBasic, Map<Integer, Style>> memoSpecial = new HashMap<>();
+
 	public void printMe() {
 		for (Entry<StyleSignatureBasic, Style> ent : stylesMap.entrySet())
 			ent.getValue().printMe();
@@ -112,6 +124,72 @@ public class StyleBuilder implements AutomaticCounter {
 			final Style tmp = orig.mergeWith(newStyle, MergeStrategy.OVERWRITE_EXISTING_VALUE);
 			this.stylesMap.put(signature, tmp);
 		}
+		invalidate();
+	}
+
+	private void invalidate() {
+		this.index = null;
+		this.alwaysCandidates = null;
+		this.ranks = null;
+		this.memo.clear();
+		this.memoSpecial.clear();
+	}
+
+	private void buildIndex() {
+		this.index = new HashMap<>();
+		this.alwaysCandidates = new ArrayList<>();
+		this.ranks = new HashMap<>();
+		for (StyleSignatureBasic key : stylesMap.keySet()) {
+			ranks.put(key, ranks.size());
+			final String anchor = anchorToken(key);
+			if (anchor == null) {
+				alwaysCandidates.add(key);
+				continue;
+			}
+			List<StyleSignatureBasic> list = index.get(anchor);
+			if (list == null) {
+				list = new ArrayList<>();
+				index.put(anchor, list);
+			}
+			list.add(key);
+		}
+	}
+
+	// The last plain token is usually the most selective one (e.g. "class"
+	// rather than "root"). Stars and depth() tokens are not always tested by
+	// StyleSignatureBasic.matchAll() with contains(), so they cannot be used.
+	private static String anchorToken(StyleSignatureBasic key) {
+		String result = null;
+		for (String token : key.getNames())
+			if (token.equals("*") == false && token.startsWith("depth(") == false)
+				result = token;
+
+		return result;
+	}
+
+	// Returns the keys matching the signature, in the order of stylesMap
+	private List<StyleSignatureBasic> getMatchingKeys(StyleSignatureBasic signature) {
+		if (index == null)
+			buildIndex();
+
+		final List<StyleSignatureBasic> result = new ArrayList<>();
+		for (StyleSignatureBasic key : alwaysCandidates)
+			if (key.matchAll(signature))
+				result.add(key);
+
+		for (String token : signature.getNames()) {
+			final List<StyleSignatureBasic> candidates = index.get(token);
+			if (candidates == null)
+				continue;
+			for (StyleSignatureBasic key : candidates)
+				if (key.matchAll(signature))
+					result.add(key);
+		}
+
+		if (result.size() > 1)
+			result.sort((a, b) -> Integer.compare(ranks.get(a), ranks.get(b)));
+
+		return result;
 	}
 
 	public int getNextInt() {
@@ -123,18 +201,18 @@ public class StyleBuilder implements AutomaticCounter {
 		if (added)
 			Log.info("Using style " + signature);
 
-		Style result = null;
-		for (Entry<StyleSignatureBasic, Style> ent : stylesMap.entrySet()) {
-			final StyleSignatureBasic key = ent.getKey();
-			if (key.matchAll(signature) == false)
-				continue;
+		Style result = memo.get(signature);
+		if (result != null || memo.containsKey(signature))
+			return result;
 
+		for (StyleSignatureBasic key : getMatchingKeys(signature)) {
 			if (result == null)
-				result = ent.getValue();
+				result = stylesMap.get(key);
 			else
-				result = result.mergeWith(ent.getValue(), MergeStrategy.OVERWRITE_EXISTING_VALUE);
+				result = result.mergeWith(stylesMap.get(key), MergeStrategy.OVERWRITE_EXISTING_VALUE);
 
 		}
+		memo.put(signature, result);
 		return result;
 	}
 
@@ -143,13 +221,19 @@ public class StyleBuilder implements AutomaticCounter {
 		if (added)
 			Log.info("Using style " + signature);
 
-		Style result = null;
-		for (Entry<StyleSignatureBasic, Style> ent : stylesMap.entrySet()) {
-			final StyleSignatureBasic key = ent.getKey();
-			if (key.matchAll(signature) == false)
-				continue;
+		Map<Integer, Style> byPriority = memoSpecial.get(signature);
+		if (byPriority == null) {
+			byPriority = new HashMap<>();
+			memoSpecial.put(signature, byPriority);
+		} else {
+			final Style cached = byPriority.get(deltaPriority);
+			if (cached != null || byPriority.containsKey(deltaPriority))
+				return cached;
+		}
 
-			Style tmp = ent.getValue();
+		Style result = null;
+		for (StyleSignatureBasic key : getMatchingKeys(signature)) {
+			Style tmp = stylesMap.get(key);
 			if (key.isStarred())
 				tmp = tmp.deltaPriority(deltaPriority);
 
@@ -159,6 +243,7 @@ public class StyleBuilder implements AutomaticCounter {
 				result = result.mergeWith(tmp, MergeStrategy.OVERWRITE_EXISTING_VALUE);
 
 		}
+		byPriority.put(deltaPriority, result);
 		return result;
 	}
 
@@ -368,9 +368,9 @@ public class DotStringFactory implements Moveable {
 		final int fullHeight = Integer.parseInt(mGraph.group(2));
 
 		final Point2DFunction move = new YDelta(fullHeight);
-		final SvgResult svgResult = new SvgResult(svg, move);
+		final SvgResult svgResult = SvgResult.indexed(svg, move);
 		for (SvekNode node : bibliotekon.allNodes()) {
-			int idx = svg.indexOf("<title>" + node.getUid() + "</title>");
+			int idx = svgResult.getIndexFromTitle(node.getUid());
 			if (node.getType() == ShapeType.RECTANGLE || node.getType() == ShapeType.RECTANGLE_HTML_FOR_PORTS
 					|| node.getType() == ShapeType.RECTANGLE_WITH_CIRCLE_INSIDE || node.getType() == ShapeType.FOLDER
 					|| node.getType() == ShapeType.DIAMOND || node.getType() == ShapeType.RECTANGLE_PORT) {
@@ -413,7 +413,7 @@ public class DotStringFactory implements Moveable {
 		}
 
 		for (Cluster cluster : bibliotekon.allCluster()) {
-			int idx = getClusterIndex(svg, cluster.getColor());
+			int idx = getClusterIndex(svgResult, cluster.getColor());
 			final int starting = idx;
 			final List<XPoint2D> points = svgResult.substring(starting).extractList(SvgResult.POINTS_EQUALS);
 			final XPoint2D min = SvekUtils.getMinXY(points);
@@ -423,19 +423,20 @@ public class DotStringFactory implements Moveable {
 			if (cluster.getTitleAndAttributeWidth() == 0 || cluster.getTitleAndAttributeHeight() == 0)
 				continue;
 
-			idx = getClusterIndex(svg, cluster.getTitleColor());
+			idx = getClusterIndex(svgResult, cluster.getTitleColor());
 			final List<XPoint2D> pointsTitle = svgResult.substring(idx).extractList(SvgResult.POINTS_EQUALS);
 			cluster.setTitlePosition(SvekUtils.getMinXY(pointsTitle));
 
 			if (root.diagram.getPragma().useKermor()) {
 				if (cluster.getGroup().getNotes(Position.TOP).size() > 0) {
-					final List<XPoint2D> noteUp = svgResult.substring(getClusterIndex(svg, cluster.getColorNoteTop()))
+					final List<XPoint2D> noteUp = svgResult
+							.substring(getClusterIndex(svgResult, cluster.getColorNoteTop()))
 							.extractList(SvgResult.POINTS_EQUALS);
 					cluster.setNoteTopPosition(SvekUtils.getMinXY(noteUp));
 				}
 				if (cluster.getGroup().getNotes(Position.BOTTOM).size() > 0) {
 					final List<XPoint2D> noteBottom = svgResult
-							.substring(getClusterIndex(svg, cluster.getColorNoteBottom()))
+							.substring(getClusterIndex(svgResult, cluster.getColorNoteBottom()))
 							.extractList(SvgResult.POINTS_EQUALS);
 					cluster.setNoteBottomPosition(SvekUtils.getMinXY(noteBottom));
 				}
@@ -450,16 +451,11 @@ public class DotStringFactory implements Moveable {
 
 	}
 
-	private int getClusterIndex(final String svg, int colorInt) {
-		final String colorString = StringUtils.goLowerCase(StringUtils.sharp000000(colorInt));
-		final String keyTitle1 = "=\"" + colorString + "\"";
-		int idx = svg.indexOf(keyTitle1);
-		if (idx == -1) {
-			final String keyTitle2 = "stroke:" + colorString + ";";
-			idx = svg.indexOf(keyTitle2);
-		}
+	private int getClusterIndex(SvgResult svgResult, int colorInt) {
+		final int idx = svgResult.getIndexFromAnyColor(colorInt);
 		if (idx == -1)
-			throw new IllegalStateException("Cannot find color " + colorString);
+			throw new IllegalStateException(
+					"Cannot find color " + StringUtils.goLowerCase(StringUtils.sharp000000(colorInt)));
 
 		return idx;
 	}
@@ -0,0 +1,144 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.svek;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Positions of every <code>&lt;title&gt;</code> and color attribute of a
+ * Graphviz SVG, collected in a single pass.
+ * <p>
+ * Keys are the exact strings <code>DotStringFactory</code> and
+ * <code>SvekLine</code> used to look up with <code>String.indexOf</code>, so
+ * {@link #indexOf(String, int)} returns the same position without rescanning
+ * the whole SVG for each node, cluster and link.
+ */
+final class SvgIndex {
+
+	private static final String TITLE_START = "<title>";
+	private static final String TITLE_END = "</title>";
+
+	private final Map<String, Positions> positions = new HashMap<>();
+
+	SvgIndex(String svg) {
+		final int length = svg.length();
+		for (int i = 0; i < length; i++) {
+			final char ch = svg.charAt(i);
+			if (ch == '#')
+				indexColor(svg, i);
+			else if (ch == '<' && svg.startsWith(TITLE_START, i)) {
+				final int end = svg.indexOf(TITLE_END, i + TITLE_START.length());
+				if (end != -1)
+					add(svg.substring(i, end + TITLE_END.length()), i);
+			}
+		}
+	}
+
+	private void indexColor(String svg, int i) {
+		if (i + 7 >= svg.length())
+			return;
+		for (int j = i + 1; j <= i + 6; j++)
+			if (isHexDigit(svg.charAt(j)) == false)
+				return;
+
+		final String color = svg.substring(i, i + 7);
+		final char after = svg.charAt(i + 7);
+		if (after == '"') {
+			if (svg.startsWith("=\"", i - 2))
+				add("=\"" + color + "\"", i - 2);
+			if (svg.startsWith("stroke=\"", i - 8))
+				add("stroke=\"" + color + "\"", i - 8);
+			if (svg.startsWith("fill=\"", i - 6))
+				add("fill=\"" + color + "\"", i - 6);
+		} else if (after == ';' && svg.startsWith("stroke:", i - 7)) {
+			add("stroke:" + color + ";", i - 7);
+			if (svg.startsWith(";", i - 8))
+				add(";stroke:" + color + ";", i - 8);
+		}
+	}
+
+	private static boolean isHexDigit(char ch) {
+		return (ch >= '0' && ch <= '9') || (ch >= 'a' && ch <= 'f') || (ch >= 'A' && ch <= 'F');
+	}
+
+	private void add(String key, int pos) {
+		Positions list = positions.get(key);
+		if (list == null) {
+			list = new Positions();
+			positions.put(key, list);
+		}
+		list.add(pos);
+	}
+
+	/**
+	 * Same result as <code>svg.indexOf(key, from)</code> for a title key such as
+	 * <code>&lt;title&gt;sh0001&lt;/title&gt;</code> or a color key such as
+	 * <code>stroke="#010203"</code>, <code>fill="#010203"</code>,
+	 * <code>="#010203"</code>, <code>stroke:#010203;</code> or
+	 * <code>;stroke:#010203;</code>.
+	 */
+	int indexOf(String key, int from) {
+		final Positions list = positions.get(key);
+		if (list == null)
+			return -1;
+
+		return list.firstFrom(from);
+	}
+
+	static class Positions {
+
+		private int[] data = new int[1];
+		private int size;
+
+		void add(int pos) {
+			if (size == data.length)
+				data = Arrays.copyOf(data, size * 2);
+			data[size++] = pos;
+		}
+
+		int firstFrom(int from) {
+			if (size == 0 || data[size - 1] < from)
+				return -1;
+			int idx = Arrays.binarySearch(data, 0, size, from);
+			if (idx < 0)
+				idx = -idx - 1;
+			return data[idx];
+		}
+	}
+
+}
@@ -53,10 +53,28 @@ public class SvgResult {
 
 	private final String svg;
 	private final Point2DFunction function;
+	// Start of this result inside svg: substring(int) shares the full string
+	// instead of copying its tail
+	private final int offset;
+	private final SvgIndex index;
 
 	public SvgResult(String svg, Point2DFunction function) {
+		this(svg, function, 0, null);
+	}
+
+	private SvgResult(String svg, Point2DFunction function, int offset, SvgIndex index) {
 		this.svg = svg;
 		this.function = function;
+		this.offset = offset;
+		this.index = index;
+	}
+
+	/**
+	 * Parses the whole SVG once so that titles and colors are found without
+	 * rescanning it for each node, cluster and link.
+	 */
+	public static SvgResult indexed(String svg, Point2DFunction function) {
+		return new SvgResult(svg, function, 0, new SvgIndex(svg));
 	}
 
 	public PointListIterator getPointsWithThisColor(int lineColor) {
@@ -76,18 +94,16 @@ public class SvgResult {
 	}
 
 	public int getIndexFromColor(int color) {
-		String s = "stroke=\"" + StringUtils.goLowerCase(StringUtils.sharp000000(color)) + "\"";
-		int idx = svg.indexOf(s);
+		final String colorString = StringUtils.goLowerCase(StringUtils.sharp000000(color));
+		int idx = indexOfKey("stroke=\"" + colorString + "\"");
 		if (idx != -1)
 			return idx;
 
-		s = ";stroke:" + StringUtils.goLowerCase(StringUtils.sharp000000(color)) + ";";
-		idx = svg.indexOf(s);
+		idx = indexOfKey(";stroke:" + colorString + ";");
 		if (idx != -1)
 			return idx;
 
-		s = "fill=\"" + StringUtils.goLowerCase(StringUtils.sharp000000(color)) + "\"";
-		idx = svg.indexOf(s);
+		idx = indexOfKey("fill=\"" + colorString + "\"");
 		if (idx != -1)
 			return idx;
 
@@ -97,9 +113,33 @@ public class SvgResult {
 
 	}
 
+	public int getIndexFromAnyColor(int color) {
+		final String colorString = StringUtils.goLowerCase(StringUtils.sharp000000(color));
+		final int idx = indexOfKey("=\"" + colorString + "\"");
+		if (idx != -1)
+			return idx;
+
+		return indexOfKey("stroke:" + colorString + ";");
+	}
+
+	public int getIndexFromTitle(String title) {
+		return indexOfKey("<title>" + title + "</title>");
+	}
+
+	private int indexOfKey(String key) {
+		if (index == null)
+			return indexOf(key, 0);
+
+		final int idx = index.indexOf(key, offset);
+		if (idx == -1)
+			return -1;
+
+		return idx - offset;
+	}
+
 	public List<XPoint2D> getPoints(String separator) {
 		try {
-			final StringTokenizer st = new StringTokenizer(svg, separator);
+			final StringTokenizer st = new StringTokenizer(getSvg(), separator);
 			final List<XPoint2D> result = new ArrayList<XPoint2D>();
 			while (st.hasMoreTokens())
 				result.add(getFirstPoint(st.nextToken()));
@@ -111,7 +151,7 @@ public class SvgResult {
 	}
 
 	public XPoint2D getNextPoint() {
-		return getFirstPoint(svg);
+		return getFirstPoint(getSvg());
 	}
 
 	private XPoint2D getFirstPoint(final String tmp) {
@@ -122,19 +162,29 @@ public class SvgResult {
 	}
 
 	public int indexOf(String s, int pos) {
-		return svg.indexOf(s, pos);
+		final int idx = svg.indexOf(s, offset + Math.max(pos, 0));
+		if (idx == -1)
+			return -1;
+
+		return idx - offset;
 	}
 
 	public SvgResult substring(int pos) {
-		return new SvgResult(svg.substring(pos), function);
+		if (pos < 0 || offset + pos > svg.length())
+			throw new StringIndexOutOfBoundsException(pos);
+
+		return new SvgResult(svg, function, offset + pos, index);
 	}
 
 	public SvgResult substring(int start, int end) {
-		return new SvgResult(svg.substring(start, end), function);
+		return new SvgResult(svg.substring(offset + start, offset + end), function);
 	}
 
 	public final String getSvg() {
-		return svg;
+		if (offset == 0)
+			return svg;
+
+		return svg.substring(offset);
 	}
 
 	public DotPath toDotPath() {
@@ -169,7 +219,7 @@ public class SvgResult {
 	}
 
 	public boolean isPathConsistent() {
-		if (this.getSvg().startsWith("M") == false)
+		if (svg.startsWith("M", offset) == false)
 			return false;
 
 		return true;
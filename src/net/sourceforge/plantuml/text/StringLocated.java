@@ -81,6 +81,13 @@ final public class StringLocated {
 		return new StringLocated(s, location, preprocessorError);
 	}
 
+	public StringLocated withLocation(LineLocation newLocation) {
+		final StringLocated result = new StringLocated(s, newLocation, preprocessorError);
+		result.fox = this.fox;
+		result.type = this.type;
+		return result;
+	}
+
 	public StringLocated substring(int start, int end) {
 		return new StringLocated(this.getString().substring(start, end), this.getLocation(),
 				this.getPreprocessorError());
@@ -100,6 +107,9 @@ final public class StringLocated {
 	}
 
 	public StringLocated removeInnerComment() {
+		if (s.indexOf("/'") == -1 && s.indexOf("'/") == -1)
+			return this;
+
 		final String string = s.toString();
 		final String trim = string.replace('\t', ' ').trim();
 		if (trim.startsWith("/'")) {
@@ -52,6 +52,7 @@ public abstract class Eater {
 	private int i = 0;
 	private final String s;
 	private final LineLocation lineLocation;
+	private TCompiledLine compiled;
 
 	public Eater(StringLocated sl) {
 		this(sl.getString(), sl.getLocation());
@@ -86,26 +87,65 @@ public abstract class Eater {
 			// System.err.println("json=" + json);
 			return TValue.fromJson(json);
 		}
-		final TokenStack tokenStack = eatTokenStack();
+		final TokenStack tokenStack = eatTokenStack(context);
 		return tokenStack.getResult(getLineLocation(), context, memory);
 	}
 
-	final protected TokenStack eatTokenStack() throws EaterException {
+	private TCompiledLine compiled(TContext context) {
+		if (compiled == null)
+			compiled = context.compile(s);
+
+		return compiled;
+	}
+
+	final protected TokenStack eatTokenStack(TContext context) throws EaterException {
+		final TCompiledLine line = compiled(context);
+		final int start = i;
+		final TCompiledLine.Tokens cached = line.getTokens(start, TCompiledLine.EXPRESSION);
+		if (cached != null) {
+			i = cached.getEnd();
+			return cached.getTokenStack();
+		}
 		final TokenStack tokenStack = new TokenStack();
 		addIntoTokenStack(tokenStack, false);
 		if (tokenStack.size() == 0)
 			throw EaterException.located("Missing expression");
 
+		line.putTokens(start, TCompiledLine.EXPRESSION, tokenStack, i);
 		return tokenStack;
 	}
 
 	final protected TValue eatExpressionStopAtColon(TContext context, TMemory memory)
 			throws EaterException, EaterExceptionLocated {
-		final TokenStack tokenStack = new TokenStack();
-		addIntoTokenStack(tokenStack, true);
+		final TCompiledLine line = compiled(context);
+		final int start = i;
+		final TCompiledLine.Tokens cached = line.getTokens(start, TCompiledLine.EXPRESSION_STOP_AT_COLON);
+		final TokenStack tokenStack;
+		if (cached != null) {
+			i = cached.getEnd();
+			tokenStack = cached.getTokenStack();
+		} else {
+			tokenStack = new TokenStack();
+			addIntoTokenStack(tokenStack, true);
+			line.putTokens(start, TCompiledLine.EXPRESSION_STOP_AT_COLON, tokenStack, i);
+		}
 		return tokenStack.getResult(getLineLocation(), context, memory);
 	}
 
+	final protected TokenStack eatArgument(TContext context) throws EaterException {
+		final TCompiledLine line = compiled(context);
+		final int start = i;
+		final TCompiledLine.Tokens cached = line.getTokens(start, TCompiledLine.ARGUMENT);
+		if (cached != null) {
+			i = cached.getEnd();
+			return cached.getTokenStack();
+		}
+		final TokenStack tokenStack = TokenStack.eatUntilCloseParenthesisOrComma(this).withoutSpace();
+		tokenStack.guessFunctions();
+		line.putTokens(start, TCompiledLine.ARGUMENT, tokenStack, i);
+		return tokenStack;
+	}
+
 	final protected void addIntoTokenStack(TokenStack tokenStack, boolean stopAtColon) throws EaterException {
 		Token lastToken = null;
 		while (true) {
@@ -96,13 +96,11 @@ public class EaterFunctionCall extends Eater {
 					skipSpaces();
 					checkAndEatChar('=');
 					skipSpaces();
-					final TokenStack tokens = TokenStack.eatUntilCloseParenthesisOrComma(this).withoutSpace();
-					tokens.guessFunctions();
+					final TokenStack tokens = eatArgument(context);
 					final TValue result = tokens.getResult(getLineLocation(), context, memory);
 					namedArguments.put(varname, result);
 				} else {
-					final TokenStack tokens = TokenStack.eatUntilCloseParenthesisOrComma(this).withoutSpace();
-					tokens.guessFunctions();
+					final TokenStack tokens = eatArgument(context);
 					final TValue result = tokens.getResult(getLineLocation(), context, memory);
 					values.add(result);
 				}
@@ -60,6 +60,7 @@ public class EaterTheme extends Eater {
 	private String from;
 	private TContext context;
 	private final ImportedFiles importedFiles;
+	private FileWithSuffix localFile;
 
 	public EaterTheme(StringLocated s, ImportedFiles importedFiles) {
 		super(s);
@@ -91,11 +92,14 @@ public class EaterTheme extends Eater {
 				if (reader != null)
 					return reader;
 
-				final AFile localFile = importedFiles.getAFile(ThemeUtils.getFilename(realName));
-				if (localFile != null && localFile.isOk()) {
-					final BufferedReader br = localFile.getUnderlyingFile().openBufferedReader();
-					if (br != null)
+				final String filename = ThemeUtils.getFilename(realName);
+				final AFile file = importedFiles.getAFile(filename);
+				if (file != null && file.isOk()) {
+					final BufferedReader br = file.getUnderlyingFile().openBufferedReader();
+					if (br != null) {
+						this.localFile = importedFiles.getFile(filename, null);
 						return ReadLineReader.create(br, "theme " + realName);
+					}
 				}
 			} catch (IOException e) {
 				Logme.error(e);
@@ -121,6 +125,7 @@ public class EaterTheme extends Eater {
 			if (tmp == null)
 				throw EaterException.located("No such theme " + realName);
 
+			this.localFile = file;
 			return ReadLineReader.create(tmp, "theme " + realName);
 		} catch (IOException e) {
 			Logme.error(e);
@@ -133,4 +138,23 @@ public class EaterTheme extends Eater {
 		return name;
 	}
 
+	public String getRealName() {
+		return realName;
+	}
+
+	/**
+	 * @return <code>true</code> if the theme is read from a URL
+	 */
+	public boolean isRemote() {
+		return from != null && localFile == null;
+	}
+
+	/**
+	 * @return the local file read by {@link #getTheme()}, or <code>null</code> for
+	 *         a standard or remote theme
+	 */
+	public FileWithSuffix getLocalFile() {
+		return localFile;
+	}
+
 }
@@ -50,7 +50,7 @@ public class EaterWhile extends Eater {
 		skipSpaces();
 		checkAndEatChar("!while");
 		skipSpaces();
-		this.expression = eatTokenStack();
+		this.expression = eatTokenStack(context);
 	}
 
 	public final TokenStack getWhileExpression() {
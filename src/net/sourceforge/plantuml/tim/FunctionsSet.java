@@ -34,9 +34,11 @@
  */
 package net.sourceforge.plantuml.tim;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -45,24 +47,89 @@ import net.sourceforge.plantuml.text.StringLocated;
 public class FunctionsSet {
 
 	private final Map<TFunctionSignature, TFunction> functions = new HashMap<TFunctionSignature, TFunction>();
+	private final Map<String, Overloads> functionsByName = new HashMap<String, Overloads>();
 	private final Set<TFunctionSignature> functionsFinal = new HashSet<>();
 	private final Trie functions3 = new TrieImpl();
 	private TFunctionImpl pendingFunction;
 
+	/**
+	 * All the functions sharing one name, with the flags the preprocessor checks
+	 * on every call.
+	 */
+	private static class Overloads {
+
+		private final List<TFunction> functions = new ArrayList<>(1);
+		private boolean legacy;
+		private boolean unquoted;
+
+		private void put(TFunction function) {
+			for (int i = 0; i < functions.size(); i++) {
+				if (functions.get(i).getSignature().equals(function.getSignature())) {
+					functions.set(i, function);
+					updateFlags();
+					return;
+				}
+			}
+			functions.add(function);
+			updateFlags();
+		}
+
+		private void updateFlags() {
+			legacy = false;
+			unquoted = false;
+			for (TFunction function : functions) {
+				legacy |= function.getFunctionType().isLegacy();
+				unquoted |= function.isUnquoted();
+			}
+		}
+
+		private TFunction getCovering(int nbArg, Set<String> namedArguments) {
+			for (TFunction candidate : functions) {
+				if (candidate.canCover(nbArg, namedArguments)) {
+					return candidate;
+				}
+			}
+			return null;
+		}
+
+	}
+
 	public TFunction getFunctionSmart(TFunctionSignature searched) {
 		final TFunction func = this.functions.get(searched);
 		if (func != null) {
 			return func;
 		}
-		for (TFunction candidate : this.functions.values()) {
-			if (candidate.getSignature().sameFunctionNameAs(searched) == false) {
-				continue;
-			}
-			if (candidate.canCover(searched.getNbArg(), searched.getNamedArguments())) {
-				return candidate;
-			}
+		final Overloads overloads = this.functionsByName.get(searched.getFunctionName());
+		if (overloads == null) {
+			return null;
+		}
+		return overloads.getCovering(searched.getNbArg(), searched.getNamedArguments());
+	}
+
+	public boolean doesFunctionExist(String functionName) {
+		return this.functionsByName.containsKey(functionName);
+	}
+
+	public boolean isLegacyDefine(String functionName) {
+		final Overloads overloads = this.functionsByName.get(functionName);
+		return overloads != null && overloads.legacy;
+	}
+
+	public boolean isUnquoted(String functionName) {
+		final Overloads overloads = this.functionsByName.get(functionName);
+		return overloads != null && overloads.unquoted;
+	}
+
+	private void put(TFunction func) {
+		final String name = func.getSignature().getFunctionName();
+		this.functions.put(func.getSignature(), func);
+		Overloads overloads = this.functionsByName.get(name);
+		if (overloads == null) {
+			overloads = new Overloads();
+			this.functionsByName.put(name, overloads);
 		}
-		return null;
+		overloads.put(func);
+		this.functions3.add(name + "(");
 	}
 
 	public int size() {
@@ -77,6 +144,10 @@ public class FunctionsSet {
 		return functions3.getLonguestMatchStartingIn(s);
 	}
 
+	public String getLonguestMatchStartingIn(String s, int pos) {
+		return functions3.getLonguestMatchStartingIn(s, pos);
+	}
+
 	public TFunctionImpl pendingFunction() {
 		return pendingFunction;
 	}
@@ -85,8 +156,17 @@ public class FunctionsSet {
 		if (func.getFunctionType() == TFunctionType.LEGACY_DEFINELONG) {
 			((TFunctionImpl) func).finalizeEnddefinelong();
 		}
-		this.functions.put(func.getSignature(), func);
-		this.functions3.add(func.getSignature().getFunctionName() + "(");
+		this.put(func);
+	}
+
+	boolean isFinal(TFunctionSignature signature) {
+		return functionsFinal.contains(signature);
+	}
+
+	void addReplayed(TFunction func, boolean finalFlag) {
+		this.put(func);
+		if (finalFlag)
+			this.functionsFinal.add(func.getSignature());
 	}
 
 	public void executeEndfunction() {
@@ -102,8 +182,7 @@ public class FunctionsSet {
 		final EaterLegacyDefine legacyDefine = new EaterLegacyDefine(s);
 		legacyDefine.analyze(context, memory);
 		final TFunction function = legacyDefine.getFunction();
-		this.functions.put(function.getSignature(), function);
-		this.functions3.add(function.getSignature().getFunctionName() + "(");
+		this.put(function);
 	}
 
 	public void executeLegacyDefineLong(TContext context, TMemory memory, StringLocated s)
@@ -0,0 +1,508 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.tim;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import net.sourceforge.plantuml.StringUtils;
+import net.sourceforge.plantuml.log.Logme;
+import net.sourceforge.plantuml.preproc.FileWithSuffix;
+import net.sourceforge.plantuml.security.SFile;
+import net.sourceforge.plantuml.security.SecurityUtils;
+import net.sourceforge.plantuml.text.StringLocated;
+import net.sourceforge.plantuml.text.TLineType;
+import net.sourceforge.plantuml.tim.expression.TValue;
+import net.sourceforge.plantuml.utils.LineLocation;
+import net.sourceforge.plantuml.utils.LineLocationImpl;
+
+/**
+ * Process-wide cache of executed include files and themes.
+ * <p>
+ * The first execution of an include is recorded: the lines it adds to the
+ * output, and the functions, procedures and global variables it defines. When
+ * another diagram includes the same file from the same preprocessor state, the
+ * recording is replayed instead of reading and executing the file again. The
+ * state is a digest of the global variables, of the user functions and of the
+ * files already included.
+ * <p>
+ * An entry is dropped as soon as one of the files it read changes on disk
+ * (modification time or size). Includes that run something depending on the
+ * environment (<code>%date</code>, <code>%getenv</code>, <code>!import</code>,
+ * remote includes...) are never recorded. The least recently used entries are
+ * evicted once the total size exceeds <code>PLANTUML_INCLUDE_CACHE_SIZE_MB</code>
+ * (0 disables the cache).
+ */
+public class IncludeCache {
+	// ::remove file when __CORE__
+
+	private static final Set<String> IMPURE_FUNCTIONS = new HashSet<>(Arrays.asList("%date", "%now", "%getenv",
+			"%file_exists", "%load_json", "%filename", "%dirpath"));
+
+	private static final Set<TLineType> IMPURE_LINES = EnumSet.of(TLineType.IMPORT, TLineType.INCLUDE_DEF,
+			TLineType.INCLUDESUB, TLineType.DUMP_MEMORY, TLineType.LOG);
+
+	private static final IncludeCache singleton = new IncludeCache(getMaxSize());
+
+	private final long maxChars;
+	private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long chars;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long invalidations;
+
+	public static IncludeCache getInstance() {
+		return singleton;
+	}
+
+	private static long getMaxSize() {
+		final String value = SecurityUtils.getenv("PLANTUML_INCLUDE_CACHE_SIZE_MB");
+		if (StringUtils.isNotEmpty(value) && value.matches("\\d+"))
+			return Long.parseLong(value) * 1024L * 1024L / 2;
+
+		return 32L * 1024 * 1024 / 2;
+	}
+
+	IncludeCache(long maxChars) {
+		this.maxChars = maxChars;
+	}
+
+	public boolean isEnabled() {
+		return maxChars > 0;
+	}
+
+	/**
+	 * Take a snapshot of the preprocessor state before executing an include.
+	 *
+	 * @param key identifies the included content, or <code>null</code>
+	 * @return <code>null</code> if this include cannot be cached
+	 */
+	Recording start(String key, TContext context, TMemory memory, int nbSubs) {
+		if (key == null || isEnabled() == false || memory instanceof TMemoryGlobal == false)
+			return null;
+
+		return new Recording(key, context, (TMemoryGlobal) memory, nbSubs);
+	}
+
+	synchronized Entry get(String key) {
+		final Entry result = entries.get(key);
+		if (result == null) {
+			misses++;
+			return null;
+		}
+		for (Stamp stamp : result.stamps)
+			if (stamp.isValid() == false) {
+				entries.remove(key);
+				chars -= result.chars;
+				invalidations++;
+				misses++;
+				return null;
+			}
+		hits++;
+		return result;
+	}
+
+	synchronized void put(String key, Entry entry) {
+		if (entry.chars > maxChars)
+			return;
+
+		final Entry previous = entries.put(key, entry);
+		if (previous != null)
+			chars -= previous.chars;
+		chars += entry.chars;
+
+		for (Iterator<Entry> it = entries.values().iterator(); chars > maxChars && it.hasNext();) {
+			chars -= it.next().chars;
+			it.remove();
+			evictions++;
+		}
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	public synchronized long getInvalidations() {
+		return invalidations;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		chars = 0;
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+		invalidations = 0;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "IncludeCache size=" + entries.size() + " chars=" + chars + " hits=" + hits + " misses=" + misses
+				+ " evictions=" + evictions + " invalidations=" + invalidations;
+	}
+
+	static final class Stamp {
+
+		private final SFile file;
+		private final long lastModified;
+		private final long length;
+
+		private Stamp(SFile file) {
+			this.file = file;
+			this.lastModified = file.lastModified();
+			this.length = file.length();
+		}
+
+		static Stamp of(FileWithSuffix file) {
+			final SFile underlying = file.getUnderlyingFile();
+			if (underlying == null || underlying.exists() == false)
+				return null;
+
+			return new Stamp(underlying);
+		}
+
+		boolean isValid() {
+			return file.lastModified() == lastModified && file.length() == length;
+		}
+
+	}
+
+	/**
+	 * Definitions and output produced by one execution of an include.
+	 */
+	static final class Entry {
+
+		private final LineLocation root;
+		private final List<Stamp> stamps;
+		private final List<StringLocated> output;
+		private final List<StringLocated> debug;
+		private final List<TFunctionImpl> functions;
+		private final Set<TFunctionSignature> finals;
+		private final Map<String, TValue> variables;
+		private final Set<String> removed;
+		private final Set<FileWithSuffix> filesUsed;
+		private final Set<FileWithSuffix> dependencies;
+		private final long chars;
+
+		private Entry(LineLocation root, List<Stamp> stamps, List<StringLocated> output, List<StringLocated> debug,
+				List<TFunctionImpl> functions, Set<TFunctionSignature> finals, Map<String, TValue> variables,
+				Set<String> removed, Set<FileWithSuffix> filesUsed, Set<FileWithSuffix> dependencies) {
+			this.root = root;
+			this.stamps = stamps;
+			this.output = output;
+			this.debug = debug;
+			this.functions = functions;
+			this.finals = finals;
+			this.variables = variables;
+			this.removed = removed;
+			this.filesUsed = filesUsed;
+			this.dependencies = dependencies;
+			long size = 0;
+			for (StringLocated s : output)
+				size += s.length();
+			for (StringLocated s : debug)
+				size += s.length();
+			for (TFunctionImpl function : functions)
+				for (StringLocated s : function.getBody())
+					size += s.length();
+			for (Map.Entry<String, TValue> ent : variables.entrySet())
+				size += ent.getKey().length() + ent.getValue().toString().length();
+			this.chars = size;
+		}
+
+		/**
+		 * Apply the recording to a context, as if the include had been executed at
+		 * <code>site</code>.
+		 */
+		void replay(TContext context, TMemory memory, LineLocation site) throws EaterException {
+			final Map<LineLocation, LineLocation> relocated = new IdentityHashMap<>();
+			for (StringLocated s : output)
+				context.getResultList().add(relocate(s, site, relocated));
+			for (StringLocated s : debug)
+				context.getDebug().add(relocate(s, site, relocated));
+			for (TFunctionImpl function : functions) {
+				final List<StringLocated> body = new ArrayList<>();
+				for (StringLocated s : function.getBody())
+					body.add(relocate(s, site, relocated));
+				context.functionsSet.addReplayed(function.withBody(body),
+						finals.contains(function.getSignature()));
+			}
+			for (String name : removed)
+				memory.removeVariable(name);
+			for (Map.Entry<String, TValue> ent : variables.entrySet())
+				memory.putVariable(ent.getKey(), ent.getValue(), TVariableScope.GLOBAL);
+			context.addFiles(filesUsed, dependencies);
+		}
+
+		private StringLocated relocate(StringLocated s, LineLocation site, Map<LineLocation, LineLocation> done) {
+			if (site == root)
+				return s;
+
+			final LineLocation location = relocate(s.getLocation(), site, done);
+			if (location == s.getLocation())
+				return s;
+
+			return s.withLocation(location);
+		}
+
+		private LineLocation relocate(LineLocation location, LineLocation site, Map<LineLocation, LineLocation> done) {
+			if (location == null)
+				return null;
+
+			if (location == root)
+				return site;
+
+			if (location.getParent() == null || location instanceof LineLocationImpl == false)
+				return location;
+
+			LineLocation result = done.get(location);
+			if (result == null) {
+				final LineLocation parent = relocate(location.getParent(), site, done);
+				if (parent == location.getParent())
+					result = location;
+				else
+					result = ((LineLocationImpl) location).withParent(parent);
+				done.put(location, result);
+			}
+			return result;
+		}
+
+	}
+
+	/**
+	 * Snapshot of a context taken before an include, turned into an
+	 * {@link Entry} once the include has been executed.
+	 */
+	final class Recording {
+
+		private final String key;
+		// Every file read during the recording, even if it was already a dependency
+		private final Set<FileWithSuffix> read = new HashSet<>();
+		private final List<Stamp> stamps = new ArrayList<>();
+		private final TContext context;
+		private final TMemoryGlobal memory;
+		private final int nbSubs;
+
+		private final int outputSize;
+		private final StringLocated lastOutput;
+		private final int debugSize;
+		private final Map<TFunctionSignature, TFunction> functions;
+		private final Map<String, TValue> variables = new HashMap<>();
+		private final Set<FileWithSuffix> filesUsed;
+		private final Object ifs;
+		private final Object whiles;
+		private final Object foreachs;
+
+		private boolean impure;
+
+		private Recording(String key, TContext context, TMemoryGlobal memory, int nbSubs) {
+			this.context = context;
+			this.memory = memory;
+			this.nbSubs = nbSubs;
+			final List<StringLocated> output = context.getResultList();
+			this.outputSize = output.size();
+			this.lastOutput = outputSize == 0 ? null : output.get(outputSize - 1);
+			this.debugSize = context.getDebug().size();
+			this.functions = new HashMap<>(context.functionsSet.functions());
+			for (String name : memory.variablesNames())
+				this.variables.put(name, memory.getVariable(name));
+			this.filesUsed = new HashSet<>(context.getFilesUsedCurrent());
+			this.ifs = memory.peekIf();
+			this.whiles = memory.peekWhile();
+			this.foreachs = memory.peekForeach();
+			this.key = key + "\n" + digestState();
+		}
+
+		private String digestState() {
+			final StringBuilder sb = new StringBuilder();
+			for (Map.Entry<String, TValue> ent : new TreeMap<>(variables).entrySet()) {
+				final TValue value = ent.getValue();
+				sb.append(ent.getKey()).append(value.isJson() ? "=J" : value.isString() ? "=S" : "=I");
+				sb.append(value).append('\n');
+			}
+			final Map<String, TFunctionImpl> user = new TreeMap<>();
+			for (TFunction function : functions.values())
+				if (function instanceof TFunctionImpl)
+					user.put(function.getSignature().toString(), (TFunctionImpl) function);
+			for (TFunctionImpl function : user.values()) {
+				function.appendDefinition(sb);
+				sb.append(context.functionsSet.isFinal(function.getSignature())).append('\n');
+			}
+			final Set<String> used = new TreeSet<>();
+			for (FileWithSuffix file : filesUsed)
+				try {
+					used.add(file.getCacheKey());
+				} catch (IOException e) {
+					used.add(file.toString());
+				}
+			for (String s : used)
+				sb.append(s).append('\n');
+			sb.append(nbSubs).append('\n');
+			try {
+				final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+				final StringBuilder result = new StringBuilder();
+				for (byte b : digest.digest(sb.toString().getBytes(UTF_8)))
+					result.append(String.format("%02x", b & 0xFF));
+				return result.toString();
+			} catch (NoSuchAlgorithmException e) {
+				Logme.error(e);
+				return sb.toString();
+			}
+		}
+
+		/**
+		 * @return <code>true</code> if a recording of this include has been applied
+		 */
+		boolean replay(LineLocation site) throws EaterException {
+			final Entry entry = get(key);
+			if (entry == null)
+				return false;
+
+			entry.replay(context, memory, site);
+			return true;
+		}
+
+		void check(TLineType type) {
+			if (IMPURE_LINES.contains(type))
+				impure = true;
+		}
+
+		void check(TFunction function) {
+			if (function != null && IMPURE_FUNCTIONS.contains(function.getSignature().getFunctionName()))
+				impure = true;
+		}
+
+		void setImpure() {
+			this.impure = true;
+		}
+
+		/**
+		 * Called for each local file read by the include, the included file itself
+		 * first.
+		 */
+		void read(FileWithSuffix file) {
+			if (read.add(file) == false)
+				return;
+
+			final Stamp stamp = Stamp.of(file);
+			if (stamp == null)
+				impure = true;
+			else
+				stamps.add(stamp);
+		}
+
+		/**
+		 * Store what the include has changed in the context.
+		 */
+		void finish(LineLocation site, int nbSubsAfter) {
+			if (impure || nbSubsAfter != nbSubs || context.functionsSet.pendingFunction() != null)
+				return;
+
+			if (memory.peekIf() != ifs || memory.peekWhile() != whiles || memory.peekForeach() != foreachs)
+				return;
+
+			final List<StringLocated> output = context.getResultList();
+			if (output.size() < outputSize || (outputSize > 0 && output.get(outputSize - 1) != lastOutput))
+				return;
+
+			final List<TFunctionImpl> newFunctions = new ArrayList<>();
+			final Set<TFunctionSignature> finals = new HashSet<>();
+			for (Map.Entry<TFunctionSignature, TFunction> ent : context.functionsSet.functions().entrySet()) {
+				if (functions.get(ent.getKey()) == ent.getValue())
+					continue;
+				if (ent.getValue() instanceof TFunctionImpl == false)
+					return;
+				newFunctions.add((TFunctionImpl) ent.getValue());
+				if (context.functionsSet.isFinal(ent.getKey()))
+					finals.add(ent.getKey());
+			}
+			if (context.functionsSet.functions().keySet().containsAll(functions.keySet()) == false)
+				return;
+
+			final Map<String, TValue> newVariables = new HashMap<>();
+			for (String name : memory.variablesNames()) {
+				final TValue value = memory.getVariable(name);
+				if (variables.get(name) != value)
+					newVariables.put(name, value);
+			}
+			final Set<String> removed = new HashSet<>(variables.keySet());
+			removed.removeAll(memory.variablesNames());
+
+			final Set<FileWithSuffix> newFilesUsed = new HashSet<>(context.getFilesUsedCurrent());
+			newFilesUsed.removeAll(filesUsed);
+			if (impure)
+				return;
+
+			put(key, new Entry(site, Collections.unmodifiableList(stamps),
+					new ArrayList<>(output.subList(outputSize, output.size())),
+					new ArrayList<>(context.getDebug().subList(debugSize, context.getDebug().size())), newFunctions,
+					finals, newVariables, removed, newFilesUsed, new HashSet<>(read)));
+		}
+
+	}
+
+}
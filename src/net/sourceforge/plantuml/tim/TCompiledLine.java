@@ -0,0 +1,129 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of PlantUML.
+ *
+ * PlantUML is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PlantUML distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ *
+ * Original Author:  Arnaud Roques
+ * 
+ *
+ */
+package net.sourceforge.plantuml.tim;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.sourceforge.plantuml.text.TLineType;
+import net.sourceforge.plantuml.tim.expression.TokenStack;
+
+/**
+ * A line of text analyzed once for the preprocessor.
+ * <p>
+ * Function and variable names can only begin at a word boundary, so the
+ * boundaries are computed here a single time. Running the line again (loop
+ * bodies, procedure and function bodies) only probes the tries at those
+ * offsets and copies the text in between as a whole.
+ * <p>
+ * Expressions found by an {@link Eater} in the line are tokenized once as well
+ * and stored by position, so that a directive like <code>!if</code> or
+ * <code>!$i = $i + 1</code> is only re-evaluated, not re-read.
+ */
+public final class TCompiledLine {
+
+	static final int EXPRESSION = 0;
+	static final int EXPRESSION_STOP_AT_COLON = 1;
+	static final int ARGUMENT = 2;
+
+	private final String text;
+	private final int[] starts;
+	private Map<Integer, Tokens> tokens;
+
+	static final class Tokens {
+
+		private final TokenStack tokenStack;
+		private final int end;
+
+		private Tokens(TokenStack tokenStack, int end) {
+			this.tokenStack = tokenStack;
+			this.end = end;
+		}
+
+		TokenStack getTokenStack() {
+			return tokenStack;
+		}
+
+		int getEnd() {
+			return end;
+		}
+
+	}
+
+	private TCompiledLine(String text, int[] starts) {
+		this.text = text;
+		this.starts = starts;
+	}
+
+	public static TCompiledLine compile(String text) {
+		final int[] tmp = new int[text.length()];
+		int nb = 0;
+		for (int i = 0; i < text.length(); i++)
+			if (i == 0 || TLineType.isLetterOrUnderscoreOrDigit(text.charAt(i - 1)) == false
+					|| VariableManager.justAfterBackslashN(text, i))
+				tmp[nb++] = i;
+
+		return new TCompiledLine(text, Arrays.copyOf(tmp, nb));
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public int size() {
+		return starts.length;
+	}
+
+	public int getStart(int n) {
+		return starts[n];
+	}
+
+	Tokens getTokens(int position, int kind) {
+		if (tokens == null)
+			return null;
+
+		return tokens.get(position * 3 + kind);
+	}
+
+	void putTokens(int position, int kind, TokenStack tokenStack, int end) {
+		if (tokens == null)
+			tokens = new HashMap<Integer, Tokens>();
+
+		tokens.put(position * 3 + kind, new Tokens(tokenStack, end));
+	}
+
+}
@@ -40,6 +40,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -151,10 +152,61 @@ public class TContext {
 	// private final Set<FileWithSuffix> usedFiles = new HashSet<>();
 	private final Set<FileWithSuffix> filesUsedCurrent = new HashSet<>();
 
+	// Every local file read, including sub files and themes
+	private final Set<FileWithSuffix> dependencies = new HashSet<>();
+
 	public Set<FileWithSuffix> getFilesUsedCurrent() {
 		return Collections.unmodifiableSet(filesUsedCurrent);
 	}
 
+	public Set<FileWithSuffix> getDependencies() {
+		return Collections.unmodifiableSet(dependencies);
+	}
+
+	private void addDependency(FileWithSuffix file) {
+		dependencies.add(file);
+		// ::comment when __CORE__
+		if (recording != null)
+			recording.read(file);
+		// ::done
+	}
+
+	// ::comment when __CORE__
+	// Include being recorded for the IncludeCache, nested includes are part of it
+	private IncludeCache.Recording recording;
+
+	void addFiles(Collection<FileWithSuffix> used, Collection<FileWithSuffix> read) {
+		filesUsedCurrent.addAll(used);
+		dependencies.addAll(read);
+	}
+
+	/**
+	 * @return <code>null</code> if this include has to be executed without the
+	 *         cache
+	 */
+	private IncludeCache.Recording startRecording(TMemory memory, String key) {
+		if (recording != null)
+			return null;
+
+		return IncludeCache.getInstance().start(key, this, memory, subs.size());
+	}
+
+	private void executeRecorded(IncludeCache.Recording rec, TMemory memory, List<StringLocated> body,
+			LineLocation site) throws EaterExceptionLocated, EaterException {
+		if (rec == null) {
+			executeLines(memory, body, null, false);
+			return;
+		}
+		this.recording = rec;
+		try {
+			executeLines(memory, body, null, false);
+		} finally {
+			this.recording = null;
+		}
+		rec.finish(site, subs.size());
+	}
+	// ::done
+
 	private void addStandardFunctions(Defines defines) {
 		functionsSet.addFunction(new Strlen());
 		functionsSet.addFunction(new Substr());
@@ -237,7 +289,7 @@ public class TContext {
 			}
 
 			public TFunction getFunction(TFunctionSignature name) {
-				return functionsSet.getFunctionSmart(name);
+				return getFunctionSmart(name);
 			}
 		};
 	}
@@ -321,6 +373,10 @@ public class TContext {
 	private TValue executeOneLineNotSafe(TMemory memory, StringLocated s, TFunctionType ftype, boolean modeSpecial)
 			throws EaterException, EaterExceptionLocated {
 		final TLineType type = s.getType();
+		// ::comment when __CORE__
+		if (recording != null)
+			recording.check(type);
+		// ::done
 
 		if (type == TLineType.INCLUDESUB) {
 			this.executeIncludesub(memory, s);
@@ -434,6 +490,9 @@ public class TContext {
 
 	private String pendingAdd = null;
 
+	private static final int MAX_COMPILED_LINES = 4096;
+	private final Map<String, TCompiledLine> compiledLines = new HashMap<String, TCompiledLine>();
+
 	public String applyFunctionsAndVariables(TMemory memory, LineLocation location, final String str)
 			throws EaterException, EaterExceptionLocated {
 		// https://en.wikipedia.org/wiki/Boyer%E2%80%93Moore%E2%80%93Horspool_algorithm
@@ -444,9 +503,20 @@ public class TContext {
 		if (memory.isEmpty() && functionsSet.size() == 0)
 			return str;
 
+		final TCompiledLine line = compile(str);
+		final VariableManager variables = new VariableManager(this, memory, location);
 		final StringBuilder result = new StringBuilder();
-		for (int i = 0; i < str.length(); i++) {
-			final char c = str.charAt(i);
+		int k = 0;
+		int i = 0;
+		while (i < str.length()) {
+			while (k < line.size() && line.getStart(k) < i)
+				k++;
+			final int next = k < line.size() ? line.getStart(k) : str.length();
+			if (next > i) {
+				result.append(str, i, next);
+				i = next;
+				continue;
+			}
 			final String presentFunction = getFunctionNameAt(str, i);
 			if (presentFunction != null) {
 				final String sub = str.substring(i);
@@ -455,7 +525,7 @@ public class TContext {
 				call.analyze(this, memory);
 				final TFunctionSignature signature = new TFunctionSignature(presentFunction, call.getValues().size(),
 						call.getNamedArguments().keySet());
-				final TFunction function = functionsSet.getFunctionSmart(signature);
+				final TFunction function = getFunctionSmart(signature);
 				if (function == null)
 					throw EaterException.located("Function not found " + presentFunction);
 
@@ -479,16 +549,29 @@ public class TContext {
 				final TValue functionReturn = function.executeReturnFunction(this, memory, location, call.getValues(),
 						call.getNamedArguments());
 				result.append(functionReturn.toString());
-				i += call.getCurrentPosition() - 1;
-			} else if (new VariableManager(this, memory, location).getVarnameAt(str, i) != null) {
-				i = new VariableManager(this, memory, location).replaceVariables(str, i, result);
+				i += call.getCurrentPosition();
+			} else if (variables.getVarnameAt(str, i) != null) {
+				i = variables.replaceVariables(str, i, result) + 1;
 			} else {
-				result.append(c);
+				result.append(str.charAt(i));
+				i++;
 			}
 		}
 		return result.toString();
 	}
 
+	TCompiledLine compile(String str) {
+		TCompiledLine result = compiledLines.get(str);
+		if (result == null) {
+			if (compiledLines.size() >= MAX_COMPILED_LINES)
+				compiledLines.clear();
+
+			result = TCompiledLine.compile(str);
+			compiledLines.put(str, result);
+		}
+		return result;
+	}
+
 	private void appendToLastResult(String remaining) {
 		final StringLocated last = this.resultList.get(this.resultList.size() - 1);
 		this.resultList.set(this.resultList.size() - 1, last.append(remaining));
@@ -546,6 +629,7 @@ public class TContext {
 				try {
 					final FileWithSuffix f2 = importedFiles.getFile(filename, null);
 					if (f2.fileOk()) {
+						addDependency(f2);
 						saveImportedFiles = this.importedFiles;
 						this.importedFiles = this.importedFiles.withCurrentDir(f2.getParentFile());
 						final Reader reader = f2.getReader(charset);
@@ -616,11 +700,27 @@ public class TContext {
 			throw EaterException.located("No such theme " + eater.getName());
 
 		try {
+			// ::comment when __CORE__
+			final IncludeCache.Recording rec = startRecording(memory, getThemeCacheKey(eater));
+			if (rec != null && rec.replay(s.getLocation()))
+				return;
+			if (recording != null && eater.isRemote())
+				recording.setImpure();
+			if (rec != null && eater.getLocalFile() != null)
+				rec.read(eater.getLocalFile());
+			// ::done
+
+			if (eater.getLocalFile() != null)
+				addDependency(eater.getLocalFile());
+
 			final List<StringLocated> body = new ArrayList<>();
 			do {
 				final StringLocated sl = reader.readLine();
 				if (sl == null) {
-					executeLines(memory, body, null, false);
+					// ::revert when __CORE__
+					executeRecorded(rec, memory, body, s.getLocation());
+					// executeLines(memory, body, null, false);
+					// ::done
 					return;
 				}
 				body.add(sl);
@@ -637,6 +737,19 @@ public class TContext {
 		}
 	}
 
+	// ::comment when __CORE__
+	private String getThemeCacheKey(EaterTheme eater) throws IOException {
+		if (eater.getLocalFile() != null) {
+			final String key = eater.getLocalFile().getCacheKey();
+			return key == null ? null : "theme:" + key;
+		}
+		if (eater.isRemote())
+			return null;
+
+		return "theme:<" + eater.getRealName() + ">";
+	}
+	// ::done
+
 	private void executeInclude(TMemory memory, StringLocated s) throws EaterException, EaterExceptionLocated {
 		final EaterInclude include = new EaterInclude(s.getTrimmed());
 		include.analyze(this, memory);
@@ -651,14 +764,26 @@ public class TContext {
 
 		ReadLine reader = null;
 		ImportedFiles saveImportedFiles = null;
+		// ::comment when __CORE__
+		IncludeCache.Recording rec = null;
+		// ::done
 		try {
 			if (location.startsWith("http://") || location.startsWith("https://")) {
 				final SURL url = SURL.create(location);
 				if (url == null)
 					throw EaterException.located("Cannot open URL");
 
+				// ::comment when __CORE__
+				if (recording != null)
+					recording.setImpure();
+				// ::done
 				reader = PreprocessorUtils.getReaderIncludeUrl(url, s, suf, charset);
 			} else if (location.startsWith("<") && location.endsWith(">")) {
+				// ::comment when __CORE__
+				rec = startRecording(memory, "stdlib:" + location + "!" + suf);
+				if (rec != null && rec.replay(s.getLocation()))
+					return;
+				// ::done
 				reader = PreprocessorUtils.getReaderStdlibInclude(s, location.substring(1, location.length() - 1));
 				// ::comment when __CORE__
 			} else if (location.startsWith("[") && location.endsWith("]")) {
@@ -673,6 +798,15 @@ public class TContext {
 					if (strategy == PreprocessorIncludeStrategy.ONCE && filesUsedCurrent.contains(f2))
 						throw EaterException.located("This file has already been included");
 
+					// ::comment when __CORE__
+					final String key = f2.getCacheKey();
+					rec = startRecording(memory, key == null ? null : "file:" + key + "|" + charset.name());
+					if (rec != null && rec.replay(s.getLocation()))
+						return;
+					if (rec != null)
+						rec.read(f2);
+					// ::done
+
 					if (StartDiagramExtractReader.containsStartDiagram(f2, s, charset)) {
 						reader = StartDiagramExtractReader.build(f2, s, charset);
 					} else {
@@ -686,6 +820,7 @@ public class TContext {
 					this.importedFiles = this.importedFiles.withCurrentDir(f2.getParentFile());
 					assert reader != null;
 					filesUsedCurrent.add(f2);
+					addDependency(f2);
 				}
 			}
 			if (reader != null) {
@@ -694,7 +829,10 @@ public class TContext {
 					do {
 						final StringLocated sl = reader.readLine();
 						if (sl == null) {
-							executeLines(memory, body, null, false);
+							// ::revert when __CORE__
+							executeRecorded(rec, memory, body, s.getLocation());
+							// executeLines(memory, body, null, false);
+							// ::done
 							return;
 						}
 						body.add(sl);
@@ -722,27 +860,15 @@ public class TContext {
 	}
 
 	public boolean isLegacyDefine(String functionName) {
-		for (Map.Entry<TFunctionSignature, TFunction> ent : functionsSet.functions().entrySet())
-			if (ent.getKey().getFunctionName().equals(functionName) && ent.getValue().getFunctionType().isLegacy())
-				return true;
-
-		return false;
+		return functionsSet.isLegacyDefine(functionName);
 	}
 
 	public boolean isUnquoted(String functionName) {
-		for (Map.Entry<TFunctionSignature, TFunction> ent : functionsSet.functions().entrySet())
-			if (ent.getKey().getFunctionName().equals(functionName) && ent.getValue().isUnquoted())
-				return true;
-
-		return false;
+		return functionsSet.isUnquoted(functionName);
 	}
 
 	public boolean doesFunctionExist(String functionName) {
-		for (Map.Entry<TFunctionSignature, TFunction> ent : functionsSet.functions().entrySet())
-			if (ent.getKey().getFunctionName().equals(functionName))
-				return true;
-
-		return false;
+		return functionsSet.doesFunctionExist(functionName);
 	}
 
 	private String getFunctionNameAt(String s, int pos) {
@@ -750,7 +876,7 @@ public class TContext {
 				&& VariableManager.justAfterBackslashN(s, pos) == false)
 			return null;
 
-		final String fname = functionsSet.getLonguestMatchStartingIn(s.substring(pos));
+		final String fname = functionsSet.getLonguestMatchStartingIn(s, pos);
 		if (fname.length() == 0)
 			return null;
 
@@ -787,7 +913,12 @@ public class TContext {
 	}
 
 	public TFunction getFunctionSmart(TFunctionSignature signature) {
-		return functionsSet.getFunctionSmart(signature);
+		final TFunction result = functionsSet.getFunctionSmart(signature);
+		// ::comment when __CORE__
+		if (recording != null)
+			recording.check(result);
+		// ::done
+		return result;
 	}
 
 }
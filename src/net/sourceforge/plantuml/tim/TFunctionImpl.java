@@ -224,4 +224,25 @@ public class TFunctionImpl implements TFunction {
 		return containsReturn;
 	}
 
+	List<StringLocated> getBody() {
+		return Collections.unmodifiableList(body);
+	}
+
+	TFunctionImpl withBody(List<StringLocated> newBody) {
+		final TFunctionImpl result = new TFunctionImpl(signature.getFunctionName(), args, unquoted, functionType);
+		result.body.addAll(newBody);
+		result.legacyDefinition = legacyDefinition;
+		result.containsReturn = containsReturn;
+		return result;
+	}
+
+	void appendDefinition(StringBuilder sb) {
+		sb.append(signature).append(' ').append(functionType).append(' ').append(unquoted).append('\n');
+		for (TFunctionArgument arg : args)
+			sb.append(arg.getName()).append('=').append(arg.getOptionalDefaultValue()).append('\n');
+		sb.append(legacyDefinition).append('\n');
+		for (StringLocated s : body)
+			sb.append(s.getString()).append('\n');
+	}
+
 }
@@ -72,7 +72,7 @@ public class TimLoader {
 			this.preprocessorError = true;
 		}
 		this.resultList = context.getResultList();
-		return context.getFilesUsedCurrent();
+		return context.getDependencies();
 	}
 
 	private void changeLastLine(List<StringLocated> list, String message) {
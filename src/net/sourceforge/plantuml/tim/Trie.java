@@ -40,4 +40,6 @@ public interface Trie {
 
 	public String getLonguestMatchStartingIn(String s);
 
+	public String getLonguestMatchStartingIn(String s, int pos);
+
 }
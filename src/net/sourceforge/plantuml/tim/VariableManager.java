@@ -55,7 +55,8 @@ public class VariableManager {
 
 	public int replaceVariables(String str, int i, StringBuilder result) throws EaterException, EaterExceptionLocated {
 		final String presentVariable = getVarnameAt(str, i);
-		if (result.toString().endsWith("##")) {
+		final int len = result.length();
+		if (len >= 2 && result.charAt(len - 1) == '#' && result.charAt(len - 2) == '#') {
 			result.setLength(result.length() - 2);
 		}
 		final TValue value = memory.getVariable(presentVariable);
@@ -142,7 +143,7 @@ public class VariableManager {
 				&& justAfterBackslashN(s, pos) == false) {
 			return null;
 		}
-		final String varname = memory.variablesNames3().getLonguestMatchStartingIn(s.substring(pos));
+		final String varname = memory.variablesNames3().getLonguestMatchStartingIn(s, pos);
 		if (varname.length() == 0) {
 			return null;
 		}
@@ -34,10 +34,8 @@
  */
 package net.sourceforge.plantuml.tim.expression;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.List;
 
 import net.sourceforge.plantuml.tim.EaterException;
@@ -48,81 +46,116 @@ import net.sourceforge.plantuml.tim.TFunctionSignature;
 import net.sourceforge.plantuml.tim.TMemory;
 import net.sourceforge.plantuml.utils.LineLocation;
 
+/**
+ * An expression in reverse polish notation, as produced by
+ * {@link ShuntingYard}.
+ * <p>
+ * The queue is converted once into arrays: constants are turned into
+ * {@link TValue} and operators and function signatures are resolved, so that
+ * {@link #evaluate} only binds the variables and runs the program.
+ */
 public class ReversePolishInterpretor {
 
-	private final TValue result;
-	private final boolean trace = false;
-
-	public ReversePolishInterpretor(TokenStack queue, Knowledge knowledge, TMemory memory, TContext context)
-			throws EaterException, EaterExceptionLocated {
-		this(null, queue, knowledge, memory, context);
-	}
-
-	public ReversePolishInterpretor(LineLocation location, TokenStack queue, Knowledge knowledge, TMemory memory,
-			TContext context) throws EaterException, EaterExceptionLocated {
+	private final TokenType[] types;
+	private final String[] variables;
+	private final TValue[] constants;
+	private final TokenOperator[] operators;
+	private final TFunctionSignature[] signatures;
 
-		final Deque<TValue> stack = new ArrayDeque<>();
-		if (trace)
-			System.err.println("ReversePolishInterpretor::queue=" + queue);
-		for (TokenIterator it = queue.tokenIterator(); it.hasMoreTokens();) {
+	public ReversePolishInterpretor(TokenStack queue) throws EaterException {
+		final int size = queue.size();
+		this.types = new TokenType[size];
+		this.variables = new String[size];
+		this.constants = new TValue[size];
+		this.operators = new TokenOperator[size];
+		this.signatures = new TFunctionSignature[size];
+		int i = 0;
+		for (TokenIterator it = queue.tokenIterator(); it.hasMoreTokens(); i++) {
 			final Token token = it.nextToken();
-			if (trace)
-				System.err.println("rpn " + token);
-			if (token.getTokenType() == TokenType.NUMBER) {
-				stack.addFirst(TValue.fromNumber(token));
-			} else if (token.getTokenType() == TokenType.QUOTED_STRING) {
-				stack.addFirst(TValue.fromString(token));
-			} else if (token.getTokenType() == TokenType.JSON_DATA) {
-				stack.addFirst(TValue.fromJson(token.getJson()));
-			} else if (token.getTokenType() == TokenType.OPERATOR) {
-				final TValue v2 = stack.removeFirst();
-				final TValue v1 = stack.removeFirst();
-				final TokenOperator op = token.getTokenOperator();
-				if (op == null) {
+			final TokenType type = token.getTokenType();
+			types[i] = type;
+			if (type == TokenType.PLAIN_TEXT) {
+				variables[i] = token.getSurface();
+			} else if (type == TokenType.NUMBER) {
+				constants[i] = TValue.fromNumber(token);
+			} else if (type == TokenType.QUOTED_STRING) {
+				constants[i] = TValue.fromString(token);
+			} else if (type == TokenType.JSON_DATA) {
+				constants[i] = TValue.fromJson(token.getJson());
+			} else if (type == TokenType.OPERATOR) {
+				operators[i] = token.getTokenOperator();
+				if (operators[i] == null) {
 					throw EaterException.unlocated("bad op");
 				}
-				final TValue tmp = op.operate(v1, v2);
-				stack.addFirst(tmp);
-			} else if (token.getTokenType() == TokenType.OPEN_PAREN_FUNC) {
+			} else if (type == TokenType.OPEN_PAREN_FUNC) {
 				final int nb = Integer.parseInt(token.getSurface());
 				final Token token2 = it.nextToken();
-				if (token2.getTokenType() != TokenType.FUNCTION_NAME) {
+				if (token2 == null || token2.getTokenType() != TokenType.FUNCTION_NAME) {
 					throw EaterException.unlocated("rpn43");
 				}
-				if (trace)
-					System.err.println("token2=" + token2);
-				final TFunction function = knowledge.getFunction(new TFunctionSignature(token2.getSurface(), nb));
-				if (trace)
-					System.err.println("function=" + function);
+				signatures[i] = new TFunctionSignature(token2.getSurface(), nb);
+				// The function name is part of this call
+				types[++i] = TokenType.FUNCTION_NAME;
+			} else {
+				throw EaterException.unlocated("rpn41");
+			}
+		}
+	}
+
+	public TValue evaluate(LineLocation location, Knowledge knowledge, TMemory memory, TContext context)
+			throws EaterException, EaterExceptionLocated {
+		// Variables are bound before any function is called
+		final TValue[] bound = new TValue[types.length];
+		for (int i = 0; i < types.length; i++) {
+			if (variables[i] != null) {
+				bound[i] = bindVariable(variables[i], knowledge);
+			}
+		}
+
+		final TValue[] stack = new TValue[types.length];
+		int top = 0;
+		for (int i = 0; i < types.length; i++) {
+			final TokenType type = types[i];
+			if (type == TokenType.PLAIN_TEXT) {
+				stack[top++] = bound[i];
+			} else if (constants[i] != null) {
+				stack[top++] = constants[i];
+			} else if (type == TokenType.OPERATOR) {
+				final TValue v2 = stack[--top];
+				final TValue v1 = stack[--top];
+				stack[top++] = operators[i].operate(v1, v2);
+			} else if (type == TokenType.OPEN_PAREN_FUNC) {
+				final TFunctionSignature signature = signatures[i];
+				final int nb = signature.getNbArg();
+				final TFunction function = knowledge.getFunction(signature);
 				if (function == null) {
-					throw EaterException.unlocated("Unknown built-in function " + token2.getSurface());
+					throw EaterException.unlocated("Unknown built-in function " + signature.getFunctionName());
 				}
 				if (function.canCover(nb, Collections.<String>emptySet()) == false) {
 					throw EaterException
 							.unlocated("Bad number of arguments for " + function.getSignature().getFunctionName());
 				}
-				final List<TValue> args = new ArrayList<>();
-				for (int i = 0; i < nb; i++) {
-					args.add(0, stack.removeFirst());
-				}
-				if (trace)
-					System.err.println("args=" + args);
+				top -= nb;
+				final List<TValue> args = Arrays.asList(Arrays.copyOfRange(stack, top, top + nb));
 				if (location == null) {
 					throw EaterException.unlocated("rpn44");
 				}
-				final TValue r = function.executeReturnFunction(context, memory, location, args,
+				stack[top++] = function.executeReturnFunction(context, memory, location, args,
 						Collections.<String, TValue>emptyMap());
-				if (trace)
-					System.err.println("r=" + r);
-				stack.addFirst(r);
-			} else {
-				throw EaterException.unlocated("rpn41");
 			}
 		}
-		result = stack.removeFirst();
+		return stack[top - 1];
 	}
 
-	public final TValue getResult() {
-		return result;
+	private static TValue bindVariable(String name, Knowledge knowledge) throws EaterException, EaterExceptionLocated {
+		final TValue variable = knowledge.getVariable(name);
+		if (variable != null) {
+			return variable;
+		}
+		if (name.matches("[a-zA-Z0-9.$_]+") == false) {
+			throw EaterException.unlocated("Parsing syntax error about " + name);
+		}
+		return TValue.fromString(name);
 	}
+
 }
@@ -37,9 +37,6 @@ package net.sourceforge.plantuml.tim.expression;
 import java.util.ArrayDeque;
 import java.util.Deque;
 
-import net.sourceforge.plantuml.tim.EaterException;
-import net.sourceforge.plantuml.tim.EaterExceptionLocated;
-
 // https://en.wikipedia.org/wiki/Shunting-yard_algorithm
 // https://en.cppreference.com/w/c/language/operator_precedence
 public class ShuntingYard {
@@ -58,7 +55,7 @@ public class ShuntingYard {
 		System.err.println("");
 	}
 
-	public ShuntingYard(TokenIterator it, Knowledge knowledge) throws EaterException, EaterExceptionLocated {
+	public ShuntingYard(TokenIterator it) {
 
 		while (it.hasMoreTokens()) {
 			final Token token = it.nextToken();
@@ -70,16 +67,8 @@ public class ShuntingYard {
 			} else if (token.getTokenType() == TokenType.FUNCTION_NAME) {
 				operatorStack.addFirst(token);
 			} else if (token.getTokenType() == TokenType.PLAIN_TEXT) {
-				final String name = token.getSurface();
-				final TValue variable = knowledge.getVariable(name);
-				if (variable == null) {
-					if (isVariableName(name) == false)
-						throw EaterException.unlocated("Parsing syntax error about " + name);
-
-					ouputQueue.add(new Token(name, TokenType.QUOTED_STRING, null));
-				} else {
-					ouputQueue.add(variable.toToken());
-				}
+				// Variables are bound by ReversePolishInterpretor at evaluation
+				ouputQueue.add(token);
 			} else if (token.getTokenType() == TokenType.OPERATOR) {
 				while ((thereIsAFunctionAtTheTopOfTheOperatorStack() //
 						|| thereIsAnOperatorAtTheTopOfTheOperatorStackWithGreaterPrecedence(token) //
@@ -124,10 +113,6 @@ public class ShuntingYard {
 		// System.err.println("ouputQueue=" + ouputQueue);
 	}
 
-	private boolean isVariableName(String name) {
-		return name.matches("[a-zA-Z0-9.$_]+");
-	}
-
 	private boolean thereIsAFunctionAtTheTopOfTheOperatorStack() {
 		final Token top = operatorStack.peekFirst();
 		return top != null && top.getTokenType() == TokenType.FUNCTION_NAME;
@@ -44,6 +44,18 @@ public final class TValue {
 	private final String stringValue;
 	private final JsonValue jsonValue;
 
+	// Loop counters and booleans are shared rather than allocated on each operation
+	private static final int SMALL_MIN = -128;
+	private static final TValue[] SMALL_INTS = new TValue[1024 - SMALL_MIN];
+
+	static {
+		for (int i = 0; i < SMALL_INTS.length; i++)
+			SMALL_INTS[i] = new TValue(SMALL_MIN + i);
+	}
+
+	private static final TValue TRUE = SMALL_INTS[1 - SMALL_MIN];
+	private static final TValue FALSE = SMALL_INTS[-SMALL_MIN];
+
 	private TValue(int value) {
 		this.intValue = value;
 		this.stringValue = null;
@@ -63,11 +75,14 @@ public final class TValue {
 	}
 
 	public static TValue fromInt(int v) {
+		if (v >= SMALL_MIN && v < SMALL_MIN + SMALL_INTS.length)
+			return SMALL_INTS[v - SMALL_MIN];
+
 		return new TValue(v);
 	}
 
 	public static TValue fromBoolean(boolean b) {
-		return new TValue(b ? 1 : 0);
+		return b ? TRUE : FALSE;
 	}
 
 	public static TValue fromJson(JsonValue json) {
@@ -103,33 +118,33 @@ public final class TValue {
 		if (token.getTokenType() != TokenType.NUMBER) {
 			throw new IllegalArgumentException();
 		}
-		return new TValue(Integer.parseInt(token.getSurface()));
+		return fromInt(Integer.parseInt(token.getSurface()));
 	}
 
 	public TValue add(TValue v2) {
 		if (this.isNumber() && v2.isNumber()) {
-			return new TValue(this.intValue + v2.intValue);
+			return fromInt(this.intValue + v2.intValue);
 		}
 		return new TValue(toString() + v2.toString());
 	}
 
 	public TValue minus(TValue v2) {
 		if (this.isNumber() && v2.isNumber()) {
-			return new TValue(this.intValue - v2.intValue);
+			return fromInt(this.intValue - v2.intValue);
 		}
 		return new TValue(toString() + v2.toString());
 	}
 
 	public TValue multiply(TValue v2) {
 		if (this.isNumber() && v2.isNumber()) {
-			return new TValue(this.intValue * v2.intValue);
+			return fromInt(this.intValue * v2.intValue);
 		}
 		return new TValue(toString() + "*" + v2.toString());
 	}
 
 	public TValue dividedBy(TValue v2) {
 		if (this.isNumber() && v2.isNumber()) {
-			return new TValue(this.intValue / v2.intValue);
+			return fromInt(this.intValue / v2.intValue);
 		}
 		return new TValue(toString() + "/" + v2.toString());
 	}
@@ -98,6 +98,8 @@ public enum TokenOperator {
 		}
 	};
 
+	private static final TokenOperator[] VALUES = values();
+
 	private final int precedence;
 	private final String display;
 
@@ -111,11 +113,11 @@ public enum TokenOperator {
 	}
 
 	public static TokenOperator getTokenOperator(char ch, char ch2) {
-		for (TokenOperator op : TokenOperator.values())
+		for (TokenOperator op : VALUES)
 			if (op.display.length() == 2 && op.display.charAt(0) == ch && op.display.charAt(1) == ch2)
 				return op;
 
-		for (TokenOperator op : TokenOperator.values())
+		for (TokenOperator op : VALUES)
 			if (op.display.length() == 1 && op.display.charAt(0) == ch)
 				return op;
 
@@ -52,6 +52,7 @@ import net.sourceforge.plantuml.utils.LineLocation;
 public class TokenStack {
 
 	final private List<Token> tokens;
+	private ReversePolishInterpretor compiled;
 
 	public TokenStack() {
 		this(new ArrayList<Token>());
@@ -76,6 +77,7 @@ public class TokenStack {
 
 	public void add(Token token) {
 		this.tokens.add(token);
+		this.compiled = null;
 	}
 
 	public TokenStack withoutSpace() {
@@ -212,15 +214,12 @@ public class TokenStack {
 
 	public TValue getResult(LineLocation location, TContext context, TMemory memory)
 			throws EaterException, EaterExceptionLocated {
-		final Knowledge knowledge = context.asKnowledge(memory, location);
-		final TokenStack tmp = withoutSpace();
-		tmp.guessFunctions();
-		final TokenIterator it = tmp.tokenIterator();
-		final ShuntingYard shuntingYard = new ShuntingYard(it, knowledge);
-		final ReversePolishInterpretor rpn = new ReversePolishInterpretor(location, shuntingYard.getQueue(), knowledge,
-				memory, context);
-		return rpn.getResult();
-
+		if (compiled == null) {
+			final TokenStack tmp = withoutSpace();
+			tmp.guessFunctions();
+			compiled = new ReversePolishInterpretor(new ShuntingYard(tmp.tokenIterator()).getQueue());
+		}
+		return compiled.evaluate(location, context.asKnowledge(memory, location), memory, context);
 	}
 
 }
@@ -56,7 +56,7 @@ class Hash {
 
 		System.arraycopy(Cookie.intMOnes, 0, head, 0, 0x10000);
 		System.arraycopy(Cookie.intMOnes, 0, hashVal, 0, 0x8000);
-		System.arraycopy(Cookie.intZeroes, 0, same, 0x8000, 0);
+		System.arraycopy(Cookie.intZeroes, 0, same, 0, 0x8000);
 		System.arraycopy(seq, 0, prev, 0, 0x8000);
 
 		System.arraycopy(Cookie.intMOnes, 0, head2, 0, 0x10000);
@@ -36,11 +36,16 @@
 
 package smetana.core;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import h.ST_refstr_t;
 
 final public class CString extends UnsupportedC implements __ptr__ {
 
-	private static int UID = 100;
+	// ::revert when __CORE__
+	private static final AtomicInteger UID = new AtomicInteger(100);
+	// private static int UID = 100;
+	// ::done
 
 	// private final Throwable creation = new Throwable();
 	private final StringBuilder data;
@@ -90,8 +95,11 @@ final public class CString extends UnsupportedC implements __ptr__ {
 		else
 			this.data = data;
 		this.currentStart = currentStart;
-		this.uid = UID;
-		UID += 2;
+		// ::revert when __CORE__
+		this.uid = UID.getAndAdd(2);
+		// this.uid = UID;
+		// UID += 2;
+		// ::done
 	}
 
 	public __ptr__ getTheField(FieldOffset bytes) {
@@ -0,0 +1,96 @@
+/* ========================================================================
+ * PlantUML : a free UML diagram generator
+ * ========================================================================
+ *
+ * Project Info:  https://plantuml.com
+ * 
+ * If you like this project or if you find it useful, you can support us at:
+ * 
+ * https://plantuml.com/patreon (only 1$ per month!)
+ * https://plantuml.com/paypal
+ * 
+ * This file is part of Smetana.
+ * Smetana is a partial translation of Graphviz/Dot sources from C to Java.
+ *
+ * (C) Copyright 2009-2024, Arnaud Roques
+ *
+ * This translation is distributed under the same Licence as the original C program.
+ * 
+ * THE ACCOMPANYING PROGRAM IS PROVIDED UNDER THE TERMS OF THIS ECLIPSE PUBLIC
+ * LICENSE ("AGREEMENT"). [Eclipse Public License - v 1.0]
+ * 
+ * ANY USE, REPRODUCTION OR DISTRIBUTION OF THE PROGRAM CONSTITUTES
+ * RECIPIENT'S ACCEPTANCE OF THIS AGREEMENT.
+ * 
+ * You may obtain a copy of the License at
+ * 
+ * http://www.eclipse.org/legal/epl-v10.html
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package smetana.core;
+
+/**
+ * Names of graph objects, indexed by the id given by idmap.
+ * <p>
+ * C uses the address of the name as id: here the id is the uid of the CString
+ * and this table is the way back. Open addressing on int keys, so no boxing.
+ */
+final public class CStringTable {
+
+	private int[] keys = new int[64];
+	private CString[] values = new CString[64];
+	private int size;
+
+	public void put(CString data) {
+		final int uid = data.getUid();
+		int i = slot(uid, keys.length);
+		while (values[i] != null) {
+			if (keys[i] == uid)
+				return;
+			i = (i + 1) & (keys.length - 1);
+		}
+		keys[i] = uid;
+		values[i] = data;
+		if (++size * 2 > keys.length)
+			grow();
+	}
+
+	public CString get(int uid) {
+		for (int i = slot(uid, keys.length); values[i] != null; i = (i + 1) & (keys.length - 1))
+			if (keys[i] == uid)
+				return values[i];
+
+		return null;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private void grow() {
+		final int[] oldKeys = keys;
+		final CString[] oldValues = values;
+		keys = new int[oldKeys.length * 2];
+		values = new CString[oldValues.length * 2];
+		for (int j = 0; j < oldKeys.length; j++)
+			if (oldValues[j] != null) {
+				int i = slot(oldKeys[j], keys.length);
+				while (values[i] != null)
+					i = (i + 1) & (keys.length - 1);
+				keys[i] = oldKeys[j];
+				values[i] = oldValues[j];
+			}
+	}
+
+	private static int slot(int uid, int length) {
+		final int h = uid * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & (length - 1);
+	}
+
+}
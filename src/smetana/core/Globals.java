@@ -45,9 +45,6 @@ import static smetana.core.Macro.ARR_TYPE_GAP;
 import static smetana.core.Macro.ARR_TYPE_NORM;
 import static smetana.core.Macro.ARR_TYPE_TEE;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import com.plantuml.api.cheerpj.WasmLog;
 
 import gen.lib.cdt.dttree__c;
@@ -94,16 +91,115 @@ import h.ST_triangle_t;
 
 final public class Globals {
 
+	// ::revert when __CORE__
+	private static final ThreadLocal<Buffers> recycled = new ThreadLocal<>();
+	// private static Buffers recycled;
+	// ::done
+
 	public static Globals open() {
 		WasmLog.log("Starting smetana instance");
-		return new Globals();
+		final Globals result = new Globals();
+		// ::revert when __CORE__
+		final Buffers buffers = recycled.get();
+		recycled.remove();
+		// final Buffers buffers = recycled;
+		// recycled = null;
+		// ::done
+		if (buffers != null)
+			buffers.restore(result);
+		else
+			result.boxes = ST_boxf.malloc(1000);
+		return result;
 	}
 
-	public static void close() {
+	/**
+	 * Gives the routing buffers of this instance to the next one opened by the
+	 * same thread. The instance must not be used anymore.
+	 */
+	public void close() {
 		WasmLog.log("Ending smetana instance");
+		// ::revert when __CORE__
+		recycled.set(new Buffers(this));
+		// recycled = new Buffers(this);
+		// ::done
+	}
+
+	/**
+	 * The buffers that are static in C and only grow: their content is always
+	 * written before being read, so they can be kept from one layout to the
+	 * next.
+	 */
+	static final class Buffers {
+
+		private final ST_boxf[] boxes;
+		private final CArray<ST_pointf> polypoints;
+		private final int polypointn;
+		private final CArray<ST_Pedge_t> edges;
+		private final int edgen;
+		private final CArray<ST_triangle_t> tris;
+		private final int trin;
+		private final ST_pointnlink_t pnls[];
+		private final ST_pointnlink_t pnlps[];
+		private final int pnln;
+		private final CArray<ST_tna_t> tnas;
+		private final int tnan;
+		private final CArray<ST_pointf> ops_route;
+		private final int opn_route;
+		private final CArray<ST_pointf> ops_shortest;
+		private final int opn_shortest;
+		private final CArray<ST_pointf> ispline;
+		private final int isz;
+		private final int[] Count;
+		private final int C;
+
+		Buffers(Globals zz) {
+			this.boxes = zz.boxes;
+			this.polypoints = zz.polypoints;
+			this.polypointn = zz.polypointn;
+			this.edges = zz.edges;
+			this.edgen = zz.edgen;
+			this.tris = zz.tris;
+			this.trin = zz.trin;
+			this.pnls = zz.pnls;
+			this.pnlps = zz.pnlps;
+			this.pnln = zz.pnln;
+			this.tnas = zz.tnas;
+			this.tnan = zz.tnan;
+			this.ops_route = zz.ops_route;
+			this.opn_route = zz.opn_route;
+			this.ops_shortest = zz.ops_shortest;
+			this.opn_shortest = zz.opn_shortest;
+			this.ispline = zz.ispline;
+			this.isz = zz.isz;
+			this.Count = zz.Count;
+			this.C = zz.C;
+		}
+
+		void restore(Globals zz) {
+			zz.boxes = boxes;
+			zz.polypoints = polypoints;
+			zz.polypointn = polypointn;
+			zz.edges = edges;
+			zz.edgen = edgen;
+			zz.tris = tris;
+			zz.trin = trin;
+			zz.pnls = pnls;
+			zz.pnlps = pnlps;
+			zz.pnln = pnln;
+			zz.tnas = tnas;
+			zz.tnan = tnan;
+			zz.ops_route = ops_route;
+			zz.opn_route = opn_route;
+			zz.ops_shortest = ops_shortest;
+			zz.opn_shortest = opn_shortest;
+			zz.ispline = ispline;
+			zz.isz = isz;
+			zz.Count = Count;
+			zz.C = C;
+		}
 	}
 
-	public final Map<Integer, CString> all = new HashMap<Integer, CString>();
+	public final CStringTable ids = new CStringTable();
 
 	public final ST_dtmethod_s _Dttree = new ST_dtmethod_s();
 	public final ST_dtmethod_s Dttree = _Dttree;
@@ -233,7 +329,7 @@ final public class Globals {
 
 	public int edgen;
 
-	public final ST_boxf[] boxes = ST_boxf.malloc(1000);
+	public ST_boxf[] boxes;
 
 	public int MinQuit;
 
@@ -36,6 +36,9 @@
 
 package smetana.core;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.plantuml.api.cheerpj.WasmLog;
 
 import h.ST_Agedge_s;
@@ -140,7 +143,12 @@ final public class JUtils {
 		return false;
 	}
 
-	public static void qsort(Globals zz, CArrayOfStar array, int nb, CFunction compare) {
+	/**
+	 * Bubble sort, kept for comparators which are not a consistent order. For
+	 * example dotsplines edgecmp truncates port coordinates in portcmp, so 0, 0.6
+	 * and 1.2 are not transitive: any other algorithm may change the layout.
+	 */
+	public static <O> void qsort(Globals zz, CArrayOfStar<O> array, int nb, CFunction compare) {
 		WasmLog.log("bubble sort objects " + nb);
 		try {
 			for (int pass = 0; pass < nb - 1; pass++) {
@@ -159,53 +167,77 @@ final public class JUtils {
 			}
 		} finally {
 			WasmLog.log("sort done");
-			// ::comment when __CORE__
-			for (int i = 0; i < nb - 1; i++) {
-				final __ptr__ element1 = array.plus_(i);
-				final __ptr__ element2 = array.plus_(i + 1);
-				final Integer cmp = (Integer) compare.exe(zz, element1, element2);
-				if (cmp.intValue() > 0)
-					throw new IllegalStateException();
-			}
-			// ::done
+			checkSorted(zz, array, nb, compare);
 		}
 
 	}
 
-	public static void qsortInt(Globals zz, int array[], int nb, CFunction compare) {
-		WasmLog.log("bubble sort int[] " + nb);
+	/**
+	 * Stable merge sort with n.log(n) comparisons. It gives the same result as
+	 * qsort only if compare is a consistent order (transitive, and antisymmetric
+	 * on its sign), like mincross nodeposcmpf or dotsplines edgelblcmpfn.
+	 */
+	public static <O> void mergesort(Globals zz, CArrayOfStar<O> array, int nb, CFunction compare) {
+		WasmLog.log("merge sort objects " + nb);
 		try {
-			for (int pass = 0; pass < nb - 1; pass++) {
-				boolean change = false;
-				for (int i = 0; i < nb - 1; i++) {
-					final Integer element1 = array[i];
-					final Integer element2 = array[i + 1];
-					final Integer cmp = (Integer) compare.exe(zz, element1, element2);
-					if (cmp.intValue() > 0) {
-						change = true;
-						final int tmp = array[i];
-						array[i] = array[i + 1];
-						array[i + 1] = tmp;
-					}
-				}
-				if (change == false)
-					return;
-			}
+			final List<O> elements = new ArrayList<>(nb);
+			for (int i = 0; i < nb; i++)
+				elements.add(array.get_(i));
+
+			final CArrayOfStar<O> left = CArrayOfStar.ALLOC(1, null);
+			final CArrayOfStar<O> right = CArrayOfStar.ALLOC(1, null);
+			mergeSort(zz, elements, new ArrayList<>(elements), 0, nb, compare, left, right);
+
+			for (int i = 0; i < nb; i++)
+				array.set_(i, elements.get(i));
 		} finally {
 			WasmLog.log("sort done");
-			// ::comment when __CORE__
-			for (int i = 0; i < nb - 1; i++) {
-				final Integer element1 = array[i];
-				final Integer element2 = array[i + 1];
-				final Integer cmp = (Integer) compare.exe(zz, element1, element2);
-				if (cmp.intValue() > 0)
-					throw new IllegalStateException();
-			}
-			// ::done
+			checkSorted(zz, array, nb, compare);
 		}
 
 	}
 
+	private static <O> void checkSorted(Globals zz, CArrayOfStar<O> array, int nb, CFunction compare) {
+		// ::comment when __CORE__
+		for (int i = 0; i < nb - 1; i++) {
+			final __ptr__ element1 = array.plus_(i);
+			final __ptr__ element2 = array.plus_(i + 1);
+			final Integer cmp = (Integer) compare.exe(zz, element1, element2);
+			if (cmp.intValue() > 0)
+				throw new IllegalStateException();
+		}
+		// ::done
+	}
+
+	private static <O> void mergeSort(Globals zz, List<O> elements, List<O> tmp, int from, int to, CFunction compare,
+			CArrayOfStar<O> left, CArrayOfStar<O> right) {
+		if (to - from < 2)
+			return;
+
+		final int middle = (from + to) >>> 1;
+		mergeSort(zz, elements, tmp, from, middle, compare, left, right);
+		mergeSort(zz, elements, tmp, middle, to, compare, left, right);
+		if (compare(zz, compare, left, right, elements.get(middle - 1), elements.get(middle)) <= 0)
+			return;
+
+		for (int k = from; k < to; k++)
+			tmp.set(k, elements.get(k));
+		int i = from;
+		int j = middle;
+		for (int k = from; k < to; k++)
+			if (j >= to || (i < middle && compare(zz, compare, left, right, tmp.get(i), tmp.get(j)) <= 0))
+				elements.set(k, tmp.get(i++));
+			else
+				elements.set(k, tmp.get(j++));
+	}
+
+	private static <O> int compare(Globals zz, CFunction compare, CArrayOfStar<O> left, CArrayOfStar<O> right,
+			O element1, O element2) {
+		left.set_(0, element1);
+		right.set_(0, element2);
+		return (Integer) compare.exe(zz, left, right);
+	}
+
 	static public int setjmp(jmp_buf jmp) {
 		// if (jmp.hasBeenCalled()) {
 		// throw new UnsupportedOperationException();
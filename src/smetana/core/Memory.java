@@ -35,8 +35,6 @@
  */
 package smetana.core;
 
-import com.plantuml.api.cheerpj.WasmLog;
-
 final public class Memory {
 
 	public static void free(Object arg) {
@@ -46,21 +44,19 @@ final public class Memory {
 		if (data == null)
 			return 0;
 
-		int result = data.getUid();
-		zz.all.put(result, data);
-		WasmLog.log("hashsize = " + zz.all.size());
-		return result;
+		zz.ids.put(data);
+		return data.getUid();
 	}
 
 	public static CString fromIdentityHashCode(Globals zz, int hash) {
 		if (hash % 2 != 0)
 			throw new IllegalArgumentException();
 
-		Object result = zz.all.get(hash);
+		final CString result = zz.ids.get(hash);
 		if (result == null)
 			throw new UnsupportedOperationException();
 
-		return (CString) result;
+		return result;
 	}
 
 }
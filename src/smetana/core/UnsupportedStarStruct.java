@@ -36,25 +36,10 @@
 
 package smetana.core;
 
-import java.util.concurrent.atomic.AtomicInteger;
-
 public class UnsupportedStarStruct implements __struct__, __ptr__ {
 
-	// ::revert when __CORE__
-	public final static AtomicInteger CPT = new AtomicInteger();
-	// public static int CPT;
-	// ::done
-	public final int UID;
-
 	public static UnsupportedStarStruct SPY_ME;
 
-	public UnsupportedStarStruct() {
-		// ::revert when __CORE__
-		this.UID = CPT.incrementAndGet();
-		// this.UID = CPT++;
-		// ::done
-	}
-
 	final public __ptr__ unsupported() {
 		throw new UnsupportedOperationException(getClass().toString());
 	}
@@ -64,7 +49,7 @@ public class UnsupportedStarStruct implements __struct__, __ptr__ {
 	}
 
 	public __ptr__ castTo(Class dest) {
-		System.err.println("I am " + toString() + " " + UID);
+		System.err.println("I am " + toString());
 		throw new UnsupportedOperationException(dest + " " + getClass().toString());
 	}
 
@@ -0,0 +1,122 @@
+package net.sourceforge.plantuml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import net.sourceforge.plantuml.activitydiagram3.ActivityDiagram3;
+import net.sourceforge.plantuml.api.PSystemFactory;
+import net.sourceforge.plantuml.core.Diagram;
+import net.sourceforge.plantuml.core.DiagramType;
+import net.sourceforge.plantuml.core.UmlSource;
+import net.sourceforge.plantuml.error.PSystemError;
+import net.sourceforge.plantuml.sequencediagram.SequenceDiagram;
+import net.sourceforge.plantuml.sequencediagram.SequenceDiagramFactory;
+import net.sourceforge.plantuml.text.StringLocated;
+
+class PSystemBuilderTest {
+
+	private static final String SEQUENCE = "@startuml\nAlice -> Bob\n@enduml\n";
+
+	private static final String ACTIVITY = "@startuml\nstart\n:hello;\nstop\n@enduml\n";
+
+	private static Diagram create(PSystemBuilder builder, String source) {
+		final List<StringLocated> data = new SourceStringReader(source).getBlocks().get(0).getData();
+		return builder.createPSystem(data, data, Collections.<String, String>emptyMap());
+	}
+
+	// Same factories, hidden behind a plain PSystemFactory so that none is
+	// pre-checked
+	private static List<PSystemFactory> withoutPreCheck() {
+		final List<PSystemFactory> result = new ArrayList<>();
+		for (final PSystemFactory factory : PSystemBuilder.getDefaultFactories())
+			result.add(new PSystemFactory() {
+				public Diagram createSystem(UmlSource source, Map<String, String> skinParam) {
+					return factory.createSystem(source, skinParam);
+				}
+
+				public DiagramType getDiagramType() {
+					return factory.getDiagramType();
+				}
+			});
+		return result;
+	}
+
+	@Test
+	void skipped_factory_still_parses_when_no_other_does() {
+		// A pre-check wrongly rejecting the source
+		final PSystemFactory wrong = new SequenceDiagramFactory() {
+			@Override
+			public boolean isSyntaxPossible(UmlSource source, int maxSteps) {
+				return false;
+			}
+		};
+		final PSystemBuilder builder = new PSystemBuilder(Collections.singletonList(wrong));
+
+		assertThat(create(builder, SEQUENCE)).isInstanceOf(SequenceDiagram.class);
+		assertThat(builder.getNbAttempts()).isEqualTo(1);
+		assertThat(builder.getNbSkipped()).isEqualTo(0);
+	}
+
+	@Test
+	void same_diagram_as_the_full_cascade() {
+		for (String source : new String[] { SEQUENCE, ACTIVITY, "@startuml\nclass A\nA <|-- B\n@enduml\n",
+				"@startuml\nstate A\n[*] --> A\n@enduml\n" }) {
+			final Diagram expected = create(new PSystemBuilder(withoutPreCheck()), source);
+			assertThat(expected).isNotInstanceOf(PSystemError.class);
+			assertThat(create(new PSystemBuilder(), source)).isInstanceOf(expected.getClass());
+		}
+	}
+
+	@Test
+	void same_error_as_the_full_cascade() {
+		for (String source : new String[] { "@startuml\nfoo\n@enduml\n", "@startuml\nclass A\nA -> : x\nfoo bar\n@enduml\n",
+				"@startuml\nAlice -> Bob\nclass {\n@enduml\n" }) {
+			final PSystemError expected = (PSystemError) create(new PSystemBuilder(withoutPreCheck()), source);
+			final Diagram actual = create(new PSystemBuilder(), source);
+
+			assertThat(actual).isInstanceOf(expected.getClass());
+			final PSystemError error = (PSystemError) actual;
+			assertThat(error.getErrorsUml()).isEqualTo(expected.getErrorsUml());
+			assertThat(error.getFirstError().getError()).isEqualTo(expected.getFirstError().getError());
+			assertThat(error.getLineLocation().getPosition()).isEqualTo(expected.getLineLocation().getPosition());
+		}
+	}
+
+	@Test
+	void attempts_are_counted() {
+		int umlFactories = 0;
+		for (PSystemFactory factory : PSystemBuilder.getDefaultFactories())
+			if (factory.getDiagramType() == DiagramType.UML)
+				umlFactories++;
+
+		// Welcome and colors factories, then the sequence diagram one
+		PSystemBuilder builder = new PSystemBuilder();
+		create(builder, SEQUENCE);
+		assertThat(builder.getNbAttempts()).isEqualTo(3);
+		assertThat(builder.getNbSkipped()).isEqualTo(0);
+
+		// Sequence, class, activity, description and state factories are skipped
+		builder = new PSystemBuilder();
+		assertThat(create(builder, ACTIVITY)).isInstanceOf(ActivityDiagram3.class);
+		assertThat(builder.getNbAttempts()).isEqualTo(3);
+		assertThat(builder.getNbSkipped()).isEqualTo(5);
+
+		// Every factory runs before reporting an error
+		builder = new PSystemBuilder();
+		create(builder, "@startuml\nfoo\n@enduml\n");
+		assertThat(builder.getNbAttempts()).isEqualTo(umlFactories);
+		assertThat(builder.getNbSkipped()).isEqualTo(0);
+
+		final BlockUml block = new SourceStringReader(ACTIVITY).getBlocks().get(0);
+		assertThat(block.getNbFactoryAttempts()).isEqualTo(0);
+		block.getDiagram();
+		assertThat(block.getNbFactoryAttempts()).isEqualTo(3);
+	}
+
+}
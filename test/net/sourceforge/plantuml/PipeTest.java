@@ -2,12 +2,16 @@ package net.sourceforge.plantuml;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
+import java.io.SequenceInputStream;
 import java.nio.charset.Charset;
 import java.util.LinkedList;
 import java.util.List;
@@ -180,6 +184,59 @@ class PipeTest {
 		}
 	}
 
+	@ParameterizedTest
+	@MethodSource("managePipeTestCases")
+	void should_managePipe_with_several_threads_write_the_same_output(TestCase testCase) throws IOException {
+		final String input = testCase.getInput() + "\n" + testCase.getInput() + "\n@startuml\nb->a\n@enduml\n";
+		final ErrorStatus serialStatus = ErrorStatus.init();
+		final ByteArrayOutputStream serial = new ByteArrayOutputStream();
+		new Pipe(new Option(testCase.getOptions().split(" ")), new PrintStream(serial),
+				new ByteArrayInputStream(input.getBytes(UTF_8)), UTF_8.name()).managePipe(serialStatus);
+
+		option = new Option((testCase.getOptions() + " -nbthread 3").trim().split(" "));
+		pipe = new Pipe(option, ps, new ByteArrayInputStream(input.getBytes(UTF_8)), UTF_8.name());
+		pipe.managePipe(errorStatus);
+
+		try (AutoCloseableSoftAssertions softly = new AutoCloseableSoftAssertions()) {
+			softly.assertThat(errorStatus.hasError()).isEqualTo(serialStatus.hasError());
+			softly.assertThat(errorStatus.isNoData()).isEqualTo(serialStatus.isNoData());
+			softly.assertThat(baos.toString()).isEqualTo(serial.toString());
+		}
+	}
+
+	@Test
+	void should_managePipe_with_several_threads_stop_the_writer_when_reading_fails()
+			throws IOException, InterruptedException {
+		final byte[] diagram = "@startuml\na->b\n@enduml\n".getBytes(UTF_8);
+		final InputStream failing = new SequenceInputStream(new ByteArrayInputStream(diagram), new InputStream() {
+			@Override
+			public int read() throws IOException {
+				throw new IOException("broken input");
+			}
+		});
+		option = new Option("-nbthread", "2");
+		pipe = new Pipe(option, ps, failing, UTF_8.name());
+
+		assertThatThrownBy(() -> pipe.managePipe(errorStatus)).isInstanceOf(IOException.class)
+				.hasMessage("broken input");
+		assertThat(Thread.getAllStackTraces().keySet()).noneMatch(t -> t.getName().equals("pipe-writer"));
+	}
+
+	@Test
+	void should_managePipe_with_several_threads_fail_when_output_is_closed() throws IOException, InterruptedException {
+		final String input = "@startuml\na->b\n@enduml\n@startuml\nb->a\n@enduml\n";
+		final PrintStream closed = new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				throw new IOException("closed");
+			}
+		});
+		option = new Option("-nbthread", "2");
+		pipe = new Pipe(option, closed, new ByteArrayInputStream(input.getBytes(UTF_8)), UTF_8.name());
+
+		assertThatThrownBy(() -> pipe.managePipe(errorStatus)).isInstanceOf(IOException.class);
+	}
+
 	@Test
 	void should_readFirstDiagram_return_null_for_empty_input() throws IOException {
 		pipe = new Pipe(option, null, new ByteArrayInputStream(new byte[0]), UTF_8.name());
@@ -0,0 +1,122 @@
+package net.sourceforge.plantuml;
+
+import static net.sourceforge.plantuml.test.TestUtils.writeUtf8File;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.sourceforge.plantuml.file.SuggestedFile;
+import net.sourceforge.plantuml.security.SFile;
+
+class RenderCacheTest {
+
+	@TempDir
+	Path tempDir;
+
+	private List<GeneratedImage> render(Path source, RenderCache cache) throws IOException {
+		final SourceFileReader reader = new SourceFileReader(source.toFile(), tempDir.resolve("out").toFile(),
+				new FileFormatOption(FileFormat.SVG));
+		reader.setRenderCache(cache);
+		return reader.getGeneratedImages();
+	}
+
+	private RenderCache newCache(long maxSize) {
+		return new RenderCache(SFile.fromFile(tempDir.resolve("cache").toFile()), maxSize);
+	}
+
+	@Test
+	void restores_an_unchanged_diagram_from_the_cache() throws IOException {
+		final Path source = tempDir.resolve("a.puml");
+		writeUtf8File(source, "@startuml\nAlice -> Bob\n@enduml\n");
+
+		final RenderCache first = newCache(1000000);
+		final List<GeneratedImage> rendered = render(source, first);
+		final byte[] svg = Files.readAllBytes(rendered.get(0).getPngFile().toPath());
+		assertThat(first.getMisses()).isEqualTo(1);
+		assertThat(first.getHits()).isEqualTo(0);
+
+		Files.delete(rendered.get(0).getPngFile().toPath());
+		final RenderCache second = newCache(1000000);
+		final List<GeneratedImage> restored = render(source, second);
+		assertThat(second.getHits()).isEqualTo(1);
+		assertThat(second.getMisses()).isEqualTo(0);
+		assertThat(restored.get(0).getPngFile()).isEqualTo(rendered.get(0).getPngFile());
+		assertThat(Files.readAllBytes(restored.get(0).getPngFile().toPath())).isEqualTo(svg);
+
+		writeUtf8File(source, "@startuml\nAlice -> Carol\n@enduml\n");
+		final RenderCache third = newCache(1000000);
+		render(source, third);
+		assertThat(third.getMisses()).isEqualTo(1);
+	}
+
+	@Test
+	void renders_again_when_an_image_file_changes() throws IOException {
+		final Path source = tempDir.resolve("img.puml");
+		writeUtf8File(source, "@startuml\nAlice -> Bob : <img:pic.png>\n@enduml\n");
+		final Path image = tempDir.resolve("pic.png");
+		ImageIO.write(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), "png", image.toFile());
+
+		render(source, newCache(1000000));
+		final RenderCache unchanged = newCache(1000000);
+		render(source, unchanged);
+		assertThat(unchanged.getHits()).isEqualTo(1);
+
+		ImageIO.write(new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB), "png", image.toFile());
+		final RenderCache changed = newCache(1000000);
+		render(source, changed);
+		assertThat(changed.getHits()).isEqualTo(0);
+		assertThat(changed.getMisses()).isEqualTo(1);
+	}
+
+	@Test
+	void does_not_cache_remote_images() throws IOException {
+		final Path source = tempDir.resolve("remote.puml");
+		writeUtf8File(source, "@startuml\nAlice -> Bob : <img:https://localhost:1/pic.png>\n@enduml\n");
+		final SourceFileReader reader = new SourceFileReader(source.toFile(), tempDir.toFile());
+
+		assertThat(RenderCache.getKey(reader.getBlocks().get(0), new FileFormatOption(FileFormat.SVG))).isNull();
+	}
+
+	@Test
+	void depends_on_the_graphviz_version() throws IOException {
+		final Path source = tempDir.resolve("dot.puml");
+		writeUtf8File(source, "@startuml\nclass A\n@enduml\n");
+		final BlockUml block = new SourceFileReader(source.toFile(), tempDir.toFile()).getBlocks().get(0);
+		final FileFormatOption svg = new FileFormatOption(FileFormat.SVG);
+
+		final String key = RenderCache.getKey(block, svg, "dot - graphviz version 2.43.0 (0)");
+		assertThat(RenderCache.getKey(block, svg, "dot - graphviz version 2.43.0 (0)")).isEqualTo(key);
+		assertThat(RenderCache.getKey(block, svg, "dot - graphviz version 9.0.0 (20230911.1827)")).isNotEqualTo(key);
+	}
+
+	@Test
+	void evicts_the_least_recently_used_entries() throws IOException {
+		final RenderCache cache = newCache(1500);
+
+		store(cache, "old");
+		tempDir.resolve("cache").resolve("old").resolve("index.txt").toFile().setLastModified(1000);
+		store(cache, "recent");
+
+		assertThat(cache.contains("old")).isFalse();
+		assertThat(cache.contains("recent")).isTrue();
+	}
+
+	private void store(RenderCache cache, String key) throws IOException {
+		final SuggestedFile suggested = SuggestedFile.fromOutputFile(tempDir.resolve(key).toFile(), FileFormat.SVG);
+		final SFile file = suggested.getFile(0);
+		Files.write(file.conv().toPath(), new byte[1000]);
+		cache.store(key, "(test)", suggested, Collections.singletonList(new FileImageData(file, null)));
+		assertThat(cache.contains(key)).isTrue();
+	}
+
+}
@@ -0,0 +1,80 @@
+package net.sourceforge.plantuml;
+
+import static net.sourceforge.plantuml.test.TestUtils.writeUtf8File;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RunWatchTest {
+
+	@TempDir
+	Path dir;
+
+	private Thread startWatch() throws Exception {
+		final Option option = new Option("-tsvg", "-watch", dir.toString());
+		final Thread thread = new Thread(new Runnable() {
+			public void run() {
+				try {
+					Run.watch(option, ErrorStatus.init());
+				} catch (InterruptedException e) {
+					// Stopped by the test
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+			}
+		}, "watch");
+		thread.setDaemon(true);
+		thread.start();
+		return thread;
+	}
+
+	private static void waitFor(Path... files) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + 20000;
+		for (Path f : files)
+			while (Files.exists(f) == false && System.currentTimeMillis() < deadline)
+				Thread.sleep(50);
+	}
+
+	@Test
+	void touching_an_included_file_renders_only_its_dependents() throws Exception {
+		writeUtf8File(dir.resolve("common.iuml"), "Alice -> Bob : common\n");
+		writeUtf8File(dir.resolve("other.iuml"), "Alice -> Bob : other\n");
+		writeUtf8File(dir.resolve("a.puml"), "@startuml\n!include common.iuml\n@enduml\n");
+		writeUtf8File(dir.resolve("b.puml"), "@startuml\n!include common.iuml\nBob -> Carol\n@enduml\n");
+		writeUtf8File(dir.resolve("c.puml"), "@startuml\n!include other.iuml\n@enduml\n");
+		final Path a = dir.resolve("a.svg");
+		final Path b = dir.resolve("b.svg");
+		final Path c = dir.resolve("c.svg");
+
+		final Thread watch = startWatch();
+		try {
+			waitFor(a, b, c);
+			assertThat(Files.exists(a) && Files.exists(b) && Files.exists(c)).isTrue();
+			Files.delete(a);
+			Files.delete(b);
+			Files.delete(c);
+
+			// Editor files alone render nothing
+			writeUtf8File(dir.resolve(".other.iuml.swp"), "swap");
+			writeUtf8File(dir.resolve("other.iuml~"), "backup");
+
+			writeUtf8File(dir.resolve("common.iuml"), "Alice -> Bob : changed\n");
+			waitFor(a, b);
+			assertThat(Files.exists(a)).isTrue();
+			assertThat(Files.exists(b)).isTrue();
+			assertThat(new String(Files.readAllBytes(a), "UTF-8")).contains("changed");
+
+			// Leave time for a wrong rendering of c.puml
+			Thread.sleep(1500);
+			assertThat(Files.exists(c)).isFalse();
+		} finally {
+			watch.interrupt();
+			watch.join(10000);
+		}
+	}
+
+}
@@ -0,0 +1,85 @@
+package net.sourceforge.plantuml;
+
+import static net.sourceforge.plantuml.test.TestUtils.writeUtf8File;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SourceFileReaderParallelTest {
+
+	private static final String SOURCE = "" //
+			+ "@startuml\n" //
+			+ "Alice -> Bob : one\n" //
+			+ "newpage\n" //
+			+ "Bob -> Alice : two\n" //
+			+ "newpage\n" //
+			+ "Alice -> Alice : three\n" //
+			+ "@enduml\n" //
+			+ "@startuml\n" //
+			+ "!pragma layout smetana\n" //
+			+ "class A\n" //
+			+ "A --> B\n" //
+			+ "@enduml\n" //
+			+ "@startmindmap\n" //
+			+ "* root\n" //
+			+ "** child\n" //
+			+ "@endmindmap\n" //
+			+ "@startuml\n" //
+			+ "Bob -> Carol\n" //
+			+ "@enduml\n" //
+			+ "@startuml\n" //
+			+ "Carol -> Dave\n" //
+			+ "newpage\n" //
+			+ "Dave -> Carol\n" //
+			+ "@enduml\n";
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void parallel_export_writes_the_same_files_as_sequential_export() throws IOException {
+		final Path source = tempDir.resolve("diagrams.puml");
+		writeUtf8File(source, SOURCE);
+
+		final Path sequentialDir = tempDir.resolve("sequential");
+		final List<String> sequential = names(newReader(source, sequentialDir).getGeneratedImages());
+
+		final Path parallelDir = tempDir.resolve("parallel");
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		final List<String> parallel;
+		try {
+			parallel = names(newReader(source, parallelDir).getGeneratedImages(pool, null));
+		} finally {
+			pool.shutdown();
+		}
+
+		assertThat(sequential).hasSize(8);
+		assertThat(parallel).isEqualTo(sequential);
+		for (String name : sequential)
+			assertThat(Files.readAllBytes(parallelDir.resolve(name)))
+					.isEqualTo(Files.readAllBytes(sequentialDir.resolve(name)));
+	}
+
+	private static SourceFileReader newReader(Path source, Path outputDir) throws IOException {
+		return new SourceFileReader(source.toFile(), outputDir.toFile(), new FileFormatOption(FileFormat.SVG));
+	}
+
+	private static List<String> names(List<GeneratedImage> images) {
+		final List<String> result = new ArrayList<>();
+		for (GeneratedImage image : images) {
+			final File file = image.getPngFile();
+			result.add(file.getName());
+		}
+		return result;
+	}
+
+}
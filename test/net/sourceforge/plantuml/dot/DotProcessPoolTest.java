@@ -0,0 +1,126 @@
+package net.sourceforge.plantuml.dot;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import net.sourceforge.plantuml.OptionFlags;
+
+/**
+ * Runs the pool against {@link FakeDot}, started as a separate java process
+ */
+class DotProcessPoolTest {
+
+	private DotProcessPool pool;
+
+	private static String[] fakeDot(String... args) {
+		final String[] result = new String[4 + args.length];
+		result[0] = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+		result[1] = "-cp";
+		result[2] = System.getProperty("java.class.path");
+		result[3] = FakeDot.class.getName();
+		System.arraycopy(args, 0, result, 4, args.length);
+		return result;
+	}
+
+	private static String svg(DotProcessPool.DotResult result) throws IOException {
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		result.writeTo(baos);
+		return new String(baos.toByteArray(), UTF_8);
+	}
+
+	@AfterEach
+	void shutdown() {
+		if (pool != null)
+			pool.shutdown();
+	}
+
+	@Test
+	void renders_successive_graphs_with_the_same_process() throws IOException {
+		pool = new DotProcessPool(1, 500);
+
+		for (int i = 0; i < 3; i++) {
+			final DotProcessPool.DotResult result = pool.run(fakeDot(), ("digraph g" + i + " { }").getBytes(UTF_8));
+			assertThat(svg(result)).contains("digraph g" + i + " ").doesNotContain("sentinel").endsWith("</svg>\n");
+			assertThat(result.getError()).isEmpty();
+		}
+		assertThat(pool.getStatistics()).contains("started=1 ", "jobs=3 ", "failures=0");
+	}
+
+	@Test
+	void keeps_the_error_stream_with_its_own_graph() {
+		pool = new DotProcessPool(1, 500);
+
+		final DotProcessPool.DotResult first = pool.run(fakeDot(),
+				"digraph g1 { warn=\"before svg\" late=\"after svg\" }".getBytes(UTF_8));
+		final DotProcessPool.DotResult second = pool.run(fakeDot(), "digraph g2 { }".getBytes(UTF_8));
+
+		assertThat(first.getError()).isEqualTo("Warning: before svg\nWarning: after svg\n");
+		assertThat(second.getError()).isEmpty();
+	}
+
+	@Test
+	void starts_a_new_process_after_a_crash() throws IOException {
+		pool = new DotProcessPool(1, 500);
+
+		assertThat(pool.run(fakeDot(), "digraph crash { }".getBytes(UTF_8))).isNull();
+		final DotProcessPool.DotResult result = pool.run(fakeDot(), "digraph g { }".getBytes(UTF_8));
+
+		assertThat(svg(result)).contains("digraph g ");
+		assertThat(pool.getStatistics()).contains("started=2 ", "failures=1");
+	}
+
+	@Test
+	void starts_a_new_process_after_a_timeout() throws IOException {
+		pool = new DotProcessPool(1, 500);
+		final long timeoutMs = OptionFlags.getInstance().getTimeoutMs();
+		OptionFlags.getInstance().setTimeoutMs(2000);
+		try {
+			assertThat(pool.run(fakeDot(), "digraph hang { }".getBytes(UTF_8))).isNull();
+		} finally {
+			OptionFlags.getInstance().setTimeoutMs(timeoutMs);
+		}
+		final DotProcessPool.DotResult result = pool.run(fakeDot(), "digraph g { }".getBytes(UTF_8));
+
+		assertThat(svg(result)).contains("digraph g ");
+		assertThat(pool.getStatistics()).contains("started=2 ", "failures=1");
+	}
+
+	@Test
+	void recycles_a_process_after_max_jobs() {
+		// The health check is the first job of each process
+		pool = new DotProcessPool(1, 3);
+
+		for (int i = 0; i < 5; i++)
+			assertThat(pool.run(fakeDot(), "digraph g { }".getBytes(UTF_8))).isNotNull();
+
+		assertThat(pool.getStatistics()).contains("started=3 ", "jobs=5 ");
+	}
+
+	@Test
+	void health_check_disables_the_pool_for_a_dot_rendering_a_single_graph() {
+		pool = new DotProcessPool(1, 500);
+
+		assertThat(pool.run(fakeDot("single"), "digraph g { }".getBytes(UTF_8))).isNull();
+		assertThat(pool.run(fakeDot("single"), "digraph g { }".getBytes(UTF_8))).isNull();
+
+		assertThat(pool.getStatistics()).contains("started=1 ", "jobs=0 ");
+	}
+
+	@Test
+	void accepts_only_single_svg_output() {
+		pool = new DotProcessPool(1, 500);
+
+		assertThat(pool.accepts(Arrays.asList("svg"))).isTrue();
+		assertThat(pool.accepts(Arrays.asList("png"))).isFalse();
+		assertThat(new DotProcessPool(0, 500).accepts(Arrays.asList("svg"))).isFalse();
+	}
+
+}
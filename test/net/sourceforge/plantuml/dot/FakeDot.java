@@ -0,0 +1,68 @@
+package net.sourceforge.plantuml.dot;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stands for <code>dot -Tsvg</code> in DotProcessPoolTest: reads graphs one
+ * after another on stdin and writes a small svg for each of them.
+ * <p>
+ * <code>warn="..."</code> is written on stderr before the svg,
+ * <code>late="..."</code> a bit after it, an unknown <code>arrowhead</code> is
+ * reported twice like dot does, and <code>crash</code> exits. With the
+ * <code>single</code> argument, only the first graph is rendered.
+ */
+public class FakeDot {
+
+	private static final Pattern WARN = Pattern.compile("warn=\"([^\"]*)\"");
+	private static final Pattern LATE = Pattern.compile("late=\"([^\"]*)\"");
+	private static final Pattern ARROW = Pattern.compile("arrowhead=(\\w+)");
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		final boolean single = args.length > 0 && args[0].equals("single");
+		final Reader reader = new InputStreamReader(System.in, UTF_8);
+		final PrintStream out = new PrintStream(System.out, true, "UTF-8");
+		final StringBuilder graph = new StringBuilder();
+		int depth = 0;
+		int read;
+		while ((read = reader.read()) != -1) {
+			graph.append((char) read);
+			if (read == '{')
+				depth++;
+			if (read == '}' && --depth == 0) {
+				render(graph.toString(), out);
+				graph.setLength(0);
+				if (single)
+					return;
+			}
+		}
+	}
+
+	private static void render(String graph, PrintStream out) throws InterruptedException {
+		if (graph.contains("crash"))
+			System.exit(1);
+		if (graph.contains("hang"))
+			Thread.sleep(60000);
+
+		for (Matcher m = WARN.matcher(graph); m.find();)
+			System.err.println("Warning: " + m.group(1));
+		for (Matcher m = ARROW.matcher(graph); m.find();)
+			for (int i = 0; i < 2; i++)
+				System.err.println("Warning: Arrow type \"" + m.group(1) + "\" unknown - ignoring");
+
+		out.print("<svg>\n<!-- " + graph.trim() + " -->\n</svg>\n");
+		out.flush();
+
+		for (Matcher m = LATE.matcher(graph); m.find();) {
+			Thread.sleep(100);
+			System.err.println("Warning: " + m.group(1));
+		}
+	}
+
+}
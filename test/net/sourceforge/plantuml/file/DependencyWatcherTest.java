@@ -0,0 +1,67 @@
+package net.sourceforge.plantuml.file;
+
+import static net.sourceforge.plantuml.test.TestUtils.writeUtf8File;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DependencyWatcherTest {
+
+	private static File file(String name) {
+		return DependencyWatcher.normalize(new File(name));
+	}
+
+	@Test
+	void test_reverse_dependencies() throws IOException {
+		try (DependencyWatcher watcher = new DependencyWatcher(10)) {
+			watcher.setDependencies(file("a.puml"), Arrays.asList(file("common.iuml"), file("theme.puml")));
+			watcher.setDependencies(file("b.puml"), Collections.singletonList(file("common.iuml")));
+
+			assertThat(watcher.getDependents(file("common.iuml"))).containsOnly(file("a.puml"), file("b.puml"));
+			assertThat(watcher.getDependents(file("theme.puml"))).containsOnly(file("a.puml"));
+			assertThat(watcher.getDependents(file("a.puml"))).containsOnly(file("a.puml"));
+			assertThat(watcher.getDependents(file("other.puml"))).isEmpty();
+
+			// a.puml does not use the theme anymore
+			watcher.setDependencies(file("a.puml"), Collections.singletonList(file("common.iuml")));
+			assertThat(watcher.getDependents(file("theme.puml"))).isEmpty();
+
+			watcher.remove(file("b.puml"));
+			assertThat(watcher.isDiagram(file("b.puml"))).isFalse();
+			assertThat(watcher.getDependents(file("common.iuml"))).containsOnly(file("a.puml"));
+		}
+	}
+
+	@Test
+	void test_editor_files_are_ignored(@TempDir Path dir) throws Exception {
+		final File diagram = file(dir.resolve("a.puml").toString());
+		final File common = file(dir.resolve("common.iuml").toString());
+		writeUtf8File(diagram.toPath(), "@startuml\n!include common.iuml\n@enduml\n");
+		writeUtf8File(common.toPath(), "Alice -> Bob\n");
+
+		try (DependencyWatcher watcher = new DependencyWatcher(10)) {
+			watcher.setDependencies(diagram, Collections.singletonList(common));
+
+			writeUtf8File(dir.resolve(".common.iuml.swp"), "swap");
+			writeUtf8File(dir.resolve("4913"), "");
+			writeUtf8File(dir.resolve("common.iuml~"), "backup");
+			writeUtf8File(dir.resolve("#a.puml#"), "autosave");
+			writeUtf8File(dir.resolve(".#a.puml"), "lock");
+			writeUtf8File(common.toPath(), "Alice -> Carol\n");
+
+			assertThat(watcher.waitForChanges()).containsExactly(common);
+
+			assertThat(watcher.isRelevant(file(dir.resolve("b.puml").toString()))).isTrue();
+			assertThat(watcher.isRelevant(file(dir.resolve("other.iuml").toString()))).isTrue();
+			assertThat(watcher.isRelevant(file(dir.resolve("a.puml.tmp").toString()))).isFalse();
+		}
+	}
+
+}
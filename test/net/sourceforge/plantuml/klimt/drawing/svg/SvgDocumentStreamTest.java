@@ -0,0 +1,59 @@
+package net.sourceforge.plantuml.klimt.drawing.svg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+class SvgDocumentStreamTest {
+
+	private static final String[] TEXTS = { "", "Alice", "a & b < c > d", "\"quoted\" 'single'", "tab\there",
+			"line1\nline2\r\n", "café € 😀", "]]>", "x]]>é]]>", "a--b-", "\u0001\u007f\u0085" };
+
+	private static String write(SvgDocument document, String text) throws Exception {
+		final SvgElement root = new SvgElement("svg");
+		root.setAttribute("xmlns", "http://www.w3.org/2000/svg");
+		root.setAttribute("xmlns:xlink", "http://www.w3.org/1999/xlink");
+		root.setAttribute("viewBox", "0 0 10 10");
+
+		final SvgElement style = new SvgElement("style");
+		style.setAttribute("type", "text/css");
+		style.setCData(text);
+		document.addDefs(style);
+
+		final SvgElement link = new SvgElement("a");
+		link.setAttribute("xlink:title", text);
+		document.openGroup(link);
+		final SvgElement elt = new SvgElement("text");
+		elt.setAttribute("x", "1");
+		elt.setTextContent(text);
+		document.add(elt);
+		document.add(SvgElement.comment(text));
+		document.closeGroup();
+
+		document.openGroup(new SvgElement("g"));
+		document.closeGroup();
+
+		final SvgElement background = new SvgElement("rect");
+		background.setAttribute("width", "10");
+
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		document.write(baos, root, background);
+		return new String(baos.toByteArray(), "US-ASCII");
+	}
+
+	@Test
+	void test_same_output_as_dom() throws Exception {
+		for (String text : TEXTS)
+			assertThat(write(new SvgDocumentStream(), text)).isEqualTo(write(new SvgDocumentDom(), text));
+	}
+
+	@Test
+	void test_empty_group_is_dropped() throws Exception {
+		final String svg = write(new SvgDocumentStream(), "");
+		assertThat(svg).startsWith("<?xml version=\"1.0\" encoding=\"us-ascii\" standalone=\"no\"?><svg xmlns=");
+		assertThat(svg).contains("<g><rect width=\"10\"/><a xlink:title=\"\"><text x=\"1\"/><!----></a></g>");
+	}
+
+}
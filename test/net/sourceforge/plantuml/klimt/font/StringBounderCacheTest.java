@@ -0,0 +1,62 @@
+package net.sourceforge.plantuml.klimt.font;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Font;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import net.sourceforge.plantuml.klimt.geom.XDimension2D;
+
+class StringBounderCacheTest {
+
+	private static final Font FONT = new Font("SansSerif", Font.PLAIN, 12);
+
+	@Test
+	void test_measure_once() {
+		final StringBounderCache cache = new StringBounderCache(100);
+		final AtomicInteger calls = new AtomicInteger();
+		for (int i = 0; i < 5; i++) {
+			final XDimension2D dim = cache.getDimension(FONT, "Alice", () -> {
+				calls.incrementAndGet();
+				return new XDimension2D(30, 14);
+			});
+			assertThat(dim.getWidth()).isEqualTo(30.0);
+		}
+		assertThat(calls.get()).isEqualTo(1);
+		assertThat(cache.getMisses()).isEqualTo(1L);
+		assertThat(cache.getHits()).isEqualTo(4L);
+	}
+
+	@Test
+	void test_key_contains_font_and_kind() {
+		final StringBounderCache cache = new StringBounderCache(100);
+		cache.getDimension(FONT, "Alice", () -> new XDimension2D(30, 14));
+		final XDimension2D bold = cache.getDimension(FONT.deriveFont(Font.BOLD), "Alice",
+				() -> new XDimension2D(33, 14));
+		assertThat(bold.getWidth()).isEqualTo(33.0);
+		assertThat(cache.getDescent(FONT, null, "Alice", () -> 3.0)).isEqualTo(3.0);
+		assertThat(cache.getMisses()).isEqualTo(3L);
+	}
+
+	@Test
+	void test_bounded() {
+		final StringBounderCache cache = new StringBounderCache(100);
+		for (int i = 0; i < 1000; i++)
+			cache.getDimension(FONT, "text" + i, () -> new XDimension2D(1, 1));
+
+		assertThat(cache.size()).isLessThanOrEqualTo(102);
+	}
+
+	@Test
+	void test_disabled() {
+		final StringBounderCache cache = new StringBounderCache(0);
+		final AtomicInteger calls = new AtomicInteger();
+		cache.getDimension(FONT, "Alice", () -> new XDimension2D(calls.incrementAndGet(), 14));
+		cache.getDimension(FONT, "Alice", () -> new XDimension2D(calls.incrementAndGet(), 14));
+		assertThat(calls.get()).isEqualTo(2);
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+}
@@ -32,6 +32,10 @@ public class PicoWebServerTest {
 		test_basic_http();
 		test_GET_png();
 		test_GET_svg();
+		test_keep_alive();
+		test_idle_keep_alive_connections();
+		test_etag();
+		test_metrics();
 		test_POST_render();
 		test_unknown_path();
 	}
@@ -147,6 +151,109 @@ public class PicoWebServerTest {
 		assert readStreamAsString(response.getErrorStream()).startsWith("<?xml ");
 	}
 
+	private static void test_keep_alive() throws Exception {
+		String response = httpRaw("" +
+				"GET /serverinfo HTTP/1.1\r\n\r\n" +
+				"GET /svg/" + getDefaultTranscoder().encode("A -> B") + " HTTP/1.1\r\n\r\n"
+		);
+		assert response.startsWith("HTTP/1.1 200\n");
+		assert response.contains("\"PicoWebServer\":true");
+		assert response.contains("HTTP/1.1 200 OK\n");
+		assert response.contains("<?xml ");
+		assert response.contains("Connection: close") == false;
+
+		response = httpRaw("" +
+				"GET /serverinfo HTTP/1.1\r\n" +
+				"Connection: close\r\n\r\n" +
+				"GET /serverinfo HTTP/1.1\r\n\r\n"
+		);
+		assert response.contains("Connection: close\n");
+		assert response.indexOf("HTTP/1.1 200") == response.lastIndexOf("HTTP/1.1 200");
+
+		response = httpRaw("" +
+				"GET /serverinfo HTTP/1.0\r\n\r\n" +
+				"GET /serverinfo HTTP/1.0\r\n\r\n"
+		);
+		assert response.indexOf("HTTP/1.1 200") == response.lastIndexOf("HTTP/1.1 200");
+	}
+
+	private static void test_idle_keep_alive_connections() throws Exception {
+		// More idle persistent connections than workers must not block a new client
+		final Socket[] idle = new Socket[64];
+		try {
+			for (int i = 0; i < idle.length; i++) {
+				idle[i] = socketConnection();
+				idle[i].getOutputStream().write("GET /serverinfo HTTP/1.1\r\n\r\n".getBytes(UTF_8));
+				idle[i].getOutputStream().flush();
+			}
+			final long start = System.currentTimeMillis();
+			final String response = httpRaw("GET /serverinfo HTTP/1.0\r\n\r\n");
+			assert response.startsWith("HTTP/1.1 200\n");
+			assert System.currentTimeMillis() - start < 2000;
+		} finally {
+			for (Socket socket : idle)
+				if (socket != null)
+					socket.close();
+		}
+	}
+
+	private static void test_etag() throws Exception {
+		final String path = "/svg/" + getDefaultTranscoder().encode("Alice -> Bob");
+		HttpURLConnection response = httpGet(path);
+		assert response.getResponseCode() == 200;
+		final String etag = response.getHeaderField("ETag");
+		assert etag != null;
+		final String svg = readStreamAsString(response.getInputStream());
+
+		response = httpGet(path);
+		assert etag.equals(response.getHeaderField("ETag"));
+		assert readStreamAsString(response.getInputStream()).equals(svg);
+
+		response = httpGet("/png/" + getDefaultTranscoder().encode("Alice -> Bob"));
+		assert etag.equals(response.getHeaderField("ETag")) == false;
+
+		response = urlConnection(path);
+		response.setRequestProperty("If-None-Match", etag);
+		assert response.getResponseCode() == 304;
+
+		final String info = readStreamAsString(httpGet("/serverinfo").getInputStream());
+		final JsonObject cache = Json.parse(info).asObject().get("cache").asObject();
+		assert cache.getLong("hits", 0) >= 1;
+		assert cache.getLong("notModified", 0) >= 1;
+	}
+
+	private static void test_metrics() throws Exception {
+		final String name = "plantuml_stage_duration_seconds";
+		final String labels = "{stage=\"export\",diagram=\"SequenceDiagram\",layout=\"puma\"";
+		assert httpGet("/svg/" + getDefaultTranscoder().encode("Metrics -> Prometheus")).getResponseCode() == 200;
+
+		final HttpURLConnection response = httpGet("/metrics");
+		assert response.getResponseCode() == 200;
+		assert response.getContentType().equals("text/plain; version=0.0.4; charset=utf-8");
+		final String text = readStreamAsString(response.getInputStream());
+		assert text.startsWith("# HELP " + name + " ");
+		assert text.contains("\n# TYPE " + name + " histogram\n");
+
+		// Buckets are cumulative and end with +Inf, which equals the count
+		long previous = 0;
+		int buckets = 0;
+		for (String line : text.split("\n")) {
+			if (line.startsWith(name + "_bucket" + labels + ",le=\"") == false)
+				continue;
+			final long value = Long.parseLong(line.substring(line.lastIndexOf(' ') + 1));
+			assert value >= previous;
+			previous = value;
+			buckets++;
+		}
+		assert buckets == 14;
+		assert previous >= 1;
+		assert text.contains(name + "_bucket" + labels + ",le=\"+Inf\"} " + previous + "\n");
+		assert text.contains(name + "_count" + labels + "} " + previous + "\n");
+		assert text.contains(name + "_sum" + labels + "} ");
+
+		assert readStreamAsString(httpGet("/plantuml/metrics").getInputStream()).startsWith("# HELP " + name + " ");
+	}
+
 	private static void test_POST_render() throws Exception {
 		HttpURLConnection response;
 
@@ -0,0 +1,86 @@
+package net.sourceforge.plantuml.png;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import net.sourceforge.plantuml.png.PngEncoder.Profile;
+
+class PngEncoderTest {
+
+	@Test
+	void test_truecolor_round_trip() throws IOException {
+		// Tall enough to be split in several bands
+		final BufferedImage image = createImage(BufferedImage.TYPE_INT_RGB, 300, 1000, 100000);
+		for (Profile profile : new Profile[] { Profile.FAST, Profile.DEFAULT })
+			assertSamePixels(image, encode(profile, image));
+	}
+
+	@Test
+	void test_alpha_round_trip() throws IOException {
+		final BufferedImage image = createImage(BufferedImage.TYPE_INT_ARGB, 120, 80, 100000);
+		assertSamePixels(image, encode(Profile.DEFAULT, image));
+	}
+
+	@Test
+	void test_palette_round_trip() throws IOException {
+		for (int colors : new int[] { 2, 3, 16, 200 }) {
+			final BufferedImage image = createImage(BufferedImage.TYPE_INT_ARGB, 37, 23, colors);
+			assertSamePixels(image, encode(Profile.DEFAULT, image));
+		}
+	}
+
+	@Test
+	void test_zopfli_round_trip() throws IOException {
+		final BufferedImage image = createImage(BufferedImage.TYPE_INT_RGB, 60, 40, 100000);
+		assertSamePixels(image, encode(Profile.MAX, image));
+	}
+
+	@Test
+	void test_profile() {
+		assertThat(Profile.fromString("fast")).isEqualTo(Profile.FAST);
+		assertThat(Profile.fromString(" ImageIO ")).isEqualTo(Profile.IMAGEIO);
+		assertThat(Profile.fromString("foo")).isEqualTo(Profile.DEFAULT);
+		assertThat(Profile.fromString(null)).isEqualTo(Profile.DEFAULT);
+	}
+
+	private static byte[] encode(Profile profile, BufferedImage image) throws IOException {
+		final ByteArrayOutputStream os = new ByteArrayOutputStream();
+		new PngEncoder(profile).write(image, os, "@startuml\nAlice -> Bob\n@enduml", 96, null);
+		return os.toByteArray();
+	}
+
+	private static BufferedImage createImage(int type, int width, int height, int colors) {
+		final Random random = new Random(42);
+		final int[] palette = new int[Math.min(colors, 1024)];
+		for (int i = 0; i < palette.length; i++)
+			palette[i] = random.nextInt();
+
+		final BufferedImage image = new BufferedImage(width, height, type);
+		for (int y = 0; y < height; y++)
+			for (int x = 0; x < width; x++)
+				if (colors > palette.length)
+					image.setRGB(x, y, random.nextInt(8) == 0 ? random.nextInt() : (x / 10) * 0x010203);
+				else
+					image.setRGB(x, y, palette[random.nextInt(palette.length)]);
+		return image;
+	}
+
+	private static void assertSamePixels(BufferedImage expected, byte[] png) throws IOException {
+		final BufferedImage actual = ImageIO.read(new ByteArrayInputStream(png));
+		assertThat(actual.getWidth()).isEqualTo(expected.getWidth());
+		assertThat(actual.getHeight()).isEqualTo(expected.getHeight());
+		for (int y = 0; y < expected.getHeight(); y++)
+			for (int x = 0; x < expected.getWidth(); x++)
+				assertThat(actual.getRGB(x, y)).isEqualTo(expected.getRGB(x, y));
+	}
+
+}
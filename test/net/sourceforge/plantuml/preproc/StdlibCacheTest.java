@@ -0,0 +1,60 @@
+package net.sourceforge.plantuml.preproc;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.jupiter.api.Test;
+
+class StdlibCacheTest {
+
+	@Test
+	void test_least_recently_used_is_evicted() {
+		final StdlibCache cache = new StdlibCache(10);
+		cache.put("c4/a", "aaaa");
+		cache.put("c4/b", "bbbb");
+		assertThat(cache.get("c4/a")).isEqualTo("aaaa");
+		cache.put("c4/c", "cccc");
+
+		assertThat(cache.get("c4/b")).isNull();
+		assertThat(cache.get("c4/a")).isEqualTo("aaaa");
+		assertThat(cache.get("c4/c")).isEqualTo("cccc");
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.getEvictions()).isEqualTo(1L);
+		assertThat(cache.getHits()).isEqualTo(3L);
+		assertThat(cache.getMisses()).isEqualTo(1L);
+	}
+
+	@Test
+	void test_too_large_is_not_cached() {
+		final StdlibCache cache = new StdlibCache(10);
+		cache.put("c4/big", "0123456789ABCDEF");
+		assertThat(cache.get("c4/big")).isNull();
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void test_stdlib_file_is_served_from_cache() throws Exception {
+		final StdlibCache cache = StdlibCache.getInstance();
+		final String first = read(Stdlib.getResourceAsStream("c4/C4"));
+		final long hits = cache.getHits();
+		final String second = read(Stdlib.getResourceAsStream("c4/C4"));
+		assertThat(first).contains("C4Version");
+		assertThat(second).isEqualTo(first);
+		assertThat(cache.getHits()).isEqualTo(hits + 1);
+	}
+
+	private static String read(InputStream is) throws IOException {
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[4096];
+		int read;
+		while ((read = is.read(buffer)) != -1)
+			baos.write(buffer, 0, read);
+
+		return new String(baos.toByteArray(), UTF_8);
+	}
+
+}
@@ -0,0 +1,80 @@
+package net.sourceforge.plantuml.project.solver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import net.sourceforge.plantuml.project.Load;
+import net.sourceforge.plantuml.project.LoadPlanable;
+import net.sourceforge.plantuml.project.OpenClose;
+import net.sourceforge.plantuml.project.core.TaskAttribute;
+import net.sourceforge.plantuml.project.time.Day;
+import net.sourceforge.plantuml.project.time.DayOfWeek;
+
+class SolverImplTest {
+
+	private static final Day START = Day.create(2020, 1, 6);
+
+	private static OpenClose calendar() {
+		final OpenClose calendar = new OpenClose();
+		calendar.setStartingDay(START);
+		calendar.close(DayOfWeek.SATURDAY);
+		calendar.close(DayOfWeek.SUNDAY);
+		for (int i = 0; i < 10; i++)
+			calendar.close(Day.create(2020, 8, 10 + i));
+		calendar.open(Day.create(2020, 3, 7));
+		return calendar;
+	}
+
+	private static Day stepEnd(LoadPlanable plan, Day current, int fullLoad) {
+		while (fullLoad > 0) {
+			fullLoad -= plan.getLoadAt(current);
+			current = current.increment();
+		}
+		return current.decrement();
+	}
+
+	private static Day stepStart(LoadPlanable plan, Day current, int fullLoad) {
+		while (fullLoad > 0) {
+			fullLoad -= plan.getLoadAt(current);
+			current = current.decrement();
+		}
+		return current.increment();
+	}
+
+	@Test
+	void test_same_as_day_by_day() {
+		final OpenClose calendar = calendar();
+		for (int days = 1; days < 700; days += 13) {
+			final SolverImpl forward = new SolverImpl(calendar);
+			forward.setData(TaskAttribute.START, START);
+			forward.setData(TaskAttribute.LOAD, Load.inWinks(days));
+			assertThat(forward.getData(TaskAttribute.END)).isEqualTo(stepEnd(calendar, START, days * 100));
+
+			final Day end = Day.create(2022, 6, 1);
+			final SolverImpl backward = new SolverImpl(calendar);
+			backward.setData(TaskAttribute.END, end);
+			backward.setData(TaskAttribute.LOAD, Load.inWinks(days));
+			assertThat(backward.getData(TaskAttribute.START)).isEqualTo(stepStart(calendar, end, days * 100));
+		}
+	}
+
+	@Test
+	void test_load_is_constant_until_next_change() {
+		final OpenClose calendar = calendar();
+		for (Day day = START; day.compareTo(Day.create(2021, 1, 1)) < 0; day = day.increment()) {
+			final Day next = calendar.getNextChange(day, 1);
+			for (Day tmp = day; tmp.compareTo(next) < 0; tmp = tmp.increment())
+				assertThat(calendar.getLoadAt(tmp)).isEqualTo(calendar.getLoadAt(day));
+		}
+	}
+
+	@Test
+	void test_very_long_task() {
+		final SolverImpl solver = new SolverImpl(calendar());
+		solver.setData(TaskAttribute.START, START);
+		solver.setData(TaskAttribute.LOAD, Load.inWinks(200000));
+		assertThat(((Day) solver.getData(TaskAttribute.END)).year()).isGreaterThan(2700);
+	}
+
+}
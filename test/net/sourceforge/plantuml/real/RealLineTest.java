@@ -0,0 +1,52 @@
+package net.sourceforge.plantuml.real;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RealLineTest {
+
+	@Test
+	void test_chain_added_backwards() {
+		final RealLine line = new RealLine();
+		final List<RealImpl> points = new ArrayList<>();
+		for (int i = 0; i < 10; i++)
+			points.add(new RealImpl("p" + i, line, 0));
+
+		for (int i = points.size() - 1; i > 0; i--)
+			points.get(i).ensureBiggerThan(points.get(i - 1).addFixed(10));
+
+		// Many forces that are satisfied after the first pass
+		for (int i = 0; i < 100; i++)
+			new RealImpl("q" + i, line, 0).addAtLeast(5);
+
+		line.compile();
+
+		for (int i = 0; i < points.size(); i++)
+			assertThat(points.get(i).getCurrentValue()).isEqualTo(10.0 * i);
+
+		assertThat(line.getAbsoluteMax()).isEqualTo(90.0);
+		assertThat(line.getPasses()).isEqualTo(10);
+		// Full sweeps would evaluate 109 forces in each pass
+		assertThat(line.getEvaluations()).isLessThan(109 + 9 * 20);
+	}
+
+	@Test
+	void test_max() {
+		final RealOrigin origin = RealUtils.createOrigin();
+		final Real a = origin.addAtLeast(0);
+		final Real b = a.addAtLeast(30);
+		final Real c = origin.addAtLeast(0);
+		c.ensureBiggerThan(RealUtils.max(a.addFixed(100), b));
+		a.ensureBiggerThan(origin.addFixed(20));
+		origin.compileNow();
+
+		assertThat(a.getCurrentValue()).isEqualTo(20.0);
+		assertThat(b.getCurrentValue()).isEqualTo(50.0);
+		assertThat(c.getCurrentValue()).isEqualTo(120.0);
+	}
+
+}
@@ -0,0 +1,46 @@
+package net.sourceforge.plantuml.regex;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class RegexLeadingCharsTest {
+
+	@Test
+	void test_literals() {
+		assertThat(RegexLeadingChars.of("^class[\\s]+(\\w+)$")).containsExactly('c');
+		assertThat(RegexLeadingChars.of("^Title$")).containsExactly('t');
+		assertThat(RegexLeadingChars.of("^\\[(.*)\\]$")).containsExactly('[');
+	}
+
+	@Test
+	void test_groups_and_optional_parts() {
+		assertThat(RegexLeadingChars.of("^(class|Interface|enum)[\\s]+(\\w+)$")).hasSize(3).contains('c', 'i', 'e');
+		assertThat(RegexLeadingChars.of("^(?:(left|right)[\\s]+)?footer$")).hasSize(3).contains('l', 'r', 'f');
+		assertThat(RegexLeadingChars.of("^(hide|show)?[\\s]*footbox$")).contains('h', 's', 'f', ' ');
+	}
+
+	@Test
+	void test_unknown() {
+		assertThat(RegexLeadingChars.of("class$")).isNull();
+		assertThat(RegexLeadingChars.of("^class|interface$")).isNull();
+		assertThat(RegexLeadingChars.of("^(\\w+)[\\s]*->$")).isNull();
+		assertThat(RegexLeadingChars.of("^[a-z]+$")).isNull();
+		assertThat(RegexLeadingChars.of("^(?i)class$")).isNull();
+		assertThat(RegexLeadingChars.of("^(left)?[\\s]*$")).isNull();
+	}
+
+	@Test
+	void test_regex_concat() {
+		final IRegex regex = RegexConcat.build("test", RegexLeaf.start(), //
+				new RegexLeaf("TYPE", "(participant|actor)"), //
+				RegexLeaf.spaceOneOrMore(), //
+				new RegexLeaf("NAME", "(\\w+)"), //
+				RegexLeaf.end());
+		final Set<Character> result = RegexLeadingChars.of(regex);
+		assertThat(result).hasSize(2).contains('p', 'a');
+	}
+
+}
@@ -0,0 +1,174 @@
+package net.sourceforge.plantuml.security;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Checks the HTTP cache against a local server
+ */
+class HttpCacheTest {
+
+	private static final String ETAG = "\"v1\"";
+
+	private final AtomicInteger requests = new AtomicInteger();
+	private final AtomicInteger downloads = new AtomicInteger();
+
+	private HttpServer startServer() throws IOException {
+		SURL.resetBadHosts();
+		final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/lib.puml", new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				requests.incrementAndGet();
+				exchange.getResponseHeaders().add("ETag", ETAG);
+				if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+					exchange.sendResponseHeaders(304, -1);
+					exchange.close();
+					return;
+				}
+				downloads.incrementAndGet();
+				final byte[] body = "rectangle a".getBytes(UTF_8);
+				exchange.sendResponseHeaders(200, body.length);
+				try (OutputStream os = exchange.getResponseBody()) {
+					os.write(body);
+				}
+			}
+		});
+		server.start();
+		return server;
+	}
+
+	private static SURL url(HttpServer server) {
+		return SURL.create("http://localhost:" + server.getAddress().getPort() + "/lib.puml");
+	}
+
+	@Test
+	void freshEntryIsServedWithoutRequest() throws IOException {
+		final HttpServer server = startServer();
+		try {
+			final HttpCache cache = new HttpCache(null, 60_000L, 1024 * 1024, false);
+
+			assertThat(new String(url(server).getBytes(cache), UTF_8)).isEqualTo("rectangle a");
+			assertThat(new String(url(server).getBytes(cache), UTF_8)).isEqualTo("rectangle a");
+			assertThat(requests.get()).isEqualTo(1);
+			assertThat(cache.getHits()).isEqualTo(1L);
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	@Test
+	void expiredEntryIsRevalidated() throws IOException {
+		final HttpServer server = startServer();
+		try {
+			final HttpCache cache = new HttpCache(null, 0L, 1024 * 1024, false);
+
+			url(server).getBytes(cache);
+			assertThat(new String(url(server).getBytes(cache), UTF_8)).isEqualTo("rectangle a");
+			assertThat(requests.get()).isEqualTo(2);
+			assertThat(downloads.get()).isEqualTo(1);
+			assertThat(cache.getRevalidations()).isEqualTo(1L);
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	@Test
+	void diskEntryIsReusedByAnotherCache(@TempDir Path dir) throws IOException {
+		final HttpServer server = startServer();
+		try {
+			final SFile cacheDir = SFile.fromFile(dir.toFile());
+			url(server).getBytes(new HttpCache(cacheDir, 60_000L, 1024 * 1024, false));
+
+			final HttpCache other = new HttpCache(cacheDir, 60_000L, 1024 * 1024, false);
+			assertThat(new String(url(server).getBytes(other), UTF_8)).isEqualTo("rectangle a");
+			assertThat(requests.get()).isEqualTo(1);
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	@Test
+	void staleEntryIsServedOnlyOffline() throws IOException {
+		final HttpServer server = startServer();
+		final SURL url = url(server);
+		final HttpCache online = new HttpCache(null, 0L, 1024 * 1024, false);
+		final HttpCache offline = new HttpCache(null, 0L, 1024 * 1024, true);
+		try {
+			url.getBytes(online);
+			url.getBytes(offline);
+		} finally {
+			server.stop(0);
+		}
+
+		assertThat(url.getBytes(online)).isNull();
+		assertThat(new String(url.getBytes(offline), UTF_8)).isEqualTo("rectangle a");
+		SURL.resetBadHosts();
+	}
+
+	@Test
+	void concurrentAccessesWithDiskEviction(@TempDir Path dir) throws Exception {
+		// Room for about 8 entries on each level, for 40 URLs
+		final HttpCache cache = new HttpCache(SFile.fromFile(dir.toFile()), 60_000L, 8 * 4096, false);
+		final ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			final List<Future<Integer>> results = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				final int seed = t;
+				results.add(executor.submit(() -> {
+					int hits = 0;
+					for (int i = 0; i < 500; i++) {
+						final int n = (i * 7 + seed * 13) % 40;
+						final String url = "http://localhost/" + n + ".puml";
+						if (i % 3 == 0) {
+							cache.put(url, new HttpCache.Entry(content(n), "\"" + n + "\"", null,
+									System.currentTimeMillis()));
+						} else {
+							final HttpCache.Entry entry = cache.get(url);
+							if (entry != null) {
+								// Never the data of another URL, nor a partial write
+								assertThat(Arrays.equals(entry.getData(), content(n))).isTrue();
+								hits++;
+							}
+						}
+					}
+					return hits;
+				}));
+			}
+			int hits = 0;
+			for (Future<Integer> result : results)
+				hits += result.get();
+
+			assertThat(hits).isGreaterThan(0);
+			assertThat(cache.size()).isLessThanOrEqualTo(8);
+			assertThat(cache.getEvictions()).isGreaterThan(0L);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static byte[] content(int n) {
+		final byte[] result = new byte[4000];
+		Arrays.fill(result, (byte) n);
+		return result;
+	}
+
+}
@@ -0,0 +1,36 @@
+package net.sourceforge.plantuml.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+	@Test
+	void test_buckets() {
+		for (long value = 0; value < 1000000; value += 1 + value / 100) {
+			final int bucket = LatencyHistogram.getBucket(value);
+			assertThat(LatencyHistogram.getBucketMax(bucket)).isGreaterThanOrEqualTo(value);
+			if (bucket > 0)
+				assertThat(LatencyHistogram.getBucketMax(bucket - 1)).isLessThan(value);
+			// Relative error under 1/16
+			assertThat(LatencyHistogram.getBucketMax(bucket) - value).isLessThanOrEqualTo(value / 16);
+		}
+		assertThat(LatencyHistogram.getBucket(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.NB_BUCKETS - 1);
+	}
+
+	@Test
+	void test_percentiles() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 1; i <= 100; i++)
+			histogram.record(i * 1000);
+
+		assertThat(histogram.getCount()).isEqualTo(100L);
+		assertThat(histogram.getSum()).isEqualTo(5050000L);
+		assertThat(histogram.getMax()).isEqualTo(100000L);
+		assertThat(histogram.getPercentile(50)).isBetween(50000L, 50000L + 50000L / 16);
+		assertThat(histogram.getPercentile(100)).isEqualTo(100000L);
+		assertThat(histogram.getCountBelow(10000)).isBetween(9L, 10L);
+	}
+
+}
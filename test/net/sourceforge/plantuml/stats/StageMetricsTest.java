@@ -0,0 +1,110 @@
+package net.sourceforge.plantuml.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.sourceforge.plantuml.json.JsonArray;
+import net.sourceforge.plantuml.json.JsonObject;
+import net.sourceforge.plantuml.stats.StageMetrics.Labels;
+import net.sourceforge.plantuml.stats.StageMetrics.Stage;
+
+class StageMetricsTest {
+
+	private static final String NAME = "plantuml_stage_duration_seconds";
+
+	private static StageMetrics createMetrics() {
+		final StageMetrics metrics = new StageMetrics();
+		for (long micros : new long[] { 500, 3000, 20000, 2000000 })
+			metrics.record(Stage.LAYOUT, "class", "smetana", micros * 1000);
+		metrics.record(Stage.PARSE, "class", "smetana", 7000000);
+		metrics.record(Stage.EXPORT, "activity", "builtin", 42000);
+		return metrics;
+	}
+
+	@Test
+	void test_text_format() {
+		final String text = createMetrics().toText();
+		final String labels = "{stage=\"layout\",diagram=\"class\",layout=\"smetana\"";
+
+		assertThat(text).startsWith("" //
+				+ "# HELP " + NAME + " Time spent in each stage of the rendering of diagrams\n" //
+				+ "# TYPE " + NAME + " histogram\n");
+		assertThat(text).contains("" //
+				+ NAME + "_bucket" + labels + ",le=\"0.001\"} 1\n" //
+				+ NAME + "_bucket" + labels + ",le=\"0.0025\"} 1\n" //
+				+ NAME + "_bucket" + labels + ",le=\"0.005\"} 2\n" //
+				+ NAME + "_bucket" + labels + ",le=\"0.01\"} 2\n" //
+				+ NAME + "_bucket" + labels + ",le=\"0.025\"} 3\n" //
+				+ NAME + "_bucket" + labels + ",le=\"0.05\"} 3\n" //
+				+ NAME + "_bucket" + labels + ",le=\"0.1\"} 3\n" //
+				+ NAME + "_bucket" + labels + ",le=\"0.25\"} 3\n" //
+				+ NAME + "_bucket" + labels + ",le=\"0.5\"} 3\n" //
+				+ NAME + "_bucket" + labels + ",le=\"1.0\"} 3\n" //
+				+ NAME + "_bucket" + labels + ",le=\"2.5\"} 4\n" //
+				+ NAME + "_bucket" + labels + ",le=\"5.0\"} 4\n" //
+				+ NAME + "_bucket" + labels + ",le=\"10.0\"} 4\n" //
+				+ NAME + "_bucket" + labels + ",le=\"+Inf\"} 4\n" //
+				+ NAME + "_sum" + labels + "} 2.0235\n" //
+				+ NAME + "_count" + labels + "} 4\n");
+	}
+
+	@Test
+	void test_text_buckets_are_cumulative() {
+		final String text = createMetrics().toText();
+		final List<String> series = new ArrayList<>();
+		String previousLabels = null;
+		long previous = 0;
+		for (String line : text.split("\n")) {
+			if (line.startsWith(NAME + "_bucket{") == false)
+				continue;
+
+			final String labels = line.substring(0, line.indexOf(",le="));
+			final long value = Long.parseLong(line.substring(line.lastIndexOf(' ') + 1));
+			if (labels.equals(previousLabels))
+				assertThat(value).isGreaterThanOrEqualTo(previous);
+			else
+				series.add(labels);
+
+			if (line.contains("le=\"+Inf\""))
+				assertThat(text).contains(labels.replace("_bucket{", "_count{") + "} " + value + "\n");
+
+			previousLabels = labels;
+			previous = value;
+		}
+		// Sorted by diagram, layout then stage
+		assertThat(series).containsExactly( //
+				NAME + "_bucket{stage=\"export\",diagram=\"activity\",layout=\"builtin\"", //
+				NAME + "_bucket{stage=\"parse\",diagram=\"class\",layout=\"smetana\"", //
+				NAME + "_bucket{stage=\"layout\",diagram=\"class\",layout=\"smetana\"");
+	}
+
+	@Test
+	void test_json_format() {
+		final JsonArray json = createMetrics().toJson();
+		assertThat(json.size()).isEqualTo(3);
+
+		final JsonObject layout = json.get(2).asObject();
+		assertThat(layout.getString("stage", null)).isEqualTo("layout");
+		assertThat(layout.getString("diagram", null)).isEqualTo("class");
+		assertThat(layout.getString("layout", null)).isEqualTo("smetana");
+		assertThat(layout.getLong("count", 0)).isEqualTo(4L);
+		assertThat(layout.getDouble("sum_ms", 0)).isEqualTo(2023.5);
+		assertThat(layout.getDouble("p50_ms", 0)).isBetween(3.0, 3.0 + 3.0 / 16);
+		assertThat(layout.getDouble("p90_ms", 0)).isEqualTo(2000.0);
+		assertThat(layout.getDouble("max_ms", 0)).isEqualTo(2000.0);
+	}
+
+	@Test
+	void test_labels_equals() {
+		final Labels labels = new Labels(Stage.DRAW, "class", "dot");
+		assertThat(labels).isEqualTo(new Labels(Stage.DRAW, "class", "dot"));
+		assertThat(labels).isNotEqualTo(new Labels(Stage.DRAW, "class", "elk"));
+		assertThat(labels.equals(null)).isFalse();
+		assertThat(labels.equals("class")).isFalse();
+	}
+
+}
@@ -0,0 +1,92 @@
+package net.sourceforge.plantuml.style;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.junit.jupiter.api.Test;
+
+class StyleBuilderTest {
+
+	private static final SName[] ELEMENTS = { SName.classDiagram, SName.componentDiagram, SName.arrow, SName.note,
+			SName.header, SName.title, SName.legend, SName.stereotype };
+
+	@Test
+	void test_indexed_lookup_same_as_full_scan() {
+		final Map<StyleSignatureBasic, Style> reference = new LinkedHashMap<>();
+		final StyleBuilder builder = createBuilder(200, reference);
+
+		for (StyleSignatureBasic signature : createLookups(200)) {
+			final Style expected = fullScan(reference, signature);
+			final Style actual = builder.getMergedStyle(signature);
+			assertThat(String.valueOf(actual)).isEqualTo(String.valueOf(expected));
+			// Memoized value
+			assertThat(builder.getMergedStyle(signature)).isSameAs(actual);
+		}
+	}
+
+	@Test
+	void test_memo_is_invalidated_by_load() {
+		final StyleBuilder builder = new StyleBuilder(null);
+		final StyleSignatureBasic root = StyleSignatureBasic.of(SName.root);
+		final StyleSignatureBasic lookup = StyleSignatureBasic.of(SName.root, SName.element);
+
+		builder.loadInternal(root, createStyle(root, "red", 1));
+		assertThat(builder.getMergedStyle(lookup).value(PName.LineColor).asString()).isEqualTo("red");
+
+		builder.loadInternal(root, createStyle(root, "blue", 2));
+		assertThat(builder.getMergedStyle(lookup).value(PName.LineColor).asString()).isEqualTo("blue");
+	}
+
+	private static StyleBuilder createBuilder(int nbRules, Map<StyleSignatureBasic, Style> reference) {
+		final StyleBuilder builder = new StyleBuilder(null);
+		for (int i = 0; i < nbRules; i++) {
+			StyleSignatureBasic signature = StyleSignatureBasic.of(SName.root);
+			if (i % 3 != 0)
+				signature = signature.add(ELEMENTS[i % ELEMENTS.length]);
+			if (i % 5 == 0)
+				signature = signature.add("s" + (i % 17));
+
+			final Style style = createStyle(signature, "#" + i, i);
+			builder.loadInternal(signature, style);
+			final Style orig = reference.get(signature);
+			reference.put(signature, orig == null ? style : orig.mergeWith(style, MergeStrategy.OVERWRITE_EXISTING_VALUE));
+		}
+		return builder;
+	}
+
+	private static List<StyleSignatureBasic> createLookups(int nb) {
+		final List<StyleSignatureBasic> result = new ArrayList<>();
+		for (int i = 0; i < nb; i++)
+			result.add(StyleSignatureBasic.of(SName.root, SName.element, ELEMENTS[i % ELEMENTS.length])
+					.add("s" + (i % 23)));
+
+		return result;
+	}
+
+	private static Style createStyle(StyleSignatureBasic signature, String color, int priority) {
+		final Map<PName, Value> map = new EnumMap<>(PName.class);
+		map.put(PName.LineColor, ValueImpl.regular(color, priority));
+		return new Style(signature, map);
+	}
+
+	private static Style fullScan(Map<StyleSignatureBasic, Style> stylesMap, StyleSignatureBasic signature) {
+		Style result = null;
+		for (Entry<StyleSignatureBasic, Style> ent : stylesMap.entrySet()) {
+			if (ent.getKey().matchAll(signature) == false)
+				continue;
+
+			if (result == null)
+				result = ent.getValue();
+			else
+				result = result.mergeWith(ent.getValue(), MergeStrategy.OVERWRITE_EXISTING_VALUE);
+		}
+		return result;
+	}
+
+}
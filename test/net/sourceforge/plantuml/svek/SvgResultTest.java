@@ -0,0 +1,54 @@
+package net.sourceforge.plantuml.svek;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.sourceforge.plantuml.klimt.geom.XPoint2D;
+
+class SvgResultTest {
+
+	private static final String SVG = "<svg width=\"62pt\" height=\"116pt\">\n" //
+			+ "<g id=\"node1\" class=\"node\">\n<title>sh0001</title>\n"
+			+ "<polygon fill=\"none\" stroke=\"#010000\" points=\"54,-112 0,-112 0,-76 54,-76 54,-112\"/>\n</g>\n"
+			+ "<g id=\"node2\" class=\"node\">\n<title>sh0002</title>\n"
+			+ "<polygon fill=\"#020000\" stroke=\"none\" points=\"54,-36 0,-36 0,0 54,0 54,-36\"/>\n</g>\n"
+			+ "<g id=\"edge1\" class=\"edge\">\n<title>sh0001&#45;&gt;sh0002</title>\n"
+			+ "<path fill=\"none\" style=\"fill:none;stroke:#030000;\" d=\"M27,-75.7C27,-67.95 27,-58.89 27,-50.39\"/>\n"
+			+ "<polygon fill=\"#030000\" stroke=\"#030000\" points=\"30.5,-50.1 27,-40.1 23.5,-50.1 30.5,-50.1\"/>\n"
+			+ "</g>\n</svg>\n";
+
+	private static final Point2DFunction IDENTITY = pt -> pt;
+
+	@Test
+	void test_index_matches_indexOf() {
+		final SvgResult plain = new SvgResult(SVG, IDENTITY);
+		final SvgResult indexed = SvgResult.indexed(SVG, IDENTITY);
+		for (String title : new String[] { "sh0001", "sh0002", "sh0003" })
+			assertThat(indexed.getIndexFromTitle(title)).isEqualTo(plain.getIndexFromTitle(title));
+		for (int color = 0x010000; color <= 0x040000; color += 0x010000) {
+			assertThat(indexed.getIndexFromColor(color)).isEqualTo(plain.getIndexFromColor(color));
+			assertThat(indexed.getIndexFromAnyColor(color)).isEqualTo(plain.getIndexFromAnyColor(color));
+		}
+		assertThat(indexed.getIndexFromTitle("sh0002")).isEqualTo(SVG.indexOf("<title>sh0002</title>"));
+		assertThat(indexed.getIndexFromColor(0x040000)).isEqualTo(-1);
+	}
+
+	@Test
+	void test_substring_keeps_relative_positions() {
+		final SvgResult indexed = SvgResult.indexed(SVG, IDENTITY);
+		final int edge = indexed.getIndexFromColor(0x030000);
+		final SvgResult tail = indexed.substring(edge + 1);
+		assertThat(tail.getSvg()).isEqualTo(SVG.substring(edge + 1));
+		assertThat(tail.getIndexFromColor(0x030000)).isEqualTo(SVG.substring(edge + 1).indexOf("fill=\"#030000\""));
+		assertThat(tail.getIndexFromTitle("sh0001")).isEqualTo(-1);
+
+		final List<XPoint2D> points = indexed.substring(indexed.getIndexFromTitle("sh0002"))
+				.extractList(SvgResult.POINTS_EQUALS);
+		assertThat(points).hasSize(5);
+		assertThat(SvekUtils.getMinXY(points).getY()).isEqualTo(-36.0);
+	}
+
+}
@@ -0,0 +1,42 @@
+package net.sourceforge.plantuml.tim;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.sourceforge.plantuml.SourceStringReader;
+import net.sourceforge.plantuml.text.StringLocated;
+
+class FunctionsSetTest {
+
+	@Test
+	void overloadsAreFoundByNameAndArity() {
+		final String source = "@startuml\n" //
+				+ "!define OLD(x) class x\n" //
+				+ "!unquoted procedure $box($name)\n" //
+				+ "rectangle $name\n" //
+				+ "!endprocedure\n" //
+				+ "!function $f($a)\n" //
+				+ "!return \"one\"\n" //
+				+ "!endfunction\n" //
+				+ "!function $f($a, $b)\n" //
+				+ "!return \"two\"\n" //
+				+ "!endfunction\n" //
+				+ "OLD(Foo)\n" //
+				+ "$box(bar)\n" //
+				+ "note as N\n" //
+				+ "$f(1) $f(1, 2) %function_exists(\"$f\") %function_exists(\"$g\")\n" //
+				+ "end note\n" //
+				+ "@enduml\n";
+		final List<String> result = new ArrayList<>();
+		for (StringLocated s : new SourceStringReader(source).getBlocks().get(0).getData())
+			result.add(s.getString());
+
+		assertThat(result).containsExactly("@startuml", "class Foo", "rectangle bar", "note as N",
+				"one two 1 0", "end note", "@enduml");
+	}
+
+}
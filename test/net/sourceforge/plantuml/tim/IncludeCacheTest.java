@@ -0,0 +1,105 @@
+package net.sourceforge.plantuml.tim;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.sourceforge.plantuml.SourceStringReader;
+import net.sourceforge.plantuml.security.SFile;
+import net.sourceforge.plantuml.text.StringLocated;
+
+class IncludeCacheTest {
+
+	private static final String SOURCE = "@startuml\n" //
+			+ "!include lib.iuml\n" //
+			+ "$box(\"a\")\n" //
+			+ "@enduml\n";
+
+	private static List<String> preprocess(Path dir, String source) {
+		final List<String> result = new ArrayList<>();
+		for (StringLocated s : new SourceStringReader(source, SFile.fromFile(dir.toFile())).getBlocks().get(0)
+				.getData())
+			result.add(s.getString());
+		return result;
+	}
+
+	private static void write(Path file, String content) throws IOException {
+		Files.write(file, content.getBytes(UTF_8));
+	}
+
+	@Test
+	void replayedIncludeDefinesTheSameFunctions(@TempDir Path dir) throws IOException {
+		write(dir.resolve("lib.iuml"), "!$color = \"red\"\n" //
+				+ "!procedure $box($name)\n" //
+				+ "rectangle $name #$color\n" //
+				+ "!endprocedure\n" //
+				+ "note as N1\n" //
+				+ "end note\n");
+		final IncludeCache cache = IncludeCache.getInstance();
+		cache.clear();
+
+		final List<String> first = preprocess(dir, SOURCE);
+		final List<String> second = preprocess(dir, SOURCE);
+
+		assertThat(first).containsExactly("@startuml", "note as N1", "end note", "rectangle a #red", "@enduml");
+		assertThat(second).isEqualTo(first);
+		assertThat(cache.getHits()).isEqualTo(1L);
+	}
+
+	@Test
+	void modifiedFileIsReadAgain(@TempDir Path dir) throws IOException {
+		final Path lib = dir.resolve("lib.iuml");
+		write(lib, "!procedure $box($name)\nrectangle $name\n!endprocedure\n");
+		final IncludeCache cache = IncludeCache.getInstance();
+		cache.clear();
+
+		preprocess(dir, SOURCE);
+		write(lib, "!procedure $box($name)\nusecase $name\n!endprocedure\n");
+		lib.toFile().setLastModified(lib.toFile().lastModified() + 2000);
+
+		assertThat(preprocess(dir, SOURCE)).containsExactly("@startuml", "usecase a", "@enduml");
+		assertThat(cache.getInvalidations()).isEqualTo(1L);
+	}
+
+	@Test
+	void modifiedReincludedFileIsReadAgain(@TempDir Path dir) throws IOException {
+		final Path common = dir.resolve("common.iuml");
+		write(common, "rectangle common1\n");
+		// lib.iuml reads common.iuml again, while the diagram already depends on it
+		write(dir.resolve("lib.iuml"), "!include_many common.iuml\nrectangle lib\n");
+		final String source = "@startuml\n!include common.iuml\n!include lib.iuml\n@enduml\n";
+		final IncludeCache cache = IncludeCache.getInstance();
+		cache.clear();
+
+		assertThat(preprocess(dir, source)).containsExactly("@startuml", "rectangle common1", "rectangle common1",
+				"rectangle lib", "@enduml");
+		write(common, "rectangle common2\n");
+		common.toFile().setLastModified(common.toFile().lastModified() + 2000);
+
+		assertThat(preprocess(dir, source)).containsExactly("@startuml", "rectangle common2", "rectangle common2",
+				"rectangle lib", "@enduml");
+	}
+
+	@Test
+	void environmentDependentIncludeIsNotCached(@TempDir Path dir) throws IOException {
+		write(dir.resolve("lib.iuml"), "!procedure $box($name)\nrectangle $name\n!endprocedure\n"
+				+ "!$year = %date(\"yyyy\")\n");
+		final IncludeCache cache = IncludeCache.getInstance();
+		cache.clear();
+
+		preprocess(dir, SOURCE);
+		preprocess(dir, SOURCE);
+
+		assertThat(cache.getHits()).isEqualTo(0L);
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+}
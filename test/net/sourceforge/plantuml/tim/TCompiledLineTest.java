@@ -0,0 +1,59 @@
+package net.sourceforge.plantuml.tim;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.sourceforge.plantuml.SourceStringReader;
+import net.sourceforge.plantuml.text.StringLocated;
+
+class TCompiledLineTest {
+
+	@Test
+	void startsAreWordBoundaries() {
+		final TCompiledLine line = TCompiledLine.compile("ab $x+1\\nfoo");
+		final List<Integer> starts = new ArrayList<>();
+		for (int i = 0; i < line.size(); i++)
+			starts.add(line.getStart(i));
+
+		assertThat(starts).containsExactly(0, 3, 4, 6, 8, 9);
+	}
+
+	@Test
+	void trieMatchesFromOffset() {
+		final TrieImpl trie = new TrieImpl();
+		trie.add("$a");
+		trie.add("$abc");
+		assertThat(trie.getLonguestMatchStartingIn("x $abc!", 2)).isEqualTo("$abc");
+		assertThat(trie.getLonguestMatchStartingIn("x $a!", 2)).isEqualTo("$a");
+		assertThat(trie.getLonguestMatchStartingIn("x $a!", 1)).isEqualTo("");
+	}
+
+	@Test
+	void loopAndProcedureBodiesAreReused() {
+		final String source = "@startuml\n" //
+				+ "!procedure $box($name, $n=1)\n" //
+				+ "!if $n == 2\n" //
+				+ "rectangle \"even $name\" as $name##$n\n" //
+				+ "!else\n" //
+				+ "rectangle \"odd $name\" as $name##$n\n" //
+				+ "!endif\n" //
+				+ "!endprocedure\n" //
+				+ "!$i = 0\n" //
+				+ "!while $i < 3\n" //
+				+ "$box(\"b\", $i + 1)\n" //
+				+ "!$i = $i + 1\n" //
+				+ "!endwhile\n" //
+				+ "@enduml\n";
+		final List<String> result = new ArrayList<>();
+		for (StringLocated s : new SourceStringReader(source).getBlocks().get(0).getData())
+			result.add(s.getString());
+
+		assertThat(result).containsExactly("@startuml", "rectangle \"odd b\" as b1", "rectangle \"even b\" as b2",
+				"rectangle \"odd b\" as b3", "@enduml");
+	}
+
+}
@@ -0,0 +1,49 @@
+package net.sourceforge.plantuml.tim.expression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.sourceforge.plantuml.SourceStringReader;
+import net.sourceforge.plantuml.text.StringLocated;
+
+class TokenStackTest {
+
+	private static List<String> preprocess(String source) {
+		final List<String> result = new ArrayList<>();
+		for (StringLocated s : new SourceStringReader(source).getBlocks().get(0).getData())
+			result.add(s.getString());
+		return result;
+	}
+
+	@Test
+	void compiledExpressionSeesUpdatedVariables() {
+		final List<String> result = preprocess("@startuml\n" //
+				+ "!$i = 0\n" //
+				+ "!$s = \"\"\n" //
+				+ "!while $i < 2000\n" //
+				+ "!$s = %substr(%string($i) + $s, 0, 4)\n" //
+				+ "!$i = $i + 10\n" //
+				+ "!endwhile\n" //
+				+ "rectangle \"$i $s\" as r\n" //
+				+ "@enduml\n");
+
+		assertThat(result).containsExactly("@startuml", "rectangle \"2000 1990\" as r", "@enduml");
+	}
+
+	@Test
+	void unknownNameIsKeptAsString() {
+		final List<String> result = preprocess("@startuml\n" //
+				+ "!$a = foo + \"bar\"\n" //
+				+ "!$b = foo\n" //
+				+ "!$c = ($b == \"foo\")\n" //
+				+ "rectangle \"$a $c\" as r\n" //
+				+ "@enduml\n");
+
+		assertThat(result).containsExactly("@startuml", "rectangle \"foobar 1\" as r", "@enduml");
+	}
+
+}
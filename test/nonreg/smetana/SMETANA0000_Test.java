@@ -0,0 +1,39 @@
+package nonreg.smetana;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import nonreg.BasicTest;
+
+/*
+
+Parallel and back edges between the same classes
+
+"""
+@startuml
+class A
+class B
+class C
+class D
+A --> B : one
+A --> B : two
+A --> B
+B --> A : back
+B --> C
+C --> A
+A --> C : skip
+C --> D
+D --> B
+D --> A : long back
+@enduml
+"""
+
+ */
+public class SMETANA0000_Test extends BasicTest {
+
+	@Test
+	void testSimple() throws IOException {
+		checkImage("(4 entities)");
+	}
+}
@@ -0,0 +1,612 @@
+package nonreg.smetana;
+
+public class SMETANA0000_TestResult {
+}
+/*
+"""
+DPI: 96
+dimension: [ 458.7418 ; 349.0000 ]
+scaleFactor: 1.0000
+seed: -3253560865377078296
+svgLinkTarget: _top
+hoverPathColorRGB: null
+preserveAspectRatio: none
+
+COMMENT: class A
+RECTANGLE:
+  pt1: [ 136.1641 ; 12.0000 ]
+  pt2: [ 181.4066 ; 60.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 136.1641 ; 12.0000 ]
+  pt2: [ 162.1641 ; 44.0000 ]
+
+ELLIPSE:
+  pt1: [ 140.1641 ; 17.0000 ]
+  pt2: [ 162.1641 ; 39.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffadd1b2
+
+CENTERED_CHAR:
+  char: C
+  position: [ 151.1641 ; 28.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 162.1641 ; 21.0000 ]
+  pt2: [ 181.4066 ; 35.0000 ]
+
+TEXT:
+  text: A
+  position: [ 165.1641 ; 31.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 137.1641 ; 44.0000 ]
+  pt2: [ 180.4066 ; 44.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 136.1641 ; 44.0000 ]
+  pt2: [ 148.1641 ; 52.0000 ]
+
+LINE:
+  pt1: [ 137.1641 ; 52.0000 ]
+  pt2: [ 180.4066 ; 52.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 136.1641 ; 52.0000 ]
+  pt2: [ 148.1641 ; 60.0000 ]
+
+COMMENT: class B
+RECTANGLE:
+  pt1: [ 115.1641 ; 111.0000 ]
+  pt2: [ 160.4059 ; 159.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 115.1641 ; 111.0000 ]
+  pt2: [ 141.1641 ; 143.0000 ]
+
+ELLIPSE:
+  pt1: [ 119.1641 ; 116.0000 ]
+  pt2: [ 141.1641 ; 138.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffadd1b2
+
+CENTERED_CHAR:
+  char: C
+  position: [ 130.1641 ; 127.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 141.1641 ; 120.0000 ]
+  pt2: [ 160.4059 ; 134.0000 ]
+
+TEXT:
+  text: B
+  position: [ 144.1641 ; 130.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 116.1641 ; 143.0000 ]
+  pt2: [ 159.4059 ; 143.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 115.1641 ; 143.0000 ]
+  pt2: [ 127.1641 ; 151.0000 ]
+
+LINE:
+  pt1: [ 116.1641 ; 151.0000 ]
+  pt2: [ 159.4059 ; 151.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 115.1641 ; 151.0000 ]
+  pt2: [ 127.1641 ; 159.0000 ]
+
+COMMENT: class C
+RECTANGLE:
+  pt1: [ 199.1641 ; 210.0000 ]
+  pt2: [ 244.4078 ; 258.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 199.1641 ; 210.0000 ]
+  pt2: [ 225.1641 ; 242.0000 ]
+
+ELLIPSE:
+  pt1: [ 203.1641 ; 215.0000 ]
+  pt2: [ 225.1641 ; 237.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffadd1b2
+
+CENTERED_CHAR:
+  char: C
+  position: [ 214.1641 ; 226.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 225.1641 ; 219.0000 ]
+  pt2: [ 244.4078 ; 233.0000 ]
+
+TEXT:
+  text: C
+  position: [ 228.1641 ; 229.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 200.1641 ; 242.0000 ]
+  pt2: [ 243.4078 ; 242.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 199.1641 ; 242.0000 ]
+  pt2: [ 211.1641 ; 250.0000 ]
+
+LINE:
+  pt1: [ 200.1641 ; 250.0000 ]
+  pt2: [ 243.4078 ; 250.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 199.1641 ; 250.0000 ]
+  pt2: [ 211.1641 ; 258.0000 ]
+
+COMMENT: class D
+RECTANGLE:
+  pt1: [ 199.1641 ; 295.0000 ]
+  pt2: [ 244.4072 ; 343.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 199.1641 ; 295.0000 ]
+  pt2: [ 225.1641 ; 327.0000 ]
+
+ELLIPSE:
+  pt1: [ 203.1641 ; 300.0000 ]
+  pt2: [ 225.1641 ; 322.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffadd1b2
+
+CENTERED_CHAR:
+  char: C
+  position: [ 214.1641 ; 311.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 225.1641 ; 304.0000 ]
+  pt2: [ 244.4072 ; 318.0000 ]
+
+TEXT:
+  text: D
+  position: [ 228.1641 ; 314.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 200.1641 ; 327.0000 ]
+  pt2: [ 243.4072 ; 327.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 199.1641 ; 327.0000 ]
+  pt2: [ 211.1641 ; 335.0000 ]
+
+LINE:
+  pt1: [ 200.1641 ; 335.0000 ]
+  pt2: [ 243.4072 ; 335.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 199.1641 ; 335.0000 ]
+  pt2: [ 211.1641 ; 343.0000 ]
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 129.9481 ; 33.9863 ]
+   - type: SEG_CUBICTO
+     pt1: [ 92.5592 ; 39.4189 ]
+     pt2: [ 20.6844 ; 52.2171 ]
+     pt3: [ 5.6641 ; 72.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ -22.6357 ; 109.2731 ]
+     pt2: [ 65.7705 ; 122.2763 ]
+     pt3: [ 109.1369 ; 126.3406 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 115.1369 ; 132.3406 ]
+   - [ 106.5494 ; 127.5182 ]
+   - [ 110.1587 ; 131.8740 ]
+   - [ 105.8029 ; 135.4833 ]
+   - [ 115.1369 ; 132.3406 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+EMPTY:
+  pt1: [ 11.6641 ; 78.0000 ]
+  pt2: [ 48.0795 ; 93.0000 ]
+
+TEXT:
+  text: one
+  position: [ 12.6641 ; 89.1111 ]
+  orientation: 0
+  font: SansSerif.plain/13 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 130.1417 ; 34.5519 ]
+   - type: SEG_CUBICTO
+     pt1: [ 109.1428 ; 39.1883 ]
+     pt2: [ 78.9762 ; 49.5426 ]
+     pt3: [ 64.6641 ; 72.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 50.8948 ; 93.6057 ]
+     pt2: [ 84.5043 ; 111.0903 ]
+     pt3: [ 108.9385 ; 120.4790 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 114.9385 ; 126.4790 ]
+   - [ 107.9720 ; 119.5170 ]
+   - [ 110.2712 ; 124.6856 ]
+   - [ 105.1026 ; 126.9847 ]
+   - [ 114.9385 ; 126.4790 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+EMPTY:
+  pt1: [ 70.6641 ; 78.0000 ]
+  pt2: [ 112.4982 ; 93.0000 ]
+
+TEXT:
+  text: two
+  position: [ 71.6641 ; 89.1111 ]
+  orientation: 0
+  font: SansSerif.plain/13 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 139.9458 ; 54.2691 ]
+   - type: SEG_CUBICTO
+     pt1: [ 137.4079 ; 59.9177 ]
+     pt2: [ 135.0879 ; 66.0487 ]
+     pt3: [ 133.6641 ; 72.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 131.1289 ; 82.5968 ]
+     pt2: [ 130.4292 ; 94.6401 ]
+     pt3: [ 130.4442 ; 104.8360 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 136.4442 ; 110.8360 ]
+   - [ 140.4309 ; 101.8302 ]
+   - [ 136.4368 ; 105.8360 ]
+   - [ 132.4309 ; 101.8419 ]
+   - [ 136.4442 ; 110.8360 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 136.7008 ; 104.7352 ]
+   - type: SEG_CUBICTO
+     pt1: [ 139.9931 ; 89.5277 ]
+     pt2: [ 144.2788 ; 69.7318 ]
+     pt3: [ 147.5806 ; 54.4810 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 153.5806 ; 60.4810 ]
+   - [ 147.7668 ; 68.4308 ]
+   - [ 152.5226 ; 65.3678 ]
+   - [ 155.5856 ; 70.1236 ]
+   - [ 153.5806 ; 60.4810 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+EMPTY:
+  pt1: [ 149.6641 ; 78.0000 ]
+  pt2: [ 210.8459 ; 93.0000 ]
+
+TEXT:
+  text: back
+  position: [ 150.6641 ; 89.1111 ]
+  orientation: 0
+  font: SansSerif.plain/13 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 151.9981 ; 153.4810 ]
+   - type: SEG_CUBICTO
+     pt1: [ 165.2050 ; 168.7318 ]
+     pt2: [ 182.3478 ; 188.5277 ]
+     pt3: [ 195.5173 ; 203.7352 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 201.5173 ; 209.7352 ]
+   - [ 198.6493 ; 200.3132 ]
+   - [ 198.2441 ; 205.9555 ]
+   - [ 192.6018 ; 205.5503 ]
+   - [ 201.5173 ; 209.7352 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 238.4387 ; 206.4521 ]
+   - type: SEG_CUBICTO
+     pt1: [ 251.8046 ; 192.7948 ]
+     pt2: [ 267.4476 ; 173.6270 ]
+     pt3: [ 274.6641 ; 153.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 281.7089 ; 132.8634 ]
+     pt2: [ 282.6761 ; 124.7716 ]
+     pt3: [ 274.6641 ; 105.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 258.1501 ; 64.2480 ]
+     pt2: [ 205.8852 ; 44.4323 ]
+     pt3: [ 175.3849 ; 36.1115 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 181.3849 ; 42.1115 ]
+   - [ 189.0148 ; 48.3392 ]
+   - [ 186.2086 ; 43.4275 ]
+   - [ 191.1204 ; 40.6213 ]
+   - [ 181.3849 ; 42.1115 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 175.2000 ; 41.3045 ]
+   - type: SEG_CUBICTO
+     pt1: [ 187.3786 ; 48.1559 ]
+     pt2: [ 201.3786 ; 58.4059 ]
+     pt3: [ 208.6641 ; 72.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 214.7240 ; 83.3073 ]
+     pt2: [ 215.6413 ; 163.6167 ]
+     pt3: [ 215.7139 ; 203.9723 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 221.7139 ; 209.9723 ]
+   - [ 225.6977 ; 200.9651 ]
+   - [ 221.7049 ; 204.9723 ]
+   - [ 217.6977 ; 200.9795 ]
+   - [ 221.7139 ; 209.9723 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+EMPTY:
+  pt1: [ 221.6641 ; 127.5000 ]
+  pt2: [ 277.0413 ; 142.5000 ]
+
+TEXT:
+  text: skip
+  position: [ 222.6641 ; 138.6111 ]
+  orientation: 0
+  font: SansSerif.plain/13 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 215.6641 ; 252.1201 ]
+   - type: SEG_CUBICTO
+     pt1: [ 215.6641 ; 263.5362 ]
+     pt2: [ 215.6641 ; 277.2778 ]
+     pt3: [ 215.6641 ; 288.7160 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 221.6641 ; 294.7160 ]
+   - [ 225.6641 ; 285.7160 ]
+   - [ 221.6641 ; 289.7160 ]
+   - [ 217.6641 ; 285.7160 ]
+   - [ 221.6641 ; 294.7160 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 202.7255 ; 288.8763 ]
+   - type: SEG_CUBICTO
+     pt1: [ 196.7013 ; 277.8296 ]
+     pt2: [ 189.5767 ; 264.3523 ]
+     pt3: [ 183.6641 ; 252.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 167.4606 ; 218.1486 ]
+     pt2: [ 150.8099 ; 177.9448 ]
+     pt3: [ 140.8505 ; 153.2016 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 146.8505 ; 159.2016 ]
+   - [ 146.5004 ; 169.0442 ]
+   - [ 148.7175 ; 163.8400 ]
+   - [ 153.9218 ; 166.0571 ]
+   - [ 146.8505 ; 159.2016 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 234.1796 ; 288.8537 ]
+   - type: SEG_CUBICTO
+     pt1: [ 262.1195 ; 251.0546 ]
+     pt2: [ 309.9537 ; 173.4215 ]
+     pt3: [ 291.6641 ; 105.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 287.2936 ; 88.6501 ]
+     pt2: [ 285.7294 ; 82.7572 ]
+     pt3: [ 272.6641 ; 72.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 244.1104 ; 48.4906 ]
+     pt2: [ 201.3538 ; 38.1801 ]
+     pt3: [ 175.3325 ; 33.8695 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 181.3325 ; 39.8695 ]
+   - [ 189.5578 ; 45.2866 ]
+   - [ 186.2653 ; 40.6867 ]
+   - [ 190.8653 ; 37.3942 ]
+   - [ 181.3325 ; 39.8695 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+EMPTY:
+  pt1: [ 298.6641 ; 177.0000 ]
+  pt2: [ 452.7418 ; 192.0000 ]
+
+TEXT:
+  text: long back
+  position: [ 299.6641 ; 188.1111 ]
+  orientation: 0
+  font: SansSerif.plain/13 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+"""
+*/
\ No newline at end of file
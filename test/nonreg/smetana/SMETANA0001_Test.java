@@ -0,0 +1,47 @@
+package nonreg.smetana;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import nonreg.BasicTest;
+
+/*
+
+Links between class members, routed through ports
+
+"""
+@startuml
+class Order {
+  id : int
+  customer : Customer
+  lines : List<Line>
+}
+class Customer {
+  id : int
+  name : String
+}
+class Line {
+  product : Product
+  quantity : int
+}
+class Product {
+  id : int
+  price : double
+}
+Order::customer --> Customer::id
+Order::lines --> Line
+Line::product --> Product::id
+Order::id --> Product::price
+Customer::name --> Line::quantity
+@enduml
+"""
+
+ */
+public class SMETANA0001_Test extends BasicTest {
+
+	@Test
+	void testSimple() throws IOException {
+		checkImage("(4 entities)");
+	}
+}
@@ -0,0 +1,476 @@
+package nonreg.smetana;
+
+public class SMETANA0001_TestResult {
+}
+/*
+"""
+DPI: 96
+dimension: [ 379.2227 ; 444.0000 ]
+scaleFactor: 1.0000
+seed: -2058533418843859612
+svgLinkTarget: _top
+hoverPathColorRGB: null
+preserveAspectRatio: none
+
+COMMENT: class Order
+RECTANGLE:
+  pt1: [ 137.5000 ; 12.0000 ]
+  pt2: [ 373.2227 ; 102.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 199.1493 ; 12.0000 ]
+  pt2: [ 225.1493 ; 44.0000 ]
+
+ELLIPSE:
+  pt1: [ 203.1493 ; 17.0000 ]
+  pt2: [ 225.1493 ; 39.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffadd1b2
+
+CENTERED_CHAR:
+  char: C
+  position: [ 214.1493 ; 28.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 231.6493 ; 21.0000 ]
+  pt2: [ 311.5734 ; 35.0000 ]
+
+TEXT:
+  text: Order
+  position: [ 234.6493 ; 31.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 138.5000 ; 44.0000 ]
+  pt2: [ 372.2227 ; 44.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 137.5000 ; 44.0000 ]
+  pt2: [ 373.2227 ; 94.0000 ]
+
+TEXT:
+  text: id : int
+  position: [ 143.5000 ; 58.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+TEXT:
+  text: customer : Customer
+  position: [ 143.5000 ; 72.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+TEXT:
+  text: lines : List<Line>
+  position: [ 143.5000 ; 86.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 138.5000 ; 94.0000 ]
+  pt2: [ 372.2227 ; 94.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 137.5000 ; 94.0000 ]
+  pt2: [ 149.5000 ; 102.0000 ]
+
+COMMENT: class Customer
+RECTANGLE:
+  pt1: [ 45.5000 ; 138.0000 ]
+  pt2: [ 227.8539 ; 214.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 64.7251 ; 138.0000 ]
+  pt2: [ 90.7251 ; 170.0000 ]
+
+ELLIPSE:
+  pt1: [ 68.7251 ; 143.0000 ]
+  pt2: [ 90.7251 ; 165.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffadd1b2
+
+CENTERED_CHAR:
+  char: C
+  position: [ 79.7251 ; 154.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 94.9973 ; 147.0000 ]
+  pt2: [ 208.6288 ; 161.0000 ]
+
+TEXT:
+  text: Customer
+  position: [ 97.9973 ; 157.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 46.5000 ; 170.0000 ]
+  pt2: [ 226.8539 ; 170.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 45.5000 ; 170.0000 ]
+  pt2: [ 227.8539 ; 206.0000 ]
+
+TEXT:
+  text: id : int
+  position: [ 51.5000 ; 184.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+TEXT:
+  text: name : String
+  position: [ 51.5000 ; 198.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 46.5000 ; 206.0000 ]
+  pt2: [ 226.8539 ; 206.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 45.5000 ; 206.0000 ]
+  pt2: [ 57.5000 ; 214.0000 ]
+
+COMMENT: class Line
+RECTANGLE:
+  pt1: [ 6.0000 ; 250.0000 ]
+  pt2: [ 266.8923 ; 326.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 90.0982 ; 250.0000 ]
+  pt2: [ 116.0982 ; 282.0000 ]
+
+ELLIPSE:
+  pt1: [ 94.0982 ; 255.0000 ]
+  pt2: [ 116.0982 ; 277.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffadd1b2
+
+CENTERED_CHAR:
+  char: C
+  position: [ 105.0982 ; 266.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 122.5982 ; 259.0000 ]
+  pt2: [ 182.7941 ; 273.0000 ]
+
+TEXT:
+  text: Line
+  position: [ 125.5982 ; 269.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 7.0000 ; 282.0000 ]
+  pt2: [ 265.8923 ; 282.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 6.0000 ; 282.0000 ]
+  pt2: [ 266.8923 ; 318.0000 ]
+
+TEXT:
+  text: product : Product
+  position: [ 12.0000 ; 296.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+TEXT:
+  text: quantity : int
+  position: [ 12.0000 ; 310.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 7.0000 ; 318.0000 ]
+  pt2: [ 265.8923 ; 318.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 6.0000 ; 318.0000 ]
+  pt2: [ 18.0000 ; 326.0000 ]
+
+COMMENT: class Product
+RECTANGLE:
+  pt1: [ 86.0000 ; 362.0000 ]
+  pt2: [ 345.2284 ; 438.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 138.3544 ; 362.0000 ]
+  pt2: [ 164.3544 ; 394.0000 ]
+
+ELLIPSE:
+  pt1: [ 142.3544 ; 367.0000 ]
+  pt2: [ 164.3544 ; 389.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffadd1b2
+
+CENTERED_CHAR:
+  char: C
+  position: [ 153.3544 ; 378.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 170.8544 ; 371.0000 ]
+  pt2: [ 292.8740 ; 385.0000 ]
+
+TEXT:
+  text: Product
+  position: [ 173.8544 ; 381.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 87.0000 ; 394.0000 ]
+  pt2: [ 344.2284 ; 394.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 86.0000 ; 394.0000 ]
+  pt2: [ 345.2284 ; 430.0000 ]
+
+TEXT:
+  text: id : int
+  position: [ 92.0000 ; 408.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+TEXT:
+  text: price : double
+  position: [ 92.0000 ; 422.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 87.0000 ; 430.0000 ]
+  pt2: [ 344.2284 ; 430.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 86.0000 ; 430.0000 ]
+  pt2: [ 98.0000 ; 438.0000 ]
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 204.5112 ; 96.2327 ]
+   - type: SEG_CUBICTO
+     pt1: [ 192.5324 ; 108.0102 ]
+     pt2: [ 179.7178 ; 120.6094 ]
+     pt3: [ 168.1753 ; 131.9579 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 174.1753 ; 137.9579 ]
+   - [ 183.3973 ; 134.5004 ]
+   - [ 177.7407 ; 134.4524 ]
+   - [ 177.7886 ; 128.7958 ]
+   - [ 174.1753 ; 137.9579 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 253.1980 ; 96.3385 ]
+   - type: SEG_CUBICTO
+     pt1: [ 253.8868 ; 129.3053 ]
+     pt2: [ 250.3165 ; 174.2336 ]
+     pt3: [ 230.5000 ; 208.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 222.3404 ; 221.9037 ]
+     pt2: [ 210.3787 ; 233.9263 ]
+     pt3: [ 197.5431 ; 243.9767 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 203.5431 ; 249.9767 ]
+   - [ 213.0953 ; 247.5775 ]
+   - [ 207.4799 ; 246.8942 ]
+   - [ 208.1633 ; 241.2787 ]
+   - [ 203.5431 ; 249.9767 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 157.2458 ; 320.2410 ]
+   - type: SEG_CUBICTO
+     pt1: [ 165.4821 ; 331.7093 ]
+     pt2: [ 174.5473 ; 344.3316 ]
+     pt3: [ 182.7817 ; 355.7974 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 188.7817 ; 361.7974 ]
+   - [ 186.7807 ; 352.1539 ]
+   - [ 185.8651 ; 357.7362 ]
+   - [ 180.2828 ; 356.8206 ]
+   - [ 188.7817 ; 361.7974 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 263.5493 ; 96.1752 ]
+   - type: SEG_CUBICTO
+     pt1: [ 278.4437 ; 150.5454 ]
+     pt2: [ 296.4061 ; 244.8900 ]
+     pt3: [ 269.5000 ; 320.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 264.8528 ; 332.9730 ]
+     pt2: [ 256.7953 ; 345.2921 ]
+     pt3: [ 248.0660 ; 355.9897 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 254.0660 ; 361.9897 ]
+   - [ 262.8552 ; 357.5456 ]
+   - [ 257.2271 ; 358.1158 ]
+   - [ 256.6569 ; 352.4877 ]
+   - [ 254.0660 ; 361.9897 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 130.5000 ; 208.2410 ]
+   - type: SEG_CUBICTO
+     pt1: [ 130.5000 ; 219.7093 ]
+     pt2: [ 130.5000 ; 232.3316 ]
+     pt3: [ 130.5000 ; 243.7974 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 136.5000 ; 249.7974 ]
+   - [ 140.5000 ; 240.7974 ]
+   - [ 136.5000 ; 244.7974 ]
+   - [ 132.5000 ; 240.7974 ]
+   - [ 136.5000 ; 249.7974 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+"""
+*/
\ No newline at end of file
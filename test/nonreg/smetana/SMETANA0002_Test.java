@@ -0,0 +1,34 @@
+package nonreg.smetana;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import nonreg.BasicTest;
+
+/*
+
+Several labelled flat edges between adjacent nodes
+
+"""
+@startuml
+class A
+class B
+class C
+A -right-> B : first label
+A -right-> B : second, much longer label
+A -right-> B : third
+B -right-> C : x
+B -right-> C : yy
+C -left-> B : back on the same rank
+@enduml
+"""
+
+ */
+public class SMETANA0002_Test extends BasicTest {
+
+	@Test
+	void testSimple() throws IOException {
+		checkImage("(3 entities)");
+	}
+}
@@ -0,0 +1,455 @@
+package nonreg.smetana;
+
+public class SMETANA0002_TestResult {
+}
+/*
+"""
+DPI: 96
+dimension: [ 896.2438 ; 66.0000 ]
+scaleFactor: 1.0000
+seed: 295882582262918341
+svgLinkTarget: _top
+hoverPathColorRGB: null
+preserveAspectRatio: none
+
+COMMENT: class A
+RECTANGLE:
+  pt1: [ 6.0000 ; 12.0000 ]
+  pt2: [ 51.2425 ; 60.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 6.0000 ; 12.0000 ]
+  pt2: [ 32.0000 ; 44.0000 ]
+
+ELLIPSE:
+  pt1: [ 10.0000 ; 17.0000 ]
+  pt2: [ 32.0000 ; 39.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffadd1b2
+
+CENTERED_CHAR:
+  char: C
+  position: [ 21.0000 ; 28.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 32.0000 ; 21.0000 ]
+  pt2: [ 51.2425 ; 35.0000 ]
+
+TEXT:
+  text: A
+  position: [ 35.0000 ; 31.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 7.0000 ; 44.0000 ]
+  pt2: [ 50.2425 ; 44.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 6.0000 ; 44.0000 ]
+  pt2: [ 18.0000 ; 52.0000 ]
+
+LINE:
+  pt1: [ 7.0000 ; 52.0000 ]
+  pt2: [ 50.2425 ; 52.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 6.0000 ; 52.0000 ]
+  pt2: [ 18.0000 ; 60.0000 ]
+
+COMMENT: class B
+RECTANGLE:
+  pt1: [ 448.0000 ; 12.0000 ]
+  pt2: [ 493.2419 ; 60.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 448.0000 ; 12.0000 ]
+  pt2: [ 474.0000 ; 44.0000 ]
+
+ELLIPSE:
+  pt1: [ 452.0000 ; 17.0000 ]
+  pt2: [ 474.0000 ; 39.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffadd1b2
+
+CENTERED_CHAR:
+  char: C
+  position: [ 463.0000 ; 28.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 474.0000 ; 21.0000 ]
+  pt2: [ 493.2419 ; 35.0000 ]
+
+TEXT:
+  text: B
+  position: [ 477.0000 ; 31.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 449.0000 ; 44.0000 ]
+  pt2: [ 492.2419 ; 44.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 448.0000 ; 44.0000 ]
+  pt2: [ 460.0000 ; 52.0000 ]
+
+LINE:
+  pt1: [ 449.0000 ; 52.0000 ]
+  pt2: [ 492.2419 ; 52.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 448.0000 ; 52.0000 ]
+  pt2: [ 460.0000 ; 60.0000 ]
+
+COMMENT: class C
+RECTANGLE:
+  pt1: [ 845.0000 ; 12.0000 ]
+  pt2: [ 890.2438 ; 60.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 845.0000 ; 12.0000 ]
+  pt2: [ 871.0000 ; 44.0000 ]
+
+ELLIPSE:
+  pt1: [ 849.0000 ; 17.0000 ]
+  pt2: [ 871.0000 ; 39.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffadd1b2
+
+CENTERED_CHAR:
+  char: C
+  position: [ 860.0000 ; 28.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 871.0000 ; 21.0000 ]
+  pt2: [ 890.2438 ; 35.0000 ]
+
+TEXT:
+  text: C
+  position: [ 874.0000 ; 31.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 846.0000 ; 44.0000 ]
+  pt2: [ 889.2438 ; 44.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 845.0000 ; 44.0000 ]
+  pt2: [ 857.0000 ; 52.0000 ]
+
+LINE:
+  pt1: [ 846.0000 ; 52.0000 ]
+  pt2: [ 889.2438 ; 52.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 845.0000 ; 52.0000 ]
+  pt2: [ 857.0000 ; 60.0000 ]
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 45.4704 ; 34.0657 ]
+   - type: SEG_CUBICTO
+     pt1: [ 71.9065 ; 38.5216 ]
+     pt2: [ 116.6757 ; 45.3847 ]
+     pt3: [ 155.5000 ; 48.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 233.5454 ; 53.2573 ]
+     pt2: [ 253.4546 ; 53.2573 ]
+     pt3: [ 331.5000 ; 48.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 370.3243 ; 45.3847 ]
+     pt2: [ 415.0935 ; 38.5216 ]
+     pt3: [ 441.5296 ; 34.0657 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 447.5296 ; 40.0657 ]
+   - [ 437.9899 ; 37.6172 ]
+   - [ 442.5991 ; 40.8968 ]
+   - [ 439.3196 ; 45.5060 ]
+   - [ 447.5296 ; 40.0657 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+EMPTY:
+  pt1: [ 161.5000 ; 39.0000 ]
+  pt2: [ 337.9337 ; 54.0000 ]
+
+TEXT:
+  text: first label
+  position: [ 162.5000 ; 50.1111 ]
+  orientation: 0
+  font: SansSerif.plain/13 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 45.0265 ; 30.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 120.7600 ; 30.0000 ]
+     pt2: [ 365.6959 ; 30.0000 ]
+     pt3: [ 441.7545 ; 30.0000 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 447.7545 ; 36.0000 ]
+   - [ 438.7545 ; 32.0000 ]
+   - [ 442.7545 ; 36.0000 ]
+   - [ 438.7545 ; 40.0000 ]
+   - [ 447.7545 ; 36.0000 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+EMPTY:
+  pt1: [ 60.0000 ; 18.0000 ]
+  pt2: [ 439.3738 ; 33.0000 ]
+
+TEXT:
+  text: second, much longer label
+  position: [ 61.0000 ; 29.1111 ]
+  orientation: 0
+  font: SansSerif.plain/13 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 45.3060 ; 15.1980 ]
+   - type: SEG_CUBICTO
+     pt1: [ 48.1442 ; 13.8938 ]
+     pt2: [ 51.0779 ; 12.7760 ]
+     pt3: [ 54.0000 ; 12.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 74.3502 ; 6.5957 ]
+     pt2: [ 412.6498 ; 6.5957 ]
+     pt3: [ 433.0000 ; 12.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 435.9221 ; 12.7760 ]
+     pt2: [ 438.8558 ; 13.8938 ]
+     pt3: [ 441.6940 ; 15.1980 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 447.6940 ; 21.1980 ]
+   - [ 441.1862 ; 13.8056 ]
+   - [ 443.1507 ; 19.1103 ]
+   - [ 437.8459 ; 21.0749 ]
+   - [ 447.6940 ; 21.1980 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+EMPTY:
+  pt1: [ 208.0000 ; -3.0000 ]
+  pt2: [ 291.7038 ; 12.0000 ]
+
+TEXT:
+  text: third
+  position: [ 209.0000 ; 8.1111 ]
+  orientation: 0
+  font: SansSerif.plain/13 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 487.3060 ; 15.1980 ]
+   - type: SEG_CUBICTO
+     pt1: [ 490.1442 ; 13.8938 ]
+     pt2: [ 493.0779 ; 12.7760 ]
+     pt3: [ 496.0000 ; 12.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 513.9339 ; 7.2374 ]
+     pt2: [ 812.0661 ; 7.2374 ]
+     pt3: [ 830.0000 ; 12.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 832.9221 ; 12.7760 ]
+     pt2: [ 835.8558 ; 13.8938 ]
+     pt3: [ 838.6940 ; 15.1980 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 844.6940 ; 21.1980 ]
+   - [ 838.1862 ; 13.8056 ]
+   - [ 840.1507 ; 19.1103 ]
+   - [ 834.8459 ; 21.0749 ]
+   - [ 844.6940 ; 21.1980 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+EMPTY:
+  pt1: [ 662.0000 ; -3.0000 ]
+  pt2: [ 676.4160 ; 12.0000 ]
+
+TEXT:
+  text: x
+  position: [ 663.0000 ; 8.1111 ]
+  orientation: 0
+  font: SansSerif.plain/13 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 487.1092 ; 32.9289 ]
+   - type: SEG_CUBICTO
+     pt1: [ 521.7686 ; 37.2562 ]
+     pt2: [ 590.1530 ; 45.1529 ]
+     pt3: [ 648.5000 ; 48.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 718.0004 ; 51.3914 ]
+     pt2: [ 799.9557 ; 40.1590 ]
+     pt3: [ 838.8385 ; 33.9051 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 844.8385 ; 39.9051 ]
+   - [ 835.3175 ; 37.3850 ]
+   - [ 839.9019 ; 40.6990 ]
+   - [ 836.5879 ; 45.2835 ]
+   - [ 844.8385 ; 39.9051 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+EMPTY:
+  pt1: [ 654.5000 ; 39.0000 ]
+  pt2: [ 683.9207 ; 54.0000 ]
+
+TEXT:
+  text: yy
+  position: [ 655.5000 ; 50.1111 ]
+  orientation: 0
+  font: SansSerif.plain/13 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 487.2703 ; 30.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 557.2935 ; 30.0000 ]
+     pt2: [ 768.9226 ; 30.0000 ]
+     pt3: [ 838.8216 ; 30.0000 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 493.2703 ; 36.0000 ]
+   - [ 502.2703 ; 40.0000 ]
+   - [ 498.2703 ; 36.0000 ]
+   - [ 502.2703 ; 32.0000 ]
+   - [ 493.2703 ; 36.0000 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+EMPTY:
+  pt1: [ 502.0000 ; 18.0000 ]
+  pt2: [ 836.5547 ; 33.0000 ]
+
+TEXT:
+  text: back on the same rank
+  position: [ 503.0000 ; 29.1111 ]
+  orientation: 0
+  font: SansSerif.plain/13 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+"""
+*/
\ No newline at end of file
@@ -0,0 +1,44 @@
+package nonreg.smetana;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import nonreg.BasicTest;
+
+/*
+
+Packages, interfaces and crossing edges
+
+"""
+@startuml
+package p1 {
+  interface I1
+  class C1 implements I1
+  class C2 implements I1
+}
+package p2 {
+  abstract class A2
+  class C3 extends A2
+  class C4 extends A2
+  enum E1
+}
+C1 --> C3
+C2 --> C4
+C1 --> C4
+C2 --> C3
+C3 --> E1
+C4 --> E1
+A2 ..> I1
+C1 "1" *-- "many" C2 : contains
+@enduml
+"""
+
+ */
+public class SMETANA0003_Test extends BasicTest {
+
+	@Test
+	void testSimple() throws IOException {
+		checkImage("(7 entities)");
+	}
+}
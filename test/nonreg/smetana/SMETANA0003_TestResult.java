@@ -0,0 +1,967 @@
+package nonreg.smetana;
+
+public class SMETANA0003_TestResult {
+}
+/*
+"""
+DPI: 96
+dimension: [ 339.0265 ; 460.0000 ]
+scaleFactor: 1.0000
+seed: 4457051128125974344
+svgLinkTarget: _top
+hoverPathColorRGB: null
+preserveAspectRatio: none
+
+COMMENT: cluster p1
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 2.5000 ; 0.0000 ]
+   - type: SEG_LINETO
+     pt1: [ 32.5120 ; 0.0000 ]
+   - type: SEG_ARCTO
+     radius: [ 3.7500 ; 3.7500 ]
+     angle: 0.0
+     largeArcFlag: false
+     sweepFlag: true
+     dest: [ 35.0120 ; 2.5000 ]
+   - type: SEG_LINETO
+     pt1: [ 42.0120 ; 20.0000 ]
+   - type: SEG_LINETO
+     pt1: [ 127.5000 ; 20.0000 ]
+   - type: SEG_ARCTO
+     radius: [ 2.5000 ; 2.5000 ]
+     angle: 0.0
+     largeArcFlag: false
+     sweepFlag: true
+     dest: [ 130.0000 ; 22.5000 ]
+   - type: SEG_LINETO
+     pt1: [ 130.0000 ; 277.5000 ]
+   - type: SEG_ARCTO
+     radius: [ 2.5000 ; 2.5000 ]
+     angle: 0.0
+     largeArcFlag: false
+     sweepFlag: true
+     dest: [ 127.5000 ; 280.0000 ]
+   - type: SEG_LINETO
+     pt1: [ 2.5000 ; 280.0000 ]
+   - type: SEG_ARCTO
+     radius: [ 2.5000 ; 2.5000 ]
+     angle: 0.0
+     largeArcFlag: false
+     sweepFlag: true
+     dest: [ 0.0000 ; 277.5000 ]
+   - type: SEG_LINETO
+     pt1: [ 0.0000 ; 2.5000 ]
+   - type: SEG_ARCTO
+     radius: [ 2.5000 ; 2.5000 ]
+     angle: 0.0
+     largeArcFlag: false
+     sweepFlag: true
+     dest: [ 2.5000 ; 0.0000 ]
+  stroke: 0.0-0.0-1.5
+  shadow: 0
+  color: ff000000
+  backcolor: NULL_COLOR
+
+LINE:
+  pt1: [ 45.0265 ; 24.0000 ]
+  pt2: [ 87.0386 ; 24.0000 ]
+  stroke: 0.0-0.0-1.5
+  shadow: 0
+  color: ff000000
+
+TEXT:
+  text: p1
+  position: [ 49.0265 ; 16.8889 ]
+  orientation: 0
+  font: SansSerif.bold/14 [BOLD]
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+COMMENT: cluster p2
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 2.5000 ; 0.0000 ]
+   - type: SEG_LINETO
+     pt1: [ 32.5108 ; 0.0000 ]
+   - type: SEG_ARCTO
+     radius: [ 3.7500 ; 3.7500 ]
+     angle: 0.0
+     largeArcFlag: false
+     sweepFlag: true
+     dest: [ 35.0108 ; 2.5000 ]
+   - type: SEG_LINETO
+     pt1: [ 42.0108 ; 20.0000 ]
+   - type: SEG_LINETO
+     pt1: [ 147.5000 ; 20.0000 ]
+   - type: SEG_ARCTO
+     radius: [ 2.5000 ; 2.5000 ]
+     angle: 0.0
+     largeArcFlag: false
+     sweepFlag: true
+     dest: [ 150.0000 ; 22.5000 ]
+   - type: SEG_LINETO
+     pt1: [ 150.0000 ; 248.5000 ]
+   - type: SEG_ARCTO
+     radius: [ 2.5000 ; 2.5000 ]
+     angle: 0.0
+     largeArcFlag: false
+     sweepFlag: true
+     dest: [ 147.5000 ; 251.0000 ]
+   - type: SEG_LINETO
+     pt1: [ 2.5000 ; 251.0000 ]
+   - type: SEG_ARCTO
+     radius: [ 2.5000 ; 2.5000 ]
+     angle: 0.0
+     largeArcFlag: false
+     sweepFlag: true
+     dest: [ 0.0000 ; 248.5000 ]
+   - type: SEG_LINETO
+     pt1: [ 0.0000 ; 2.5000 ]
+   - type: SEG_ARCTO
+     radius: [ 2.5000 ; 2.5000 ]
+     angle: 0.0
+     largeArcFlag: false
+     sweepFlag: true
+     dest: [ 2.5000 ; 0.0000 ]
+  stroke: 0.0-0.0-1.5
+  shadow: 0
+  color: ff000000
+  backcolor: NULL_COLOR
+
+LINE:
+  pt1: [ 183.0265 ; 223.0000 ]
+  pt2: [ 225.0373 ; 223.0000 ]
+  stroke: 0.0-0.0-1.5
+  shadow: 0
+  color: ff000000
+
+TEXT:
+  text: p2
+  position: [ 187.0265 ; 215.8889 ]
+  orientation: 0
+  font: SansSerif.bold/14 [BOLD]
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+COMMENT: class I1
+RECTANGLE:
+  pt1: [ 109.0265 ; 29.0000 ]
+  pt2: [ 167.3761 ; 77.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 109.0265 ; 29.0000 ]
+  pt2: [ 135.0265 ; 61.0000 ]
+
+ELLIPSE:
+  pt1: [ 113.0265 ; 34.0000 ]
+  pt2: [ 135.0265 ; 56.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffb4a7e5
+
+CENTERED_CHAR:
+  char: I
+  position: [ 124.0265 ; 45.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 135.0265 ; 38.0000 ]
+  pt2: [ 167.3761 ; 52.0000 ]
+
+TEXT:
+  text: I1
+  position: [ 138.0265 ; 48.8889 ]
+  orientation: 0
+  font: SansSerif.italic/14 [ITALIC]
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 110.0265 ; 61.0000 ]
+  pt2: [ 166.3761 ; 61.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 109.0265 ; 61.0000 ]
+  pt2: [ 121.0265 ; 69.0000 ]
+
+LINE:
+  pt1: [ 110.0265 ; 69.0000 ]
+  pt2: [ 166.3761 ; 69.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 109.0265 ; 69.0000 ]
+  pt2: [ 121.0265 ; 77.0000 ]
+
+COMMENT: class C1
+RECTANGLE:
+  pt1: [ 53.0265 ; 114.0000 ]
+  pt2: [ 111.0124 ; 162.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 53.0265 ; 114.0000 ]
+  pt2: [ 79.0265 ; 146.0000 ]
+
+ELLIPSE:
+  pt1: [ 57.0265 ; 119.0000 ]
+  pt2: [ 79.0265 ; 141.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffadd1b2
+
+CENTERED_CHAR:
+  char: C
+  position: [ 68.0265 ; 130.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 79.0265 ; 123.0000 ]
+  pt2: [ 111.0124 ; 137.0000 ]
+
+TEXT:
+  text: C1
+  position: [ 82.0265 ; 133.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 54.0265 ; 146.0000 ]
+  pt2: [ 110.0124 ; 146.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 53.0265 ; 146.0000 ]
+  pt2: [ 65.0265 ; 154.0000 ]
+
+LINE:
+  pt1: [ 54.0265 ; 154.0000 ]
+  pt2: [ 110.0124 ; 154.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 53.0265 ; 154.0000 ]
+  pt2: [ 65.0265 ; 162.0000 ]
+
+COMMENT: class C2
+RECTANGLE:
+  pt1: [ 97.0265 ; 228.0000 ]
+  pt2: [ 155.0061 ; 276.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 97.0265 ; 228.0000 ]
+  pt2: [ 123.0265 ; 260.0000 ]
+
+ELLIPSE:
+  pt1: [ 101.0265 ; 233.0000 ]
+  pt2: [ 123.0265 ; 255.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffadd1b2
+
+CENTERED_CHAR:
+  char: C
+  position: [ 112.0265 ; 244.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 123.0265 ; 237.0000 ]
+  pt2: [ 155.0061 ; 251.0000 ]
+
+TEXT:
+  text: C2
+  position: [ 126.0265 ; 247.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 98.0265 ; 260.0000 ]
+  pt2: [ 154.0061 ; 260.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 97.0265 ; 260.0000 ]
+  pt2: [ 109.0265 ; 268.0000 ]
+
+LINE:
+  pt1: [ 98.0265 ; 268.0000 ]
+  pt2: [ 154.0061 ; 268.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 97.0265 ; 268.0000 ]
+  pt2: [ 109.0265 ; 276.0000 ]
+
+COMMENT: class A2
+RECTANGLE:
+  pt1: [ 191.0265 ; 228.0000 ]
+  pt2: [ 249.0889 ; 276.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 191.0265 ; 228.0000 ]
+  pt2: [ 217.0265 ; 260.0000 ]
+
+ELLIPSE:
+  pt1: [ 195.0265 ; 233.0000 ]
+  pt2: [ 217.0265 ; 255.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffa9dcdf
+
+CENTERED_CHAR:
+  char: A
+  position: [ 206.0265 ; 244.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 217.0265 ; 237.0000 ]
+  pt2: [ 249.0889 ; 251.0000 ]
+
+TEXT:
+  text: A2
+  position: [ 220.0265 ; 247.8889 ]
+  orientation: 0
+  font: SansSerif.italic/14 [ITALIC]
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 192.0265 ; 260.0000 ]
+  pt2: [ 248.0889 ; 260.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 191.0265 ; 260.0000 ]
+  pt2: [ 203.0265 ; 268.0000 ]
+
+LINE:
+  pt1: [ 192.0265 ; 268.0000 ]
+  pt2: [ 248.0889 ; 268.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 191.0265 ; 268.0000 ]
+  pt2: [ 203.0265 ; 276.0000 ]
+
+COMMENT: class C3
+RECTANGLE:
+  pt1: [ 267.0265 ; 313.0000 ]
+  pt2: [ 325.0048 ; 361.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 267.0265 ; 313.0000 ]
+  pt2: [ 293.0265 ; 345.0000 ]
+
+ELLIPSE:
+  pt1: [ 271.0265 ; 318.0000 ]
+  pt2: [ 293.0265 ; 340.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffadd1b2
+
+CENTERED_CHAR:
+  char: C
+  position: [ 282.0265 ; 329.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 293.0265 ; 322.0000 ]
+  pt2: [ 325.0048 ; 336.0000 ]
+
+TEXT:
+  text: C3
+  position: [ 296.0265 ; 332.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 268.0265 ; 345.0000 ]
+  pt2: [ 324.0048 ; 345.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 267.0265 ; 345.0000 ]
+  pt2: [ 279.0265 ; 353.0000 ]
+
+LINE:
+  pt1: [ 268.0265 ; 353.0000 ]
+  pt2: [ 324.0048 ; 353.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 267.0265 ; 353.0000 ]
+  pt2: [ 279.0265 ; 361.0000 ]
+
+COMMENT: class C4
+RECTANGLE:
+  pt1: [ 191.0265 ; 313.0000 ]
+  pt2: [ 249.0086 ; 361.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 191.0265 ; 313.0000 ]
+  pt2: [ 217.0265 ; 345.0000 ]
+
+ELLIPSE:
+  pt1: [ 195.0265 ; 318.0000 ]
+  pt2: [ 217.0265 ; 340.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffadd1b2
+
+CENTERED_CHAR:
+  char: C
+  position: [ 206.0265 ; 329.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 217.0265 ; 322.0000 ]
+  pt2: [ 249.0086 ; 336.0000 ]
+
+TEXT:
+  text: C4
+  position: [ 220.0265 ; 332.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 192.0265 ; 345.0000 ]
+  pt2: [ 248.0086 ; 345.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 191.0265 ; 345.0000 ]
+  pt2: [ 203.0265 ; 353.0000 ]
+
+LINE:
+  pt1: [ 192.0265 ; 353.0000 ]
+  pt2: [ 248.0086 ; 353.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 191.0265 ; 353.0000 ]
+  pt2: [ 203.0265 ; 361.0000 ]
+
+COMMENT: class E1
+RECTANGLE:
+  pt1: [ 211.0265 ; 398.0000 ]
+  pt2: [ 269.2506 ; 446.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 211.0265 ; 398.0000 ]
+  pt2: [ 237.0265 ; 430.0000 ]
+
+ELLIPSE:
+  pt1: [ 215.0265 ; 403.0000 ]
+  pt2: [ 237.0265 ; 425.0000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffeb937f
+
+CENTERED_CHAR:
+  char: E
+  position: [ 226.0265 ; 414.0000 ]
+  font: Monospaced.bold/17
+  color: ff000000
+
+EMPTY:
+  pt1: [ 237.0265 ; 407.0000 ]
+  pt2: [ 269.2506 ; 421.0000 ]
+
+TEXT:
+  text: E1
+  position: [ 240.0265 ; 417.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+LINE:
+  pt1: [ 212.0265 ; 430.0000 ]
+  pt2: [ 268.2506 ; 430.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 211.0265 ; 430.0000 ]
+  pt2: [ 223.0265 ; 438.0000 ]
+
+LINE:
+  pt1: [ 212.0265 ; 438.0000 ]
+  pt2: [ 268.2506 ; 438.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+
+EMPTY:
+  pt1: [ 211.0265 ; 438.0000 ]
+  pt2: [ 223.0265 ; 446.0000 ]
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 116.4274 ; 79.1201 ]
+   - type: SEG_CUBICTO
+     pt1: [ 108.7250 ; 90.5362 ]
+     pt2: [ 99.4536 ; 104.2778 ]
+     pt3: [ 91.7362 ; 115.7160 ]
+  stroke: 7.0-7.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 122.4274 ; 77.1201 ]
+   - [ 108.5048 ; 87.0278 ]
+   - [ 118.4524 ; 93.7394 ]
+   - [ 122.4274 ; 77.1201 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffffffff
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 142.0050 ; 79.3239 ]
+   - type: SEG_CUBICTO
+     pt1: [ 152.6939 ; 107.5904 ]
+     pt2: [ 166.6506 ; 156.4693 ]
+     pt3: [ 155.0265 ; 197.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 151.6762 ; 208.6819 ]
+     pt2: [ 145.0997 ; 220.2908 ]
+     pt3: [ 138.5431 ; 229.8843 ]
+  stroke: 7.0-7.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 148.0050 ; 77.3239 ]
+   - [ 148.0521 ; 94.4119 ]
+   - [ 159.2764 ; 90.1674 ]
+   - [ 148.0050 ; 77.3239 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffffffff
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 235.1968 ; 278.1201 ]
+   - type: SEG_CUBICTO
+     pt1: [ 245.6501 ; 289.5362 ]
+     pt2: [ 258.2327 ; 303.2778 ]
+     pt3: [ 268.7063 ; 314.7160 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 241.1968 ; 276.1201 ]
+   - [ 247.5768 ; 291.9724 ]
+   - [ 256.4271 ; 283.8686 ]
+   - [ 241.1968 ; 276.1201 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffffffff
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 214.0265 ; 278.1201 ]
+   - type: SEG_CUBICTO
+     pt1: [ 214.0265 ; 289.5362 ]
+     pt2: [ 214.0265 ; 303.2778 ]
+     pt3: [ 214.0265 ; 314.7160 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 220.0265 ; 276.1201 ]
+   - [ 214.0265 ; 292.1201 ]
+   - [ 226.0265 ; 292.1201 ]
+   - [ 220.0265 ; 276.1201 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ffffffff
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 65.1763 ; 164.4059 ]
+   - type: SEG_CUBICTO
+     pt1: [ 63.0449 ; 170.0488 ]
+     pt2: [ 61.1289 ; 176.1430 ]
+     pt3: [ 60.0265 ; 182.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 52.8219 ; 220.2799 ]
+     pt2: [ 68.9254 ; 273.8265 ]
+     pt3: [ 82.0265 ; 286.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 138.1755 ; 338.1733 ]
+     pt2: [ 180.2020 ; 288.2418 ]
+     pt3: [ 252.0265 ; 315.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 254.9171 ; 316.0769 ]
+     pt2: [ 257.8321 ; 317.3787 ]
+     pt3: [ 260.6933 ; 318.8090 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 266.6933 ; 316.8090 ]
+   - [ 260.4316 ; 309.2070 ]
+   - [ 262.2209 ; 314.5734 ]
+   - [ 256.8545 ; 316.3627 ]
+   - [ 266.6933 ; 316.8090 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 131.1149 ; 278.2675 ]
+   - type: SEG_CUBICTO
+     pt1: [ 134.9305 ; 284.8082 ]
+     pt2: [ 139.6242 ; 291.6018 ]
+     pt3: [ 145.0265 ; 297.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 156.4605 ; 308.4252 ]
+     pt2: [ 171.6997 ; 317.9146 ]
+     pt3: [ 184.9479 ; 324.8765 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 190.9479 ; 322.8765 ]
+   - [ 184.8417 ; 315.1490 ]
+   - [ 186.5219 ; 320.5506 ]
+   - [ 181.1203 ; 322.2308 ]
+   - [ 190.9479 ; 322.8765 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 46.7583 ; 155.4898 ]
+   - type: SEG_CUBICTO
+     pt1: [ 36.7007 ; 162.0873 ]
+     pt2: [ 26.5820 ; 170.9296 ]
+     pt3: [ 21.0265 ; 182.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 7.0004 ; 209.9504 ]
+     pt2: [ -25.0166 ; 216.8754 ]
+     pt3: [ 37.0265 ; 286.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 74.9996 ; 328.3072 ]
+     pt2: [ 145.4070 ; 336.9451 ]
+     pt3: [ 185.0159 ; 338.2644 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 191.0159 ; 336.2644 ]
+   - [ 182.1541 ; 331.9670 ]
+   - [ 186.0187 ; 336.0980 ]
+   - [ 181.8878 ; 339.9626 ]
+   - [ 191.0159 ; 336.2644 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 149.2389 ; 273.3299 ]
+   - type: SEG_CUBICTO
+     pt1: [ 156.8409 ; 277.7525 ]
+     pt2: [ 165.1201 ; 282.2727 ]
+     pt3: [ 173.0265 ; 286.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 206.8576 ; 301.9490 ]
+     pt2: [ 218.3163 ; 298.7971 ]
+     pt3: [ 252.0265 ; 315.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 254.9457 ; 316.4031 ]
+     pt2: [ 257.9298 ; 317.9649 ]
+     pt3: [ 260.8791 ; 319.5955 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 266.8791 ; 317.5955 ]
+   - [ 260.9383 ; 309.7401 ]
+   - [ 262.5033 ; 315.1762 ]
+   - [ 257.0673 ; 316.7413 ]
+   - [ 266.8791 ; 317.5955 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 274.4274 ; 363.1201 ]
+   - type: SEG_CUBICTO
+     pt1: [ 266.7250 ; 374.5362 ]
+     pt2: [ 257.4536 ; 388.2778 ]
+     pt3: [ 249.7362 ; 399.7160 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 255.7362 ; 397.7160 ]
+   - [ 264.0858 ; 392.4925 ]
+   - [ 258.5327 ; 393.5712 ]
+   - [ 257.4541 ; 388.0181 ]
+   - [ 255.7362 ; 397.7160 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 219.5977 ; 363.1201 ]
+   - type: SEG_CUBICTO
+     pt1: [ 222.3485 ; 374.5362 ]
+     pt2: [ 225.6597 ; 388.2778 ]
+     pt3: [ 228.4159 ; 399.7160 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 234.4159 ; 397.7160 ]
+   - [ 236.1963 ; 388.0294 ]
+   - [ 233.2446 ; 392.8551 ]
+   - [ 228.4189 ; 389.9035 ]
+   - [ 234.4159 ; 397.7160 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 206.3794 ; 229.7929 ]
+   - type: SEG_CUBICTO
+     pt1: [ 195.9118 ; 198.8969 ]
+     pt2: [ 175.9086 ; 142.8241 ]
+     pt3: [ 154.0265 ; 97.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 151.2418 ; 91.1683 ]
+     pt2: [ 148.0491 ; 84.9776 ]
+     pt3: [ 144.9753 ; 79.2216 ]
+  stroke: 7.0-7.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 150.9753 ; 77.2216 ]
+   - [ 151.6864 ; 87.0448 ]
+   - [ 153.3306 ; 81.6321 ]
+   - [ 158.7432 ; 83.2763 ]
+   - [ 150.9753 ; 77.2216 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 66.2418 ; 164.2120 ]
+   - type: SEG_CUBICTO
+     pt1: [ 63.3087 ; 174.5274 ]
+     pt2: [ 61.8497 ; 186.6512 ]
+     pt3: [ 66.0265 ; 197.0000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 71.2331 ; 209.9001 ]
+     pt2: [ 80.9915 ; 221.4850 ]
+     pt3: [ 90.7962 ; 230.7247 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 72.2418 ; 162.2120 ]
+   - [ 66.7533 ; 166.8892 ]
+   - [ 68.9598 ; 173.7545 ]
+   - [ 74.4483 ; 169.0773 ]
+   - [ 72.2418 ; 162.2120 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+EMPTY:
+  pt1: [ 72.0265 ; 180.0000 ]
+  pt2: [ 161.8945 ; 195.0000 ]
+
+TEXT:
+  text: contains
+  position: [ 73.0265 ; 191.1111 ]
+  orientation: 0
+  font: SansSerif.plain/13 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+EMPTY:
+  pt1: [ 50.7962 ; 213.7247 ]
+  pt2: [ 96.9684 ; 228.7247 ]
+
+TEXT:
+  text: many
+  position: [ 51.7962 ; 224.8358 ]
+  orientation: 0
+  font: SansSerif.plain/13 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+EMPTY:
+  pt1: [ 58.2418 ; 162.2120 ]
+  pt2: [ 72.5291 ; 177.2120 ]
+
+TEXT:
+  text: 1
+  position: [ 59.2418 ; 173.3231 ]
+  orientation: 0
+  font: SansSerif.plain/13 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+"""
+*/
\ No newline at end of file
@@ -0,0 +1,37 @@
+package nonreg.smetana;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import nonreg.BasicTest;
+
+/*
+
+Usecase diagram with actors and self loops
+
+"""
+@startuml
+left to right direction
+actor User
+actor Admin
+rectangle System {
+  User --> (Login)
+  User --> (Browse)
+  Admin --> (Login)
+  Admin --> (Manage users)
+  (Manage users) .> (Login) : include
+  (Browse) .> (Login) : include
+  (Browse) --> (Browse) : refresh
+}
+@enduml
+"""
+
+ */
+public class SMETANA0004_Test extends BasicTest {
+
+	@Test
+	void testSimple() throws IOException {
+		checkImage("(5 entities)");
+	}
+}
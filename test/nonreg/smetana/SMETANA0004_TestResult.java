@@ -0,0 +1,391 @@
+package nonreg.smetana;
+
+public class SMETANA0004_TestResult {
+}
+/*
+"""
+DPI: 96
+dimension: [ 774.0000 ; 182.0000 ]
+scaleFactor: 1.0000
+seed: -3028130698464646014
+svgLinkTarget: _top
+hoverPathColorRGB: null
+preserveAspectRatio: none
+
+COMMENT: cluster System
+RECTANGLE:
+  pt1: [ 14.0000 ; 105.0000 ]
+  pt2: [ 769.0000 ; 177.0000 ]
+  xCorner: 5
+  yCorner: 5
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+TEXT:
+  text: System
+  position: [ 340.9514 ; 117.8889 ]
+  orientation: 0
+  font: SansSerif.bold/14 [BOLD]
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+COMMENT: entity User
+ELLIPSE:
+  pt1: [ 297.9839 ; 4.5000 ]
+  pt2: [ 313.9839 ; 20.5000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 0.0000 ; 0.0000 ]
+   - type: SEG_LINETO
+     pt1: [ 0.0000 ; 27.0000 ]
+   - type: SEG_MOVETO
+     pt1: [ -13.0000 ; 8.0000 ]
+   - type: SEG_LINETO
+     pt1: [ 13.0000 ; 8.0000 ]
+   - type: SEG_MOVETO
+     pt1: [ 0.0000 ; 27.0000 ]
+   - type: SEG_LINETO
+     pt1: [ -13.0000 ; 42.0000 ]
+   - type: SEG_MOVETO
+     pt1: [ 0.0000 ; 27.0000 ]
+   - type: SEG_LINETO
+     pt1: [ 13.0000 ; 42.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+TEXT:
+  text: User
+  position: [ 282.0000 ; 74.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+COMMENT: entity Admin
+ELLIPSE:
+  pt1: [ 456.9213 ; 4.5000 ]
+  pt2: [ 472.9213 ; 20.5000 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 0.0000 ; 0.0000 ]
+   - type: SEG_LINETO
+     pt1: [ 0.0000 ; 27.0000 ]
+   - type: SEG_MOVETO
+     pt1: [ -13.0000 ; 8.0000 ]
+   - type: SEG_LINETO
+     pt1: [ 13.0000 ; 8.0000 ]
+   - type: SEG_MOVETO
+     pt1: [ 0.0000 ; 27.0000 ]
+   - type: SEG_LINETO
+     pt1: [ -13.0000 ; 42.0000 ]
+   - type: SEG_MOVETO
+     pt1: [ 0.0000 ; 27.0000 ]
+   - type: SEG_LINETO
+     pt1: [ 13.0000 ; 42.0000 ]
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+TEXT:
+  text: Admin
+  position: [ 420.5000 ; 74.8889 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+ELLIPSE:
+  pt1: [ 381.5000 ; 136.0000 ]
+  pt2: [ 490.2414 ; 162.5483 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 396.4674 ; 141.0797 ]
+  pt2: [ 469.2740 ; 155.0797 ]
+
+TEXT:
+  text: Login
+  position: [ 402.4674 ; 151.9686 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+ELLIPSE:
+  pt1: [ 22.5000 ; 133.5000 ]
+  pt2: [ 159.6713 ; 165.7343 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 35.6196 ; 140.6171 ]
+  pt2: [ 146.5516 ; 154.6171 ]
+
+TEXT:
+  text: Browse
+  position: [ 41.6196 ; 151.5060 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+ELLIPSE:
+  pt1: [ 587.5000 ; 130.0000 ]
+  pt2: [ 760.0552 ; 169.3110 ]
+  start: 0.0
+  extend: 0.0
+  stroke: 0.0-0.0-0.5
+  shadow: 0
+  color: ff181818
+  backcolor: fff1f1f1
+
+EMPTY:
+  pt1: [ 598.2120 ; 140.6555 ]
+  pt2: [ 749.3432 ; 154.6555 ]
+
+TEXT:
+  text: Manage users
+  position: [ 604.2120 ; 151.5444 ]
+  orientation: 0
+  font: SansSerif.plain/14 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 324.1473 ; 63.7822 ]
+   - type: SEG_CUBICTO
+     pt1: [ 350.5813 ; 85.4378 ]
+     pt2: [ 392.1745 ; 119.5122 ]
+     pt3: [ 414.5406 ; 137.8352 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 420.5406 ; 135.8352 ]
+   - [ 416.1135 ; 127.0375 ]
+   - [ 416.6728 ; 132.6666 ]
+   - [ 411.0437 ; 133.2259 ]
+   - [ 420.5406 ; 135.8352 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 275.7547 ; 56.0099 ]
+   - type: SEG_CUBICTO
+     pt1: [ 236.3292 ; 75.5392 ]
+     pt2: [ 158.4088 ; 114.1370 ]
+     pt3: [ 115.3598 ; 135.4613 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 121.3598 ; 133.4613 ]
+   - [ 131.2001 ; 133.0508 ]
+   - [ 125.8402 ; 131.2419 ]
+   - [ 127.6491 ; 125.8821 ]
+   - [ 121.3598 ; 133.4613 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 449.1819 ; 80.0560 ]
+   - type: SEG_CUBICTO
+     pt1: [ 443.7265 ; 100.0905 ]
+     pt2: [ 437.2807 ; 123.7624 ]
+     pt3: [ 433.4227 ; 137.9306 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 439.4227 ; 135.9306 ]
+   - [ 445.6467 ; 128.2977 ]
+   - [ 440.7363 ; 131.1062 ]
+   - [ 437.9278 ; 126.1958 ]
+   - [ 439.4227 ; 135.9306 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 503.5794 ; 66.7163 ]
+   - type: SEG_CUBICTO
+     pt1: [ 541.7028 ; 86.1428 ]
+     pt2: [ 595.8962 ; 113.7581 ]
+     pt3: [ 631.4913 ; 131.8963 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 637.4913 ; 129.8963 ]
+   - [ 631.2885 ; 122.2462 ]
+   - [ 633.0364 ; 127.6262 ]
+   - [ 627.6563 ; 129.3741 ]
+   - [ 637.4913 ; 129.8963 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 581.4678 ; 151.5000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 549.1102 ; 151.5000 ]
+     pt2: [ 513.2847 ; 151.5000 ]
+     pt3: [ 484.6020 ; 151.5000 ]
+  stroke: 7.0-7.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 490.6020 ; 149.5000 ]
+   - [ 499.6020 ; 153.5000 ]
+   - [ 495.6020 ; 149.5000 ]
+   - [ 499.6020 ; 145.5000 ]
+   - [ 490.6020 ; 149.5000 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+EMPTY:
+  pt1: [ 499.5000 ; 131.5000 ]
+  pt2: [ 579.1336 ; 146.5000 ]
+
+TEXT:
+  text: include
+  position: [ 500.5000 ; 142.6111 ]
+  orientation: 0
+  font: SansSerif.plain/13 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 153.5734 ; 151.5000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 218.7160 ; 151.5000 ]
+     pt2: [ 315.3836 ; 151.5000 ]
+     pt3: [ 375.4457 ; 151.5000 ]
+  stroke: 7.0-7.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 381.4457 ; 149.5000 ]
+   - [ 372.4457 ; 145.5000 ]
+   - [ 376.4457 ; 149.5000 ]
+   - [ 372.4457 ; 153.5000 ]
+   - [ 381.4457 ; 149.5000 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+EMPTY:
+  pt1: [ 231.0000 ; 131.5000 ]
+  pt2: [ 310.6336 ; 146.5000 ]
+
+TEXT:
+  text: include
+  position: [ 232.0000 ; 142.6111 ]
+  orientation: 0
+  font: SansSerif.plain/13 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+PATH:
+   - type: SEG_MOVETO
+     pt1: [ 153.5253 ; 142.5647 ]
+   - type: SEG_CUBICTO
+     pt1: [ 164.2134 ; 143.9005 ]
+     pt2: [ 171.5000 ; 146.8789 ]
+     pt3: [ 171.5000 ; 151.5000 ]
+   - type: SEG_CUBICTO
+     pt1: [ 171.5000 ; 156.1211 ]
+     pt2: [ 164.2134 ; 159.0995 ]
+     pt3: [ 153.5253 ; 160.4353 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: NULL_COLOR
+
+POLYGON:
+  points:
+   - [ 159.5253 ; 158.4353 ]
+   - [ 168.9519 ; 161.2883 ]
+   - [ 164.4867 ; 157.8152 ]
+   - [ 167.9598 ; 153.3501 ]
+   - [ 159.5253 ; 158.4353 ]
+  stroke: 0.0-0.0-1.0
+  shadow: 0
+  color: ff181818
+  backcolor: ff181818
+
+EMPTY:
+  pt1: [ 177.5000 ; 142.0000 ]
+  pt2: [ 285.1338 ; 157.0000 ]
+
+TEXT:
+  text: refresh
+  position: [ 178.5000 ; 153.1111 ]
+  orientation: 0
+  font: SansSerif.plain/13 []
+  color: ff000000
+  extendedColor: NULL_COLOR
+
+"""
+*/
\ No newline at end of file